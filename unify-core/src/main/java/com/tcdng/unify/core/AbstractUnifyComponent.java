@@ -231,6 +231,28 @@ public abstract class AbstractUnifyComponent implements UnifyComponent {
 		return unifyComponentContext.getContainerInfo();
 	}
 
+	/**
+	 * Begins a named container startup phase on the current thread. Phases are
+	 * recorded only when startup profiling is enabled and startup is in progress.
+	 * 
+	 * @param name the phase name
+	 * @return true if phase was begun, in which case
+	 *         {@link #endStartupPhase(boolean)} must be called
+	 */
+	protected boolean beginStartupPhase(String name) {
+		return unifyComponentContext.beginStartupPhase(name);
+	}
+
+	/**
+	 * Ends the last container startup phase begun on the current thread.
+	 * 
+	 * @param begun the result of the corresponding
+	 *              {@link #beginStartupPhase(String)} call
+	 */
+	protected void endStartupPhase(boolean begun) {
+		unifyComponentContext.endStartupPhase(begun);
+	}
+
 	/**
 	 * Returns a container setting.
 	 * 
@@ -27,14 +27,22 @@ public interface ApplicationComponents {
 
     String APPLICATION_BYTEARRAYCRYPTOGRAPH = "application-bytearraycryptograph";
 
+    String APPLICATION_CACHEDMETHODMANAGER = "application-cachedmethodmanager";
+
     String APPLICATION_CLASSUNIQUEIDMANAGER = "application-classuniqueidmanager";
     
     String APPLICATION_CLUSTERSERVICE = "application-clusterservice";
 
+    String APPLICATION_CLUSTERTASKSERVICE = "application-clustertaskservice";
+
+    String APPLICATION_CLUSTERTASKSTATUSLOGGER = "application-clustertaskstatuslogger";
+
     String APPLICATION_CURRENCYSOURCE = "application-currencysource";
 
     String APPLICATION_DATABASE = "application-database";
 
+    String APPLICATION_DATABASECLOCK = "application-databaseclock";
+
     String APPLICATION_DATABASETRANSACTIONMANAGER = "application-databasetxnmanager";
 
     String APPLICATION_DATASOURCE = ApplicationCommonConstants.APPLICATION_DATASOURCE;
@@ -75,8 +83,14 @@ public interface ApplicationComponents {
 
     String APPLICATION_LISTMANAGER = "application-listmanager";
 
+    String APPLICATION_LISTCACHE = "application-listcache";
+
+    String APPLICATION_LEADERELECTIONSERVICE = "application-leaderelectionservice";
+
     String APPLICATION_LOCKMANAGER = "application-lockmanager";
 
+    String APPLICATION_METHODCACHE = "application-methodcache";
+
     String APPLICATION_HEARTBEATMANAGER = "application-heartbeatmanager";
 
     String APPLICATION_MENULOADER = "application-menuloader";
@@ -87,6 +101,8 @@ public interface ApplicationComponents {
 
     String APPLICATION_PARAMETERSERVICE = "parameterservice";
 
+    String APPLICATION_PARAMETERCACHE = "application-parametercache";
+
     String APPLICATION_PARAMGENERATORMANAGER = "application-paramgeneratormanager";
 
     String APPLICATION_PROXYBUSINESSSERVICEGENERATOR = "application-proxybusinessservicegenerator";
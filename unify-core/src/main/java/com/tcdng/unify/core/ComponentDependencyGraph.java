@@ -0,0 +1,375 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Component dependency graph used for parallel container startup. Strongly
+ * connected components (dependency cycles) are collapsed into single groups
+ * whose members are initialized in one thread. Groups are executed on a bounded
+ * pool once all the groups they depend on have completed.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class ComponentDependencyGraph {
+
+    private final Map<String, Set<String>> dependencies;
+
+    private List<List<String>> groups;
+
+    private Map<String, Integer> groupIndex;
+
+    public ComponentDependencyGraph() {
+        this.dependencies = new LinkedHashMap<String, Set<String>>();
+    }
+
+    /**
+     * Adds a component node.
+     * 
+     * @param name
+     *            the component name
+     */
+    public void addNode(String name) {
+        if (!dependencies.containsKey(name)) {
+            dependencies.put(name, new LinkedHashSet<String>());
+            groups = null;
+        }
+    }
+
+    /**
+     * Adds a dependency between two component nodes. Dependencies on unknown nodes
+     * are ignored.
+     * 
+     * @param name
+     *            the dependent component name
+     * @param dependsOn
+     *            the name of component that must be initialized first
+     */
+    public void addDependency(String name, String dependsOn) {
+        addNode(name);
+        dependencies.get(name).add(dependsOn);
+        groups = null;
+    }
+
+    public int size() {
+        return dependencies.size();
+    }
+
+    public Set<String> getDependencies(String name) {
+        Set<String> set = dependencies.get(name);
+        return set != null ? Collections.unmodifiableSet(set) : Collections.<String>emptySet();
+    }
+
+    /**
+     * Returns all dependency cycles in this graph. Each cycle is a list of the
+     * component names involved.
+     */
+    public List<List<String>> getCycles() {
+        resolveGroups();
+        List<List<String>> cycles = new ArrayList<List<String>>();
+        for (List<String> group : groups) {
+            if (group.size() > 1 || dependencies.get(group.get(0)).contains(group.get(0))) {
+                cycles.add(group);
+            }
+        }
+
+        return cycles;
+    }
+
+    /**
+     * Returns a readable report of all dependency cycles in this graph, otherwise
+     * null if there are no cycles.
+     */
+    public String getCycleReport() {
+        List<List<String>> cycles = getCycles();
+        if (cycles.isEmpty()) {
+            return null;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(cycles.size()).append(" component dependency cycle(s) detected:");
+        for (List<String> cycle : cycles) {
+            sb.append("\n    ");
+            for (String name : cycle) {
+                sb.append(name).append(" -> ");
+            }
+            sb.append(cycle.get(0));
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Executes supplied action for every node in this graph using a bounded pool.
+     * A node is executed only after all its dependencies have been executed.
+     * Nodes in a dependency cycle are executed together in one thread.
+     * 
+     * @param threads
+     *            the maximum number of threads to use
+     * @param action
+     *            the node action
+     * @throws UnifyException
+     *             if an error occurs. The first action error is rethrown.
+     */
+    public void execute(int threads, final NodeAction action) throws UnifyException {
+        resolveGroups();
+        final int groupCount = groups.size();
+        if (groupCount == 0) {
+            return;
+        }
+
+        // Build group level dependency counts
+        final AtomicInteger[] pendingCounts = new AtomicInteger[groupCount];
+        final List<List<Integer>> dependents = new ArrayList<List<Integer>>(groupCount);
+        for (int i = 0; i < groupCount; i++) {
+            dependents.add(new ArrayList<Integer>());
+        }
+
+        for (int i = 0; i < groupCount; i++) {
+            Set<Integer> upstream = new LinkedHashSet<Integer>();
+            for (String name : groups.get(i)) {
+                for (String dependsOn : dependencies.get(name)) {
+                    Integer j = groupIndex.get(dependsOn);
+                    if (j != null && j != i) {
+                        upstream.add(j);
+                    }
+                }
+            }
+
+            pendingCounts[i] = new AtomicInteger(upstream.size());
+            for (Integer j : upstream) {
+                dependents.get(j).add(i);
+            }
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads <= 0 ? 1 : threads,
+                new ThreadFactory() {
+                    private final AtomicInteger count = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "unify-startup-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        final AtomicInteger remaining = new AtomicInteger(groupCount);
+        final Object completion = new Object();
+        final UnifyException[] error = new UnifyException[1];
+        try {
+            final Runnable[] tasks = new Runnable[groupCount];
+            for (int i = 0; i < groupCount; i++) {
+                final int groupNo = i;
+                tasks[i] = new Runnable() {
+                    @Override
+                    public void run() {
+                        boolean success = false;
+                        try {
+                            synchronized (completion) {
+                                if (error[0] != null) {
+                                    return;
+                                }
+                            }
+
+                            for (String name : groups.get(groupNo)) {
+                                action.execute(name);
+                            }
+
+                            success = true;
+                        } catch (UnifyException e) {
+                            fail(e);
+                        } catch (RuntimeException e) {
+                            fail(new UnifyOperationException(e, ComponentDependencyGraph.class.getSimpleName()));
+                        } finally {
+                            if (success) {
+                                for (Integer dependent : dependents.get(groupNo)) {
+                                    if (pendingCounts[dependent].decrementAndGet() == 0) {
+                                        try {
+                                            executor.execute(tasks[dependent]);
+                                        } catch (RejectedExecutionException e) {
+                                            // Execution aborted
+                                        }
+                                    }
+                                }
+                            }
+
+                            if (remaining.decrementAndGet() == 0 || !success) {
+                                synchronized (completion) {
+                                    completion.notifyAll();
+                                }
+                            }
+                        }
+                    }
+
+                    private void fail(UnifyException e) {
+                        synchronized (completion) {
+                            if (error[0] == null) {
+                                error[0] = e;
+                            }
+                        }
+                    }
+                };
+            }
+
+            // Resolve roots before submission since running tasks release dependents
+            List<Integer> roots = new ArrayList<Integer>();
+            for (int i = 0; i < groupCount; i++) {
+                if (pendingCounts[i].get() == 0) {
+                    roots.add(i);
+                }
+            }
+
+            for (Integer i : roots) {
+                executor.execute(tasks[i]);
+            }
+
+            synchronized (completion) {
+                while (remaining.get() > 0 && error[0] == null) {
+                    completion.wait(1000);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UnifyOperationException(e, ComponentDependencyGraph.class.getSimpleName());
+        } finally {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (error[0] != null) {
+            throw error[0];
+        }
+    }
+
+    private void resolveGroups() {
+        if (groups != null) {
+            return;
+        }
+
+        // Tarjan's strongly connected components. Iterative to avoid deep recursion.
+        final Map<String, Integer> index = new HashMap<String, Integer>();
+        final Map<String, Integer> lowLink = new HashMap<String, Integer>();
+        final Set<String> onStack = new LinkedHashSet<String>();
+        final Deque<String> stack = new ArrayDeque<String>();
+        final List<List<String>> _groups = new ArrayList<List<String>>();
+        int counter = 0;
+        for (String root : dependencies.keySet()) {
+            if (index.containsKey(root)) {
+                continue;
+            }
+
+            Deque<Object[]> work = new ArrayDeque<Object[]>();
+            work.push(new Object[] { root, new ArrayList<String>(known(dependencies.get(root))).iterator() });
+            index.put(root, counter);
+            lowLink.put(root, counter);
+            counter++;
+            stack.push(root);
+            onStack.add(root);
+            while (!work.isEmpty()) {
+                Object[] frame = work.peek();
+                String node = (String) frame[0];
+                @SuppressWarnings("unchecked")
+                Iterator<String> it = (Iterator<String>) frame[1];
+                if (it.hasNext()) {
+                    String next = it.next();
+                    if (!index.containsKey(next)) {
+                        index.put(next, counter);
+                        lowLink.put(next, counter);
+                        counter++;
+                        stack.push(next);
+                        onStack.add(next);
+                        work.push(new Object[] { next, new ArrayList<String>(known(dependencies.get(next))).iterator() });
+                    } else if (onStack.contains(next)) {
+                        lowLink.put(node, Math.min(lowLink.get(node), index.get(next)));
+                    }
+                } else {
+                    work.pop();
+                    if (!work.isEmpty()) {
+                        String parent = (String) work.peek()[0];
+                        lowLink.put(parent, Math.min(lowLink.get(parent), lowLink.get(node)));
+                    }
+
+                    if (lowLink.get(node).equals(index.get(node))) {
+                        List<String> group = new ArrayList<String>();
+                        String member = null;
+                        do {
+                            member = stack.pop();
+                            onStack.remove(member);
+                            group.add(member);
+                        } while (!member.equals(node));
+                        Collections.reverse(group);
+                        _groups.add(group);
+                    }
+                }
+            }
+        }
+
+        groupIndex = new HashMap<String, Integer>();
+        for (int i = 0; i < _groups.size(); i++) {
+            for (String name : _groups.get(i)) {
+                groupIndex.put(name, i);
+            }
+        }
+
+        groups = _groups;
+    }
+
+    private List<String> known(Set<String> names) {
+        List<String> list = new ArrayList<String>();
+        for (String name : names) {
+            if (dependencies.containsKey(name)) {
+                list.add(name);
+            }
+        }
+
+        return list;
+    }
+
+    public interface NodeAction {
+
+        /**
+         * Executes action on node.
+         * 
+         * @param name
+         *            the node name
+         * @throws UnifyException
+         *             if an error occurs
+         */
+        void execute(String name) throws UnifyException;
+    }
+}
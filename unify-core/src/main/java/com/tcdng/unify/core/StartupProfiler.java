@@ -0,0 +1,426 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.tcdng.unify.core.util.json.JsonWriter;
+
+/**
+ * Records a hierarchical timeline of container startup phases and per-component
+ * initialization times. Timings are taken per thread so nested phases and
+ * components, including those initialized in parallel, are attributed to their
+ * enclosing frames. Component self time excludes time spent initializing
+ * dependencies.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class StartupProfiler {
+
+	public static final String PHASE = "phase";
+
+	public static final String COMPONENT = "component";
+
+	public static final String UPL = "upl";
+
+	private final long originNanos;
+
+	private final List<Event> events;
+
+	private final Map<String, ComponentTime> componentTimes;
+
+	private final ThreadLocal<Deque<Frame>> frames;
+
+	private volatile long stopNanos;
+
+	public StartupProfiler() {
+		this.originNanos = System.nanoTime();
+		this.events = new ArrayList<Event>();
+		this.componentTimes = new HashMap<String, ComponentTime>();
+		this.frames = new ThreadLocal<Deque<Frame>>() {
+			@Override
+			protected Deque<Frame> initialValue() {
+				return new ArrayDeque<Frame>();
+			}
+		};
+	}
+
+	/**
+	 * Begins a timed frame on the current thread. Every frame begun must be ended
+	 * with {@link #end()} on the same thread.
+	 * 
+	 * @param category
+	 *            the frame category
+	 * @param name
+	 *            the frame name
+	 * @return true if frame was begun, false if profiler is stopped
+	 */
+	public boolean begin(String category, String name) {
+		if (isStopped()) {
+			return false;
+		}
+
+		Deque<Frame> stack = frames.get();
+		int depth = 0;
+		for (Frame frame : stack) {
+			if (PHASE.equals(frame.category)) {
+				depth++;
+			}
+		}
+
+		stack.push(new Frame(category, name, depth, System.nanoTime()));
+		return true;
+	}
+
+	/**
+	 * Ends the last frame begun on the current thread.
+	 * 
+	 * @return the frame duration in nanoseconds
+	 */
+	public long end() {
+		final long endNanos = System.nanoTime();
+		Deque<Frame> stack = frames.get();
+		Frame frame = stack.pop();
+		final long durationNanos = endNanos - frame.startNanos;
+		final long selfNanos = durationNanos - frame.childNanos;
+		Frame parent = stack.peek();
+		if (parent != null) {
+			parent.childNanos += durationNanos;
+		}
+
+		Thread thread = Thread.currentThread();
+		synchronized (this) {
+			events.add(new Event(frame.category, frame.name, thread.getName(), thread.getId(), frame.depth,
+					frame.startNanos - originNanos, durationNanos, selfNanos));
+			if (COMPONENT.equals(frame.category)) {
+				ComponentTime componentTime = componentTimes.get(frame.name);
+				if (componentTime == null) {
+					componentTime = new ComponentTime(frame.name);
+					componentTimes.put(frame.name, componentTime);
+				}
+
+				componentTime.add(durationNanos, selfNanos);
+			}
+		}
+
+		return durationNanos;
+	}
+
+	/**
+	 * Adds a phase measured outside the profiler that completed just before the
+	 * profiler was created.
+	 * 
+	 * @param name
+	 *            the phase name
+	 * @param durationNanos
+	 *            the phase duration in nanoseconds
+	 */
+	public synchronized void addPriorPhase(String name, long durationNanos) {
+		Thread thread = Thread.currentThread();
+		events.add(new Event(PHASE, name, thread.getName(), thread.getId(), 0, -durationNanos, durationNanos,
+				durationNanos));
+	}
+
+	/**
+	 * Stops recording. Frames begun after this call are not recorded.
+	 */
+	public void stop() {
+		if (stopNanos == 0) {
+			stopNanos = System.nanoTime();
+		}
+	}
+
+	public boolean isStopped() {
+		return stopNanos != 0;
+	}
+
+	/**
+	 * Gets total profiled time in milliseconds.
+	 * 
+	 * @return time from profiler creation to stop, or to now if not stopped
+	 */
+	public long getTotalMillis() {
+		return ((isStopped() ? stopNanos : System.nanoTime()) - originNanos) / 1000000L;
+	}
+
+	/**
+	 * Gets all recorded events ordered by start time.
+	 * 
+	 * @return the event list
+	 */
+	public synchronized List<Event> getEvents() {
+		List<Event> list = new ArrayList<Event>(events);
+		Collections.sort(list, new Comparator<Event>() {
+			@Override
+			public int compare(Event event1, Event event2) {
+				return Long.compare(event1.startNanos, event2.startNanos);
+			}
+		});
+		return list;
+	}
+
+	/**
+	 * Gets components with the highest initialization self time.
+	 * 
+	 * @param count
+	 *            the maximum number of components to return
+	 * @return component times sorted by self time descending
+	 */
+	public synchronized List<ComponentTime> getTopComponentTimes(int count) {
+		List<ComponentTime> list = new ArrayList<ComponentTime>(componentTimes.values());
+		Collections.sort(list, new Comparator<ComponentTime>() {
+			@Override
+			public int compare(ComponentTime time1, ComponentTime time2) {
+				int result = Long.compare(time2.selfNanos, time1.selfNanos);
+				return result != 0 ? result : time1.name.compareTo(time2.name);
+			}
+		});
+		return count < list.size() ? new ArrayList<ComponentTime>(list.subList(0, count)) : list;
+	}
+
+	/**
+	 * Gets report lines made up of the phase timeline followed by the top
+	 * components by initialization self time.
+	 * 
+	 * @param topCount
+	 *            the number of components to report
+	 * @return the report lines
+	 */
+	public List<String> getReport(int topCount) {
+		List<String> lines = new ArrayList<String>();
+		lines.add("Startup profile (total " + getTotalMillis() + "ms):");
+		lines.add("Phase timeline:");
+		for (Event event : getEvents()) {
+			if (PHASE.equals(event.category)) {
+				StringBuilder sb = new StringBuilder();
+				for (int i = 0; i <= event.depth; i++) {
+					sb.append("    ");
+				}
+
+				sb.append(event.name).append(" [start ").append(event.getStartMillis()).append("ms, took ")
+						.append(event.getDurationMillis()).append("ms]");
+				lines.add(sb.toString());
+			}
+		}
+
+		Map<String, long[]> categoryTotals = new TreeMap<String, long[]>();
+		for (Event event : getEvents()) {
+			if (!PHASE.equals(event.category)) {
+				long[] total = categoryTotals.get(event.category);
+				if (total == null) {
+					total = new long[2];
+					categoryTotals.put(event.category, total);
+				}
+
+				total[0] += event.selfNanos;
+				total[1]++;
+			}
+		}
+
+		lines.add("Category totals:");
+		for (Map.Entry<String, long[]> entry : categoryTotals.entrySet()) {
+			lines.add("    " + entry.getKey() + " [self " + (entry.getValue()[0] / 1000000L) + "ms, count "
+					+ entry.getValue()[1] + "]");
+		}
+
+		List<ComponentTime> topList = getTopComponentTimes(topCount);
+		lines.add("Top " + topList.size() + " components by initialization time:");
+		int i = 0;
+		for (ComponentTime componentTime : topList) {
+			lines.add("    " + (++i) + ". " + componentTime.name + " [self " + componentTime.getSelfMillis()
+					+ "ms, total " + componentTime.getTotalMillis() + "ms, count " + componentTime.count + "]");
+		}
+
+		return lines;
+	}
+
+	/**
+	 * Writes recorded events in trace event JSON format that can be loaded into
+	 * trace viewers.
+	 * 
+	 * @param writer
+	 *            the writer to write to
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public void writeTrace(Writer writer) throws IOException {
+		List<Event> list = getEvents();
+		final long offsetNanos = list.isEmpty() ? 0 : Math.min(0, list.get(0).startNanos);
+		JsonWriter jw = new JsonWriter();
+		jw.beginObject();
+		jw.beginArray("traceEvents");
+		for (Event event : list) {
+			jw.beginObject();
+			jw.write("name", event.name);
+			jw.write("cat", event.category);
+			jw.write("ph", "X");
+			jw.write("ts", (event.startNanos - offsetNanos) / 1000L);
+			jw.write("dur", event.durationNanos / 1000L);
+			jw.write("pid", 1);
+			jw.write("tid", event.threadId);
+			jw.beginObject("args");
+			jw.write("thread", event.threadName);
+			jw.write("selfMicros", event.selfNanos / 1000L);
+			jw.endObject();
+			jw.endObject();
+		}
+		jw.endArray();
+		jw.write("displayTimeUnit", "ms");
+		jw.endObject();
+		writer.write(jw.toString());
+		writer.flush();
+	}
+
+	public static class Event {
+
+		private final String category;
+
+		private final String name;
+
+		private final String threadName;
+
+		private final long threadId;
+
+		private final int depth;
+
+		private final long startNanos;
+
+		private final long durationNanos;
+
+		private final long selfNanos;
+
+		private Event(String category, String name, String threadName, long threadId, int depth, long startNanos,
+				long durationNanos, long selfNanos) {
+			this.category = category;
+			this.name = name;
+			this.threadName = threadName;
+			this.threadId = threadId;
+			this.depth = depth;
+			this.startNanos = startNanos;
+			this.durationNanos = durationNanos;
+			this.selfNanos = selfNanos;
+		}
+
+		public String getCategory() {
+			return category;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getThreadName() {
+			return threadName;
+		}
+
+		public int getDepth() {
+			return depth;
+		}
+
+		public long getStartMillis() {
+			return startNanos / 1000000L;
+		}
+
+		public long getDurationMillis() {
+			return durationNanos / 1000000L;
+		}
+
+		public long getDurationNanos() {
+			return durationNanos;
+		}
+
+		public long getSelfNanos() {
+			return selfNanos;
+		}
+
+		@Override
+		public String toString() {
+			return category + ":" + name + " [" + getDurationMillis() + "ms]";
+		}
+	}
+
+	public static class ComponentTime {
+
+		private final String name;
+
+		private long totalNanos;
+
+		private long selfNanos;
+
+		private int count;
+
+		private ComponentTime(String name) {
+			this.name = name;
+		}
+
+		private void add(long durationNanos, long selfNanos) {
+			this.totalNanos += durationNanos;
+			this.selfNanos += selfNanos;
+			this.count++;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public long getTotalMillis() {
+			return totalNanos / 1000000L;
+		}
+
+		public long getSelfMillis() {
+			return selfNanos / 1000000L;
+		}
+
+		public long getSelfNanos() {
+			return selfNanos;
+		}
+
+		public int getCount() {
+			return count;
+		}
+	}
+
+	private static class Frame {
+
+		private final String category;
+
+		private final String name;
+
+		private final int depth;
+
+		private final long startNanos;
+
+		private long childNanos;
+
+		public Frame(String category, String name, int depth, long startNanos) {
+			this.category = category;
+			this.name = name;
+			this.depth = depth;
+			this.startNanos = startNanos;
+		}
+	}
+}
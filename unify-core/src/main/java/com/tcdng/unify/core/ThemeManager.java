@@ -16,6 +16,8 @@
 
 package com.tcdng.unify.core;
 
+import java.io.InputStream;
+
 /**
  * Theme manager
  * 
@@ -35,4 +37,36 @@ public interface ThemeManager extends UnifyComponent {
      */
     String expandThemeTag(String resouceName) throws UnifyException;
 
+    /**
+     * Resolves the file name of a themable resource for the application theme.
+     * Returns the theme variant of the resource if present, otherwise the
+     * resource itself or its fallback variant.
+     * 
+     * @param fileName
+     *            the resource file name
+     * @return the resolved file name
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    String resolveThemeFileName(String fileName) throws UnifyException;
+
+    /**
+     * Opens an input stream to a resource in the working path or class path.
+     * 
+     * @param resourceName
+     *            the resource name
+     * @return the opened input stream
+     * @throws UnifyException
+     *             if resource is not found. If an error occurs
+     */
+    InputStream openResourceInputStream(String resourceName) throws UnifyException;
+
+    /**
+     * Clears all cached resource resolutions.
+     * 
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    void invalidateResourceCache() throws UnifyException;
+
 }
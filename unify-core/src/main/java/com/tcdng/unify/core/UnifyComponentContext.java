@@ -84,6 +84,25 @@ public class UnifyComponentContext {
 		return applicationContext.getContainer().getInfo();
 	}
 
+	/**
+	 * Begins a named container startup phase on the current thread.
+	 * 
+	 * @param name the phase name
+	 * @return true if phase was begun
+	 */
+	public boolean beginStartupPhase(String name) {
+		return applicationContext.getContainer().beginStartupPhase(name);
+	}
+
+	/**
+	 * Ends the last container startup phase begun on the current thread.
+	 * 
+	 * @param begun the result of the corresponding begin call
+	 */
+	public void endStartupPhase(boolean begun) {
+		applicationContext.getContainer().endStartupPhase(begun);
+	}
+
 	/**
 	 * Gets a component by type.
 	 * 
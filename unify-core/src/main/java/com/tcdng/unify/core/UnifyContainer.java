@@ -15,12 +15,19 @@
  */
 package com.tcdng.unify.core;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -91,6 +98,10 @@ import com.tcdng.unify.core.util.UnifyConfigUtils;
  */
 public class UnifyContainer {
 
+	private static final long INITIALIZATION_WAIT_MILLISECONDS = 100L;
+
+	private static final int MAX_INITIALIZATION_WAIT_CHAIN = 64;
+
 	private UnifyContainerEnvironment unifyContainerEnvironment;
 
 	private Map<String, InternalUnifyComponentInfo> internalUnifyComponentInfos;
@@ -139,6 +150,8 @@ public class UnifyContainer {
 
 	private Map<Class<? extends UnifyComponent>, List<String>> namelessConfigurableSuggestions;
 
+	private Map<Thread, UnifyComponentInst> initializationWaits;
+
 	private String nodeId;
 
 	private String runtimeId;
@@ -177,6 +190,8 @@ public class UnifyContainer {
 
 	private boolean interfacesOpen;
 
+	private StartupProfiler startupProfiler;
+
 	public UnifyContainer() {
 		this.accessKey = UUID.randomUUID().toString();
 
@@ -187,6 +202,7 @@ public class UnifyContainer {
 		this.containerCommandQueue = new ConcurrentLinkedQueue<ContainerCommand>();
 		this.broadcastInfoMap = new HashMap<String, BroadcastInfo>();
 		this.namelessConfigurableSuggestions = new HashMap<Class<? extends UnifyComponent>, List<String>>();
+		this.initializationWaits = new ConcurrentHashMap<Thread, UnifyComponentInst>();
 
 		this.componentContextMap = new FactoryMap<String, UnifyComponentContext>() {
 			@Override
@@ -200,7 +216,9 @@ public class UnifyContainer {
 			protected UnifyComponentInst create(String name, Object... params) throws Exception {
 				InternalUnifyComponentInfo iuci = (InternalUnifyComponentInfo) params[0];
 				UnifyComponent unifyComponent = iuci.getType().getDeclaredConstructor().newInstance();
-				singletonTerminationList.add(0, unifyComponent);
+				synchronized (singletonTerminationList) {
+					singletonTerminationList.add(0, unifyComponent);
+				}
 				return new UnifyComponentInst(iuci, unifyComponent);
 			}
 		};
@@ -287,11 +305,19 @@ public class UnifyContainer {
 		applicationContext = new ApplicationContext(this, getApplicationLocale(), getApplicationTimeZone(),
 				lineSeparator != null ? lineSeparator : "\n", applicationIgnoreViewDirective);
 		long startTimeMillis = System.currentTimeMillis();
+		if (DataUtils.convert(boolean.class, unifySettings.get(UnifyCorePropertyConstants.APPLICATION_STARTUP_PROFILE))) {
+			startupProfiler = new StartupProfiler();
+			if (uce.getTypeRepository() != null) {
+				startupProfiler.addPriorPhase("classpath-scan", uce.getTypeRepository().getBuildNanos());
+			}
+		}
+
 		initializeContainerMessages();
 		logger = new UnifyContainerLoggerImpl(getClass());
 
 		toConsole("Container initialization started...");
 		toConsole("Validating and loading configuration...");
+		boolean phase = beginStartupPhase("configuration");
 		for (UnifyComponentConfig unifyComponentConfig : ucc.getComponentConfigs()) {
 			// Check conflicts
 			if (unifyComponentConfig.isWithConfict()) {
@@ -481,6 +507,7 @@ public class UnifyContainer {
 		for (InternalUnifyComponentInfo iuci : internalUnifyComponentInfos.values()) {
 			buildPropertyInjectionInfo(iuci);
 		}
+		endStartupPhase(phase);
 
 		// Initialization
 		started = true;
@@ -490,6 +517,7 @@ public class UnifyContainer {
 			uplCompiler = (UplCompiler) getComponent(ApplicationComponents.APPLICATION_UPLCOMPILER);
 
 			// Generate and install proxy business service objects
+			phase = beginStartupPhase("proxy-generation");
 			logInfo("Generating and installing [{0}] proxy business service objects...",
 					managedBusinessServiceConfigList.size());
 			for (UnifyComponentConfig unifyComponentConfig : managedBusinessServiceConfigList) {
@@ -516,6 +544,7 @@ public class UnifyContainer {
 
 			logInfo("Generation and installation of [{0}] proxy objects completed.",
 					managedBusinessServiceConfigList.size());
+			endStartupPhase(phase);
 
 			// Cluster manager
 			lockManager = (LockManager) getComponent(ApplicationComponents.APPLICATION_LOCKMANAGER);
@@ -529,6 +558,7 @@ public class UnifyContainer {
 					"!fixeddatetimeformat pattern:$s{yyyy-MM-dd HH:mm:ss.SSS}", false));
 
 			// Run application startup service
+			phase = beginStartupPhase("boot-service");
 			toConsole("Initializing application boot service...");
 			String bootComponentName = (String) unifySettings.get(UnifyCorePropertyConstants.APPLICATION_BOOT);
 			if (bootComponentName == null) {
@@ -538,13 +568,25 @@ public class UnifyContainer {
 			applicationBootService.startup();
 
 			toConsole("Application boot service initialization completed.");
+			endStartupPhase(phase);
+
+			// Parallel singleton initialization if flagged
+			if (DataUtils.convert(boolean.class,
+					unifySettings.get(UnifyCorePropertyConstants.APPLICATION_PARALLEL_STARTUP))) {
+				phase = beginStartupPhase("parallel-initialization");
+				initializeSingletonsInParallel();
+				endStartupPhase(phase);
+			}
 
 			// Initialize interfaces
+			phase = beginStartupPhase("interfaces");
 			logInfo("Initializing container interfaces...");
 			initializeInterfaces();
 			logInfo("Container interfaces initialization complete.");
+			endStartupPhase(phase);
 
 			// Schedule periodic tasks
+			phase = beginStartupPhase("periodic-registration");
 			logInfo("Scheduling periodic tasks...");
 			getComponent(PeriodicExecutionTaskConstants.PERIODIC_METHOD_TASK);
 			Random random = new Random();
@@ -569,6 +611,7 @@ public class UnifyContainer {
 				}
 			}
 			logInfo("Periodic task scheduling completed.");
+			endStartupPhase(phase);
 
 			ApplicationAttributeProvider applicationAttributeProvider = getComponent(
 					ApplicationAttributeProvider.class);
@@ -594,6 +637,9 @@ public class UnifyContainer {
 			// Container initialization completed
 			long startupTimeMillis = startTime.getTime() - startTimeMillis;
 			toConsole("Container initialization completed in " + startupTimeMillis + "ms.");
+			if (startupProfiler != null) {
+				reportStartupProfile();
+			}
 		} catch (UnifyException ue) {
 			logError(ue);
 			throw ue;
@@ -625,7 +671,12 @@ public class UnifyContainer {
 			} catch (Exception e) {
 			}
 
-			for (UnifyComponent unifyComponent : new ArrayList<UnifyComponent>(singletonTerminationList)) {
+			List<UnifyComponent> terminationList = null;
+			synchronized (singletonTerminationList) {
+				terminationList = new ArrayList<UnifyComponent>(singletonTerminationList);
+			}
+
+			for (UnifyComponent unifyComponent : terminationList) {
 				try {
 					unifyComponent.terminate();
 				} catch (Exception e) {
@@ -801,7 +852,17 @@ public class UnifyContainer {
 			return cachedLocaleUplComponentMap.get(locale, descriptor);
 		}
 
-		UplElementAttributes uplElementAttributes = uplCompiler.compileDescriptor(locale, descriptor);
+		final StartupProfiler profiler = startupProfiler;
+		final boolean profiled = profiler != null && profiler.begin(StartupProfiler.UPL, descriptor);
+		UplElementAttributes uplElementAttributes = null;
+		try {
+			uplElementAttributes = uplCompiler.compileDescriptor(locale, descriptor);
+		} finally {
+			if (profiled) {
+				profiler.end();
+			}
+		}
+
 		UplComponent uplComponent = (UplComponent) getComponent(uplElementAttributes.getComponentName(), null,
 				uplElementAttributes);
 		return uplComponent;
@@ -916,6 +977,41 @@ public class UnifyContainer {
 		return interfacesOpen;
 	}
 
+	/**
+	 * Gets the container startup profiler.
+	 * 
+	 * @return the startup profiler, otherwise null if startup profiling is not
+	 *         enabled
+	 */
+	public StartupProfiler getStartupProfiler() {
+		return startupProfiler;
+	}
+
+	/**
+	 * Begins a named startup phase on the current thread if startup profiling is
+	 * enabled and container startup is in progress.
+	 * 
+	 * @param name the phase name
+	 * @return true if phase was begun, in which case
+	 *         {@link #endStartupPhase(boolean)} must be called on the same thread
+	 */
+	public boolean beginStartupPhase(String name) {
+		final StartupProfiler profiler = startupProfiler;
+		return profiler != null && profiler.begin(StartupProfiler.PHASE, name);
+	}
+
+	/**
+	 * Ends the last startup phase begun on the current thread.
+	 * 
+	 * @param begun the result of the corresponding
+	 *              {@link #beginStartupPhase(String)} call
+	 */
+	public void endStartupPhase(boolean begun) {
+		if (begun) {
+			startupProfiler.end();
+		}
+	}
+
 	public RequestContextManager getRequestContextManager() {
 		return requestContextManager;
 	}
@@ -1158,13 +1254,11 @@ public class UnifyContainer {
 				throw new UnifyException(UnifyCoreErrorConstants.COMPONENT_UNKNOWN_COMP, name);
 			}
 
-			boolean instExist = false;
 			if (iuci.isSingleton()) {
 				if (altSettings != null) {
 					throw new UnifyException(UnifyCoreErrorConstants.COMPONENT_ALTSETTINGS_SINGLETON, name);
 				}
 
-				instExist = singletonComponentMap.isKey(iuci.getName());
 				inst = singletonComponentMap.get(iuci.getName(), iuci);
 			} else {
 				if (altSettings != null) {
@@ -1182,9 +1276,28 @@ public class UnifyContainer {
 				inst = new UnifyComponentInst(iuci, unifyComponent);
 			}
 
-			if (!instExist && !inst.isInitialized()) {
-				injectProperties(inst, altSettings, uplElementAttributes);
-				inst.initialize(componentContextMap.get(iuci.getName()));
+			while (!inst.isInitialized()) {
+				if (inst.claim()) {
+					final StartupProfiler profiler = startupProfiler;
+					final boolean profiled = profiler != null && profiler.begin(StartupProfiler.COMPONENT,
+							iuci.getName());
+					try {
+						injectProperties(inst, altSettings, uplElementAttributes);
+						inst.initialize(componentContextMap.get(iuci.getName()));
+					} finally {
+						if (profiled) {
+							profiler.end();
+						}
+
+						inst.release();
+					}
+					break;
+				}
+
+				// Another thread is initializing singleton
+				if (!awaitInitialization(inst)) {
+					break;
+				}
 			}
 		} catch (UnifyException e) {
 			throw e;
@@ -1195,6 +1308,131 @@ public class UnifyContainer {
 		return inst;
 	}
 
+	/**
+	 * Waits for a singleton being initialized by another thread.
+	 * 
+	 * @param inst the component instance
+	 * @return true if waited for other thread, false if current thread is the
+	 *         initializer or waiting would deadlock
+	 * @throws UnifyException if an error occurs
+	 */
+	private boolean awaitInitialization(UnifyComponentInst inst) throws UnifyException {
+		final Thread currentThread = Thread.currentThread();
+		boolean waited = false;
+		synchronized (inst) {
+			while (!inst.isInitialized()) {
+				Thread initializer = inst.getInitializer();
+				if (initializer == null) {
+					return waited;
+				}
+
+				if (initializer == currentThread || isInitializationWaitCycle(inst)) {
+					return false;
+				}
+
+				initializationWaits.put(currentThread, inst);
+				try {
+					inst.wait(INITIALIZATION_WAIT_MILLISECONDS);
+					waited = true;
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new UnifyException(e, UnifyCoreErrorConstants.COMPONENT_INSTANTIATION_ERROR,
+							inst.getIuci().getName());
+				} finally {
+					initializationWaits.remove(currentThread);
+				}
+			}
+		}
+
+		return true;
+	}
+
+	private boolean isInitializationWaitCycle(UnifyComponentInst inst) {
+		final Thread currentThread = Thread.currentThread();
+		Thread thread = inst.getInitializer();
+		for (int i = 0; thread != null && i < MAX_INITIALIZATION_WAIT_CHAIN; i++) {
+			if (thread == currentThread) {
+				return true;
+			}
+
+			UnifyComponentInst waitInst = initializationWaits.get(thread);
+			if (waitInst == null) {
+				return false;
+			}
+
+			thread = waitInst.getInitializer();
+		}
+
+		return thread != null;
+	}
+
+	private boolean isStartupInitializable(Class<?> type) {
+		final int modifiers = type.getModifiers();
+		return !UnifyContainerInterface.class.isAssignableFrom(type) && !Modifier.isAbstract(modifiers)
+				&& !type.isInterface() && (type.getEnclosingClass() == null || Modifier.isStatic(modifiers));
+	}
+
+	private void initializeSingletonsInParallel() throws UnifyException {
+		ComponentDependencyGraph graph = new ComponentDependencyGraph();
+		for (InternalUnifyComponentInfo iuci : internalUnifyComponentInfos.values()) {
+			if (iuci.isSingleton() && isStartupInitializable(iuci.getType())) {
+				graph.addNode(iuci.getName());
+				addStartupDependencies(graph, iuci.getName(), iuci, new HashSet<String>());
+			}
+		}
+
+		String cycleReport = graph.getCycleReport();
+		if (cycleReport != null) {
+			logWarn(cycleReport);
+		}
+
+		int threads = DataUtils.convert(int.class,
+				unifySettings.get(UnifyCorePropertyConstants.APPLICATION_PARALLEL_STARTUP_THREADS));
+		if (threads <= 0) {
+			threads = Runtime.getRuntime().availableProcessors();
+		}
+
+		logInfo("Initializing [{0}] singleton components using [{1}] threads...", graph.size(), threads);
+		final long startTimeMillis = System.currentTimeMillis();
+		graph.execute(threads, new ComponentDependencyGraph.NodeAction() {
+			@Override
+			public void execute(String name) throws UnifyException {
+				try {
+					createOrRetrieveComponent(name, null, null);
+				} catch (UnifyException e) {
+					// Leave failed component for lazy initialization on first use
+					logWarn("Eager initialization of component [{0}] failed: {1}", name, e.getMessage());
+				}
+			}
+		});
+		logInfo("Initialization of [{0}] singleton components completed in [{1}]ms.", graph.size(),
+				System.currentTimeMillis() - startTimeMillis);
+	}
+
+	private void addStartupDependencies(ComponentDependencyGraph graph, String name, InternalUnifyComponentInfo iuci,
+			Set<String> visited) {
+		for (InternalInjectInfo internalInjectInfo : iuci.getInjectInfoList()) {
+			String[] configValues = internalInjectInfo.getConfigValues();
+			if (internalInjectInfo.getUnifyComponentType() != null && configValues != null) {
+				for (String dependencyName : configValues) {
+					InternalUnifyComponentInfo dependencyIuci = getInternalUnifyComponentInfo(dependencyName);
+					if (dependencyIuci == null && aliases.containsKey(dependencyName)) {
+						dependencyIuci = getInternalUnifyComponentInfo(aliases.get(dependencyName));
+					}
+
+					if (dependencyIuci != null) {
+						if (dependencyIuci.isSingleton()) {
+							graph.addDependency(name, dependencyIuci.getName());
+						} else if (visited.add(dependencyIuci.getName())) {
+							// Non-singletons are created on injection so take on their dependencies
+							addStartupDependencies(graph, name, dependencyIuci, visited);
+						}
+					}
+				}
+			}
+		}
+	}
+
 	private void injectProperties(UnifyComponentInst inst, UnifyComponentSettings altSettings,
 			UplElementAttributes uplElementAttributes) throws UnifyException {
 		boolean success = false;
@@ -1365,6 +1603,38 @@ public class UnifyContainer {
 		toConsole("Container interfaces closed..");
 	}
 
+	private void reportStartupProfile() throws UnifyException {
+		startupProfiler.stop();
+		int topCount = DataUtils.convert(int.class,
+				unifySettings.get(UnifyCorePropertyConstants.APPLICATION_STARTUP_PROFILE_TOP));
+		if (topCount <= 0) {
+			topCount = UnifyCoreConstants.DEFAULT_STARTUP_PROFILE_TOP;
+		}
+
+		for (String line : startupProfiler.getReport(topCount)) {
+			logInfo(line);
+		}
+
+		String traceFilename = (String) unifySettings.get(UnifyCorePropertyConstants.APPLICATION_STARTUP_PROFILE_TRACE);
+		if (!StringUtils.isBlank(traceFilename)) {
+			File traceFile = new File(getWorkingPathFilename(traceFilename));
+			Writer writer = null;
+			try {
+				if (traceFile.getParentFile() != null) {
+					traceFile.getParentFile().mkdirs();
+				}
+
+				writer = new OutputStreamWriter(new FileOutputStream(traceFile), StandardCharsets.UTF_8);
+				startupProfiler.writeTrace(writer);
+				logInfo("Startup profile trace written to [{0}].", traceFile);
+			} catch (IOException e) {
+				logWarn("Unable to write startup profile trace [{0}]: {1}", traceFile, e.getMessage());
+			} finally {
+				IOUtils.close(writer);
+			}
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	private void initializeContainerMessages() throws UnifyException {
 		List<String> messageBaseList = new ArrayList<String>();
@@ -1481,6 +1751,17 @@ public class UnifyContainer {
 		}
 	}
 
+	private void logWarn(String message, Object... params) {
+		try {
+			if (params.length == 0) {
+				logger.log(LoggingLevel.WARN, message);
+			} else {
+				logger.log(LoggingLevel.WARN, MessageFormat.format(message, params));
+			}
+		} catch (Exception e) {
+		}
+	}
+
 	private void logError(Exception e) {
 		try {
 			logger.log(LoggingLevel.ERROR, null, e);
@@ -1703,6 +1984,8 @@ public class UnifyContainer {
 
 		private final UnifyComponent unifyComponent;
 
+		private volatile Thread initializer;
+
 		public UnifyComponentInst(InternalUnifyComponentInfo iuci, UnifyComponent unifyComponent) {
 			this.iuci = iuci;
 			this.unifyComponent = unifyComponent;
@@ -1720,6 +2003,24 @@ public class UnifyContainer {
 			return unifyComponent.isInitialized();
 		}
 
+		public Thread getInitializer() {
+			return initializer;
+		}
+
+		public synchronized boolean claim() {
+			if (initializer == null && !unifyComponent.isInitialized()) {
+				initializer = Thread.currentThread();
+				return true;
+			}
+
+			return false;
+		}
+
+		public synchronized void release() {
+			initializer = null;
+			notifyAll();
+		}
+
 		public void initialize(UnifyComponentContext ctx) throws UnifyException {
 			if (!unifyComponent.isInitialized()) {
 				synchronized (unifyComponent) {
@@ -36,6 +36,12 @@ public interface UnifyCoreConstants {
 
     int DEFAULT_APPLICATION_SESSION_TIMEOUT_SECONDS = 600;
 
+    int DEFAULT_HOUSEKEEPING_BATCH_SIZE = 500;
+
+    long DEFAULT_HOUSEKEEPING_TIME_BUDGET_MILLISECONDS = 5000L;
+
+    int DEFAULT_STARTUP_PROFILE_TOP = 20;
+
     long PERIODIC_EXECUTION_INITIAL_DELAY_SECONDS = 10;
 
     long COMMAND_THREAD_RATE_SECONDS = 2;
@@ -1094,4 +1094,21 @@ public interface UnifyCoreErrorConstants {
     /** Method {0} synchronized annotation requires a lock name */
     String REFLECT_METHOD_REQUIRES_LOCKNAME= "UC_0119";
 
+    /** Method {0} cached annotation requires a cache name */
+    String REFLECT_METHOD_REQUIRES_CACHENAME = "UC_011A";
+
+    /** Method {0} cached annotation requires a non-void return type */
+    String REFLECT_METHOD_CACHED_REQUIRES_RETURN = "UC_011B";
+
+    /** Method {0} cache key references unknown parameter index {1} */
+    String REFLECT_METHOD_CACHE_KEY_INVALID = "UC_011C";
+
+    /**
+     * Business service cache method {0} for class {1} must throw UnifyException
+     */
+    String MODULE_CACHE_MUST_THROW_EXCEPTION = "UC_011D";
+
+    /** Cache evict method {0} matches no cached method in class {1} */
+    String REFLECT_METHOD_CACHE_EVICT_NO_CACHED_METHOD = "UC_011E";
+
 }
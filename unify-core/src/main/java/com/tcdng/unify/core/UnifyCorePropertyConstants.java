@@ -91,5 +91,47 @@ public interface UnifyCorePropertyConstants {
 
     String APPLICATION_MAX_TASKRUNNER_THREADS = "application.max.taskrunner.threads";
 
+    String APPLICATION_MAX_TASKPARTITION_PARALLELISM = "application.max.taskpartition.parallelism";
+
+    String APPLICATION_CLUSTERTASK_WORKER_ENABLED = "application.clustertask.worker.enabled";
+
+    String APPLICATION_CLUSTERTASK_WORKER_MAXCONCURRENT = "application.clustertask.worker.maxconcurrent";
+
+    String APPLICATION_CLUSTERTASK_LEASE_MILLISECONDS = "application.clustertask.lease.milliseconds";
+
+    String APPLICATION_CLUSTERTASK_RETRY_BACKOFF_MILLISECONDS = "application.clustertask.retry.backoff.milliseconds";
+
+    String APPLICATION_QUEUEDEXEC_SHUTDOWN_MILLISECONDS = "application.queuedexec.shutdown.milliseconds";
+
+    String APPLICATION_DBCLOCK_STRICT = "application.dbclock.strict";
+
+    String APPLICATION_DBCLOCK_MAX_DRIFT_MILLISECONDS = "application.dbclock.max.drift.milliseconds";
+
+    String APPLICATION_DBCLOCK_CALIBRATION_MILLISECONDS = "application.dbclock.calibration.milliseconds";
+
+    String APPLICATION_LEADER_LEASE_MILLISECONDS = "application.leader.lease.milliseconds";
+
+    String APPLICATION_HEARTBEAT_BATCH_MODE = "application.heartbeat.batch.mode";
+
+    String APPLICATION_HOUSEKEEPING_BATCH_SIZE = "application.housekeeping.batch.size";
+
+    String APPLICATION_HOUSEKEEPING_TIME_BUDGET_MILLISECONDS = "application.housekeeping.time.budget.milliseconds";
+
+    String APPLICATION_PARALLEL_STARTUP = "application.parallel.startup";
+
+    String APPLICATION_PARALLEL_STARTUP_THREADS = "application.parallel.startup.threads";
+
+    String APPLICATION_CLASSCACHE_FOLDER = "application.classcache.folder";
+
+    String APPLICATION_UPLCACHE_FOLDER = "application.uplcache.folder";
+
+    String APPLICATION_SCHEMA_FORCE_MANAGE = "application.schema.force.manage";
+
+    String APPLICATION_STARTUP_PROFILE = "application.startup.profile";
+
+    String APPLICATION_STARTUP_PROFILE_TOP = "application.startup.profile.top";
+
+    String APPLICATION_STARTUP_PROFILE_TRACE = "application.startup.profile.trace";
+
     String APPLICATION_RETRICTED_JAR_MODE= "application.restricted.jar.mode";
 }
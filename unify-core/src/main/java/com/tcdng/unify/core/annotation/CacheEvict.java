@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.tcdng.unify.common.annotation.AnnotationConstants;
+
+/**
+ * Annotation for evicting entries cached by {@link Cached} methods after a
+ * business service component method completes successfully. Entries are
+ * evicted from {@link Cached} methods of the same business service that use the
+ * same cache and key parameter count, with the key derived from the method
+ * parameters the same way as for {@link Cached}. If a transaction is open, the
+ * entries are evicted again when it completes.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CacheEvict {
+
+    /** The cache component name. Same as {@link #cache()}. */
+    String value() default AnnotationConstants.NONE;
+
+    /** The cache component name. */
+    String cache() default AnnotationConstants.NONE;
+
+    /**
+     * Indexes of method parameters that make up the cache key. All parameters
+     * when empty.
+     */
+    int[] key() default {};
+
+    /**
+     * Names of cached methods whose entries are evicted. All matching cached
+     * methods when empty.
+     */
+    String[] method() default {};
+
+    /** Indicates all entries in cache should be evicted. */
+    boolean allEntries() default false;
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.tcdng.unify.common.annotation.AnnotationConstants;
+import com.tcdng.unify.common.database.Entity;
+
+/**
+ * Annotation for caching the result of a business service component method.
+ * The generated proxy looks up the result in the named cache component using a
+ * key derived from the method signature and parameters and only invokes the
+ * method on a miss. Concurrent calls for the same key wait on a single
+ * invocation. Null results are not cached.
+ * 
+ * <pre>
+ * <code>
+ *  {@literal @}Cached(cache = "currency-cache", key = 0)
+ *  public Currency findCurrency(String code, boolean detailed) {
+ *  ...
+ *  }
+ * </code>
+ * </pre>
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Cached {
+
+    /** The cache component name. Same as {@link #cache()}. */
+    String value() default AnnotationConstants.NONE;
+
+    /** The cache component name. */
+    String cache() default AnnotationConstants.NONE;
+
+    /**
+     * Indexes of method parameters that make up the cache key. All parameters
+     * when empty.
+     */
+    int[] key() default {};
+
+    /**
+     * Entity types whose entity events clear the cache when the setting off
+     * transaction completes. Only entity events set off explicitly through the
+     * transaction manager apply. Plain ORM and generic service CRUD operations
+     * set off no entity events and do not clear the cache.
+     */
+    Class<? extends Entity>[] invalidateOn() default {};
+}
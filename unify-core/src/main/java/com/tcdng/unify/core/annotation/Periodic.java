@@ -25,7 +25,9 @@ import com.tcdng.unify.core.task.TaskMonitor;
 /**
  * Used for marking a unify component method to run periodically. Component must
  * be a singleton and marked method must accept only one parameter of type
- * {@link TaskMonitor} and have a <code>void</code> return type.
+ * {@link TaskMonitor} and have a <code>void</code> return type. In cluster
+ * mode, the scope can restrict execution to the leader node or to the owner
+ * node of the method's partition.
  * 
  * @author The Code Department
  * @since 4.1
@@ -36,4 +38,6 @@ public @interface Periodic {
 
     PeriodicType value() default PeriodicType.NORMAL;
 
+    PeriodicScope scope() default PeriodicScope.ALL_NODES;
+
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.annotation;
+
+/**
+ * Periodic method execution scope in a cluster.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public enum PeriodicScope {
+
+    /** Execute on all nodes */
+    ALL_NODES,
+
+    /** Execute only on the cluster leader node */
+    LEADER_ONLY,
+
+    /**
+     * Execute only on the node that owns the method's partition on the
+     * consistent hash ring of live cluster nodes
+     */
+    PARTITION_OWNER;
+
+    public boolean isAllNodes() {
+        return ALL_NODES.equals(this);
+    }
+}
@@ -53,4 +53,16 @@ public @interface Taskable {
 
     /** Name of task ID generator */
     String idGenerator() default AnnotationConstants.NONE;
+
+    /**
+     * Name of task partitioner. When set, task is executed in partitioned mode
+     * with slices fanned out across runner threads.
+     */
+    String partitioner() default AnnotationConstants.NONE;
+
+    /**
+     * Maximum number of partition slices that can run concurrently. Defaults to
+     * application setting if less or equal to zero.
+     */
+    int parallelism() default 0;
 }
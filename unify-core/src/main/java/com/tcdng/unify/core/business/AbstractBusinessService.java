@@ -22,10 +22,13 @@ import com.tcdng.unify.common.database.Entity;
 import com.tcdng.unify.core.AbstractUnifyComponent;
 import com.tcdng.unify.core.ApplicationComponents;
 import com.tcdng.unify.core.EntityEventSource;
+import com.tcdng.unify.core.UnifyCoreConstants;
+import com.tcdng.unify.core.UnifyCorePropertyConstants;
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.annotation.Configurable;
 import com.tcdng.unify.core.annotation.Transactional;
 import com.tcdng.unify.core.constant.TopicEventType;
+import com.tcdng.unify.core.database.ChunkedPurger;
 import com.tcdng.unify.core.database.Database;
 import com.tcdng.unify.core.database.DatabaseTransactionManager;
 import com.tcdng.unify.core.database.dynamic.sql.DynamicSqlDatabaseManager;
@@ -152,6 +155,22 @@ public abstract class AbstractBusinessService extends AbstractUnifyComponent imp
 		return taskLauncher.launchTask(taskSetup);
 	}
 
+	/**
+	 * Creates a chunked purger on the application database. Chunk size and time
+	 * budget are taken from the application housekeeping settings.
+	 * 
+	 * @return the chunked purger
+	 * @throws UnifyException if an error occurs
+	 */
+	protected ChunkedPurger newChunkedPurger() throws UnifyException {
+		return new ChunkedPurger(db, databaseTransactionManager,
+				getContainerSetting(int.class, UnifyCorePropertyConstants.APPLICATION_HOUSEKEEPING_BATCH_SIZE,
+						UnifyCoreConstants.DEFAULT_HOUSEKEEPING_BATCH_SIZE),
+				getContainerSetting(long.class,
+						UnifyCorePropertyConstants.APPLICATION_HOUSEKEEPING_TIME_BUDGET_MILLISECONDS,
+						UnifyCoreConstants.DEFAULT_HOUSEKEEPING_TIME_BUDGET_MILLISECONDS));
+	}
+
 	/**
 	 * Commits all pending database transactions
 	 * 
@@ -15,42 +15,237 @@
  */
 package com.tcdng.unify.core.business;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Convenient base class for queued execution.
+ * <p>
+ * By default the execution queue is unbounded. A bounded queue can be set
+ * with a rejection policy that either discards new requests or runs them in
+ * the submitting thread when the queue is full. Subclasses can enable
+ * coalescing by overriding {@link #getCoalescingKey(Object)}. A request whose
+ * key matches a request that is still waiting in the queue replaces that
+ * request's parameter instead of being queued.
  * 
  * @author The Code Department
  * @since 4.1
  */
 public abstract class AbstractQueuedExec<T> implements QueuedExec<T> {
 
-	private final ExecutorService executor;
-	
+	private final ThreadPoolExecutor executor;
+
+	private final ConcurrentMap<Object, ExecTask> pendingByKey;
+
+	private final QueuedExecRejectionPolicy rejectionPolicy;
+
+	private final int queueCapacity;
+
+	private final AtomicLong submittedCount;
+
+	private final AtomicLong executedCount;
+
+	private final AtomicLong failedCount;
+
+	private final AtomicLong rejectedCount;
+
+	private final AtomicLong callerRunsCount;
+
+	private final AtomicLong coalescedCount;
+
+	private final AtomicLong totalWaitNanos;
+
+	private final AtomicLong maxWaitNanos;
+
+	private final AtomicLong totalExecNanos;
+
+	private final AtomicLong maxExecNanos;
+
+	public AbstractQueuedExec(int maxProcessingThreads, int queueCapacity,
+			QueuedExecRejectionPolicy rejectionPolicy) {
+		final BlockingQueue<Runnable> queue = queueCapacity > 0 ? new ArrayBlockingQueue<Runnable>(queueCapacity)
+				: new LinkedBlockingQueue<Runnable>();
+		this.executor = new ThreadPoolExecutor(maxProcessingThreads, maxProcessingThreads, 0L, TimeUnit.MILLISECONDS,
+				queue, new ThreadPoolExecutor.AbortPolicy());
+		this.pendingByKey = new ConcurrentHashMap<Object, ExecTask>();
+		this.rejectionPolicy = rejectionPolicy != null ? rejectionPolicy : QueuedExecRejectionPolicy.REJECT;
+		this.queueCapacity = queueCapacity > 0 ? queueCapacity : 0;
+		this.submittedCount = new AtomicLong();
+		this.executedCount = new AtomicLong();
+		this.failedCount = new AtomicLong();
+		this.rejectedCount = new AtomicLong();
+		this.callerRunsCount = new AtomicLong();
+		this.coalescedCount = new AtomicLong();
+		this.totalWaitNanos = new AtomicLong();
+		this.maxWaitNanos = new AtomicLong();
+		this.totalExecNanos = new AtomicLong();
+		this.maxExecNanos = new AtomicLong();
+	}
+
 	public AbstractQueuedExec(int maxProcessingThreads) {
-		this.executor = Executors.newFixedThreadPool(maxProcessingThreads);
+		this(maxProcessingThreads, 0, QueuedExecRejectionPolicy.REJECT);
 	}
-	
+
+	@Override
+	public final boolean execute(T param) {
+		submittedCount.incrementAndGet();
+		final Object key = getCoalescingKey(param);
+		if (key != null) {
+			while (true) {
+				ExecTask pendingTask = pendingByKey.get(key);
+				if (pendingTask != null) {
+					if (pendingTask.replace(param)) {
+						coalescedCount.incrementAndGet();
+						return true;
+					}
+
+					// Pending task has started. Queue a new task.
+					pendingByKey.remove(key, pendingTask);
+					continue;
+				}
+
+				ExecTask task = new ExecTask(key, param);
+				if (pendingByKey.putIfAbsent(key, task) == null) {
+					return submit(task);
+				}
+			}
+		}
+
+		return submit(new ExecTask(null, param));
+	}
+
+	@Override
+	public QueuedExecStats getStats() {
+		return new QueuedExecStats(executor.getQueue().size(), queueCapacity, executor.getActiveCount(),
+				submittedCount.get(), executedCount.get(), failedCount.get(), rejectedCount.get(),
+				callerRunsCount.get(), coalescedCount.get(), totalWaitNanos.get(), maxWaitNanos.get(),
+				totalExecNanos.get(), maxExecNanos.get());
+	}
+
 	@Override
-	public final void execute(T param) {
-		executor.execute(new ExecThread(param));
+	public boolean shutdown(long timeoutInMillSec) {
+		executor.shutdown();
+		try {
+			if (executor.awaitTermination(timeoutInMillSec, TimeUnit.MILLISECONDS)) {
+				return true;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		executor.shutdownNow();
+		pendingByKey.clear();
+		return false;
+	}
+
+	public boolean isShutdown() {
+		return executor.isShutdown();
 	}
-	
+
+	/**
+	 * Gets the key for coalescing supplied parameter with a queued parameter.
+	 * Default implementation returns null which disables coalescing.
+	 * 
+	 * @param param the execution parameter
+	 * @return the coalescing key, or null if parameter should not be coalesced
+	 */
+	protected Object getCoalescingKey(T param) {
+		return null;
+	}
+
 	protected abstract void doExecute(T param);
-	
-	private class ExecThread implements Runnable {
 
-		private final T param;
+	private boolean submit(ExecTask task) {
+		try {
+			executor.execute(task);
+			return true;
+		} catch (RejectedExecutionException e) {
+			if (rejectionPolicy.isCallerRuns() && !executor.isShutdown()) {
+				callerRunsCount.incrementAndGet();
+				task.run();
+				return true;
+			}
+
+			if (task.getKey() != null) {
+				pendingByKey.remove(task.getKey(), task);
+			}
+
+			rejectedCount.incrementAndGet();
+			return false;
+		}
+	}
+
+	private static void updateMax(AtomicLong max, long val) {
+		long current = max.get();
+		while (val > current && !max.compareAndSet(current, val)) {
+			current = max.get();
+		}
+	}
 
-		public ExecThread(T param) {
+	private class ExecTask implements Runnable {
+
+		private final Object key;
+
+		private final long queuedNanos;
+
+		private T param;
+
+		private boolean started;
+
+		public ExecTask(Object key, T param) {
+			this.key = key;
 			this.param = param;
+			this.queuedNanos = System.nanoTime();
+		}
+
+		public Object getKey() {
+			return key;
+		}
+
+		public synchronized boolean replace(T param) {
+			if (!started) {
+				this.param = param;
+				return true;
+			}
+
+			return false;
 		}
 
 		@Override
 		public void run() {
-			doExecute(param);
+			final T _param;
+			synchronized (this) {
+				started = true;
+				_param = param;
+			}
+
+			if (key != null) {
+				pendingByKey.remove(key, this);
+			}
+
+			final long startNanos = System.nanoTime();
+			final long waitNanos = startNanos - queuedNanos;
+			totalWaitNanos.addAndGet(waitNanos);
+			updateMax(maxWaitNanos, waitNanos);
+			try {
+				doExecute(_param);
+			} catch (RuntimeException e) {
+				failedCount.incrementAndGet();
+				throw e;
+			} finally {
+				final long execNanos = System.nanoTime() - startNanos;
+				totalExecNanos.addAndGet(execNanos);
+				updateMax(maxExecNanos, execNanos);
+				executedCount.incrementAndGet();
+			}
 		}
 	}
-	
+
 }
@@ -27,7 +27,23 @@ public interface QueuedExec<T> {
 	 * Performs execution using supplied parameter.
 	 * 
 	 * @param parameter the parameter to use
+	 * @return true if execution was queued, coalesced or run by caller, false if
+	 *         it was rejected
 	 */
-	void execute(T parameter);
-	
+	boolean execute(T parameter);
+
+	/**
+	 * Gets a snapshot of this queued execution's statistics.
+	 */
+	QueuedExecStats getStats();
+
+	/**
+	 * Stops accepting new executions and waits for queued executions to
+	 * complete.
+	 * 
+	 * @param timeoutInMillSec the maximum time to wait
+	 * @return true if all queued executions completed within timeout, otherwise
+	 *         false in which case remaining executions are discarded
+	 */
+	boolean shutdown(long timeoutInMillSec);
 }
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.business;
+
+/**
+ * Queued execution statistics snapshot.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class QueuedExecStats {
+
+	private final int queueDepth;
+
+	private final int queueCapacity;
+
+	private final int activeCount;
+
+	private final long submittedCount;
+
+	private final long executedCount;
+
+	private final long failedCount;
+
+	private final long rejectedCount;
+
+	private final long callerRunsCount;
+
+	private final long coalescedCount;
+
+	private final long totalWaitNanos;
+
+	private final long maxWaitNanos;
+
+	private final long totalExecNanos;
+
+	private final long maxExecNanos;
+
+	public QueuedExecStats(int queueDepth, int queueCapacity, int activeCount, long submittedCount,
+			long executedCount, long failedCount, long rejectedCount, long callerRunsCount, long coalescedCount,
+			long totalWaitNanos, long maxWaitNanos, long totalExecNanos, long maxExecNanos) {
+		this.queueDepth = queueDepth;
+		this.queueCapacity = queueCapacity;
+		this.activeCount = activeCount;
+		this.submittedCount = submittedCount;
+		this.executedCount = executedCount;
+		this.failedCount = failedCount;
+		this.rejectedCount = rejectedCount;
+		this.callerRunsCount = callerRunsCount;
+		this.coalescedCount = coalescedCount;
+		this.totalWaitNanos = totalWaitNanos;
+		this.maxWaitNanos = maxWaitNanos;
+		this.totalExecNanos = totalExecNanos;
+		this.maxExecNanos = maxExecNanos;
+	}
+
+	public int getQueueDepth() {
+		return queueDepth;
+	}
+
+	/**
+	 * Gets queue capacity. Zero for unbounded queues.
+	 */
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	public int getActiveCount() {
+		return activeCount;
+	}
+
+	public long getSubmittedCount() {
+		return submittedCount;
+	}
+
+	public long getExecutedCount() {
+		return executedCount;
+	}
+
+	public long getFailedCount() {
+		return failedCount;
+	}
+
+	public long getRejectedCount() {
+		return rejectedCount;
+	}
+
+	public long getCallerRunsCount() {
+		return callerRunsCount;
+	}
+
+	public long getCoalescedCount() {
+		return coalescedCount;
+	}
+
+	public long getTotalWaitNanos() {
+		return totalWaitNanos;
+	}
+
+	public long getMaxWaitNanos() {
+		return maxWaitNanos;
+	}
+
+	public long getTotalExecNanos() {
+		return totalExecNanos;
+	}
+
+	public long getMaxExecNanos() {
+		return maxExecNanos;
+	}
+
+	public double getAverageWaitMillis() {
+		return executedCount > 0 ? (totalWaitNanos / 1000000.0) / executedCount : 0;
+	}
+
+	public double getAverageExecMillis() {
+		return executedCount > 0 ? (totalExecNanos / 1000000.0) / executedCount : 0;
+	}
+
+	@Override
+	public String toString() {
+		return "QueuedExecStats [queueDepth=" + queueDepth + ", queueCapacity=" + queueCapacity + ", activeCount="
+				+ activeCount + ", submittedCount=" + submittedCount + ", executedCount=" + executedCount
+				+ ", failedCount=" + failedCount + ", rejectedCount=" + rejectedCount + ", callerRunsCount="
+				+ callerRunsCount + ", coalescedCount=" + coalescedCount + ", averageWaitMillis="
+				+ getAverageWaitMillis() + ", maxWaitMillis=" + (maxWaitNanos / 1000000) + ", averageExecMillis="
+				+ getAverageExecMillis() + ", maxExecMillis=" + (maxExecNanos / 1000000) + "]";
+	}
+}
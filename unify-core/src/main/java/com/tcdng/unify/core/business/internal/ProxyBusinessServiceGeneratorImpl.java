@@ -17,7 +17,10 @@ package com.tcdng.unify.core.business.internal;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -28,6 +31,8 @@ import com.tcdng.unify.core.UnifyCoreErrorConstants;
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.UnifyPluginInfo;
 import com.tcdng.unify.core.annotation.Broadcast;
+import com.tcdng.unify.core.annotation.CacheEvict;
+import com.tcdng.unify.core.annotation.Cached;
 import com.tcdng.unify.core.annotation.Component;
 import com.tcdng.unify.core.annotation.Configurable;
 import com.tcdng.unify.core.annotation.Expirable;
@@ -40,6 +45,8 @@ import com.tcdng.unify.core.business.BusinessLogicInput;
 import com.tcdng.unify.core.business.BusinessLogicOutput;
 import com.tcdng.unify.core.business.BusinessLogicUnit;
 import com.tcdng.unify.core.business.BusinessService;
+import com.tcdng.unify.core.cache.CachedLoad;
+import com.tcdng.unify.core.cache.CachedMethodManager;
 import com.tcdng.unify.core.constant.DeploymentMode;
 import com.tcdng.unify.core.runtime.RuntimeJavaClassManager;
 import com.tcdng.unify.core.system.LockManager;
@@ -112,8 +119,11 @@ public class ProxyBusinessServiceGeneratorImpl extends AbstractUnifyComponent im
 		Transactional clazzTa = businessServiceClazz.getAnnotation(Transactional.class);
 		Method[] methods = businessServiceClazz.getMethods();
 
-		// Identify locks and extract relayed annotation information
+		// Identify locks, caches and extract relayed annotation information
 		Map<Method, SynchronizedInfo> methodLockMap = new HashMap<Method, SynchronizedInfo>();
+		Map<Method, CacheInfo> methodCachedMap = new HashMap<Method, CacheInfo>();
+		Map<Method, CacheInfo> methodCacheEvictMap = new HashMap<Method, CacheInfo>();
+		Map<String, List<Class<?>>> cacheInvalidations = new LinkedHashMap<String, List<Class<?>>>();
 		for (Method method : methods) {
 			Synchronized syna = method.getAnnotation(Synchronized.class);
 			if (syna != null) {
@@ -129,6 +139,37 @@ public class ProxyBusinessServiceGeneratorImpl extends AbstractUnifyComponent im
 				methodLockMap.put(method, new SynchronizedInfo(lockName, syna.waitForLock(), syna.timeout()));
 			}
 
+			Cached ca = method.getAnnotation(Cached.class);
+			if (ca != null) {
+				if (void.class.equals(method.getReturnType())) {
+					throw new UnifyException(UnifyCoreErrorConstants.REFLECT_METHOD_CACHED_REQUIRES_RETURN, method);
+				}
+
+				CacheInfo cacheInfo = getCacheInfo(businessServiceClazz, method, ca.cache(), ca.value(), ca.key(),
+						false);
+				cacheInfo.getScopes().add(ReflectUtils.getMethodSignature(businessServiceClazz.getName(), method));
+				methodCachedMap.put(method, cacheInfo);
+				if (ca.invalidateOn().length > 0) {
+					List<Class<?>> entityClasses = cacheInvalidations.get(cacheInfo.getCacheName());
+					if (entityClasses == null) {
+						entityClasses = new ArrayList<Class<?>>();
+						cacheInvalidations.put(cacheInfo.getCacheName(), entityClasses);
+					}
+
+					for (Class<?> entityClass : ca.invalidateOn()) {
+						if (!entityClasses.contains(entityClass)) {
+							entityClasses.add(entityClass);
+						}
+					}
+				}
+			}
+
+			CacheEvict cea = method.getAnnotation(CacheEvict.class);
+			if (cea != null) {
+				methodCacheEvictMap.put(method, getCacheInfo(businessServiceClazz, method, cea.cache(), cea.value(),
+						cea.key(), cea.allEntries()));
+			}
+
 			Taskable ta = method.getAnnotation(Taskable.class);
 			Expirable ea = method.getAnnotation(Expirable.class);
 			if (ta != null || ea != null) {
@@ -137,10 +178,40 @@ public class ProxyBusinessServiceGeneratorImpl extends AbstractUnifyComponent im
 			}
 		}
 
+		// Resolve scopes of cached method entries evicted by each cache evict method
+		for (Map.Entry<Method, CacheInfo> evictEntry : methodCacheEvictMap.entrySet()) {
+			CacheInfo cacheEvictInfo = evictEntry.getValue();
+			if (cacheEvictInfo.isAllEntries()) {
+				continue;
+			}
+
+			CacheEvict cea = evictEntry.getKey().getAnnotation(CacheEvict.class);
+			List<String> methodNames = Arrays.asList(cea.method());
+			for (Map.Entry<Method, CacheInfo> cachedEntry : methodCachedMap.entrySet()) {
+				CacheInfo cachedInfo = cachedEntry.getValue();
+				if (cachedInfo.getCacheName().equals(cacheEvictInfo.getCacheName())
+						&& cachedInfo.getParamIndexes().length == cacheEvictInfo.getParamIndexes().length
+						&& (methodNames.isEmpty() || methodNames.contains(cachedEntry.getKey().getName()))) {
+					cacheEvictInfo.getScopes().addAll(cachedInfo.getScopes());
+				}
+			}
+
+			if (cacheEvictInfo.getScopes().isEmpty()) {
+				throw new UnifyException(UnifyCoreErrorConstants.REFLECT_METHOD_CACHE_EVICT_NO_CACHED_METHOD,
+						evictEntry.getKey(), businessServiceClazz);
+			}
+		}
+
 		if (!methodLockMap.isEmpty()) {
 			sb.append("\tprivate ").append(LockManager.class.getCanonicalName()).append(" resv_lockManager;\n");
 		}
 
+		final boolean isCacheManager = !methodCachedMap.isEmpty() || !methodCacheEvictMap.isEmpty();
+		if (isCacheManager) {
+			sb.append("\tprivate ").append(CachedMethodManager.class.getCanonicalName())
+					.append(" resv_cachedMethodManager;\n");
+		}
+
 		// Write methods
 		for (Method method : methods) {
 			Class<?>[] parameterTypes = method.getParameterTypes();
@@ -178,9 +249,13 @@ public class ProxyBusinessServiceGeneratorImpl extends AbstractUnifyComponent im
 			boolean isBroadcast = method.getAnnotation(Broadcast.class) != null;
 			boolean isTransactional = ta != null;
 			boolean isSynchronized = methodLockMap.containsKey(method);
-			if (!isTransactional && !isSynchronized && !isBroadcast) {
+			CacheInfo cachedInfo = methodCachedMap.get(method);
+			CacheInfo cacheEvictInfo = methodCacheEvictMap.get(method);
+			boolean isCached = cachedInfo != null;
+			boolean isCacheEvict = cacheEvictInfo != null;
+			if (!isTransactional && !isSynchronized && !isBroadcast && !isCached && !isCacheEvict) {
 				// No need to override method if it is not transactional or not
-				// synchronized or not broadcast
+				// synchronized or not broadcast or not cache related
 				// Move to next method
 				continue;
 			}
@@ -224,6 +299,20 @@ public class ProxyBusinessServiceGeneratorImpl extends AbstractUnifyComponent im
 				sb.append("\t\t").append(method.getReturnType().getCanonicalName()).append(" result;\n");
 			}
 
+			// Cache lookup
+			if (isCached) {
+				sb.append("\t\t").append(CachedLoad.class.getCanonicalName())
+						.append(" resv_load = resv_cachedMethodManager.beginLoad(\"").append(cachedInfo.getCacheName())
+						.append("\", ");
+				appendCacheKey(sb, cachedInfo, cachedInfo.getScopes().get(0));
+				sb.append(");\n");
+				sb.append("\t\tif (resv_load.isLoaded()) {\n");
+				sb.append("\t\t\treturn (").append(method.getReturnType().getCanonicalName())
+						.append(") resv_load.getValue();\n");
+				sb.append("\t\t}\n");
+				sb.append("\t\ttry {\n");
+			}
+
 			if (isTransactional) {
 				sb.append("\t\ttm().beginTransaction(").append(TransactionAttribute.class.getName()).append('.')
 						.append(ta.value()).append(");\n");
@@ -325,19 +414,65 @@ public class ProxyBusinessServiceGeneratorImpl extends AbstractUnifyComponent im
 				sb.append("\t\t}\n");
 			}
 
+			// Cache eviction
+			if (isCacheEvict) {
+				if (cacheEvictInfo.isAllEntries()) {
+					sb.append("\t\tresv_cachedMethodManager.evictAll(\"").append(cacheEvictInfo.getCacheName())
+							.append("\");\n");
+				} else {
+					for (String scope : cacheEvictInfo.getScopes()) {
+						sb.append("\t\tresv_cachedMethodManager.evict(\"").append(cacheEvictInfo.getCacheName())
+								.append("\", ");
+						appendCacheKey(sb, cacheEvictInfo, scope);
+						sb.append(");\n");
+					}
+				}
+			}
+
+			// Cache load completion
+			if (isCached) {
+				sb.append("\t\t\tresv_load.complete(result);\n");
+				sb.append("\t\t} finally {\n");
+				sb.append("\t\t\tresv_load.end();\n");
+				sb.append("\t\t}\n");
+			}
+
 			if (nonVoidReturn) {
 				sb.append("\t\t return result;\n");
 			}
 			sb.append("\t}\n\n");
 		}
 
-		if (!methodLockMap.isEmpty()) {
+		if (!methodLockMap.isEmpty() || isCacheManager) {
 			sb.append("\tprotected void onInitialize() throws ").append(UnifyException.class.getCanonicalName())
 					.append(" {\n");
 			sb.append("\t\tsuper.onInitialize();\n");
-			sb.append("\t\tthis.resv_lockManager = (").append(LockManager.class.getCanonicalName())
-					.append(")this.getUnifyComponentContext().getComponent(\"")
-					.append(ApplicationComponents.APPLICATION_LOCKMANAGER).append("\");\n");
+			if (!methodLockMap.isEmpty()) {
+				sb.append("\t\tthis.resv_lockManager = (").append(LockManager.class.getCanonicalName())
+						.append(")this.getUnifyComponentContext().getComponent(\"")
+						.append(ApplicationComponents.APPLICATION_LOCKMANAGER).append("\");\n");
+			}
+
+			if (isCacheManager) {
+				sb.append("\t\tthis.resv_cachedMethodManager = (").append(CachedMethodManager.class.getCanonicalName())
+						.append(")this.getUnifyComponentContext().getComponent(\"")
+						.append(ApplicationComponents.APPLICATION_CACHEDMETHODMANAGER).append("\");\n");
+				for (Map.Entry<String, List<Class<?>>> entry : cacheInvalidations.entrySet()) {
+					sb.append("\t\tthis.resv_cachedMethodManager.invalidateOn(\"").append(entry.getKey())
+							.append("\", new Class[] {");
+					boolean appendSym = false;
+					for (Class<?> entityClass : entry.getValue()) {
+						if (appendSym) {
+							sb.append(", ");
+						} else {
+							appendSym = true;
+						}
+
+						sb.append(entityClass.getCanonicalName()).append(".class");
+					}
+					sb.append("});\n");
+				}
+			}
 			sb.append("\t}\n");
 		}
 
@@ -411,6 +546,95 @@ public class ProxyBusinessServiceGeneratorImpl extends AbstractUnifyComponent im
 		return Modifier.isAbstract(modifiers) || Modifier.isFinal(modifiers) || !Modifier.isPublic(modifiers);
 	}
 
+	private CacheInfo getCacheInfo(Class<? extends BusinessService> businessServiceClazz, Method method,
+			String cache, String value, int[] key, boolean allEntries) throws UnifyException {
+		String cacheName = AnnotationUtils.getAnnotationString(cache);
+		if (cacheName == null) {
+			cacheName = AnnotationUtils.getAnnotationString(value);
+		}
+
+		if (StringUtils.isBlank(cacheName)) {
+			throw new UnifyException(UnifyCoreErrorConstants.REFLECT_METHOD_REQUIRES_CACHENAME, method);
+		}
+
+		if (isNotValidTransactionMethod(method.getModifiers())) {
+			throw new UnifyException(UnifyCoreErrorConstants.REFLECT_METHOD_WITH_UNSUPORTED_MODIFIERS, method);
+		}
+
+		if (!Arrays.asList(method.getExceptionTypes()).contains(UnifyException.class)) {
+			throw new UnifyException(UnifyCoreErrorConstants.MODULE_CACHE_MUST_THROW_EXCEPTION, method,
+					businessServiceClazz);
+		}
+
+		final int paramCount = method.getParameterTypes().length;
+		int[] paramIndexes = key;
+		if (paramIndexes.length == 0) {
+			paramIndexes = new int[paramCount];
+			for (int i = 0; i < paramCount; i++) {
+				paramIndexes[i] = i;
+			}
+		} else {
+			for (int index : paramIndexes) {
+				if (index < 0 || index >= paramCount) {
+					throw new UnifyException(UnifyCoreErrorConstants.REFLECT_METHOD_CACHE_KEY_INVALID, method, index);
+				}
+			}
+		}
+
+		return new CacheInfo(cacheName, paramIndexes, allEntries);
+	}
+
+	private void appendCacheKey(StringBuilder sb, CacheInfo cacheInfo, String scope) {
+		sb.append("resv_cachedMethodManager.getKey(\"").append(scope).append("\"");
+		int[] paramIndexes = cacheInfo.getParamIndexes();
+		if (paramIndexes.length > 0) {
+			sb.append(", new Object[] {");
+			for (int i = 0; i < paramIndexes.length; i++) {
+				if (i > 0) {
+					sb.append(", ");
+				}
+
+				sb.append("p").append(paramIndexes[i]);
+			}
+			sb.append("}");
+		}
+		sb.append(")");
+	}
+
+	private class CacheInfo {
+
+		private String cacheName;
+
+		private int[] paramIndexes;
+
+		private boolean allEntries;
+
+		private List<String> scopes;
+
+		public CacheInfo(String cacheName, int[] paramIndexes, boolean allEntries) {
+			this.cacheName = cacheName;
+			this.paramIndexes = paramIndexes;
+			this.allEntries = allEntries;
+			this.scopes = new ArrayList<String>();
+		}
+
+		public String getCacheName() {
+			return cacheName;
+		}
+
+		public int[] getParamIndexes() {
+			return paramIndexes;
+		}
+
+		public boolean isAllEntries() {
+			return allEntries;
+		}
+
+		public List<String> getScopes() {
+			return scopes;
+		}
+	}
+
 	private class SynchronizedInfo {
 
 		private String lockName;
@@ -15,34 +15,91 @@
  */
 package com.tcdng.unify.core.cache;
 
-import java.util.Iterator;
-import java.util.Map;
+import java.util.AbstractMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.tcdng.unify.core.AbstractUnifyComponent;
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.annotation.Configurable;
 import com.tcdng.unify.core.annotation.Expirable;
 import com.tcdng.unify.core.data.FactoryMap;
+import com.tcdng.unify.core.expiration.TimerWheel;
 
 /**
- * An abstract class that implements the base functionality of a cache.
+ * An abstract class that implements the base functionality of a cache. Cache
+ * entries are registered with a timer wheel on their expiry deadline so that
+ * expiration only visits entries that are due.
+ * <p>
+ * A cache is unbounded unless a maximum size is set or the implementation
+ * provides a default maximum size. When bounded, entries are admitted and
+ * evicted using a window TinyLFU policy with capacity measured in weight units
+ * as returned by {@link #weigh(Object, Object)}, one per entry by default.
+ * Entries expire after access and optionally after write. Entries that
+ * are accessed after write can be refreshed ahead of write expiry by
+ * implementations that override {@link #reload(Object, Object)}.
  * 
  * @author The Code Department
  * @since 4.1
  */
 public abstract class AbstractCache<T, U> extends AbstractUnifyComponent implements Cache<T, U> {
 
+    private static final long EXPIRY_TICK_MILLISECONDS = 1000L;
+
     @Configurable("60")
     private int defaultExpiryPeriod;
 
+    @Configurable("0")
+    private int expireAfterWrite;
+
+    @Configurable("0")
+    private int refreshAheadPeriod;
+
+    @Configurable("0")
+    private long maximumSize;
+
     private FactoryMap<T, CacheEntry> cacheEntries;
 
+    private TimerWheel<CacheEntry> expiryWheel;
+
+    private final ReentrantLock evictionLock;
+
+    private volatile WindowTinyLfuPolicy<T> policy;
+
+    private final AtomicLong hitCount;
+
+    private final AtomicLong missCount;
+
+    private final AtomicLong evictionCount;
+
+    private final AtomicLong evictionWeight;
+
+    private final AtomicLong expiredCount;
+
+    private final AtomicLong loadSuccessCount;
+
+    private final AtomicLong loadFailureCount;
+
+    private final AtomicLong totalLoadNanos;
+
     public AbstractCache() {
+        evictionLock = new ReentrantLock();
+        hitCount = new AtomicLong();
+        missCount = new AtomicLong();
+        evictionCount = new AtomicLong();
+        evictionWeight = new AtomicLong();
+        expiredCount = new AtomicLong();
+        loadSuccessCount = new AtomicLong();
+        loadFailureCount = new AtomicLong();
+        totalLoadNanos = new AtomicLong();
+        expiryWheel = new TimerWheel<CacheEntry>(EXPIRY_TICK_MILLISECONDS);
         cacheEntries = new FactoryMap<T, CacheEntry>() {
             @SuppressWarnings("unchecked")
             @Override
             protected CacheEntry create(T key, Object... params) throws Exception {
-                return new CacheEntry((U) params[0], (Long) params[1]);
+                final U object = (U) params[0];
+                return new CacheEntry(key, object, weigh(key, object), (Long) params[1], (Long) params[2]);
             }
         };
     }
@@ -54,27 +111,81 @@ public abstract class AbstractCache<T, U> extends AbstractUnifyComponent impleme
 
     @Override
     public U put(T key, U object, long expiryPeriod) throws UnifyException {
-        cacheEntries.remove(key);
-        cacheEntries.get(key, object, expiryPeriod);
+        return put(key, object, expiryPeriod, expireAfterWrite);
+    }
+
+    /**
+     * Puts an object in cache with specified key and expiration periods.
+     * 
+     * @param key
+     *            the object key
+     * @param object
+     *            the object to cache
+     * @param expireAfterAccess
+     *            the period in seconds after last access when object expires
+     * @param expireAfterWrite
+     *            the period in seconds after put when object expires. Zero or
+     *            negative for no write expiry.
+     * @return the cached object
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    public U put(T key, U object, long expireAfterAccess, long expireAfterWrite) throws UnifyException {
+        CacheEntry oldEntry = cacheEntries.remove(key);
+        if (oldEntry != null) {
+            discard(oldEntry);
+        }
+
+        CacheEntry entry = cacheEntries.get(key, object, expireAfterAccess, expireAfterWrite);
+        entry.schedule();
+        admit(entry);
         return object;
     }
 
     @Override
     public U get(T key) throws UnifyException {
-        if (cacheEntries.isKey(key)) {
-            return cacheEntries.get(key).getObject();
+        CacheEntry entry = cacheEntries.find(key);
+        if (entry != null) {
+            final long now = System.currentTimeMillis();
+            if (entry.getTimeToExpire() > now) {
+                U object = entry.getObject(now);
+                hitCount.incrementAndGet();
+                recordAccess(entry);
+                return object;
+            }
+
+            if (cacheEntries.entrySet().remove(new AbstractMap.SimpleEntry<T, CacheEntry>(entry.getKey(), entry))) {
+                expiredCount.incrementAndGet();
+                discard(entry);
+            }
         }
+
+        missCount.incrementAndGet();
         return null;
     }
 
     @Override
     public U remove(T key) throws UnifyException {
-        return cacheEntries.remove(key).getObject();
+        CacheEntry entry = cacheEntries.remove(key);
+        if (entry != null) {
+            discard(entry);
+            return entry.object;
+        }
+        return null;
     }
 
     @Override
     public void clear() throws UnifyException {
         cacheEntries.clear();
+        expiryWheel.clear();
+        evictionLock.lock();
+        try {
+            if (policy != null) {
+                policy.clear();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
     }
 
     @Override
@@ -82,16 +193,56 @@ public abstract class AbstractCache<T, U> extends AbstractUnifyComponent impleme
         return cacheEntries.size();
     }
 
+    @Override
+    public CacheStats getStats() {
+        return new CacheStats(hitCount.get(), missCount.get(), evictionCount.get(), evictionWeight.get(),
+                expiredCount.get(), loadSuccessCount.get(), loadFailureCount.get(), totalLoadNanos.get());
+    }
+
+    /**
+     * Gets the total weight of entries held for eviction purposes.
+     * 
+     * @return the weighted size, otherwise the number of entries if cache is
+     *         unbounded
+     */
+    public long getWeightedSize() {
+        evictionLock.lock();
+        try {
+            return policy != null ? policy.getWeightedSize() : cacheEntries.size();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public long getMaximumSize() {
+        return maximumSize > 0 ? maximumSize : getDefaultMaximumSize();
+    }
+
     @Override
     @Expirable(cycleInSec = 20)
     public void removeExpiredCacheEntries() throws UnifyException {
-        long currentTime = System.currentTimeMillis();
-        for (Iterator<Map.Entry<T, CacheEntry>> it = cacheEntries.entrySet().iterator(); it.hasNext();) {
-            Map.Entry<T, CacheEntry> entry = it.next();
-            if (currentTime >= entry.getValue().getTimeToExpire()) {
-                it.remove();
+        expireBefore(System.currentTimeMillis());
+    }
+
+    @Override
+    public int expireBefore(long time) throws UnifyException {
+        int removed = 0;
+        List<CacheEntry> expired = expiryWheel.expireBefore(time);
+        for (CacheEntry entry : expired) {
+            if (entry.isRefreshDue(time)) {
+                refresh(entry);
+            } else if (entry.getTimeToExpire() > time) {
+                // Accessed since scheduled. Re-register at new deadline.
+                entry.schedule();
+            } else if (cacheEntries.entrySet()
+                    .remove(new AbstractMap.SimpleEntry<T, CacheEntry>(entry.getKey(), entry))) {
+                expiredCount.incrementAndGet();
+                discard(entry);
+                removed++;
             }
         }
+
+        return removed;
     }
 
     @Override
@@ -104,27 +255,210 @@ public abstract class AbstractCache<T, U> extends AbstractUnifyComponent impleme
 
     }
 
-    private class CacheEntry {
+    /**
+     * Weighs an object for capacity purposes. Override for weight based capacity.
+     * 
+     * @param key
+     *            the object key
+     * @param object
+     *            the object
+     * @return the object weight. Default is one.
+     */
+    protected long weigh(T key, U object) {
+        return 1L;
+    }
 
-        private U object;
+    /**
+     * Gets the maximum size that applies when no maximum size is set. Override
+     * to bound a cache by default.
+     * 
+     * @return the default maximum size. Default is zero for unbounded.
+     */
+    protected long getDefaultMaximumSize() {
+        return 0L;
+    }
 
-        private long expiryPeriod;
+    /**
+     * Reloads an object that is nearing write expiry. Called by expiry processing
+     * for objects accessed since they were written when a refresh-ahead period
+     * and expire-after-write are set.
+     * 
+     * @param key
+     *            the object key
+     * @param oldObject
+     *            the currently cached object
+     * @return the reloaded object, otherwise null if object can not be reloaded.
+     *         Default is null.
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    protected U reload(T key, U oldObject) throws UnifyException {
+        return null;
+    }
 
-        private long timeToExpire;
+    private void refresh(CacheEntry entry) throws UnifyException {
+        entry.refreshAttempted = true;
+        final long startNanos = System.nanoTime();
+        U object = null;
+        try {
+            object = reload(entry.getKey(), entry.object);
+            loadSuccessCount.incrementAndGet();
+        } catch (UnifyException e) {
+            loadFailureCount.incrementAndGet();
+            logWarn("Refresh of cache entry [{0}] failed: {1}", entry.getKey(), e.getMessage());
+        } finally {
+            totalLoadNanos.addAndGet(System.nanoTime() - startNanos);
+        }
 
-        public CacheEntry(U object, long expiryPeriod) {
-            this.expiryPeriod = expiryPeriod * 1000L;
+        if (object != null && cacheEntries.entrySet()
+                .remove(new AbstractMap.SimpleEntry<T, CacheEntry>(entry.getKey(), entry))) {
+            discard(entry);
+            CacheEntry newEntry = cacheEntries.get(entry.getKey(), object, entry.accessPeriod, entry.writePeriod);
+            newEntry.schedule();
+            admit(newEntry);
+        } else {
+            entry.schedule();
+        }
+    }
+
+    private WindowTinyLfuPolicy<T> getPolicy() {
+        final long _maximumSize = getMaximumSize();
+        if (policy == null && _maximumSize > 0) {
+            evictionLock.lock();
+            try {
+                if (policy == null) {
+                    policy = new WindowTinyLfuPolicy<T>(_maximumSize);
+                }
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+
+        return policy;
+    }
+
+    private void admit(CacheEntry entry) throws UnifyException {
+        final WindowTinyLfuPolicy<T> policy = getPolicy();
+        if (policy != null) {
+            List<WindowTinyLfuPolicy.Node<T>> evicted = null;
+            evictionLock.lock();
+            try {
+                if (!entry.discarded && !entry.isInPolicy()) {
+                    evicted = policy.add(entry);
+                }
+            } finally {
+                evictionLock.unlock();
+            }
+
+            if (evicted != null) {
+                for (WindowTinyLfuPolicy.Node<T> node : evicted) {
+                    @SuppressWarnings("unchecked")
+                    CacheEntry evictedEntry = (CacheEntry) node;
+                    evictedEntry.cancel();
+                    if (cacheEntries.entrySet().remove(
+                            new AbstractMap.SimpleEntry<T, CacheEntry>(evictedEntry.getKey(), evictedEntry))) {
+                        evictionCount.incrementAndGet();
+                        evictionWeight.addAndGet(evictedEntry.getWeight());
+                    }
+                }
+            }
+        }
+    }
+
+    private void recordAccess(CacheEntry entry) {
+        final WindowTinyLfuPolicy<T> policy = this.policy;
+        // Access recording is lossy under contention
+        if (policy != null && evictionLock.tryLock()) {
+            try {
+                if (entry.isInPolicy()) {
+                    policy.access(entry);
+                }
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private void discard(CacheEntry entry) {
+        entry.cancel();
+        final WindowTinyLfuPolicy<T> policy = this.policy;
+        if (policy != null) {
+            evictionLock.lock();
+            try {
+                entry.discarded = true;
+                policy.remove(entry);
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private class CacheEntry extends WindowTinyLfuPolicy.Node<T> {
+
+        private final U object;
+
+        private final long accessPeriod;
+
+        private final long writePeriod;
+
+        private final long writeDeadline;
+
+        private final long refreshTime;
+
+        private volatile long timeToExpire;
+
+        private volatile boolean accessed;
+
+        private volatile boolean refreshAttempted;
+
+        private boolean discarded;
+
+        private TimerWheel.Timeout<CacheEntry> timeout;
+
+        public CacheEntry(T key, U object, long weight, long accessPeriod, long writePeriod) {
+            super(key, weight);
+            final long now = System.currentTimeMillis();
             this.object = object;
-            getObject();
+            this.accessPeriod = accessPeriod;
+            this.writePeriod = writePeriod;
+            this.writeDeadline = writePeriod > 0 ? now + writePeriod * 1000L : Long.MAX_VALUE;
+            this.refreshTime = writePeriod > 0 && refreshAheadPeriod > 0
+                    ? writeDeadline - Math.min(refreshAheadPeriod, writePeriod) * 1000L
+                    : Long.MAX_VALUE;
+            this.timeToExpire = Math.min(now + accessPeriod * 1000L, writeDeadline);
         }
 
-        public U getObject() {
-            timeToExpire = System.currentTimeMillis() + expiryPeriod;
+        public U getObject(long now) {
+            timeToExpire = Math.min(now + accessPeriod * 1000L, writeDeadline);
+            accessed = true;
             return object;
         }
 
         public long getTimeToExpire() {
             return timeToExpire;
         }
+
+        public boolean isRefreshDue(long time) {
+            if (!refreshAttempted && refreshTime <= time) {
+                if (accessed && time < writeDeadline) {
+                    return true;
+                }
+
+                // Not accessed since write. Let entry expire.
+                refreshAttempted = true;
+            }
+
+            return false;
+        }
+
+        public void schedule() {
+            timeout = expiryWheel.schedule(this, refreshAttempted ? timeToExpire : Math.min(timeToExpire, refreshTime));
+        }
+
+        public void cancel() {
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
     }
 }
@@ -92,6 +92,13 @@ public interface Cache<T, U> extends UnifyComponent {
      */
     int size();
 
+    /**
+     * Gets a snapshot of this cache's statistics.
+     * 
+     * @return the cache statistics
+     */
+    CacheStats getStats();
+
     /**
      * Removes expired cache objects.
      * 
@@ -99,4 +106,16 @@ public interface Cache<T, U> extends UnifyComponent {
      *             if an error occurs
      */
     void removeExpiredCacheEntries() throws UnifyException;
+
+    /**
+     * Removes cache objects that expire at or before supplied time. Cost is
+     * proportional to the number of expiring objects, not the cache size.
+     * 
+     * @param time
+     *            the time in milliseconds since epoch
+     * @return the number of objects removed
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    int expireBefore(long time) throws UnifyException;
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.cache;
+
+/**
+ * Cache statistics snapshot.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class CacheStats {
+
+    private final long hitCount;
+
+    private final long missCount;
+
+    private final long evictionCount;
+
+    private final long evictionWeight;
+
+    private final long expiredCount;
+
+    private final long loadSuccessCount;
+
+    private final long loadFailureCount;
+
+    private final long totalLoadNanos;
+
+    public CacheStats(long hitCount, long missCount, long evictionCount, long evictionWeight, long expiredCount,
+            long loadSuccessCount, long loadFailureCount, long totalLoadNanos) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.evictionWeight = evictionWeight;
+        this.expiredCount = expiredCount;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.totalLoadNanos = totalLoadNanos;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    public double getHitRate() {
+        final long requestCount = getRequestCount();
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * Gets number of entries evicted to keep cache within its capacity.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public long getEvictionWeight() {
+        return evictionWeight;
+    }
+
+    /**
+     * Gets number of entries removed on expiry.
+     */
+    public long getExpiredCount() {
+        return expiredCount;
+    }
+
+    /**
+     * Gets number of successful refresh-ahead loads.
+     */
+    public long getLoadSuccessCount() {
+        return loadSuccessCount;
+    }
+
+    public long getLoadFailureCount() {
+        return loadFailureCount;
+    }
+
+    public long getTotalLoadNanos() {
+        return totalLoadNanos;
+    }
+
+    public long getAverageLoadNanos() {
+        final long count = loadSuccessCount + loadFailureCount;
+        return count > 0 ? totalLoadNanos / count : 0L;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats [hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount=" + evictionCount
+                + ", evictionWeight=" + evictionWeight + ", expiredCount=" + expiredCount + ", loadSuccessCount="
+                + loadSuccessCount + ", loadFailureCount=" + loadFailureCount + ", totalLoadNanos="
+                + totalLoadNanos + "]";
+    }
+}
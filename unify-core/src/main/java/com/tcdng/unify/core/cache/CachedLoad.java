@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.tcdng.unify.core.UnifyException;
+
+/**
+ * A cached load. A load is either already loaded from cache or pending, in
+ * which case the thread that began it must complete it with the loaded value
+ * and then end it, whether or not loading succeeded.
+ * <p>
+ * A value loaded inside a transaction is only cached and shared with waiting
+ * threads after the transaction commits. Threads waiting on a load owned by
+ * another thread stop waiting on timeout or when the wait would complete a wait
+ * cycle between loading threads.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public final class CachedLoad {
+
+    private static final long LOAD_WAIT_MILLISECONDS = 100L;
+
+    private static final int MAX_LOAD_WAIT_CHAIN = 64;
+
+    /** Loads threads are waiting on. Shared by all caches. */
+    private static final Map<Thread, CachedLoad> loadWaits = new ConcurrentHashMap<Thread, CachedLoad>();
+
+    private final CachedMethodManagerImpl manager;
+
+    private final Cache<Object, Object> cache;
+
+    private final ConcurrentMap<Object, CachedLoad> loads;
+
+    private final Object key;
+
+    private final AtomicLong generation;
+
+    private final long startGeneration;
+
+    private final Thread owner;
+
+    private Object value;
+
+    private boolean loaded;
+
+    private volatile boolean completed;
+
+    private volatile boolean ended;
+
+    CachedLoad(Object value) {
+        this.manager = null;
+        this.cache = null;
+        this.loads = null;
+        this.key = null;
+        this.generation = null;
+        this.startGeneration = 0L;
+        this.owner = null;
+        this.value = value;
+        this.loaded = true;
+        this.ended = true;
+    }
+
+    CachedLoad(CachedMethodManagerImpl manager, Cache<Object, Object> cache, ConcurrentMap<Object, CachedLoad> loads,
+            Object key, AtomicLong generation) {
+        this.manager = manager;
+        this.cache = cache;
+        this.loads = loads;
+        this.key = key;
+        this.generation = generation;
+        this.startGeneration = generation != null ? generation.get() : 0L;
+        this.owner = Thread.currentThread();
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    /**
+     * Completes a pending load. The value is cached if it is not null and the
+     * cache has not been evicted since the load began.
+     * 
+     * @param value
+     *            the loaded value
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    public void complete(Object value) throws UnifyException {
+        complete(value, 0L);
+    }
+
+    /**
+     * Completes a pending load with a cache expiry period. The value is cached
+     * if it is not null and the cache has not been evicted since the load began.
+     * If a transaction is open, the value is cached and shared with waiting
+     * threads only when the transaction commits.
+     * 
+     * @param value
+     *            the loaded value
+     * @param expiryPeriod
+     *            the expiry period in seconds. Zero or negative for the cache
+     *            default.
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    public void complete(Object value, long expiryPeriod) throws UnifyException {
+        if (!loaded && !completed) {
+            this.value = value;
+            if (generation != null && manager.isTransactionOpen()) {
+                manager.publishOnCommit(this, value, expiryPeriod);
+            } else {
+                publish(value, expiryPeriod);
+            }
+        }
+    }
+
+    /**
+     * Ends a pending load releasing threads waiting on it.
+     */
+    public synchronized void end() {
+        if (loads != null) {
+            loads.remove(key, this);
+        }
+
+        ended = true;
+        notifyAll();
+    }
+
+    void publish(Object value, long expiryPeriod) throws UnifyException {
+        if (value != null && generation != null && generation.get() == startGeneration) {
+            if (expiryPeriod > 0) {
+                cache.put(key, value, expiryPeriod);
+            } else {
+                cache.put(key, value);
+            }
+        }
+
+        completed = true;
+    }
+
+    boolean isCompleted() {
+        return completed;
+    }
+
+    boolean isOwner() {
+        return owner == Thread.currentThread();
+    }
+
+    /**
+     * Waits for this load to end.
+     * 
+     * @param timeoutMillis
+     *            the maximum time to wait in milliseconds
+     * @return true if load ended, false on timeout or if waiting would complete
+     *         a wait cycle
+     * @throws InterruptedException
+     *             if waiting thread is interrupted
+     */
+    boolean await(long timeoutMillis) throws InterruptedException {
+        final Thread thread = Thread.currentThread();
+        final long expiryTime = System.currentTimeMillis() + timeoutMillis;
+        loadWaits.put(thread, this);
+        try {
+            synchronized (this) {
+                while (!ended) {
+                    final long waitMillis = expiryTime - System.currentTimeMillis();
+                    if (waitMillis <= 0 || isWaitCycle()) {
+                        return false;
+                    }
+
+                    wait(Math.min(waitMillis, LOAD_WAIT_MILLISECONDS));
+                }
+            }
+        } finally {
+            loadWaits.remove(thread);
+        }
+
+        return true;
+    }
+
+    boolean isWaitCycle() {
+        final Thread thread = Thread.currentThread();
+        CachedLoad load = this;
+        for (int i = 0; load != null && i < MAX_LOAD_WAIT_CHAIN; i++) {
+            if (load.owner == thread) {
+                return true;
+            }
+
+            load = loadWaits.get(load.owner);
+        }
+
+        return false;
+    }
+}
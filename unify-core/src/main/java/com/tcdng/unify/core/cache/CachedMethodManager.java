@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.cache;
+
+import com.tcdng.unify.common.database.Entity;
+import com.tcdng.unify.core.UnifyComponent;
+import com.tcdng.unify.core.UnifyException;
+
+/**
+ * Manages read-through caching of business service method results for
+ * generated proxies. Caches are cache components referenced by name.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public interface CachedMethodManager extends UnifyComponent {
+
+    /**
+     * Derives a cache key from method scope and parameters.
+     * 
+     * @param scope
+     *            the method scope. Identifies the cached method.
+     * @param params
+     *            the key parameters
+     * @return the cache key
+     */
+    Object getKey(String scope, Object... params);
+
+    /**
+     * Begins a cached load. Returns a loaded result if the key is cached.
+     * Otherwise waits for any load of the same key in progress on another
+     * thread and returns its result, or returns a pending load that the caller
+     * must complete and end.
+     * 
+     * @param cacheName
+     *            the cache component name
+     * @param key
+     *            the cache key
+     * @return the cached load
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    CachedLoad beginLoad(String cacheName, Object key) throws UnifyException;
+
+    /**
+     * Evicts a key from cache. Loads of the cache in progress are not cached on
+     * completion. If a transaction is open, the key is evicted again when the
+     * transaction completes.
+     * 
+     * @param cacheName
+     *            the cache component name
+     * @param key
+     *            the key to evict
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    void evict(String cacheName, Object key) throws UnifyException;
+
+    /**
+     * Evicts all keys from cache. Loads of the cache in progress are not cached
+     * on completion. If a transaction is open, all keys are evicted again when
+     * the transaction completes.
+     * 
+     * @param cacheName
+     *            the cache component name
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    void evictAll(String cacheName) throws UnifyException;
+
+    /**
+     * Registers entity types whose entity events evict all keys from cache.
+     * Only entity events set off explicitly through the transaction manager
+     * apply.
+     * 
+     * @param cacheName
+     *            the cache component name
+     * @param entityClasses
+     *            the entity types
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    void invalidateOn(String cacheName, Class<? extends Entity>[] entityClasses) throws UnifyException;
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.cache;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.tcdng.unify.common.database.Entity;
+import com.tcdng.unify.core.AbstractUnifyComponent;
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.UnifyCoreErrorConstants;
+import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.annotation.Component;
+import com.tcdng.unify.core.annotation.Configurable;
+import com.tcdng.unify.core.data.FactoryMap;
+import com.tcdng.unify.core.database.DatabaseTransactionManager;
+import com.tcdng.unify.core.database.EntityEvent;
+import com.tcdng.unify.core.database.EntityEventListener;
+
+/**
+ * Default implementation of cached method manager. A load in progress is
+ * registered per cache key so that concurrent callers wait for its result
+ * instead of invoking the method again. Each cache keeps an eviction
+ * generation and a load only caches its result if no eviction happened while
+ * it was in progress. A caller that times out waiting on another thread's
+ * load, or whose wait would complete a wait cycle, invokes the method directly
+ * without caching.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+@Component(ApplicationComponents.APPLICATION_CACHEDMETHODMANAGER)
+public class CachedMethodManagerImpl extends AbstractUnifyComponent
+        implements CachedMethodManager, EntityEventListener {
+
+    @Configurable
+    private DatabaseTransactionManager databaseTransactionManager;
+
+    @Configurable("5000") // Maximum wait for another thread's load in milliseconds
+    private long maxLoadWaitMilliSecs;
+
+    private final FactoryMap<String, CacheRegion> regions;
+
+    private final ConcurrentMap<Class<?>, Set<String>> cacheNamesByEntity;
+
+    public CachedMethodManagerImpl() {
+        cacheNamesByEntity = new ConcurrentHashMap<Class<?>, Set<String>>();
+        regions = new FactoryMap<String, CacheRegion>() {
+            @SuppressWarnings("unchecked")
+            @Override
+            protected CacheRegion create(String cacheName, Object... params) throws Exception {
+                return new CacheRegion((Cache<Object, Object>) getComponent(cacheName));
+            }
+        };
+    }
+
+    @Override
+    public Object getKey(String scope, Object... params) {
+        return new CachedMethodKey(scope, params != null ? params : new Object[0]);
+    }
+
+    @Override
+    public CachedLoad beginLoad(String cacheName, Object key) throws UnifyException {
+        CacheRegion region = regions.get(cacheName);
+        while (true) {
+            Object value = region.getCache().get(key);
+            if (value != null) {
+                return new CachedLoad(value);
+            }
+
+            CachedLoad load = new CachedLoad(this, region.getCache(), region.getLoads(), key,
+                    region.getGeneration());
+            CachedLoad pending = region.getLoads().putIfAbsent(key, load);
+            if (pending == null) {
+                return load;
+            }
+
+            if (pending.isOwner() || pending.isWaitCycle()) {
+                // Reentrant load of same key or wait cycle. Load without caching.
+                return new CachedLoad(this, region.getCache(), null, key, null);
+            }
+
+            try {
+                if (!pending.await(maxLoadWaitMilliSecs)) {
+                    // Timed out or wait cycle. Load without caching.
+                    return new CachedLoad(this, region.getCache(), null, key, null);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new UnifyException(e, UnifyCoreErrorConstants.COMPONENT_OPERATION_ERROR, getName(),
+                        e.getMessage());
+            }
+
+            if (pending.isCompleted()) {
+                return new CachedLoad(pending.getValue());
+            }
+        }
+    }
+
+    @Override
+    public void evict(String cacheName, final Object key) throws UnifyException {
+        final CacheRegion region = regions.get(cacheName);
+        region.evict(key);
+        if (databaseTransactionManager.isTransactionOpen()) {
+            databaseTransactionManager.addCompletionAction(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        region.evict(key);
+                    } catch (UnifyException e) {
+                        logError(e);
+                    }
+                }
+            });
+        }
+    }
+
+    @Override
+    public void evictAll(String cacheName) throws UnifyException {
+        final CacheRegion region = regions.get(cacheName);
+        region.evictAll();
+        if (databaseTransactionManager.isTransactionOpen()) {
+            databaseTransactionManager.addCompletionAction(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        region.evictAll();
+                    } catch (UnifyException e) {
+                        logError(e);
+                    }
+                }
+            });
+        }
+    }
+
+    @Override
+    public void invalidateOn(String cacheName, Class<? extends Entity>[] entityClasses) throws UnifyException {
+        for (Class<? extends Entity> entityClass : entityClasses) {
+            Set<String> cacheNames = cacheNamesByEntity.get(entityClass);
+            if (cacheNames == null) {
+                cacheNames = new CopyOnWriteArraySet<String>();
+                Set<String> existing = cacheNamesByEntity.putIfAbsent(entityClass, cacheNames);
+                if (existing != null) {
+                    cacheNames = existing;
+                }
+            }
+
+            cacheNames.add(cacheName);
+        }
+    }
+
+    @Override
+    public void onEntityEvents(List<EntityEvent> events) {
+        for (EntityEvent event : events) {
+            Set<String> cacheNames = cacheNamesByEntity.get(event.getEntityClass());
+            if (cacheNames != null) {
+                for (String cacheName : cacheNames) {
+                    try {
+                        evictAll(cacheName);
+                    } catch (UnifyException e) {
+                        logError(e);
+                    }
+                }
+            }
+        }
+    }
+
+    boolean isTransactionOpen() throws UnifyException {
+        return databaseTransactionManager.isTransactionOpen();
+    }
+
+    void publishOnCommit(final CachedLoad load, final Object value, final long expiryPeriod)
+            throws UnifyException {
+        databaseTransactionManager.addCommitAction(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    load.publish(value, expiryPeriod);
+                } catch (UnifyException e) {
+                    logError(e);
+                }
+            }
+        });
+    }
+
+    @Override
+    protected void onInitialize() throws UnifyException {
+        databaseTransactionManager.addEntityEventListener(this);
+    }
+
+    @Override
+    protected void onTerminate() throws UnifyException {
+
+    }
+
+    private static class CacheRegion {
+
+        private final Cache<Object, Object> cache;
+
+        private final ConcurrentMap<Object, CachedLoad> loads;
+
+        private final AtomicLong generation;
+
+        public CacheRegion(Cache<Object, Object> cache) {
+            this.cache = cache;
+            this.loads = new ConcurrentHashMap<Object, CachedLoad>();
+            this.generation = new AtomicLong();
+        }
+
+        public Cache<Object, Object> getCache() {
+            return cache;
+        }
+
+        public ConcurrentMap<Object, CachedLoad> getLoads() {
+            return loads;
+        }
+
+        public AtomicLong getGeneration() {
+            return generation;
+        }
+
+        public void evict(Object key) throws UnifyException {
+            generation.incrementAndGet();
+            cache.remove(key);
+        }
+
+        public void evictAll() throws UnifyException {
+            generation.incrementAndGet();
+            cache.clear();
+        }
+    }
+
+    private static class CachedMethodKey {
+
+        private final String scope;
+
+        private final Object[] params;
+
+        private final int hashCode;
+
+        public CachedMethodKey(String scope, Object[] params) {
+            this.scope = scope;
+            this.params = params;
+            this.hashCode = scope.hashCode() * 31 + Arrays.deepHashCode(params);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof CachedMethodKey) {
+                CachedMethodKey other = (CachedMethodKey) obj;
+                return scope.equals(other.scope) && Arrays.deepEquals(params, other.params);
+            }
+
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return scope + Arrays.deepToString(params);
+        }
+    }
+}
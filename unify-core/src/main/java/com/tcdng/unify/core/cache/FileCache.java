@@ -16,13 +16,77 @@
 package com.tcdng.unify.core.cache;
 
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+
+import com.tcdng.unify.core.UnifyException;
 
 /**
- * A file cache component interface.
+ * A file cache component interface. Besides caching supplied file data, a file
+ * cache can hold files read directly from the file system by name. Such files
+ * are held within a byte budget, are checked for modification periodically
+ * rather than on every access and can be streamed to a destination without an
+ * intermediate copy.
  * 
  * @author The Code Department
  * @since 4.1
  */
 public interface FileCache extends TransformCache<String, byte[], InputStream> {
 
+    /**
+     * Gets an input stream for a file, loading the file into cache if it is not
+     * already cached.
+     * 
+     * @param filename
+     *            the file name. Relative names are resolved against the working
+     *            path.
+     * @return the file input stream otherwise null if file does not exist
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    InputStream getFile(String filename) throws UnifyException;
+
+    /**
+     * Writes a file to an output stream, loading the file into cache if it is
+     * not already cached.
+     * 
+     * @param filename
+     *            the file name
+     * @param outputStream
+     *            the output stream to write to
+     * @return the number of bytes written otherwise -1 if file does not exist
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    long writeFile(String filename, OutputStream outputStream) throws UnifyException;
+
+    /**
+     * Writes a file to a byte channel, loading the file into cache if it is not
+     * already cached.
+     * 
+     * @param filename
+     *            the file name
+     * @param channel
+     *            the channel to write to
+     * @return the number of bytes written otherwise -1 if file does not exist
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    long writeFile(String filename, WritableByteChannel channel) throws UnifyException;
+
+    /**
+     * Removes a file from cache.
+     * 
+     * @param filename
+     *            the file name
+     * @return true if file was cached
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    boolean removeFile(String filename) throws UnifyException;
+
+    /**
+     * Gets the total size in bytes of files currently held in cache.
+     */
+    long getFileBytes();
 }
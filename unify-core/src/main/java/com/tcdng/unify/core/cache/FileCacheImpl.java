@@ -16,14 +16,41 @@
 package com.tcdng.unify.core.cache;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 
 import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.UnifyCoreErrorConstants;
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.annotation.Component;
+import com.tcdng.unify.core.annotation.Configurable;
+import com.tcdng.unify.core.annotation.Periodic;
+import com.tcdng.unify.core.annotation.PeriodicType;
+import com.tcdng.unify.core.task.TaskMonitor;
+import com.tcdng.unify.core.util.IOUtils;
 
 /**
  * Default implementation of a file cache.
+ * <p>
+ * Files read by name are held in least recently used order within a byte
+ * budget. By default file contents are held on the heap. In off-heap mode
+ * contents are held outside the heap, with files at or above the map threshold
+ * memory-mapped and smaller files read into direct buffers. Files larger than
+ * the byte budget are never loaded and are streamed directly from disk. Copied
+ * files are checked for modification in one periodic batch instead of on every
+ * access. Mapped files are also checked on every access since a mapping reads
+ * through to the file and faults if the file is truncated in place.
  * 
  * @author The Code Department
  * @since 4.1
@@ -31,6 +58,130 @@ import com.tcdng.unify.core.annotation.Component;
 @Component(ApplicationComponents.APPLICATION_FILECACHE)
 public class FileCacheImpl extends AbstractTransformCache<String, byte[], InputStream> implements FileCache {
 
+    @Configurable("false")
+    private boolean offHeap;
+
+    @Configurable("67108864")
+    private long fileByteBudget;
+
+    @Configurable("65536")
+    private int mapThreshold;
+
+    private final LinkedHashMap<String, FileEntry> files;
+
+    private long fileBytes;
+
+    public FileCacheImpl() {
+        files = new LinkedHashMap<String, FileEntry>(16, 0.75f, true);
+    }
+
+    @Override
+    public InputStream getFile(String filename) throws UnifyException {
+        FileEntry entry = getFileEntry(filename);
+        if (entry != null) {
+            if (entry.isLoaded()) {
+                return new ByteBufferInputStream(entry.getBuffer());
+            }
+
+            return openFile(entry.getFile());
+        }
+
+        return null;
+    }
+
+    @Override
+    public long writeFile(String filename, OutputStream outputStream) throws UnifyException {
+        FileEntry entry = getFileEntry(filename);
+        if (entry != null) {
+            if (!entry.isLoaded()) {
+                InputStream in = openFile(entry.getFile());
+                try {
+                    return IOUtils.writeAllLeaveOpen(outputStream, in);
+                } finally {
+                    IOUtils.close(in);
+                }
+            }
+
+            ByteBuffer buffer = entry.getBuffer();
+            if (buffer.hasArray()) {
+                try {
+                    outputStream.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                } catch (Exception e) {
+                    throw new UnifyException(e, UnifyCoreErrorConstants.IOUTIL_STREAM_RW_ERROR);
+                }
+            } else {
+                write(buffer, Channels.newChannel(outputStream));
+            }
+
+            return entry.getLength();
+        }
+
+        return -1L;
+    }
+
+    @Override
+    public long writeFile(String filename, WritableByteChannel channel) throws UnifyException {
+        FileEntry entry = getFileEntry(filename);
+        if (entry != null) {
+            if (!entry.isLoaded()) {
+                return transfer(entry.getFile(), channel);
+            }
+
+            write(entry.getBuffer(), channel);
+            return entry.getLength();
+        }
+
+        return -1L;
+    }
+
+    @Override
+    public boolean removeFile(String filename) throws UnifyException {
+        synchronized (files) {
+            FileEntry entry = files.remove(filename);
+            if (entry != null) {
+                fileBytes -= entry.getLength();
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public long getFileBytes() {
+        synchronized (files) {
+            return fileBytes;
+        }
+    }
+
+    @Override
+    public void clear() throws UnifyException {
+        super.clear();
+        synchronized (files) {
+            files.clear();
+            fileBytes = 0L;
+        }
+    }
+
+    @Periodic(PeriodicType.SLOW)
+    public void removeModifiedFiles(TaskMonitor taskMonitor) throws UnifyException {
+        List<FileEntry> entries = null;
+        synchronized (files) {
+            entries = new ArrayList<FileEntry>(files.values());
+        }
+
+        for (FileEntry entry : entries) {
+            if (entry.isModified()) {
+                removeEntry(entry);
+            }
+        }
+    }
+
+    @Override
+    protected long weigh(String key, byte[] object) {
+        return object != null ? object.length : 0L;
+    }
+
     @Override
     protected InputStream transformCachedObject(byte[] cachedObject) throws UnifyException {
         if (cachedObject != null) {
@@ -38,4 +189,187 @@ public class FileCacheImpl extends AbstractTransformCache<String, byte[], InputS
         }
         return null;
     }
+
+    @Override
+    protected void onTerminate() throws UnifyException {
+        synchronized (files) {
+            files.clear();
+            fileBytes = 0L;
+        }
+    }
+
+    private FileEntry getFileEntry(String filename) throws UnifyException {
+        FileEntry entry = null;
+        synchronized (files) {
+            entry = files.get(filename);
+        }
+
+        if (entry != null && entry.isMapped() && entry.isModified()) {
+            removeEntry(entry);
+            entry = null;
+        }
+
+        if (entry == null) {
+            File file = IOUtils.fileInstance(filename, getWorkingPath());
+            if (!file.isFile()) {
+                return null;
+            }
+
+            final long lastModified = file.lastModified();
+            if (file.length() > fileByteBudget) {
+                // Too large to hold. Stream from disk without loading.
+                return new FileEntry(filename, file, lastModified, null, false);
+            }
+
+            ByteBuffer buffer = load(file);
+            entry = new FileEntry(filename, file, lastModified, buffer, isMapped(buffer));
+            if (entry.getLength() <= fileByteBudget) {
+                synchronized (files) {
+                    FileEntry oldEntry = files.put(filename, entry);
+                    if (oldEntry != null) {
+                        fileBytes -= oldEntry.getLength();
+                    }
+
+                    fileBytes += entry.getLength();
+                    Iterator<FileEntry> it = files.values().iterator();
+                    while (fileBytes > fileByteBudget && it.hasNext()) {
+                        FileEntry eldest = it.next();
+                        if (eldest != entry) {
+                            it.remove();
+                            fileBytes -= eldest.getLength();
+                        }
+                    }
+                }
+            }
+        }
+
+        return entry;
+    }
+
+    private void removeEntry(FileEntry entry) {
+        synchronized (files) {
+            if (files.entrySet().remove(new AbstractMap.SimpleEntry<String, FileEntry>(entry.getFilename(), entry))) {
+                fileBytes -= entry.getLength();
+            }
+        }
+    }
+
+    private boolean isMapped(ByteBuffer buffer) {
+        return offHeap && buffer.remaining() >= mapThreshold;
+    }
+
+    private ByteBuffer load(File file) throws UnifyException {
+        if (!offHeap) {
+            return ByteBuffer.wrap(IOUtils.readAll(file));
+        }
+
+        FileInputStream fis = null;
+        try {
+            fis = new FileInputStream(file);
+            FileChannel channel = fis.getChannel();
+            final long size = channel.size();
+            if (size >= mapThreshold) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0)
+                ;
+            buffer.flip();
+            return buffer;
+        } catch (Exception e) {
+            throw new UnifyException(e, UnifyCoreErrorConstants.IOUTIL_STREAM_RW_ERROR);
+        } finally {
+            IOUtils.close(fis);
+        }
+    }
+
+    private InputStream openFile(File file) throws UnifyException {
+        try {
+            return new FileInputStream(file);
+        } catch (Exception e) {
+            throw new UnifyException(e, UnifyCoreErrorConstants.IOUTIL_STREAM_RW_ERROR);
+        }
+    }
+
+    private long transfer(File file, WritableByteChannel channel) throws UnifyException {
+        FileInputStream fis = null;
+        try {
+            fis = new FileInputStream(file);
+            FileChannel fileChannel = fis.getChannel();
+            final long size = fileChannel.size();
+            long position = 0L;
+            while (position < size) {
+                position += fileChannel.transferTo(position, size - position, channel);
+            }
+
+            return size;
+        } catch (Exception e) {
+            throw new UnifyException(e, UnifyCoreErrorConstants.IOUTIL_STREAM_RW_ERROR);
+        } finally {
+            IOUtils.close(fis);
+        }
+    }
+
+    private void write(ByteBuffer buffer, WritableByteChannel channel) throws UnifyException {
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (Exception e) {
+            throw new UnifyException(e, UnifyCoreErrorConstants.IOUTIL_STREAM_RW_ERROR);
+        }
+    }
+
+    private static class FileEntry {
+
+        private final String filename;
+
+        private final File file;
+
+        private final long lastModified;
+
+        private final ByteBuffer buffer;
+
+        private final long length;
+
+        private final boolean mapped;
+
+        public FileEntry(String filename, File file, long lastModified, ByteBuffer buffer, boolean mapped) {
+            this.filename = filename;
+            this.file = file;
+            this.lastModified = lastModified;
+            this.buffer = buffer;
+            this.mapped = mapped;
+            this.length = buffer != null ? buffer.remaining() : file.length();
+        }
+
+        public String getFilename() {
+            return filename;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        public boolean isLoaded() {
+            return buffer != null;
+        }
+
+        public boolean isMapped() {
+            return mapped;
+        }
+
+        public ByteBuffer getBuffer() {
+            return buffer.duplicate();
+        }
+
+        public long getLength() {
+            return length;
+        }
+
+        public boolean isModified() {
+            return !file.isFile() || file.lastModified() != lastModified || file.length() != length;
+        }
+    }
 }
@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Window TinyLFU admission and eviction policy. New entries enter a small LRU
+ * window. Entries leaving the window compete for admission into a segmented LRU
+ * main space against the main space eviction victim, and the entry with the
+ * higher estimated access frequency wins. Frequencies are estimated with a
+ * count-min sketch of 4-bit counters that are halved periodically so that old
+ * popularity fades.
+ * <p>
+ * Capacity is in weight units. The policy is not thread-safe and must be
+ * guarded by the caller.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+class WindowTinyLfuPolicy<K> {
+
+    private static final int WINDOW = 1;
+
+    private static final int PROBATION = 2;
+
+    private static final int PROTECTED = 3;
+
+    private static final int MAX_SKETCH_SIZE = 1 << 16;
+
+    private final long maximumWeight;
+
+    private final long windowMaximumWeight;
+
+    private final long protectedMaximumWeight;
+
+    private final NodeList<K> window;
+
+    private final NodeList<K> probation;
+
+    private final NodeList<K> protectedList;
+
+    private final FrequencySketch sketch;
+
+    public WindowTinyLfuPolicy(long maximumWeight) {
+        this.maximumWeight = maximumWeight;
+        this.windowMaximumWeight = Math.max(1L, maximumWeight / 100);
+        this.protectedMaximumWeight = (maximumWeight - windowMaximumWeight) * 80 / 100;
+        this.window = new NodeList<K>();
+        this.probation = new NodeList<K>();
+        this.protectedList = new NodeList<K>();
+        this.sketch = new FrequencySketch((int) Math.min(maximumWeight, MAX_SKETCH_SIZE));
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    public long getWeightedSize() {
+        return window.weight + probation.weight + protectedList.weight;
+    }
+
+    /**
+     * Adds a new node to the policy.
+     * 
+     * @param node
+     *            the node to add
+     * @return the nodes evicted to make room, possibly including the added node
+     */
+    public List<Node<K>> add(Node<K> node) {
+        sketch.increment(node.key);
+        window.addLast(node, WINDOW);
+        return evict();
+    }
+
+    /**
+     * Records an access to a node.
+     * 
+     * @param node
+     *            the accessed node
+     */
+    public void access(Node<K> node) {
+        sketch.increment(node.key);
+        switch (node.region) {
+            case WINDOW:
+                window.moveToLast(node);
+                break;
+            case PROBATION:
+                probation.remove(node);
+                protectedList.addLast(node, PROTECTED);
+                while (protectedList.weight > protectedMaximumWeight && protectedList.head != node) {
+                    Node<K> demoted = protectedList.head;
+                    protectedList.remove(demoted);
+                    probation.addLast(demoted, PROBATION);
+                }
+                break;
+            case PROTECTED:
+                protectedList.moveToLast(node);
+                break;
+            default:
+        }
+    }
+
+    /**
+     * Removes a node from the policy. Does nothing if node is not in policy.
+     * 
+     * @param node
+     *            the node to remove
+     */
+    public void remove(Node<K> node) {
+        switch (node.region) {
+            case WINDOW:
+                window.remove(node);
+                break;
+            case PROBATION:
+                probation.remove(node);
+                break;
+            case PROTECTED:
+                protectedList.remove(node);
+                break;
+            default:
+        }
+    }
+
+    public void clear() {
+        window.clear();
+        probation.clear();
+        protectedList.clear();
+    }
+
+    public int frequency(K key) {
+        return sketch.frequency(key);
+    }
+
+    private List<Node<K>> evict() {
+        List<Node<K>> evicted = Collections.emptyList();
+        // Move window overflow into main space subject to admission
+        while (window.weight > windowMaximumWeight && window.head != null) {
+            Node<K> candidate = window.head;
+            window.remove(candidate);
+            probation.addLast(candidate, PROBATION);
+            while (getWeightedSize() > maximumWeight && candidate.region == PROBATION) {
+                Node<K> victim = probation.head != candidate ? probation.head : protectedList.head;
+                if (victim == null) {
+                    break;
+                }
+
+                Node<K> loser = sketch.frequency(candidate.key) > sketch.frequency(victim.key) ? victim : candidate;
+                remove(loser);
+                evicted = addEvicted(evicted, loser);
+            }
+        }
+
+        // Enforce bound for oversized entries
+        while (getWeightedSize() > maximumWeight) {
+            Node<K> victim = probation.head != null ? probation.head
+                    : (protectedList.head != null ? protectedList.head : window.head);
+            remove(victim);
+            evicted = addEvicted(evicted, victim);
+        }
+
+        return evicted;
+    }
+
+    private List<Node<K>> addEvicted(List<Node<K>> evicted, Node<K> node) {
+        if (evicted.isEmpty()) {
+            evicted = new ArrayList<Node<K>>();
+        }
+
+        evicted.add(node);
+        return evicted;
+    }
+
+    /**
+     * Policy node.
+     */
+    static class Node<K> {
+
+        private final K key;
+
+        private final long weight;
+
+        private int region;
+
+        private Node<K> prev;
+
+        private Node<K> next;
+
+        Node(K key, long weight) {
+            this.key = key;
+            this.weight = weight;
+        }
+
+        K getKey() {
+            return key;
+        }
+
+        long getWeight() {
+            return weight;
+        }
+
+        boolean isInPolicy() {
+            return region != 0;
+        }
+    }
+
+    private static class NodeList<K> {
+
+        private Node<K> head;
+
+        private Node<K> tail;
+
+        private long weight;
+
+        void addLast(Node<K> node, int region) {
+            node.region = region;
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+
+            tail = node;
+            weight += node.weight;
+        }
+
+        void remove(Node<K> node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+
+            node.prev = null;
+            node.next = null;
+            node.region = 0;
+            weight -= node.weight;
+        }
+
+        void moveToLast(Node<K> node) {
+            if (tail != node) {
+                final int region = node.region;
+                remove(node);
+                addLast(node, region);
+            }
+        }
+
+        void clear() {
+            Node<K> node = head;
+            while (node != null) {
+                Node<K> next = node.next;
+                node.prev = null;
+                node.next = null;
+                node.region = 0;
+                node = next;
+            }
+
+            head = null;
+            tail = null;
+            weight = 0;
+        }
+    }
+
+    private static class FrequencySketch {
+
+        private static final int[] SEEDS = { 0x97cb3127, 0xc3a5c85c, 0x0e4a6f3d, 0x7f4a7c15 };
+
+        private final byte[] table;
+
+        private final int mask;
+
+        private final int sampleSize;
+
+        private int additions;
+
+        FrequencySketch(int expectedSize) {
+            int size = 16;
+            while (size < expectedSize) {
+                size <<= 1;
+            }
+
+            table = new byte[size];
+            mask = size - 1;
+            sampleSize = size * 10;
+        }
+
+        void increment(Object key) {
+            final int hash = spread(key.hashCode());
+            boolean added = false;
+            for (int i = 0; i < SEEDS.length; i++) {
+                final int index = indexOf(hash, i);
+                if (table[index] < 15) {
+                    table[index]++;
+                    added = true;
+                }
+            }
+
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        int frequency(Object key) {
+            final int hash = spread(key.hashCode());
+            int frequency = 15;
+            for (int i = 0; i < SEEDS.length; i++) {
+                frequency = Math.min(frequency, table[indexOf(hash, i)]);
+            }
+
+            return frequency;
+        }
+
+        private int indexOf(int hash, int i) {
+            int h = (hash + SEEDS[i]) * SEEDS[i];
+            h ^= h >>> 16;
+            return h & mask;
+        }
+
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (byte) (table[i] >>> 1);
+            }
+
+            additions /= 2;
+        }
+
+        private static int spread(int x) {
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            return (x >>> 16) ^ x;
+        }
+    }
+}
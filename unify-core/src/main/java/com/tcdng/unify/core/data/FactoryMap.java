@@ -19,6 +19,7 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.UnifyOperationException;
@@ -28,13 +29,38 @@ import com.tcdng.unify.core.util.DataUtils;
  * An abstract generic factory map. A factory map is a key-to-value map with no
  * put method. It is populated internally on invocation of its
  * {@link #get(Object, Object...)} method.
+ * <p>
+ * Values are created per key. Concurrent requests for the same missing key
+ * create the value once while requests for other keys proceed in parallel. A
+ * recursive request for a key from within its own creation, or a request that
+ * would complete a wait cycle between creating threads, creates without
+ * exclusion instead of waiting.
  * 
  * @author The Code Department
  * @since 4.1
  */
 public abstract class FactoryMap<T, U> {
 
-	private final Object accessKey = new Object();
+	private static final long CREATION_WAIT_MILLISECONDS = 100L;
+
+	private static final int MAX_CREATION_WAIT_CHAIN = 64;
+
+	/** Creations threads are waiting on. Shared by all factory maps. */
+	private static final Map<Thread, Creation> creationWaits = new ConcurrentHashMap<Thread, Creation>();
+
+	private final Map<T, Creation> creations;
+
+	private final AtomicLong createCount;
+
+	private final AtomicLong failedCreateCount;
+
+	private final AtomicLong totalCreateNanos;
+
+	private final AtomicLong maxCreateNanos;
+
+	private final AtomicLong waitCount;
+
+	private final AtomicLong reentrantCreateCount;
 
 	private Map<T, U> map;
 
@@ -46,6 +72,13 @@ public abstract class FactoryMap<T, U> {
 
 	protected FactoryMap(boolean checkStale) {
 		map = new ConcurrentHashMap<T, U>();
+		creations = new ConcurrentHashMap<T, Creation>();
+		createCount = new AtomicLong();
+		failedCreateCount = new AtomicLong();
+		totalCreateNanos = new AtomicLong();
+		maxCreateNanos = new AtomicLong();
+		waitCount = new AtomicLong();
+		reentrantCreateCount = new AtomicLong();
 		this.checkStale = checkStale;
 	}
 
@@ -107,15 +140,7 @@ public abstract class FactoryMap<T, U> {
 			}
 
 			if (value == null) {
-				synchronized (accessKey) {
-					value = map.get(key);
-					if (value == null) {
-						value = create(key, params);
-						if (value != null && onCreate(value)) {
-							put(key, value);
-						}
-					}
-				}
+				value = createValue(key, params);
 			}
 			return value;
 		} catch (UnifyException e) {
@@ -125,6 +150,14 @@ public abstract class FactoryMap<T, U> {
 		}
 	}
 
+	/**
+	 * Returns a snapshot of this map's value creation statistics.
+	 */
+	public FactoryMapStats getStats() {
+		return new FactoryMapStats(createCount.get(), failedCreateCount.get(), totalCreateNanos.get(),
+				maxCreateNanos.get(), waitCount.get(), reentrantCreateCount.get());
+	}
+
 	/**
 	 * Clears all the key-value mappings.
 	 */
@@ -275,4 +308,116 @@ public abstract class FactoryMap<T, U> {
 
 	}
 
+	private U createValue(T key, Object... params) throws Exception {
+		while (true) {
+			U value = map.get(key);
+			if (value != null) {
+				return value;
+			}
+
+			Creation creation = new Creation();
+			Creation inFlight = creations.putIfAbsent(key, creation);
+			if (inFlight == null) {
+				try {
+					// Value may have been put by a creation that completed before registration
+					value = map.get(key);
+					if (value == null) {
+						value = doCreate(key, params);
+					}
+				} finally {
+					creations.remove(key, creation);
+					creation.complete();
+				}
+
+				return value;
+			}
+
+			if (inFlight.creator == Thread.currentThread() || isCreationWaitCycle(inFlight)) {
+				reentrantCreateCount.incrementAndGet();
+				return doCreate(key, params);
+			}
+
+			// Wait then check again. Key is retried if creation failed or value is not
+			// retained.
+			waitCount.incrementAndGet();
+			awaitCreation(inFlight);
+		}
+	}
+
+	private U doCreate(T key, Object... params) throws Exception {
+		final long startNanos = System.nanoTime();
+		boolean success = false;
+		try {
+			U value = create(key, params);
+			if (value != null && onCreate(value)) {
+				put(key, value);
+			}
+
+			success = true;
+			return value;
+		} finally {
+			final long nanos = System.nanoTime() - startNanos;
+			if (success) {
+				createCount.incrementAndGet();
+			} else {
+				failedCreateCount.incrementAndGet();
+			}
+
+			totalCreateNanos.addAndGet(nanos);
+			long max = maxCreateNanos.get();
+			while (nanos > max && !maxCreateNanos.compareAndSet(max, nanos)) {
+				max = maxCreateNanos.get();
+			}
+		}
+	}
+
+	private void awaitCreation(Creation inFlight) throws UnifyException {
+		final Thread thread = Thread.currentThread();
+		creationWaits.put(thread, inFlight);
+		try {
+			synchronized (inFlight) {
+				while (!inFlight.isDone() && !isCreationWaitCycle(inFlight)) {
+					inFlight.wait(CREATION_WAIT_MILLISECONDS);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new UnifyOperationException(e, getClass().getSimpleName());
+		} finally {
+			creationWaits.remove(thread);
+		}
+	}
+
+	private static boolean isCreationWaitCycle(Creation creation) {
+		final Thread thread = Thread.currentThread();
+		for (int i = 0; creation != null && i < MAX_CREATION_WAIT_CHAIN; i++) {
+			if (creation.creator == thread) {
+				return true;
+			}
+
+			creation = creationWaits.get(creation.creator);
+		}
+
+		return false;
+	}
+
+	private static class Creation {
+
+		private final Thread creator;
+
+		private volatile boolean done;
+
+		public Creation() {
+			this.creator = Thread.currentThread();
+		}
+
+		public boolean isDone() {
+			return done;
+		}
+
+		public synchronized void complete() {
+			done = true;
+			notifyAll();
+		}
+	}
 }
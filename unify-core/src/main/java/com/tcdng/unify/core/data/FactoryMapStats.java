@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.data;
+
+/**
+ * Factory map statistics snapshot.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class FactoryMapStats {
+
+	private final long createCount;
+
+	private final long failedCreateCount;
+
+	private final long totalCreateNanos;
+
+	private final long maxCreateNanos;
+
+	private final long waitCount;
+
+	private final long reentrantCreateCount;
+
+	public FactoryMapStats(long createCount, long failedCreateCount, long totalCreateNanos, long maxCreateNanos,
+			long waitCount, long reentrantCreateCount) {
+		this.createCount = createCount;
+		this.failedCreateCount = failedCreateCount;
+		this.totalCreateNanos = totalCreateNanos;
+		this.maxCreateNanos = maxCreateNanos;
+		this.waitCount = waitCount;
+		this.reentrantCreateCount = reentrantCreateCount;
+	}
+
+	/**
+	 * Gets number of successful value creations.
+	 */
+	public long getCreateCount() {
+		return createCount;
+	}
+
+	/**
+	 * Gets number of value creations that failed with an exception.
+	 */
+	public long getFailedCreateCount() {
+		return failedCreateCount;
+	}
+
+	/**
+	 * Gets total time spent creating values, failed creations included.
+	 */
+	public long getTotalCreateNanos() {
+		return totalCreateNanos;
+	}
+
+	public long getMaxCreateNanos() {
+		return maxCreateNanos;
+	}
+
+	public long getAverageCreateNanos() {
+		final long count = createCount + failedCreateCount;
+		return count > 0 ? totalCreateNanos / count : 0L;
+	}
+
+	/**
+	 * Gets number of times a thread waited for another thread creating the same
+	 * key.
+	 */
+	public long getWaitCount() {
+		return waitCount;
+	}
+
+	/**
+	 * Gets number of creations performed without per-key exclusion to resolve a
+	 * recursive request or a creation wait cycle.
+	 */
+	public long getReentrantCreateCount() {
+		return reentrantCreateCount;
+	}
+
+	@Override
+	public String toString() {
+		return "FactoryMapStats [createCount=" + createCount + ", failedCreateCount=" + failedCreateCount
+				+ ", totalCreateNanos=" + totalCreateNanos + ", maxCreateNanos=" + maxCreateNanos + ", waitCount="
+				+ waitCount + ", reentrantCreateCount=" + reentrantCreateCount + "]";
+	}
+}
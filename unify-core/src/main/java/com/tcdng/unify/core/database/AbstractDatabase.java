@@ -354,6 +354,12 @@ public abstract class AbstractDatabase extends AbstractUnifyComponent implements
         return getDatabaseSession().updateAll(query, update);
     }
 
+    @Override
+    public int[] updateAllBatch(List<Query<? extends Entity>> queryList, List<Update> updateList)
+            throws UnifyException {
+        return getDatabaseSession().updateAllBatch(queryList, updateList);
+    }
+
     @Override
     public int deleteById(Entity record) throws UnifyException {
         return getDatabaseSession().deleteById(record);
@@ -430,6 +436,11 @@ public abstract class AbstractDatabase extends AbstractUnifyComponent implements
         return getDatabaseSession().getNow();
     }
 
+    @Override
+    public Date getStrictNow() throws UnifyException {
+        return getDatabaseSession().getStrictNow();
+    }
+
     @Override
     public void executeCallable(CallableProc callableProc) throws UnifyException {
         getDatabaseSession().executeCallable(callableProc);
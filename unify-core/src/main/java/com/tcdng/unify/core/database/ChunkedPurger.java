@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.database;
+
+import java.util.List;
+
+import com.tcdng.unify.common.database.Entity;
+import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.criterion.Restriction;
+import com.tcdng.unify.core.database.sql.SqlDataSourceDialect;
+import com.tcdng.unify.core.database.sql.SqlFieldInfo;
+
+/**
+ * Deletes rows in chunks using keyset ranges on the primary key. Each chunk
+ * selects the next keys with the data source dialect's row limit, deletes child
+ * rows first, then parent rows, and is committed on its own so that large
+ * purges do not hold locks or grow the transaction log. A run stops when no
+ * more rows match or when its time budget is used up. Chunks are limited to
+ * {@link #MAX_BATCH_SIZE} rows, or fewer if the data source dialect accepts
+ * fewer values in a multi-value condition.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class ChunkedPurger {
+
+	public static final int MAX_BATCH_SIZE = 1000;
+
+	private final Database db;
+
+	private final DatabaseTransactionManager tm;
+
+	private final int batchSize;
+
+	private final long timeBudgetMillis;
+
+	public ChunkedPurger(Database db, DatabaseTransactionManager tm, int batchSize, long timeBudgetMillis) {
+		this.db = db;
+		this.tm = tm;
+		this.batchSize = batchSize <= 0 ? 1 : (batchSize > MAX_BATCH_SIZE ? MAX_BATCH_SIZE : batchSize);
+		this.timeBudgetMillis = timeBudgetMillis;
+	}
+
+	/**
+	 * Purges entity rows that match criteria together with their child rows.
+	 * 
+	 * @param entityClass
+	 *            the entity class
+	 * @param criteria
+	 *            the purge criteria
+	 * @param children
+	 *            the child tables to delete from first
+	 * @return the purge result
+	 * @throws UnifyException
+	 *             if an error occurs
+	 */
+	@SuppressWarnings("unchecked")
+	public PurgeResult purge(Class<? extends Entity> entityClass, Restriction criteria, Child... children)
+			throws UnifyException {
+		final long startTime = System.currentTimeMillis();
+		final long deadline = startTime + timeBudgetMillis;
+		final SqlDataSourceDialect dialect = (SqlDataSourceDialect) db.getDataSource().getDialect();
+		final SqlFieldInfo idFieldInfo = dialect.findSqlEntityInfo(entityClass).getIdFieldInfo();
+		final int maxClauseValues = dialect.getMaxClauseValues();
+		final int batchSize = maxClauseValues > 0 && maxClauseValues < this.batchSize ? maxClauseValues
+				: this.batchSize;
+		final String key = idFieldInfo.getName();
+		final Class<Object> keyClass = (Class<Object>) idFieldInfo.getFieldType();
+		long rowsPurged = 0;
+		int chunks = 0;
+		boolean complete = false;
+		Object lastKey = null;
+		while (true) {
+			Query<? extends Entity> keyQuery = Query.of(entityClass).addRestriction(criteria);
+			if (lastKey != null) {
+				keyQuery.addGreaterThan(key, lastKey);
+			}
+
+			keyQuery.addOrder(key).setLimit(batchSize);
+			List<Object> keys = db.valueList(keyClass, key, keyQuery);
+			if (keys.isEmpty()) {
+				complete = true;
+				break;
+			}
+
+			for (Child child : children) {
+				rowsPurged += db
+						.deleteAll(Query.of(child.getEntityClass()).addAmongst(child.getForeignKeyFieldName(), keys));
+			}
+
+			rowsPurged += db.deleteAll(Query.of(entityClass).addAmongst(key, keys));
+			tm.commit();
+			chunks++;
+			lastKey = keys.get(keys.size() - 1);
+			if (keys.size() < batchSize) {
+				complete = true;
+				break;
+			}
+
+			if (System.currentTimeMillis() >= deadline) {
+				break;
+			}
+		}
+
+		return new PurgeResult(rowsPurged, chunks, System.currentTimeMillis() - startTime, complete);
+	}
+
+	public static class Child {
+
+		private final Class<? extends Entity> entityClass;
+
+		private final String foreignKeyFieldName;
+
+		public Child(Class<? extends Entity> entityClass, String foreignKeyFieldName) {
+			this.entityClass = entityClass;
+			this.foreignKeyFieldName = foreignKeyFieldName;
+		}
+
+		public Class<? extends Entity> getEntityClass() {
+			return entityClass;
+		}
+
+		public String getForeignKeyFieldName() {
+			return foreignKeyFieldName;
+		}
+	}
+}
@@ -915,6 +915,21 @@ public interface Database extends UnifyComponent {
      */
     int updateAll(Query<? extends Entity> query, Update update) throws UnifyException;
 
+    /**
+     * Updates all records that match each query using the update information at
+     * the same position. Updates that resolve to the same statement are executed
+     * as a single batch.
+     * 
+     * @param queryList
+     *            the query objects
+     * @param updateList
+     *            the update information objects
+     * @return the number of records updated for each query
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    int[] updateAllBatch(List<Query<? extends Entity>> queryList, List<Update> updateList) throws UnifyException;
+
     /**
      * Deletes a record by ID.
      * 
@@ -1075,7 +1090,8 @@ public interface Database extends UnifyComponent {
     Entity getExtendedInstance(Class<? extends Entity> entityClass) throws UnifyException;
 
     /**
-     * Gets the current UTC timestamp of database based on session time zone.
+     * Gets the current UTC timestamp of database based on session time zone. May
+     * be served from a calibrated {@link DatabaseClock}.
      * 
      * @return the UTC timestamp
      * @throws UnifyException
@@ -1083,6 +1099,16 @@ public interface Database extends UnifyComponent {
      */
     Date getNow() throws UnifyException;
 
+    /**
+     * Gets the current UTC timestamp of database based on session time zone.
+     * Always fetched from database.
+     * 
+     * @return the UTC timestamp
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    Date getStrictNow() throws UnifyException;
+
     /**
      * Executes callable procedure with no results.
      * 
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.database;
+
+import java.util.Date;
+
+import com.tcdng.unify.core.UnifyComponent;
+import com.tcdng.unify.core.UnifyException;
+
+/**
+ * Database clock. Serves data source timestamps from the local clock plus an
+ * offset that is calibrated periodically against the data source, saving a
+ * database round trip for each timestamp request. A timestamp is only served
+ * from the local clock while its error bound is within the configured maximum
+ * drift; otherwise the data source is queried directly.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public interface DatabaseClock extends UnifyComponent {
+
+    /**
+     * Gets the current UTC timestamp of the data source of supplied session.
+     * Calibrates on a pooled data source connection outside the session's
+     * transaction if necessary. The session is only used for strict timestamps.
+     * 
+     * @param session
+     *            the database session
+     * @return the UTC timestamp
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    Date getNow(DatabaseSession session) throws UnifyException;
+
+    /**
+     * Gets the current UTC timestamp of a named SQL data source. Calibrates on
+     * a dedicated data source connection if necessary.
+     * 
+     * @param dataSourceName
+     *            the data source name
+     * @return the UTC timestamp
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    Date getNow(String dataSourceName) throws UnifyException;
+
+    /**
+     * Gets the calibrated offset of a data source clock from the local clock.
+     * 
+     * @param dataSourceName
+     *            the data source name
+     * @return the offset in milliseconds, or null if data source clock is not
+     *         calibrated
+     */
+    Long getOffsetMillis(String dataSourceName);
+
+    /**
+     * Gets the current error bound of a data source clock.
+     * 
+     * @param dataSourceName
+     *            the data source name
+     * @return the error bound in milliseconds, or null if data source clock is
+     *         not calibrated
+     */
+    Long getErrorBoundMillis(String dataSourceName);
+
+    /**
+     * Tests if clock is in strict mode. In strict mode every timestamp is
+     * fetched from the data source.
+     */
+    boolean isStrict();
+}
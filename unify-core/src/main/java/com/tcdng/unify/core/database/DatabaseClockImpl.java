@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.database;
+
+import java.sql.Connection;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.tcdng.unify.common.annotation.ColumnType;
+import com.tcdng.unify.core.AbstractUnifyComponent;
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.UnifyCorePropertyConstants;
+import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.annotation.Component;
+import com.tcdng.unify.core.annotation.Configurable;
+import com.tcdng.unify.core.constant.MustMatch;
+import com.tcdng.unify.core.database.sql.SqlDataSource;
+import com.tcdng.unify.core.database.sql.SqlDataSourceDialect;
+import com.tcdng.unify.core.database.sql.SqlStatementExecutor;
+
+/**
+ * Default implementation of database clock.
+ * <p>
+ * Calibration takes a few samples of the data source timestamp and keeps the
+ * sample with the shortest round trip. The offset is taken against the local
+ * time at the round trip midpoint, so the error of the offset is at most half
+ * the round trip. The error bound of a served timestamp grows with time
+ * elapsed since calibration and with any adjustment of the local wall clock
+ * detected against the monotonic clock.
+ * <p>
+ * Calibration always samples on a pooled connection outside any transaction
+ * since some databases return the transaction start time as the current
+ * timestamp. A database session is only used for strict timestamps.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+@Component(ApplicationComponents.APPLICATION_DATABASECLOCK)
+public class DatabaseClockImpl extends AbstractUnifyComponent implements DatabaseClock {
+
+	private static final long DEFAULT_MAX_DRIFT_MILLISECONDS = 250L;
+
+	private static final long DEFAULT_CALIBRATION_MILLISECONDS = 60000L;
+
+	private static final int CALIBRATION_SAMPLES = 3;
+
+	/** Assumed worst local clock rate error of 100 parts per million */
+	private static final long RATE_ERROR_DIVISOR = 10000L;
+
+	@Configurable(ApplicationComponents.APPLICATION_SQLSTATEMENTEXECUTOR)
+	private SqlStatementExecutor sqlStatementExecutor;
+
+	private final Map<String, DataSourceClock> clocks;
+
+	private boolean strict;
+
+	private long maxDriftMilliSecs;
+
+	private long calibrationMilliSecs;
+
+	public DatabaseClockImpl() {
+		this.clocks = new ConcurrentHashMap<String, DataSourceClock>();
+	}
+
+	@Override
+	public Date getNow(final DatabaseSession session) throws UnifyException {
+		return getNow(session.getDataSourceName(), new StrictClock() {
+			@Override
+			public Date getStrictNow() throws UnifyException {
+				return session.getStrictNow();
+			}
+		});
+	}
+
+	@Override
+	public Date getNow(String dataSourceName) throws UnifyException {
+		return getNow(dataSourceName, new PooledConnectionClock(dataSourceName));
+	}
+
+	@Override
+	public Long getOffsetMillis(String dataSourceName) {
+		DataSourceClock clock = clocks.get(dataSourceName);
+		Calibration calibration = clock != null ? clock.getCalibration() : null;
+		return calibration != null && calibration.isUsable() ? calibration.getOffsetMillis() : null;
+	}
+
+	@Override
+	public Long getErrorBoundMillis(String dataSourceName) {
+		DataSourceClock clock = clocks.get(dataSourceName);
+		Calibration calibration = clock != null ? clock.getCalibration() : null;
+		return calibration != null && calibration.isUsable()
+				? calibration.getErrorBoundMillis(System.nanoTime(), System.currentTimeMillis())
+				: null;
+	}
+
+	@Override
+	public boolean isStrict() {
+		return strict;
+	}
+
+	@Override
+	protected void onInitialize() throws UnifyException {
+		strict = getContainerSetting(boolean.class, UnifyCorePropertyConstants.APPLICATION_DBCLOCK_STRICT, false);
+		maxDriftMilliSecs = getContainerSetting(long.class,
+				UnifyCorePropertyConstants.APPLICATION_DBCLOCK_MAX_DRIFT_MILLISECONDS, DEFAULT_MAX_DRIFT_MILLISECONDS);
+		calibrationMilliSecs = getContainerSetting(long.class,
+				UnifyCorePropertyConstants.APPLICATION_DBCLOCK_CALIBRATION_MILLISECONDS,
+				DEFAULT_CALIBRATION_MILLISECONDS);
+	}
+
+	@Override
+	protected void onTerminate() throws UnifyException {
+
+	}
+
+	private Date getNow(String dataSourceName, StrictClock strictClock) throws UnifyException {
+		if (strict) {
+			return strictClock.getStrictNow();
+		}
+
+		DataSourceClock clock = getDataSourceClock(dataSourceName);
+		Calibration calibration = clock.getCalibration();
+		if (calibration == null || calibration.isDue(System.nanoTime(), System.currentTimeMillis())) {
+			// Only one thread calibrates. Others carry on with current calibration if it
+			// is still valid.
+			if (clock.beginCalibration()) {
+				try {
+					calibration = calibrate(dataSourceName, new PooledConnectionClock(dataSourceName));
+					clock.setCalibration(calibration);
+				} finally {
+					clock.endCalibration();
+				}
+			}
+		}
+
+		final long nowMillis = System.currentTimeMillis();
+		if (calibration != null && calibration.isValid(System.nanoTime(), nowMillis)) {
+			return new Date(nowMillis + calibration.getOffsetMillis());
+		}
+
+		return strictClock.getStrictNow();
+	}
+
+	private Calibration calibrate(String dataSourceName, StrictClock strictClock) throws UnifyException {
+		long bestRttNanos = Long.MAX_VALUE;
+		long bestOffsetMillis = 0;
+		long bestMidNanos = 0;
+		long bestMidWallMillis = 0;
+		for (int i = 0; i < CALIBRATION_SAMPLES; i++) {
+			final long startWallMillis = System.currentTimeMillis();
+			final long startNanos = System.nanoTime();
+			final Date dbNow = strictClock.getStrictNow();
+			final long rttNanos = System.nanoTime() - startNanos;
+			if (rttNanos < bestRttNanos) {
+				final long midWallMillis = startWallMillis + rttNanos / 2000000L;
+				bestRttNanos = rttNanos;
+				bestOffsetMillis = dbNow.getTime() - midWallMillis;
+				bestMidNanos = startNanos + rttNanos / 2;
+				bestMidWallMillis = midWallMillis;
+			}
+		}
+
+		// Half round trip plus a millisecond for timestamp resolution
+		final long baseErrorMillis = (bestRttNanos + 1999999L) / 2000000L + 1;
+		final boolean usable = baseErrorMillis <= maxDriftMilliSecs;
+		logDebug("Database clock for data source [{0}] calibrated with offset [{1}]ms and base error [{2}]ms.",
+				dataSourceName, bestOffsetMillis, baseErrorMillis);
+		if (!usable) {
+			logWarn("Database clock for data source [{0}] has base error [{1}]ms above maximum drift [{2}]ms."
+					+ " Using strict timestamps until next calibration.", dataSourceName, baseErrorMillis,
+					maxDriftMilliSecs);
+		}
+
+		return new Calibration(bestOffsetMillis, baseErrorMillis, bestMidNanos, bestMidWallMillis, usable);
+	}
+
+	private DataSourceClock getDataSourceClock(String dataSourceName) {
+		DataSourceClock clock = clocks.get(dataSourceName);
+		if (clock == null) {
+			synchronized (clocks) {
+				clock = clocks.get(dataSourceName);
+				if (clock == null) {
+					clock = new DataSourceClock();
+					clocks.put(dataSourceName, clock);
+				}
+			}
+		}
+
+		return clock;
+	}
+
+	private interface StrictClock {
+
+		Date getStrictNow() throws UnifyException;
+	}
+
+	private class PooledConnectionClock implements StrictClock {
+
+		private final String dataSourceName;
+
+		public PooledConnectionClock(String dataSourceName) {
+			this.dataSourceName = dataSourceName;
+		}
+
+		@Override
+		public Date getStrictNow() throws UnifyException {
+			SqlDataSource sqlDataSource = getComponent(SqlDataSource.class, dataSourceName);
+			SqlDataSourceDialect sqlDataSourceDialect = (SqlDataSourceDialect) sqlDataSource.getDialect();
+			Connection connection = (Connection) sqlDataSource.getConnection();
+			try {
+				return sqlStatementExecutor.executeSingleObjectResultQuery(connection, Date.class,
+						sqlDataSourceDialect.getSqlTypePolicy(ColumnType.TIMESTAMP_UTC, 0),
+						sqlDataSourceDialect.generateUTCTimestampSql(), MustMatch.TRUE);
+			} finally {
+				sqlDataSource.restoreConnection(connection);
+			}
+		}
+	}
+
+	private static class DataSourceClock {
+
+		private final AtomicBoolean calibrating;
+
+		private volatile Calibration calibration;
+
+		public DataSourceClock() {
+			this.calibrating = new AtomicBoolean();
+		}
+
+		public Calibration getCalibration() {
+			return calibration;
+		}
+
+		public void setCalibration(Calibration calibration) {
+			this.calibration = calibration;
+		}
+
+		public boolean beginCalibration() {
+			return calibrating.compareAndSet(false, true);
+		}
+
+		public void endCalibration() {
+			calibrating.set(false);
+		}
+	}
+
+	private class Calibration {
+
+		private final long offsetMillis;
+
+		private final long baseErrorMillis;
+
+		private final long calibratedNanos;
+
+		private final long calibratedWallMillis;
+
+		private final boolean usable;
+
+		public Calibration(long offsetMillis, long baseErrorMillis, long calibratedNanos, long calibratedWallMillis,
+				boolean usable) {
+			this.offsetMillis = offsetMillis;
+			this.baseErrorMillis = baseErrorMillis;
+			this.calibratedNanos = calibratedNanos;
+			this.calibratedWallMillis = calibratedWallMillis;
+			this.usable = usable;
+		}
+
+		public long getOffsetMillis() {
+			return offsetMillis;
+		}
+
+		public boolean isUsable() {
+			return usable;
+		}
+
+		public long getErrorBoundMillis(long nowNanos, long nowWallMillis) {
+			final long elapsedMillis = (nowNanos - calibratedNanos) / 1000000L;
+			final long wallAdjustmentMillis = Math.abs((nowWallMillis - calibratedWallMillis) - elapsedMillis);
+			return baseErrorMillis + elapsedMillis / RATE_ERROR_DIVISOR + wallAdjustmentMillis;
+		}
+
+		public boolean isValid(long nowNanos, long nowWallMillis) {
+			return usable && getErrorBoundMillis(nowNanos, nowWallMillis) <= maxDriftMilliSecs;
+		}
+
+		public boolean isDue(long nowNanos, long nowWallMillis) {
+			return (nowNanos - calibratedNanos) / 1000000L >= calibrationMilliSecs
+					|| (usable && !isValid(nowNanos, nowWallMillis));
+		}
+	}
+}
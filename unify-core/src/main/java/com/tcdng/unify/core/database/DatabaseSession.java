@@ -815,6 +815,21 @@ public interface DatabaseSession {
      */
     int updateAll(Query<? extends Entity> query, Update update) throws UnifyException;
 
+    /**
+     * Updates records that match results of each query using the update object
+     * at the same position. Updates with the same statement are executed as a
+     * single batch.
+     * 
+     * @param queryList
+     *            the queries
+     * @param updateList
+     *            the update objects
+     * @return the number of records modified for each query
+     * @throws UnifyException
+     *             if an error occurs during modify
+     */
+    int[] updateAllBatch(List<Query<? extends Entity>> queryList, List<Update> updateList) throws UnifyException;
+
     /**
      * Deletes a record by ID.
      * 
@@ -976,6 +991,7 @@ public interface DatabaseSession {
 
     /**
      * Gets the current timestamp in UTC of data source based on session time zone.
+     * May be served from a calibrated {@link DatabaseClock}.
      * 
      * @return the UTC timestamp
      * @throws UnifyException
@@ -983,6 +999,16 @@ public interface DatabaseSession {
      */
     Date getNow() throws UnifyException;
 
+    /**
+     * Gets the current timestamp in UTC of data source based on session time zone.
+     * Always fetched from data source.
+     * 
+     * @return the UTC timestamp
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    Date getStrictNow() throws UnifyException;
+
     /**
      * Executes callable procedure with no results.
      * 
@@ -153,4 +153,32 @@ public interface DatabaseTransactionManager extends UnifyComponent {
 	 * @return the entity events
 	 */
 	List<EntityEvent> collectEntityEvents();
+
+	/**
+	 * Adds a listener that is notified of entity events each time a transaction
+	 * that set them off completes. Entity events are recorded for listeners
+	 * whether or not entity change broadcast is enabled.
+	 * 
+	 * @param listener the listener to add
+	 */
+	void addEntityEventListener(EntityEventListener listener);
+
+	/**
+	 * Adds an action that is run after the current transaction commits or
+	 * completes. The action is run immediately if no transaction is open.
+	 * 
+	 * @param action the action to run
+	 * @throws UnifyException if an error occurs
+	 */
+	void addCompletionAction(Runnable action) throws UnifyException;
+
+	/**
+	 * Adds an action that is run only if the current transaction commits. The
+	 * action is discarded if the transaction rolls back and is run immediately if
+	 * no transaction is open.
+	 * 
+	 * @param action the action to run
+	 * @throws UnifyException if an error occurs
+	 */
+	void addCommitAction(Runnable action) throws UnifyException;
 }
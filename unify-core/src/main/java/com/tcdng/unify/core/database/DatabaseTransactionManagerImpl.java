@@ -22,6 +22,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Stack;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.tcdng.unify.common.database.Entity;
 import com.tcdng.unify.core.AbstractUnifyComponent;
@@ -59,10 +60,13 @@ public class DatabaseTransactionManagerImpl extends AbstractUnifyComponent imple
 	
 	private List<EntityEvent> events;
 
+	private final List<EntityEventListener> listeners;
+
 	private boolean broadcastEntityChange;
 	
 	public DatabaseTransactionManagerImpl() {
 		this.events = new ArrayList<EntityEvent>();
+		this.listeners = new CopyOnWriteArrayList<EntityEventListener>();
 	}
 	
 	@Override
@@ -124,17 +128,22 @@ public class DatabaseTransactionManagerImpl extends AbstractUnifyComponent imple
 	@Override
 	public void endTransaction() throws UnifyException {
 		List<EntityEvent> _events = Collections.emptyList();
+		List<Runnable> _actions = Collections.emptyList();
 		try {
-			_events = transactionsThreadLocal.get().pop().end();
+			TransactionalCall transaction = transactionsThreadLocal.get().pop();
+			_events = transaction.end();
+			if (transaction.isCompleted()) {
+				_actions = transaction.takeCompletionActions();
+			}
+
 			if (transactionsThreadLocal.get().isEmpty()) {
 				transactionsThreadLocal.remove();
 			}
 		} catch (RuntimeException e) {
 			throw new UnifyException(e, UnifyCoreErrorConstants.TRANSACTION_IS_ALREADY_COMPLETED);
 		} finally {
-			synchronized (this) {
-				events.addAll(_events);
-			}
+			publish(_events);
+			runActions(_actions);
 		}
 	}
 
@@ -189,12 +198,13 @@ public class DatabaseTransactionManagerImpl extends AbstractUnifyComponent imple
 
 	@Override
 	public void commit() throws UnifyException {
-		List<EntityEvent> _events = getCurrentTransaction().commit();
+		TransactionalCall transaction = getCurrentTransaction();
+		List<EntityEvent> _events = transaction.commit();
 		if (_events != null) {
-			synchronized (this) {
-				events.addAll(_events);
-			}
+			publish(_events);
 		}
+
+		runActions(transaction.takeCompletionActions());
 	}
 
 	@Override
@@ -210,11 +220,34 @@ public class DatabaseTransactionManagerImpl extends AbstractUnifyComponent imple
 	@Override
 	public void setOffEntityEvent(TopicEventType eventType, String srcClientId, Class<? extends Entity> entityClass,
 			Object id) throws UnifyException {
-		if (broadcastEntityChange) {
+		if (broadcastEntityChange || !listeners.isEmpty()) {
 			getCurrentTransaction().addEntityEvent(eventType, srcClientId, entityClass, id);
 		}
 	}
 
+	@Override
+	public void addEntityEventListener(EntityEventListener listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public void addCompletionAction(Runnable action) throws UnifyException {
+		if (isTransactionOpen()) {
+			getCurrentTransaction().addCompletionAction(action);
+		} else {
+			action.run();
+		}
+	}
+
+	@Override
+	public void addCommitAction(Runnable action) throws UnifyException {
+		if (isTransactionOpen()) {
+			getCurrentTransaction().addCommitAction(action);
+		} else {
+			action.run();
+		}
+	}
+
 	@Override
 	protected void onInitialize() throws UnifyException {
 		broadcastEntityChange = getContainerSetting(boolean.class,
@@ -226,6 +259,36 @@ public class DatabaseTransactionManagerImpl extends AbstractUnifyComponent imple
 
 	}
 
+	private void publish(List<EntityEvent> _events) {
+		if (_events.isEmpty()) {
+			return;
+		}
+
+		if (broadcastEntityChange) {
+			synchronized (this) {
+				events.addAll(_events);
+			}
+		}
+
+		for (EntityEventListener listener : listeners) {
+			try {
+				listener.onEntityEvents(_events);
+			} catch (Exception e) {
+				logError(e);
+			}
+		}
+	}
+
+	private void runActions(List<Runnable> _actions) {
+		for (Runnable action : _actions) {
+			try {
+				action.run();
+			} catch (Exception e) {
+				logError(e);
+			}
+		}
+	}
+
 	private TransactionalCall getCurrentTransaction() throws UnifyException {
 		try {
 			return transactionsThreadLocal.get().peek();
@@ -241,11 +304,15 @@ public class DatabaseTransactionManagerImpl extends AbstractUnifyComponent imple
 		private boolean rollback;
 		private int depth;
 		private List<EntityEvent> events;
+		private List<Runnable> completionActions;
+		private List<Runnable> commitActions;
 		
 		public TransactionalCall(boolean autoJoin, boolean transaction) {
 			this.autoJoin = autoJoin;
 			this.transaction = transaction;
 			this.events = new ArrayList<EntityEvent>();
+			this.completionActions = new ArrayList<Runnable>();
+			this.commitActions = new ArrayList<Runnable>();
 			rollback = !transaction;
 			databaseSessions = new HashMap<Database, DatabaseSession>();
 		}
@@ -278,6 +345,24 @@ public class DatabaseTransactionManagerImpl extends AbstractUnifyComponent imple
 			events.add(new EntityEvent(eventType, srcClientId, entityClass, id));
 		}
 
+		public void addCompletionAction(Runnable action) {
+			completionActions.add(action);
+		}
+
+		public void addCommitAction(Runnable action) {
+			commitActions.add(action);
+		}
+
+		public List<Runnable> takeCompletionActions() {
+			if (completionActions.isEmpty()) {
+				return Collections.emptyList();
+			}
+
+			List<Runnable> _actions = completionActions;
+			completionActions = new ArrayList<Runnable>();
+			return _actions;
+		}
+
 		public void start() throws UnifyException {
 			depth++;
 		}
@@ -326,6 +411,10 @@ public class DatabaseTransactionManagerImpl extends AbstractUnifyComponent imple
 			return transaction;
 		}
 
+		public boolean isCompleted() {
+			return depth == 0;
+		}
+
 		private List<EntityEvent> commit(boolean isClose) throws UnifyException {
 			for (DatabaseSession dataSourceSession : databaseSessions.values()) {
 				try {
@@ -345,6 +434,12 @@ public class DatabaseTransactionManagerImpl extends AbstractUnifyComponent imple
 				}
 			}
 
+			// Commit actions run after completion actions and only on commit
+			if (!rollback) {
+				completionActions.addAll(commitActions);
+			}
+
+			commitActions.clear();
 			List<EntityEvent> _events = events;
 			events = new ArrayList<EntityEvent>();
 			rollback = false;
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.database;
+
+import java.util.List;
+
+/**
+ * Listener for entity events set off by completed transactions.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public interface EntityEventListener {
+
+	/**
+	 * Handles entity events of a completed transaction.
+	 * 
+	 * @param events the entity events
+	 */
+	void onEntityEvents(List<EntityEvent> events);
+}
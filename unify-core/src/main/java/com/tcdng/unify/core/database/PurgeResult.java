@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.database;
+
+/**
+ * Result of a chunked purge run.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class PurgeResult {
+
+	private final long rowsPurged;
+
+	private final int chunks;
+
+	private final long elapsedMillis;
+
+	private final boolean complete;
+
+	public PurgeResult(long rowsPurged, int chunks, long elapsedMillis, boolean complete) {
+		this.rowsPurged = rowsPurged;
+		this.chunks = chunks;
+		this.elapsedMillis = elapsedMillis;
+		this.complete = complete;
+	}
+
+	/**
+	 * Gets total number of rows purged, including child rows.
+	 */
+	public long getRowsPurged() {
+		return rowsPurged;
+	}
+
+	/**
+	 * Gets number of chunks committed.
+	 */
+	public int getChunks() {
+		return chunks;
+	}
+
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	/**
+	 * Returns true if all matching rows were purged. False if run stopped on time
+	 * budget or error.
+	 */
+	public boolean isComplete() {
+		return complete;
+	}
+
+	@Override
+	public String toString() {
+		return "PurgeResult [rowsPurged=" + rowsPurged + ", chunks=" + chunks + ", elapsedMillis=" + elapsedMillis
+				+ ", complete=" + complete + "]";
+	}
+}
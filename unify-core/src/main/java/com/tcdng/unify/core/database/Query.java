@@ -110,6 +110,8 @@ public class Query<T extends Entity> implements Cloneable {
 
     private boolean lenient;
 
+    private boolean skipLocked;
+
     private Map<String, String> params;
     
     public Query(Class<T> entityClass) {
@@ -621,6 +623,19 @@ public class Query<T extends Entity> implements Cloneable {
         return this;
 	}
 
+	public boolean isSkipLocked() {
+		return skipLocked;
+	}
+
+	/**
+	 * Makes a select lock matched rows, skipping rows already locked by other
+	 * transactions, on data sources that support it. Ignored otherwise.
+	 */
+	public Query<T> skipLocked(boolean skipLocked) {
+		this.skipLocked = skipLocked;
+        return this;
+	}
+
 	public boolean isDistinct() {
         return innerGetSelect().isDistinct();
     }
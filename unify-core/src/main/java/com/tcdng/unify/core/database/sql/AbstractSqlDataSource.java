@@ -22,6 +22,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -169,24 +170,9 @@ public abstract class AbstractSqlDataSource extends AbstractDataSource implement
                 List<SqlColumnInfo> columnInfoList = new ArrayList<SqlColumnInfo>();
                 rs = connection.getMetaData().getColumns(null, schemaName, tableName, null);
                 while (rs.next()) {
-                    String columnName = rs.getString("COLUMN_NAME");
-                    int sqlType = rs.getInt("DATA_TYPE");
-                    if (SqlUtils.isSupportedSqlType(sqlType)) {
-                        Class<?> type = SqlUtils.getJavaType(sqlType);
-                        String defaultVal = rs.getString("COLUMN_DEF");
-                        if (defaultVal != null) {
-                            defaultVal = defaultVal.trim();
-                        }
-
-                        String decimalDigitsStr = rs.getString("DECIMAL_DIGITS");
-                        int decimalDigits = decimalDigitsStr == null ? 0 : Integer.valueOf(decimalDigitsStr);
-                        columnInfoList.add(new SqlColumnInfo(type, rs.getString("TYPE_NAME"), columnName, defaultVal,
-                                sqlType, rs.getInt("COLUMN_SIZE"), decimalDigits,
-                                "YES".equals(rs.getString("IS_NULLABLE"))));
-                    } else {
-                        logDebug(
-                                "Column [{0}] of type [{1}] skipped when obtaining column list for table [{2}] in schema [{3}].",
-                                columnName, sqlType, tableName, schemaName);
+                    SqlColumnInfo sqlColumnInfo = readColumnInfo(rs, schemaName);
+                    if (sqlColumnInfo != null) {
+                        columnInfoList.add(sqlColumnInfo);
                     }
                 }
                 return columnInfoList;
@@ -229,6 +215,40 @@ public abstract class AbstractSqlDataSource extends AbstractDataSource implement
         return Collections.emptyMap();
     }
 
+    @Override
+    public Map<String, Map<String, SqlColumnInfo>> getAllColumnMapLowerCase(String schemaName)
+            throws UnifyException {
+        if (schemaName != null) {
+            Connection connection = getConnection();
+            ResultSet rs = null;
+            try {
+                Map<String, Map<String, SqlColumnInfo>> map = new HashMap<String, Map<String, SqlColumnInfo>>();
+                rs = connection.getMetaData().getColumns(null, schemaName, null, null);
+                while (rs.next()) {
+                    final String tableName = rs.getString("TABLE_NAME");
+                    Map<String, SqlColumnInfo> columnMap = map.get(tableName);
+                    if (columnMap == null) {
+                        columnMap = new LinkedHashMap<String, SqlColumnInfo>();
+                        map.put(tableName, columnMap);
+                    }
+
+                    SqlColumnInfo sqlColumnInfo = readColumnInfo(rs, schemaName);
+                    if (sqlColumnInfo != null) {
+                        columnMap.put(sqlColumnInfo.getColumnName().toLowerCase(), sqlColumnInfo);
+                    }
+                }
+                return map;
+            } catch (SQLException e) {
+                throwOperationErrorException(e);
+            } finally {
+                SqlUtils.close(rs);
+                restoreConnection(connection);
+            }
+        }
+
+        return Collections.emptyMap();
+    }
+
     @Override
     public Set<String> getColumns(String schemaName, String tableName) throws UnifyException {
         if (schemaName != null && tableName != null) {
@@ -508,6 +528,27 @@ public abstract class AbstractSqlDataSource extends AbstractDataSource implement
 				maxConnections);
 	}
 
+    private SqlColumnInfo readColumnInfo(ResultSet rs, String schemaName) throws SQLException {
+        String columnName = rs.getString("COLUMN_NAME");
+        int sqlType = rs.getInt("DATA_TYPE");
+        if (SqlUtils.isSupportedSqlType(sqlType)) {
+            Class<?> type = SqlUtils.getJavaType(sqlType);
+            String defaultVal = rs.getString("COLUMN_DEF");
+            if (defaultVal != null) {
+                defaultVal = defaultVal.trim();
+            }
+
+            String decimalDigitsStr = rs.getString("DECIMAL_DIGITS");
+            int decimalDigits = decimalDigitsStr == null ? 0 : Integer.valueOf(decimalDigitsStr);
+            return new SqlColumnInfo(type, rs.getString("TYPE_NAME"), columnName, defaultVal, sqlType,
+                    rs.getInt("COLUMN_SIZE"), decimalDigits, "YES".equals(rs.getString("IS_NULLABLE")));
+        }
+
+        logDebug("Column [{0}] of type [{1}] skipped when obtaining column list for table [{2}] in schema [{3}].",
+                columnName, sqlType, rs.getString("TABLE_NAME"), schemaName);
+        return null;
+    }
+
     protected class SqlConnectionPool extends AbstractPool<Connection> {
 
         private String connectionURL;
@@ -986,6 +986,12 @@ public abstract class AbstractSqlDataSourceDialect extends AbstractUnifyComponen
 		return sqlEntityInfoFactory.createSqlEntityInfo(clazz);
 	}
 
+	@Override
+	public void prepareSqlTemplates(Class<?> clazz) throws UnifyException {
+		// Statement pools carry the entity's SQL cache
+		sqlStatementPoolsFactory.get(sqlEntityInfoFactory.findSqlEntityInfo(clazz).getEntityClass());
+	}
+
 	@Override
 	public SqlEntityInfo removeSqlEntityInfo(Class<?> clazz) throws UnifyException {
 		return sqlEntityInfoFactory.removeSqlEntityInfo(clazz);
@@ -1224,6 +1230,7 @@ public abstract class AbstractSqlDataSourceDialect extends AbstractUnifyComponen
 		}
 
 		appendWhereClause(findSql, parameterInfoList, sqlEntityInfo, query, SqlQueryType.SELECT);
+		appendSkipLockedClause(findSql, query);
 		return new SqlStatement(sqlEntityInfo, SqlStatementType.FIND, findSql.toString(), parameterInfoList,
 				getSqlResultList(returnFieldInfoList), query.isLenient());
 	}
@@ -1318,6 +1325,7 @@ public abstract class AbstractSqlDataSourceDialect extends AbstractUnifyComponen
 		}
 
 		appendWhereClause(listSql, parameterInfoList, sqlEntityInfo, query, SqlQueryType.SELECT);
+		appendSkipLockedClause(listSql, query);
 		return new SqlStatement(sqlEntityInfo, SqlStatementType.LIST, listSql.toString(), parameterInfoList,
 				getSqlResultList(returnFieldInfoList), query.isLenient());
 	}
@@ -1489,6 +1497,11 @@ public abstract class AbstractSqlDataSourceDialect extends AbstractUnifyComponen
 		return "java.sql.Blob";
 	}
 
+	@Override
+	public String generateSkipLockedForUpdateSql() throws UnifyException {
+		return null;
+	}
+
 	@Override
 	public String translateCriteria(Restriction restriction) throws UnifyException {
 		StringBuilder sql = new StringBuilder();
@@ -1758,6 +1771,23 @@ public abstract class AbstractSqlDataSourceDialect extends AbstractUnifyComponen
 		return isAppend;
 	}
 
+	/**
+	 * Appends skip locked row lock clause if requested by query and supported by
+	 * data source.
+	 * 
+	 * @param sql   the string buffer
+	 * @param query the query
+	 * @throws UnifyException if an error occurs
+	 */
+	protected void appendSkipLockedClause(StringBuilder sql, Query<? extends Entity> query) throws UnifyException {
+		if (query.isSkipLocked()) {
+			final String skipLockedSql = generateSkipLockedForUpdateSql();
+			if (skipLockedSql != null) {
+				sql.append(skipLockedSql);
+			}
+		}
+	}
+
 	/**
 	 * Appends WHERE clause to a string buffer.
 	 * 
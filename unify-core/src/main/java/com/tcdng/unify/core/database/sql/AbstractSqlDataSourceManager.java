@@ -15,17 +15,28 @@
  */
 package com.tcdng.unify.core.database.sql;
 
+import java.lang.reflect.Field;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import com.tcdng.unify.common.database.Entity;
 import com.tcdng.unify.core.AbstractUnifyComponent;
+import com.tcdng.unify.core.ComponentDependencyGraph;
 import com.tcdng.unify.core.UnifyCoreErrorConstants;
+import com.tcdng.unify.core.UnifyCorePropertyConstants;
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.annotation.Configurable;
+import com.tcdng.unify.core.annotation.ForeignKey;
+import com.tcdng.unify.core.annotation.TableExt;
+import com.tcdng.unify.core.annotation.TableRef;
+import com.tcdng.unify.core.annotation.View;
 import com.tcdng.unify.core.database.DataSourceManagerContext;
 import com.tcdng.unify.core.util.SqlUtils;
 
@@ -72,6 +83,7 @@ public abstract class AbstractSqlDataSourceManager extends AbstractUnifyComponen
 		} else {
 			Connection connection = (Connection) sqlDataSource.getConnection();
 			PreparedStatement pstmt = null;
+			final boolean phase = beginStartupPhase("build-entity-info:" + dataSourceName);
 			try {
 				buildSqlEntityFactoryInformation(ctx, dataSourceName, sqlDataSource);
 				for (SqlStatement sqlStatement : sqlDataSource.getDialect().prepareDataSourceInitStatements()) {
@@ -85,6 +97,7 @@ public abstract class AbstractSqlDataSourceManager extends AbstractUnifyComponen
 			} finally {
 				SqlUtils.close(pstmt);
 				sqlDataSource.restoreConnection(connection);
+				endStartupPhase(phase);
 			}
 		}
 	}
@@ -98,12 +111,12 @@ public abstract class AbstractSqlDataSourceManager extends AbstractUnifyComponen
 			List<Class<? extends Entity>> viewList = new ArrayList<Class<? extends Entity>>(
 					SqlUtils.getEntityClassList(tableList));
 			viewList.addAll(getDependencyViewOnlyEntities(ctx, dataSourceName));
-			if (sqlDataSource.getDialect().isReconstructViewsOnTableSchemaUpdate()) {
-				sqlSchemaManager.dropViewSchema(sqlDataSource, _options, viewList);
+			final boolean phase = beginStartupPhase("manage-schema:" + dataSourceName);
+			try {
+				sqlSchemaManager.manageSchema(sqlDataSource, _options, tableList, viewList);
+			} finally {
+				endStartupPhase(phase);
 			}
-
-			sqlSchemaManager.manageTableSchema(sqlDataSource, _options, tableList);
-			sqlSchemaManager.manageViewSchema(sqlDataSource, _options, viewList);
 		}
 	}
 
@@ -137,19 +150,111 @@ public abstract class AbstractSqlDataSourceManager extends AbstractUnifyComponen
 	private void buildSqlEntityFactoryInformation(DataSourceManagerContext ctx, String dataSourceName,
 			SqlDataSource sqlDataSource) throws UnifyException {
 		logDebug("Building SQL information for data source [{0}]...", dataSourceName);
-		SqlDataSourceDialect sqlDataSourceDialect = sqlDataSource.getDialect();
+		final SqlDataSourceDialect sqlDataSourceDialect = sqlDataSource.getDialect();
 
 		List<Class<?>> tableEntityTypes = ctx.getEntityCtx().getTableEntities(dataSourceName);
+		List<Class<? extends Entity>> viewEntityTypes = ctx.getEntityCtx().getViewEntities(dataSourceName);
+		if (getContainerSetting(boolean.class, UnifyCorePropertyConstants.APPLICATION_PARALLEL_STARTUP, false)) {
+			buildSqlEntityInformationInParallel(sqlDataSourceDialect, tableEntityTypes, viewEntityTypes);
+			return;
+		}
+
 		logDebug("Constructing SQL information for [{0}] table types...", tableEntityTypes.size());
 		for (Class<?> entityClass : tableEntityTypes) {
 			sqlDataSourceDialect.createSqlEntityInfo(entityClass);
 		}
 
-		List<Class<? extends Entity>> viewEntityTypes = ctx.getEntityCtx().getViewEntities(dataSourceName);
 		logDebug("Constructing SQL information for [{0}] view types...", viewEntityTypes.size());
 		for (Class<?> entityClass : viewEntityTypes) {
 			sqlDataSourceDialect.createSqlEntityInfo(entityClass);
 		}
+
+		logDebug("Preparing SQL templates for [{0}] entity types...",
+				tableEntityTypes.size() + viewEntityTypes.size());
+		for (Class<?> entityClass : tableEntityTypes) {
+			prepareSqlTemplates(sqlDataSourceDialect, entityClass);
+		}
+
+		for (Class<?> entityClass : viewEntityTypes) {
+			prepareSqlTemplates(sqlDataSourceDialect, entityClass);
+		}
+	}
+
+	private void buildSqlEntityInformationInParallel(final SqlDataSourceDialect sqlDataSourceDialect,
+			List<Class<?>> tableEntityTypes, List<Class<? extends Entity>> viewEntityTypes) throws UnifyException {
+		final Map<String, Class<?>> entityTypes = new LinkedHashMap<String, Class<?>>();
+		for (Class<?> entityClass : tableEntityTypes) {
+			entityTypes.put(entityClass.getName(), entityClass);
+		}
+
+		for (Class<?> entityClass : viewEntityTypes) {
+			entityTypes.put(entityClass.getName(), entityClass);
+		}
+
+		// Referenced tables are built before the entities that reference them
+		ComponentDependencyGraph graph = new ComponentDependencyGraph();
+		for (Class<?> entityClass : entityTypes.values()) {
+			graph.addNode(entityClass.getName());
+			for (Class<?> dependsOn : getEntityDependencies(entityClass)) {
+				if (!dependsOn.equals(entityClass)) {
+					graph.addDependency(entityClass.getName(), dependsOn.getName());
+				}
+			}
+		}
+
+		int threads = getContainerSetting(int.class, UnifyCorePropertyConstants.APPLICATION_PARALLEL_STARTUP_THREADS,
+				0);
+		if (threads <= 0) {
+			threads = Runtime.getRuntime().availableProcessors();
+		}
+
+		logDebug("Constructing SQL information for [{0}] entity types using [{1}] threads...", entityTypes.size(),
+				threads);
+		graph.execute(threads, new ComponentDependencyGraph.NodeAction() {
+			@Override
+			public void execute(String name) throws UnifyException {
+				final Class<?> entityClass = entityTypes.get(name);
+				sqlDataSourceDialect.createSqlEntityInfo(entityClass);
+				prepareSqlTemplates(sqlDataSourceDialect, entityClass);
+			}
+		});
+	}
+
+	private Set<Class<?>> getEntityDependencies(Class<?> entityClass) {
+		Set<Class<?>> dependencies = new LinkedHashSet<Class<?>>();
+		View va = entityClass.getAnnotation(View.class);
+		if (va != null) {
+			for (TableRef tableRef : va.tables()) {
+				dependencies.add(tableRef.entity());
+			}
+
+			return dependencies;
+		}
+
+		if (entityClass.isAnnotationPresent(TableExt.class)) {
+			dependencies.add(entityClass.getSuperclass());
+		}
+
+		Class<?> searchClass = entityClass;
+		do {
+			for (Field field : searchClass.getDeclaredFields()) {
+				ForeignKey fka = field.getAnnotation(ForeignKey.class);
+				if (fka != null) {
+					dependencies.add(Entity.class.equals(fka.value()) ? fka.type() : fka.value());
+				}
+			}
+		} while ((searchClass = searchClass.getSuperclass()) != null);
+
+		return dependencies;
+	}
+
+	private void prepareSqlTemplates(SqlDataSourceDialect sqlDataSourceDialect, Class<?> entityClass) {
+		try {
+			sqlDataSourceDialect.prepareSqlTemplates(entityClass);
+		} catch (UnifyException e) {
+			// Left for preparation on first use
+			logWarn("Unable to prepare SQL templates for entity [{0}]: {1}", entityClass, e.getMessage());
+		}
 	}
 
 	private List<Class<?>> getDependencyTableEntities(DataSourceManagerContext ctx, String dataSourceName)
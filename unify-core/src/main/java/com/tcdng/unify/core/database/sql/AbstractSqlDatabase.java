@@ -19,6 +19,7 @@ import com.tcdng.unify.core.ApplicationComponents;
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.annotation.Configurable;
 import com.tcdng.unify.core.database.AbstractDatabase;
+import com.tcdng.unify.core.database.DatabaseClock;
 import com.tcdng.unify.core.database.DatabaseSession;
 
 /**
@@ -31,6 +32,9 @@ public abstract class AbstractSqlDatabase extends AbstractDatabase implements Sq
 
     @Configurable(ApplicationComponents.APPLICATION_SQLSTATEMENTEXECUTOR)
     private SqlStatementExecutor sqlStatementExecutor;
+
+    @Configurable(ApplicationComponents.APPLICATION_DATABASECLOCK)
+    private DatabaseClock databaseClock;
     
     @Override
 	public boolean isReadOnly() throws UnifyException {
@@ -44,6 +48,6 @@ public abstract class AbstractSqlDatabase extends AbstractDatabase implements Sq
 
 	@Override
 	public DatabaseSession createDatabaseSession() throws UnifyException {
-		return new SqlDatabaseSessionImpl((SqlDataSource) getDataSource(), sqlStatementExecutor);
+		return new SqlDatabaseSessionImpl((SqlDataSource) getDataSource(), sqlStatementExecutor, databaseClock);
 	}
 }
@@ -120,6 +120,19 @@ public interface SqlDataSource extends DataSource, NameSqlDataSourceSchema {
      */
     Map<String, SqlColumnInfo> getColumnMapLowerCase(String schemaName, String tableName) throws UnifyException;
 
+    /**
+     * Returns maps of column information by column name (in lower case) for all
+     * tables in a schema using a single metadata call.
+     * 
+     * @param schemaName
+     *            the schema name
+     * @return map of column information maps by table name. Empty map is returned
+     *         if schemaName is null.
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    Map<String, Map<String, SqlColumnInfo>> getAllColumnMapLowerCase(String schemaName) throws UnifyException;
+
     /**
      * Returns table column names..
      * 
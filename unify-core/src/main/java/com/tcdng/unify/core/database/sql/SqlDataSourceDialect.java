@@ -145,6 +145,15 @@ public interface SqlDataSourceDialect extends DataSourceDialect, SqlGenerator {
 	 */
 	SqlEntityInfo createSqlEntityInfo(Class<?> clazz) throws UnifyException;
 
+	/**
+	 * Precomputes the standard SQL templates and statement pools of an entity
+	 * whose SQL entity information has been created.
+	 * 
+	 * @param clazz the entity type
+	 * @throws UnifyException if an error occurs
+	 */
+	void prepareSqlTemplates(Class<?> clazz) throws UnifyException;
+
 	/**
 	 * Removes the SQL entity information for an entity.
 	 * 
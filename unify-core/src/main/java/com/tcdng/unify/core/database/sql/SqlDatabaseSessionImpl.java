@@ -19,10 +19,12 @@ import java.lang.reflect.Method;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Savepoint;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -51,6 +53,7 @@ import com.tcdng.unify.core.criterion.SubtractionExpression;
 import com.tcdng.unify.core.criterion.Update;
 import com.tcdng.unify.core.database.Aggregation;
 import com.tcdng.unify.core.database.CallableProc;
+import com.tcdng.unify.core.database.DatabaseClock;
 import com.tcdng.unify.core.database.DatabaseSession;
 import com.tcdng.unify.core.database.EntityPolicy;
 import com.tcdng.unify.core.database.GroupingAggregation;
@@ -75,21 +78,29 @@ public class SqlDatabaseSessionImpl implements DatabaseSession {
 
 	private final SqlStatementExecutor sqlStatementExecutor;
 
+	private final DatabaseClock databaseClock;
+
 	private Connection connection;
 
 	private Stack<Savepoint> savepointStack;
 
 	private boolean closed;
 
-	public SqlDatabaseSessionImpl(SqlDataSource sqlDataSource, SqlStatementExecutor sqlStatementExecutor)
-			throws UnifyException {
+	public SqlDatabaseSessionImpl(SqlDataSource sqlDataSource, SqlStatementExecutor sqlStatementExecutor,
+			DatabaseClock databaseClock) throws UnifyException {
 		this.sqlDataSource = sqlDataSource;
 		this.sqlStatementExecutor = sqlStatementExecutor;
+		this.databaseClock = databaseClock;
 		sqlDataSourceDialect = (SqlDataSourceDialect) sqlDataSource.getDialect();
 		connection = (Connection) sqlDataSource.getConnection();
 		savepointStack = new Stack<Savepoint>();
 	}
 
+	public SqlDatabaseSessionImpl(SqlDataSource sqlDataSource, SqlStatementExecutor sqlStatementExecutor)
+			throws UnifyException {
+		this(sqlDataSource, sqlStatementExecutor, null);
+	}
+
 	@Override
 	public boolean isReadOnly() throws UnifyException {
 		return sqlDataSource.isReadOnly();
@@ -746,6 +757,57 @@ public class SqlDatabaseSessionImpl implements DatabaseSession {
 		return 0;
 	}
 
+	@Override
+	public int[] updateAllBatch(List<Query<? extends Entity>> queryList, List<Update> updateList)
+			throws UnifyException {
+		ensureWritable();
+		final int len = queryList.size();
+		final int[] result = new int[len];
+		final SqlStatement[] sqlStatements = new SqlStatement[len];
+		final Map<String, List<Integer>> indexesBySql = new LinkedHashMap<String, List<Integer>>();
+		final Date now = getNow();
+		for (int i = 0; i < len; i++) {
+			Query<? extends Entity> query = queryList.get(i);
+			Update update = updateList.get(i);
+			SqlEntityInfo sqlEntityInfo = resolveSqlEntityInfo(query);
+			if (sqlEntityInfo.isViewOnly() || (!sqlDataSourceDialect.isQueryOffsetOrLimit(query)
+					&& !sqlEntityInfo.testTrueFieldNamesOnly(query.getRestrictedFields()))) {
+				// Can not be expressed as a single statement
+				result[i] = updateAll(query, update);
+				continue;
+			}
+
+			EntityPolicy entityPolicy = sqlEntityInfo.getEntityPolicy();
+			if (entityPolicy != null) {
+				entityPolicy.preQuery(query);
+				entityPolicy.preUpdate(update, now);
+			}
+
+			sqlStatements[i] = sqlDataSourceDialect.prepareUpdateStatement(query, update);
+			List<Integer> indexes = indexesBySql.get(sqlStatements[i].getSql());
+			if (indexes == null) {
+				indexes = new ArrayList<Integer>();
+				indexesBySql.put(sqlStatements[i].getSql(), indexes);
+			}
+
+			indexes.add(i);
+		}
+
+		for (List<Integer> indexes : indexesBySql.values()) {
+			List<SqlStatement> batch = new ArrayList<SqlStatement>(indexes.size());
+			for (Integer index : indexes) {
+				batch.add(sqlStatements[index]);
+			}
+
+			int[] counts = getSqlStatementExecutor().executeUpdateBatch(connection, batch);
+			for (int i = 0; i < counts.length; i++) {
+				result[indexes.get(i)] = counts[i];
+			}
+		}
+
+		return result;
+	}
+
 	@Override
 	public int deleteById(Entity record) throws UnifyException {
 		ensureWritable();
@@ -987,6 +1049,11 @@ public class SqlDatabaseSessionImpl implements DatabaseSession {
 
 	@Override
 	public Date getNow() throws UnifyException {
+		return databaseClock != null ? databaseClock.getNow(this) : getStrictNow();
+	}
+
+	@Override
+	public Date getStrictNow() throws UnifyException {
 		return getSqlStatementExecutor().executeSingleObjectResultQuery(connection, Date.class,
 				sqlDataSourceDialect.getSqlTypePolicy(ColumnType.TIMESTAMP_UTC, 0),
 				sqlDataSourceDialect.generateUTCTimestampSql(), MustMatch.TRUE);
@@ -27,6 +27,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.tcdng.unify.common.annotation.ColumnOverride;
 import com.tcdng.unify.common.annotation.ColumnType;
@@ -116,13 +117,15 @@ public class SqlEntityInfoFactoryImpl extends AbstractSqlEntityInfoFactory {
 
 	private FactoryMap<Class<? extends CallableProc>, SqlCallableInfo> sqlCallableInfoMap;
 
-	private int tAliasCounter;
+	private final AtomicInteger tAliasCounter;
 
-	private int rAliasCounter;
+	private final AtomicInteger rAliasCounter;
 
-	private boolean isClassUniqueIDManagerInit;
+	private volatile boolean isClassUniqueIDManagerInit;
 
 	public SqlEntityInfoFactoryImpl() {
+		tAliasCounter = new AtomicInteger();
+		rAliasCounter = new AtomicInteger();
 		sqlEntityInfoMap = new FactoryMap<Class<?>, SqlEntityInfo>() {
 
 			@Override
@@ -227,7 +230,7 @@ public class SqlEntityInfoFactoryImpl extends AbstractSqlEntityInfoFactory {
 				propertyInfoMap.put(idFieldInfo.getName(), idFieldInfo);
 				propertyInfoMap.put(descFieldInfo.getName(), descFieldInfo);
 
-				String tableAlias = "R" + (++rAliasCounter);
+				String tableAlias = "R" + rAliasCounter.incrementAndGet();
 				if (sqlDataSourceDialect.isAllObjectsInLowerCase()) {
 					tableName = tableName.toLowerCase();
 				}
@@ -970,7 +973,7 @@ public class SqlEntityInfoFactoryImpl extends AbstractSqlEntityInfoFactory {
 				List<SqlQueryRestrictionInfo> defaultRestrictionList = extractDefaultQueryRestrictions(ta, entityClass,
 						heirachyList, propertyInfoMap);
 
-				String tableAlias = "T" + (++tAliasCounter);
+				String tableAlias = "T" + tAliasCounter.incrementAndGet();
 				SqlEntityInfo sqlEntityInfo = new SqlEntityInfo(null, (Class<? extends Entity>) entityClass, null,
 						entityPolicy, mappedEntityRepository, schema, tableName, preferredTableName, schemaTableName,
 						tableAlias, viewName, preferredViewName, schemaViewName, idFieldInfo, versionFieldInfo,
@@ -1875,8 +1878,12 @@ public class SqlEntityInfoFactoryImpl extends AbstractSqlEntityInfoFactory {
 
 	private ClassUniqueIDManager getClassUniqueIDManager() throws UnifyException {
 		if (!isClassUniqueIDManagerInit) {
-			classUniqueIDManager.ensureClassUniqueIDTable();
-			isClassUniqueIDManagerInit = true;
+			synchronized (this) {
+				if (!isClassUniqueIDManagerInit) {
+					classUniqueIDManager.ensureClassUniqueIDTable();
+					isClassUniqueIDManagerInit = true;
+				}
+			}
 		}
 
 		return classUniqueIDManager;
@@ -670,6 +670,16 @@ public interface SqlGenerator extends UnifyComponent {
      */
     String generateUTCTimestampSql() throws UnifyException;
 
+    /**
+     * Generates the suffix that makes a select statement lock the selected rows
+     * while skipping rows already locked by other transactions.
+     * 
+     * @return the lock suffix otherwise null if not supported by data source
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    String generateSkipLockedForUpdateSql() throws UnifyException;
+
     /**
      * Generates a like parameter based on supplied like type and parameter object
      * 
@@ -48,6 +48,25 @@ public interface SqlSchemaManager extends UnifyComponent {
 	 */
 	void updateSchema(SqlDataSource sqlDataSource, List<Class<?>> schemaChangedClassList) throws UnifyException;
 
+	/**
+	 * Manages table and view schema for a datasource. Schema management is skipped
+	 * when the fingerprint of the supplied entity model matches the fingerprint
+	 * stored in the datasource at the last successful run, unless forced by the
+	 * {@link com.tcdng.unify.core.UnifyCorePropertyConstants#APPLICATION_SCHEMA_FORCE_MANAGE}
+	 * setting. The fingerprint covers only the entity model, so changes made
+	 * directly in the database are not detected unless schema management is
+	 * forced.
+	 * 
+	 * @param sqlDataSource      the SQL data source
+	 * @param options            the manager options
+	 * @param tableEntityClasses the table entity class list
+	 * @param viewEntityClasses  the view entity class list
+	 * @return true if schema was managed, false if skipped
+	 * @throws UnifyException if an error occurs
+	 */
+	boolean manageSchema(SqlDataSource sqlDataSource, SqlSchemaManagerOptions options,
+			List<Class<?>> tableEntityClasses, List<Class<? extends Entity>> viewEntityClasses) throws UnifyException;
+
 	/**
 	 * Manages table schema for list of entity classes.
 	 * 
@@ -17,7 +17,9 @@
 package com.tcdng.unify.core.database.sql;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * SQL schema manager context.
@@ -29,9 +31,48 @@ public class SqlSchemaManagerContext {
 
     private List<String> deferredFkConstraintSql;
 
+    private Map<String, Map<String, String>> tableTypes;
+
+    private Map<String, Map<String, Map<String, SqlColumnInfo>>> columnMaps;
+
     public SqlSchemaManagerContext() {
     	this.deferredFkConstraintSql = new ArrayList<String>();
+    	this.tableTypes = new HashMap<String, Map<String, String>>();
+    	this.columnMaps = new HashMap<String, Map<String, Map<String, SqlColumnInfo>>>();
     }
+
+	public boolean isSchemaSnapshot(String schema) {
+		return tableTypes.containsKey(schema);
+	}
+
+	public void setSchemaSnapshot(String schema, Map<String, String> tableTypes,
+			Map<String, Map<String, SqlColumnInfo>> columnMaps) {
+		this.tableTypes.put(schema, new HashMap<String, String>(tableTypes));
+		this.columnMaps.put(schema, new HashMap<String, Map<String, SqlColumnInfo>>(columnMaps));
+	}
+
+	public String getTableType(String schema, String tableName) {
+		return tableTypes.get(schema).get(tableName);
+	}
+
+	public void addTable(String schema, String tableName, String tableType) {
+		tableTypes.get(schema).put(tableName, tableType);
+	}
+
+	/**
+	 * Takes column information of a table from the schema snapshot. Columns are
+	 * taken only once since the table may change after this call.
+	 * 
+	 * @param schema
+	 *            the schema
+	 * @param tableName
+	 *            the table name
+	 * @return the column map by lower case column name otherwise null if not in
+	 *         snapshot
+	 */
+	public Map<String, SqlColumnInfo> takeColumnMapLowerCase(String schema, String tableName) {
+		return columnMaps.get(schema).remove(tableName);
+	}
     
     public void addDeferredFkConstraintSql(String fkConstraintSql) {
     	deferredFkConstraintSql.add(fkConstraintSql);
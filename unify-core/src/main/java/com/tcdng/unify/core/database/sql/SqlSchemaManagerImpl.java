@@ -16,6 +16,8 @@
 
 package com.tcdng.unify.core.database.sql;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
@@ -31,8 +33,11 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
+import com.tcdng.unify.common.annotation.ColumnType;
 import com.tcdng.unify.common.annotation.StaticList;
+import com.tcdng.unify.common.constants.DefaultColumnPositionConstants;
 import com.tcdng.unify.common.constants.EnumConst;
 import com.tcdng.unify.common.data.Listable;
 import com.tcdng.unify.common.database.Entity;
@@ -44,6 +49,10 @@ import com.tcdng.unify.core.annotation.Component;
 import com.tcdng.unify.core.constant.ForceConstraints;
 import com.tcdng.unify.core.constant.LocaleType;
 import com.tcdng.unify.core.constant.PrintFormat;
+import com.tcdng.unify.core.database.AbstractEntity;
+import com.tcdng.unify.core.util.EncodingUtils;
+import com.tcdng.unify.core.util.GetterSetterInfo;
+import com.tcdng.unify.core.util.ReflectUtils;
 import com.tcdng.unify.core.util.SqlUtils;
 import com.tcdng.unify.core.util.StringUtils;
 
@@ -56,6 +65,14 @@ import com.tcdng.unify.core.util.StringUtils;
 @Component(ApplicationComponents.APPLICATION_SQLSCHEMAMANAGER)
 public class SqlSchemaManagerImpl extends AbstractSqlSchemaManager {
 
+	private static final String SCHEMA_FINGERPRINT_TABLE = "UNSCHEMAFINGERPRINT";
+
+	private static final String SCHEMA_FINGERPRINT_DATASOURCE_NAME = "DATASOURCE_NM";
+
+	private static final String SCHEMA_FINGERPRINT_FINGERPRINT = "FINGERPRINT";
+
+	private static final String SCHEMA_FINGERPRINT_VERSION = "1";
+
 	private static final Map<String, Set<String>> swappableValueSet;
 
 	private boolean sqlDebugging;
@@ -97,6 +114,35 @@ public class SqlSchemaManagerImpl extends AbstractSqlSchemaManager {
 		logInfo("Schema information update for managed classes completed successfully.");
 	}
 
+	@Override
+	public boolean manageSchema(SqlDataSource sqlDataSource, SqlSchemaManagerOptions options,
+			List<Class<?>> tableEntityClasses, List<Class<? extends Entity>> viewEntityClasses)
+			throws UnifyException {
+		final String fingerprint = computeSchemaFingerprint(sqlDataSource, options, tableEntityClasses,
+				viewEntityClasses);
+		final String oldFingerprint = readSchemaFingerprint(sqlDataSource);
+		if (fingerprint.equals(oldFingerprint) && !getContainerSetting(boolean.class,
+				UnifyCorePropertyConstants.APPLICATION_SCHEMA_FORCE_MANAGE, false)) {
+			logInfo("Schema fingerprint for datasource [{0}] is unchanged. Skipping schema management...",
+					sqlDataSource.getName());
+			SqlDataSourceDialect sqlDataSourceDialect = sqlDataSource.getDialect();
+			for (Class<?> entityClass : tableEntityClasses) {
+				sqlDataSourceDialect.findSqlEntityInfo(entityClass).setSchemaAlreadyManaged();
+			}
+
+			return false;
+		}
+
+		if (sqlDataSource.getDialect().isReconstructViewsOnTableSchemaUpdate()) {
+			dropViewSchema(sqlDataSource, options, viewEntityClasses);
+		}
+
+		manageTableSchema(sqlDataSource, options, tableEntityClasses);
+		manageViewSchema(sqlDataSource, options, viewEntityClasses);
+		saveSchemaFingerprint(sqlDataSource, fingerprint, oldFingerprint != null);
+		return true;
+	}
+
 	@Override
 	public void manageTableSchema(SqlDataSource sqlDataSource, SqlSchemaManagerOptions options,
 			List<Class<?>> entityClasses) throws UnifyException {
@@ -107,8 +153,8 @@ public class SqlSchemaManagerImpl extends AbstractSqlSchemaManager {
 			DatabaseMetaData databaseMetaData = connection.getMetaData();
 			SqlSchemaManagerContext ctx = new SqlSchemaManagerContext();
 			for (Class<?> entityClass : entityClasses) {
-				Map<String, TableConstraint> managedTableConstraints = fetchManagedTableConstraints(databaseMetaData,
-						sqlDataSource, entityClass);
+				Map<String, TableConstraint> managedTableConstraints = fetchManagedTableConstraints(ctx,
+						databaseMetaData, sqlDataSource, entityClass);
 				manageTableSchema(ctx, databaseMetaData, sqlDataSource, entityClass, managedTableConstraints, options);
 			}
 
@@ -193,6 +239,193 @@ public class SqlSchemaManagerImpl extends AbstractSqlSchemaManager {
 		sqlDebugging = getContainerSetting(boolean.class, UnifyCorePropertyConstants.APPLICATION_SQL_DEBUGGING, false);
 	}
 
+	private String computeSchemaFingerprint(SqlDataSource sqlDataSource, SqlSchemaManagerOptions options,
+			List<Class<?>> tableEntityClasses, List<Class<? extends Entity>> viewEntityClasses)
+			throws UnifyException {
+		final SqlDataSourceDialect sqlDataSourceDialect = sqlDataSource.getDialect();
+		final PrintFormat printFormat = PrintFormat.NONE;
+		final ForceConstraints forceConstraints = options.getForceConstraints();
+		Map<String, String> entries = new TreeMap<String, String>();
+		for (Class<?> entityClass : tableEntityClasses) {
+			SqlEntityInfo sqlEntityInfo = sqlDataSourceDialect.findSqlEntityInfo(entityClass);
+			StringBuilder sb = new StringBuilder();
+			sb.append(sqlEntityInfo.getSchema()).append('\n');
+			sb.append(sqlDataSourceDialect.generateCreateTableSql(sqlEntityInfo, printFormat)).append('\n');
+			if (!sqlEntityInfo.isExtended()) {
+				for (SqlForeignKeySchemaInfo sqlForeignKeyInfo : sqlEntityInfo.getManagedForeignKeyList()) {
+					if (!sqlEntityInfo.getManagedFieldInfo(sqlForeignKeyInfo.getFieldName()).isIgnoreFkConstraint()) {
+						sb.append(sqlDataSourceDialect.generateAddForeignKeyConstraintSql(sqlEntityInfo,
+								sqlForeignKeyInfo, printFormat)).append('\n');
+					}
+				}
+			}
+
+			for (SqlUniqueConstraintSchemaInfo sqlUniqueConstraintInfo : sqlEntityInfo.getUniqueConstraintList()
+					.values()) {
+				sb.append(sqlUniqueConstraintInfo.isWithConditionList()).append(':');
+				sb.append(sqlDataSourceDialect.generateAddUniqueConstraintSql(sqlEntityInfo, sqlUniqueConstraintInfo,
+						printFormat)).append('\n');
+			}
+
+			for (SqlIndexSchemaInfo sqlIndexInfo : sqlEntityInfo.getIndexList().values()) {
+				sb.append(sqlDataSourceDialect.generateCreateIndexSql(sqlEntityInfo, sqlIndexInfo, printFormat))
+						.append('\n');
+			}
+
+			if (EnumConst.class.isAssignableFrom(entityClass)) {
+				StaticList sla = entityClass.getAnnotation(StaticList.class);
+				if (sla != null) {
+					for (Map.Entry<String, Listable> entry : getListMap(LocaleType.APPLICATION, sla.name())
+							.entrySet()) {
+						sb.append(entry.getKey()).append('=').append(entry.getValue().getListDescription())
+								.append('\n');
+					}
+				}
+			}
+
+			entries.put("table:" + entityClass.getName(), sb.toString());
+		}
+
+		for (Class<? extends Entity> entityClass : viewEntityClasses) {
+			SqlEntityInfo sqlEntityInfo = sqlDataSourceDialect.findSqlEntityInfo(entityClass);
+			if (sqlEntityInfo.isViewable() || sqlEntityInfo.isViewOnly()) {
+				entries.put("view:" + entityClass.getName(),
+						sqlDataSourceDialect.generateCreateViewSql(sqlEntityInfo, printFormat));
+			}
+		}
+
+		MessageDigest digest = EncodingUtils.getSha256Digest();
+		digest.update((SCHEMA_FINGERPRINT_VERSION + '\n' + sqlDataSourceDialect.getClass().getName() + '\n'
+				+ sqlDataSource.getAppSchema() + '\n' + forceConstraints + '\n').getBytes(StandardCharsets.UTF_8));
+		for (Map.Entry<String, String> entry : entries.entrySet()) {
+			digest.update((entry.getKey() + '\n' + entry.getValue() + '\n').getBytes(StandardCharsets.UTF_8));
+		}
+
+		return EncodingUtils.getHexString(digest.digest());
+	}
+
+	private String readSchemaFingerprint(SqlDataSource sqlDataSource) throws UnifyException {
+		final SqlEntityInfo fingerprintEntityInfo = getSchemaFingerprintEntityInfo(sqlDataSource);
+		Connection connection = (Connection) sqlDataSource.getConnection();
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		try {
+			rs = connection.getMetaData().getTables(null, sqlDataSource.getAppSchema(),
+					fingerprintEntityInfo.getTableName(), null);
+			final boolean exists = rs.next();
+			SqlUtils.close(rs);
+			if (!exists) {
+				logInfo("Creating datasource table {0}...", fingerprintEntityInfo.getSchemaTableName());
+				String sql = sqlDataSource.getDialect().generateCreateTableSql(fingerprintEntityInfo,
+						PrintFormat.NONE);
+				logDebug("Executing script [{0}]...", sql);
+				pstmt = connection.prepareStatement(sql);
+				pstmt.executeUpdate();
+				connection.commit();
+				return null;
+			}
+
+			pstmt = connection.prepareStatement("SELECT "
+					+ fingerprintEntityInfo.getFieldInfo("fingerprint").getPreferredColumnName() + " FROM "
+					+ fingerprintEntityInfo.getSchemaTableName() + " WHERE "
+					+ fingerprintEntityInfo.getIdFieldInfo().getPreferredColumnName() + " = ?");
+			pstmt.setString(1, sqlDataSource.getName());
+			rs = pstmt.executeQuery();
+			return rs.next() ? rs.getString(1) : null;
+		} catch (SQLException e) {
+			try {
+				connection.rollback();
+			} catch (SQLException e1) {
+			}
+			throw new UnifyException(e, UnifyCoreErrorConstants.SQLSCHEMAMANAGER_MANAGE_SCHEMA_ERROR,
+					sqlDataSource.getName());
+		} finally {
+			SqlUtils.close(rs);
+			SqlUtils.close(pstmt);
+			sqlDataSource.restoreConnection(connection);
+		}
+	}
+
+	private void saveSchemaFingerprint(SqlDataSource sqlDataSource, String fingerprint, boolean update)
+			throws UnifyException {
+		final SqlEntityInfo fingerprintEntityInfo = getSchemaFingerprintEntityInfo(sqlDataSource);
+		final String tableName = fingerprintEntityInfo.getSchemaTableName();
+		final String idColumn = fingerprintEntityInfo.getIdFieldInfo().getPreferredColumnName();
+		final String fingerprintColumn = fingerprintEntityInfo.getFieldInfo("fingerprint").getPreferredColumnName();
+		Connection connection = (Connection) sqlDataSource.getConnection();
+		PreparedStatement pstmt = null;
+		try {
+			if (update) {
+				pstmt = connection.prepareStatement(
+						"UPDATE " + tableName + " SET " + fingerprintColumn + " = ? WHERE " + idColumn + " = ?");
+			} else {
+				pstmt = connection.prepareStatement("INSERT INTO " + tableName + " (" + fingerprintColumn + ", "
+						+ idColumn + ") VALUES (?, ?)");
+			}
+
+			pstmt.setString(1, fingerprint);
+			pstmt.setString(2, sqlDataSource.getName());
+			pstmt.executeUpdate();
+			connection.commit();
+		} catch (SQLException e) {
+			try {
+				connection.rollback();
+			} catch (SQLException e1) {
+			}
+			throw new UnifyException(e, UnifyCoreErrorConstants.SQLSCHEMAMANAGER_MANAGE_SCHEMA_ERROR,
+					sqlDataSource.getName());
+		} finally {
+			SqlUtils.close(pstmt);
+			sqlDataSource.restoreConnection(connection);
+		}
+	}
+
+	private SqlEntityInfo getSchemaFingerprintEntityInfo(SqlDataSource sqlDataSource) throws UnifyException {
+		final SqlDataSourceDialect sqlDataSourceDialect = sqlDataSource.getDialect();
+		final boolean allObjectsInLowerCase = sqlDataSourceDialect.isAllObjectsInLowerCase();
+		final String tableName = allObjectsInLowerCase ? SCHEMA_FINGERPRINT_TABLE.toLowerCase()
+				: SCHEMA_FINGERPRINT_TABLE;
+		final String preferredTableName = sqlDataSourceDialect.getPreferredName(tableName);
+		final String schema = sqlDataSource.getAppSchema();
+		final String schemaTableName = SqlUtils.generateFullSchemaElementName(schema, preferredTableName);
+
+		final boolean isForeignKey = false;
+		final boolean isIgnoreFkConstraint = false;
+		final boolean isListOnly = false;
+		final boolean isNullable = false;
+		final boolean isFosterParentType = false;
+		final boolean isFosterParentId = false;
+		final boolean isCategoryColumn = false;
+		final boolean isTenantId = false;
+		final String mapped = null;
+		final SqlFieldDimensions sqlFieldDimensions = new SqlFieldDimensions(64, -1, -1);
+		GetterSetterInfo getterSetterInfo = ReflectUtils.getGetterSetterInfo(SchemaFingerprint.class, "id");
+		final SqlFieldInfo idFieldInfo = new SqlFieldInfo(DefaultColumnPositionConstants.ID_POSITION,
+				ColumnType.STRING, null, null, null, "id", SCHEMA_FINGERPRINT_DATASOURCE_NAME,
+				sqlDataSourceDialect.getPreferredName(SCHEMA_FINGERPRINT_DATASOURCE_NAME), null, null, true,
+				isForeignKey, isListOnly, isIgnoreFkConstraint, null, sqlFieldDimensions, isNullable,
+				isFosterParentType, isFosterParentId, isCategoryColumn, isTenantId, mapped, null,
+				ReflectUtils.getField(SchemaFingerprint.class, "id"), getterSetterInfo.getGetter(),
+				getterSetterInfo.getSetter(), allObjectsInLowerCase);
+
+		getterSetterInfo = ReflectUtils.getGetterSetterInfo(SchemaFingerprint.class, "fingerprint");
+		final SqlFieldInfo fingerprintFieldInfo = new SqlFieldInfo(DefaultColumnPositionConstants.COLUMN_POSITION,
+				ColumnType.STRING, null, null, null, "fingerprint", SCHEMA_FINGERPRINT_FINGERPRINT,
+				sqlDataSourceDialect.getPreferredName(SCHEMA_FINGERPRINT_FINGERPRINT), null, null, false,
+				isForeignKey, isListOnly, isIgnoreFkConstraint, null, sqlFieldDimensions, isNullable,
+				isFosterParentType, isFosterParentId, isCategoryColumn, isTenantId, mapped, null,
+				ReflectUtils.getField(SchemaFingerprint.class, "fingerprint"), getterSetterInfo.getGetter(),
+				getterSetterInfo.getSetter(), allObjectsInLowerCase);
+
+		Map<String, SqlFieldInfo> propertyInfoMap = new LinkedHashMap<String, SqlFieldInfo>();
+		propertyInfoMap.put(idFieldInfo.getName(), idFieldInfo);
+		propertyInfoMap.put(fingerprintFieldInfo.getName(), fingerprintFieldInfo);
+		return new SqlEntityInfo(null, SchemaFingerprint.class, null, null, null, schema, tableName,
+				preferredTableName, schemaTableName, "SFP0", tableName, preferredTableName, schemaTableName,
+				idFieldInfo, null, null, null, null, null, propertyInfoMap, null, null, null, null, null, null, null,
+				null, allObjectsInLowerCase, true);
+	}
+
 	private List<Class<? extends Entity>> buildDependencyDynamicViewList(SqlDataSource sqlDataSource,
 			List<Class<?>> entityClasses) throws UnifyException {
 		logInfo("Building dependency view list for [{0}] entities...", entityClasses.size());
@@ -264,14 +497,18 @@ public class SqlSchemaManagerImpl extends AbstractSqlSchemaManager {
 			}
 
 			List<String> tableUpdateSql = new ArrayList<String>();
-			rs = databaseMetaData.getTables(null, schema, sqlEntityInfo.getTableName(), null);
-			if (rs.next()) {
+			final String tableType = getTableType(ctx, databaseMetaData, sqlDataSource, schema,
+					sqlEntityInfo.getTableName());
+			if (tableType != null) {
 				// Table exists. Check for updates
 				List<String> alterTableColumnsSql = Collections.emptyList();
-				String tableType = rs.getString("TABLE_TYPE");
 				if ("TABLE".equalsIgnoreCase(tableType)) {
-					Map<String, SqlColumnInfo> columnMap = sqlDataSource.getColumnMapLowerCase(schema,
+					Map<String, SqlColumnInfo> columnMap = ctx.takeColumnMapLowerCase(schema,
 							sqlEntityInfo.getTableName());
+					if (columnMap == null) {
+						columnMap = sqlDataSource.getColumnMapLowerCase(schema, sqlEntityInfo.getTableName());
+					}
+
 					alterTableColumnsSql = getColumnUpdates(sqlDataSourceDialect, sqlEntityInfo, columnMap,
 							printFormat);
 				} else {
@@ -279,8 +516,6 @@ public class SqlSchemaManagerImpl extends AbstractSqlSchemaManager {
 							sqlDataSource.getName(), sqlEntityInfo.getTableName(), tableType);
 				}
 
-				SqlUtils.close(rs);
-
 				List<String> dropConstraintSql = new ArrayList<String>();
 				List<String> createUpdateConstraintSql = new ArrayList<String>();
 				if (!alterTableColumnsSql.isEmpty()) {
@@ -408,6 +643,7 @@ public class SqlSchemaManagerImpl extends AbstractSqlSchemaManager {
 
 				// Create table
 				tableUpdateSql.add(sqlDataSourceDialect.generateCreateTableSql(sqlEntityInfo, printFormat));
+				ctx.addTable(schema, sqlEntityInfo.getTableName(), "TABLE");
 
 				// Create constraints and indexes
 				if (forceConstraints.isTrue() && sqlEntityInfo.isManagedForeignKeys()) {
@@ -438,7 +674,6 @@ public class SqlSchemaManagerImpl extends AbstractSqlSchemaManager {
 					}
 				}
 			}
-			SqlUtils.close(rs);
 
 			// Apply updates
 			for (String sql : tableUpdateSql) {
@@ -553,8 +788,9 @@ public class SqlSchemaManagerImpl extends AbstractSqlSchemaManager {
 		}
 	}
 
-	private Map<String, TableConstraint> fetchManagedTableConstraints(DatabaseMetaData databaseMetaData,
-			SqlDataSource sqlDataSource, Class<?> entityClass) throws UnifyException {
+	private Map<String, TableConstraint> fetchManagedTableConstraints(SqlSchemaManagerContext ctx,
+			DatabaseMetaData databaseMetaData, SqlDataSource sqlDataSource, Class<?> entityClass)
+			throws UnifyException {
 		SqlDataSourceDialect sqlDataSourceDialect = sqlDataSource.getDialect();
 		SqlEntityInfo sqlEntityInfo = sqlDataSourceDialect.findSqlEntityInfo(entityClass);
 
@@ -565,45 +801,43 @@ public class SqlSchemaManagerImpl extends AbstractSqlSchemaManager {
 			if (StringUtils.isBlank(schema)) {
 				schema = sqlDataSource.getAppSchema();
 			}
-			//
-			try (ResultSet _rs = databaseMetaData.getTables(null, schema, sqlEntityInfo.getTableName(), null)) {
-				if (_rs.next()) {
-					// Fetch foreign keys
-					rs = databaseMetaData.getImportedKeys(null, schema, sqlEntityInfo.getTableName());
-					while (rs.next()) {
-						String fkName = SqlUtils.resolveConstraintName(rs.getString("FK_NAME"),
-								sqlDataSourceDialect.isAllObjectsInLowerCase());
-						String pkTableName = rs.getString("PKTABLE_NAME");
-						String pkColumnName = rs.getString("PKCOLUMN_NAME");
-						if (StringUtils.isNotBlank(fkName) && StringUtils.isNotBlank(pkTableName)
-								&& StringUtils.isNotBlank(pkColumnName)) {
-							TableConstraint tConst = managedTableConstraints.get(fkName);
-							if (tConst == null) {
-								tConst = new TableConstraint(fkName, pkTableName, false, false);
-								managedTableConstraints.put(fkName, tConst);
-							}
-
-							tConst.addColumn(pkColumnName);
+			// Foreign keys and indexes have no portable schema-wide metadata call
+			if (getTableType(ctx, databaseMetaData, sqlDataSource, schema, sqlEntityInfo.getTableName()) != null) {
+				// Fetch foreign keys
+				rs = databaseMetaData.getImportedKeys(null, schema, sqlEntityInfo.getTableName());
+				while (rs.next()) {
+					String fkName = SqlUtils.resolveConstraintName(rs.getString("FK_NAME"),
+							sqlDataSourceDialect.isAllObjectsInLowerCase());
+					String pkTableName = rs.getString("PKTABLE_NAME");
+					String pkColumnName = rs.getString("PKCOLUMN_NAME");
+					if (StringUtils.isNotBlank(fkName) && StringUtils.isNotBlank(pkTableName)
+							&& StringUtils.isNotBlank(pkColumnName)) {
+						TableConstraint tConst = managedTableConstraints.get(fkName);
+						if (tConst == null) {
+							tConst = new TableConstraint(fkName, pkTableName, false, false);
+							managedTableConstraints.put(fkName, tConst);
 						}
-					}
 
-					SqlUtils.close(rs);
-					// Fetch indexes
-					rs = databaseMetaData.getIndexInfo(null, schema, sqlEntityInfo.getTableName(), false, false);
-					while (rs.next()) {
-						String idxName = SqlUtils.resolveConstraintName(rs.getString("INDEX_NAME"),
-								sqlDataSourceDialect.isAllObjectsInLowerCase());
-						String idxColumnName = rs.getString("COLUMN_NAME");
-						if (StringUtils.isNotBlank(idxName) && StringUtils.isNotBlank(idxColumnName)) {
-							boolean unique = SqlUtils.isUniqueConstraintName(idxName);
-							TableConstraint tConst = managedTableConstraints.get(idxName);
-							if (tConst == null) {
-								tConst = new TableConstraint(idxName, null, false, unique);
-								managedTableConstraints.put(idxName, tConst);
-							}
+						tConst.addColumn(pkColumnName);
+					}
+				}
 
-							tConst.addColumn(idxColumnName);
+				SqlUtils.close(rs);
+				// Fetch indexes
+				rs = databaseMetaData.getIndexInfo(null, schema, sqlEntityInfo.getTableName(), false, false);
+				while (rs.next()) {
+					String idxName = SqlUtils.resolveConstraintName(rs.getString("INDEX_NAME"),
+							sqlDataSourceDialect.isAllObjectsInLowerCase());
+					String idxColumnName = rs.getString("COLUMN_NAME");
+					if (StringUtils.isNotBlank(idxName) && StringUtils.isNotBlank(idxColumnName)) {
+						boolean unique = SqlUtils.isUniqueConstraintName(idxName);
+						TableConstraint tConst = managedTableConstraints.get(idxName);
+						if (tConst == null) {
+							tConst = new TableConstraint(idxName, null, false, unique);
+							managedTableConstraints.put(idxName, tConst);
 						}
+
+						tConst.addColumn(idxColumnName);
 					}
 				}
 			}
@@ -617,6 +851,30 @@ public class SqlSchemaManagerImpl extends AbstractSqlSchemaManager {
 		return managedTableConstraints;
 	}
 
+	private String getTableType(SqlSchemaManagerContext ctx, DatabaseMetaData databaseMetaData,
+			SqlDataSource sqlDataSource, String schema, String tableName) throws UnifyException {
+		if (!ctx.isSchemaSnapshot(schema)) {
+			logDebug("Taking metadata snapshot of schema [{0}]...", schema);
+			Map<String, String> tableTypes = new HashMap<String, String>();
+			ResultSet rs = null;
+			try {
+				rs = databaseMetaData.getTables(null, schema, null, null);
+				while (rs.next()) {
+					tableTypes.put(rs.getString("TABLE_NAME"), rs.getString("TABLE_TYPE"));
+				}
+			} catch (SQLException e) {
+				throwOperationErrorException(e);
+			} finally {
+				SqlUtils.close(rs);
+			}
+
+			ctx.setSchemaSnapshot(schema, tableTypes, sqlDataSource.getAllColumnMapLowerCase(schema));
+			logDebug("Metadata snapshot of schema [{0}] taken with [{1}] tables.", schema, tableTypes.size());
+		}
+
+		return ctx.getTableType(schema, tableName);
+	}
+
 	private List<String> generateDropConstraints(DatabaseMetaData databaseMetaData,
 			SqlDataSourceDialect sqlDataSourceDialect, SqlEntityInfo sqlEntityInfo,
 			Collection<TableConstraint> constraints, PrintFormat printFormat) throws UnifyException {
@@ -972,4 +1230,34 @@ public class SqlSchemaManagerImpl extends AbstractSqlSchemaManager {
 		}
 	}
 
+	public static class SchemaFingerprint extends AbstractEntity {
+
+		private String id;
+
+		private String fingerprint;
+
+		@Override
+		public String getDescription() {
+			return id;
+		}
+
+		@Override
+		public String getId() {
+			return id;
+		}
+
+		public void setId(String id) {
+			this.id = id;
+		}
+
+		public String getFingerprint() {
+			return fingerprint;
+		}
+
+		public void setFingerprint(String fingerprint) {
+			this.fingerprint = fingerprint;
+		}
+
+	}
+
 }
@@ -50,6 +50,17 @@ public interface SqlStatementExecutor extends UnifyComponent {
 	 */
 	int executeUpdate(Connection connection, SqlStatement sqlStatement) throws UnifyException;
 
+	/**
+	 * Executes update statements that share the same SQL as a single batch via
+	 * supplied connection.
+	 * 
+	 * @param connection       the database connection
+	 * @param sqlStatementList the update statements to execute
+	 * @return the number of records affected by each statement
+	 * @throws UnifyException if an error occurs
+	 */
+	int[] executeUpdateBatch(Connection connection, List<SqlStatement> sqlStatementList) throws UnifyException;
+
 	/**
 	 * Executes a statement that returns a single value via supplied connection.
 	 * 
@@ -82,6 +82,36 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
 		return result;
 	}
 
+	@Override
+	public int[] executeUpdateBatch(Connection connection, List<SqlStatement> sqlStatementList)
+			throws UnifyException {
+		if (sqlStatementList.isEmpty()) {
+			return new int[0];
+		}
+
+		int[] result = null;
+		PreparedStatement pStmt = null;
+		try {
+			final long timeZoneOffset = getSessionContext().getTimeZoneOffset();
+			pStmt = getPreparedStatement(connection, sqlStatementList.get(0), timeZoneOffset);
+			pStmt.addBatch();
+			for (int i = 1; i < sqlStatementList.size(); i++) {
+				setParameters(pStmt, sqlStatementList.get(i), timeZoneOffset);
+				pStmt.addBatch();
+			}
+
+			result = pStmt.executeBatch();
+		} catch (UnifyException e) {
+			throw e;
+		} catch (Exception e) {
+			logSevere("Error attempting to execute SQL statement batch [{0}].", sqlStatementList.get(0).toString());
+			throwOperationErrorException(e);
+		} finally {
+			SqlUtils.close(pStmt);
+		}
+		return result;
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public <T> T executeSingleObjectResultQuery(Connection connection, Class<T> clazz,
@@ -845,7 +875,6 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
 
 	}
 
-	@SuppressWarnings("unchecked")
 	private PreparedStatement getPreparedStatement(Connection connection, SqlStatement sqlStatement,
 			final long timeZoneOffset) throws Exception {
 		if (sqlDebugging) {
@@ -853,6 +882,13 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
 		}
 
 		PreparedStatement pStmt = connection.prepareStatement(sqlStatement.getSql());
+		setParameters(pStmt, sqlStatement, timeZoneOffset);
+		return pStmt;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void setParameters(PreparedStatement pStmt, SqlStatement sqlStatement, final long timeZoneOffset)
+			throws Exception {
 		int index = 0;
 		for (SqlParameter sqlParameter : sqlStatement.getParameterInfoList()) {
 			Object value = sqlParameter.getValue();
@@ -865,7 +901,6 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
 				sqlParameter.getSqlTypePolicy().executeSetPreparedStatement(pStmt, ++index, value, timeZoneOffset);
 			}
 		}
-		return pStmt;
 	}
 
 	private CallableStatement getCallableStatement(Connection connection, SqlCallableStatement sqlCallableStatement,
@@ -89,6 +89,11 @@ public class MySqlDialect extends AbstractSqlDataSourceDialect {
 		return "SELECT UTC_TIMESTAMP";
 	}
 
+	@Override
+	public String generateSkipLockedForUpdateSql() throws UnifyException {
+		return " FOR UPDATE SKIP LOCKED";
+	}
+
 	@Override
 	public String generateGetCheckConstraintsSql(SqlEntitySchemaInfo sqlEntitySchemaInfo, PrintFormat format)
 			throws UnifyException {
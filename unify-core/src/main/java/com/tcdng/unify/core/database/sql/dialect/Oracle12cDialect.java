@@ -28,6 +28,12 @@ import com.tcdng.unify.core.database.sql.SqlDialectNameConstants;
 @Component(name = SqlDialectNameConstants.ORACLE_12C, description = "$m{sqldialect.oracle12cdb}")
 public class Oracle12cDialect extends OracleDialect {
 
+    @Override
+    public String generateSkipLockedForUpdateSql() throws UnifyException {
+        // FETCH FIRST row limiting can not be combined with FOR UPDATE
+        return null;
+    }
+
     @Override
     protected boolean appendLimitOffsetInfixClause(StringBuilder sql, int offset, int limit) throws UnifyException {
         return false;
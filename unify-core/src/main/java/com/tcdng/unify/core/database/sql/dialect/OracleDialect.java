@@ -132,6 +132,11 @@ public class OracleDialect extends AbstractSqlDataSourceDialect {
 		return "SELECT SYS_EXTRACT_UTC(SYSTIMESTAMP) FROM DUAL";
 	}
 
+	@Override
+	public String generateSkipLockedForUpdateSql() throws UnifyException {
+		return " FOR UPDATE SKIP LOCKED";
+	}
+
 	@Override
 	public String getSqlBlobType() {
 		return "oracle.jdbc.OracleBlob";
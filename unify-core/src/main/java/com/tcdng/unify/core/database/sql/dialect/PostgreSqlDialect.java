@@ -129,6 +129,11 @@ public class PostgreSqlDialect extends AbstractSqlDataSourceDialect {
 		return "SELECT NOW() AT TIME ZONE 'utc'";
 	}
 
+	@Override
+	public String generateSkipLockedForUpdateSql() throws UnifyException {
+		return " FOR UPDATE SKIP LOCKED";
+	}
+
 	@Override
 	public String generateGetCheckConstraintsSql(SqlEntitySchemaInfo sqlEntitySchemaInfo, PrintFormat format)
 			throws UnifyException {
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.expiration;
+
+import com.tcdng.unify.core.UnifyException;
+
+/**
+ * Handler invoked when an item scheduled with the expiration manager expires.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public interface ExpirationHandler {
+
+    /**
+     * Handles expiration.
+     * 
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    void expire() throws UnifyException;
+}
@@ -16,6 +16,7 @@
 package com.tcdng.unify.core.expiration;
 
 import com.tcdng.unify.core.UnifyComponent;
+import com.tcdng.unify.core.UnifyException;
 
 /**
  * Component interface for managing expirable references.
@@ -25,4 +26,27 @@ import com.tcdng.unify.core.UnifyComponent;
  */
 public interface ExpirationManager extends UnifyComponent {
 
+    /**
+     * Schedules an expiration handler on the shared timer wheel. The handler is
+     * invoked once, at or shortly after the supplied deadline. This method does
+     * not block.
+     * 
+     * @param handler
+     *            the expiration handler
+     * @param deadline
+     *            the expiration time in milliseconds since epoch
+     * @return the timeout handle that can be used to cancel the expiration
+     */
+    TimerWheel.Timeout<ExpirationHandler> schedule(ExpirationHandler handler, long deadline);
+
+    /**
+     * Invokes all scheduled handlers with deadline at or before supplied time.
+     * 
+     * @param time
+     *            the time in milliseconds since epoch
+     * @return the number of handlers invoked
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    int expireBefore(long time) throws UnifyException;
 }
@@ -16,8 +16,6 @@
 package com.tcdng.unify.core.expiration;
 
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
 
 import com.tcdng.unify.core.AbstractUnifyComponent;
@@ -34,11 +32,12 @@ import com.tcdng.unify.core.annotation.PeriodicType;
 import com.tcdng.unify.core.business.internal.ProxyBusinessServiceMethodRelay;
 import com.tcdng.unify.core.task.TaskMonitor;
 import com.tcdng.unify.core.util.AnnotationUtils;
-import com.tcdng.unify.core.util.CalendarUtils;
 import com.tcdng.unify.core.util.ReflectUtils;
 
 /**
- * Default implementation of expiration manager.
+ * Default implementation of expiration manager. Expirable methods and other
+ * scheduled handlers are kept in a shared timer wheel keyed by their exact
+ * deadline, so each expiration cycle only touches handlers that are due.
  * 
  * @author The Code Department
  * @since 4.1
@@ -46,36 +45,44 @@ import com.tcdng.unify.core.util.ReflectUtils;
 @Component(ApplicationComponents.APPLICATION_EXPIRATIONMANAGER)
 public class ExpirationManagerImpl extends AbstractUnifyComponent implements ExpirationManager {
 
+    private static final long TICK_MILLISECONDS = 1000L;
+
     @Configurable
     private ProxyBusinessServiceMethodRelay proxyMethodRelay;
 
-    private List<ObservedExpirableInfo> expirablesList;
+    private final TimerWheel<ExpirationHandler> timerWheel;
 
     public ExpirationManagerImpl() {
-        expirablesList = new ArrayList<ObservedExpirableInfo>();
+        timerWheel = new TimerWheel<ExpirationHandler>(TICK_MILLISECONDS);
     }
 
-    @Periodic(PeriodicType.NORMAL)
-    public synchronized void removeExpiredExpirables(TaskMonitor taskMonitor) throws UnifyException {
-        Date now = new Date();
-        for (ObservedExpirableInfo observedExpirableInfo : expirablesList) {
+    @Override
+    public TimerWheel.Timeout<ExpirationHandler> schedule(ExpirationHandler handler, long deadline) {
+        return timerWheel.schedule(handler, deadline);
+    }
+
+    @Override
+    public int expireBefore(long time) throws UnifyException {
+        List<ExpirationHandler> expired = timerWheel.expireBefore(time);
+        for (ExpirationHandler handler : expired) {
             try {
-                if (observedExpirableInfo.isExpired(now)) {
-                    logDebug("Invoking expiration method [{1}] on component [{0}]...",
-                            observedExpirableInfo.getExpirable().getName(),
-                            observedExpirableInfo.getMethod().getName());
-                    observedExpirableInfo.getMethod().invoke(observedExpirableInfo.getExpirable());
-                    observedExpirableInfo.reset(now);
-                }
+                handler.expire();
             } catch (Exception e) {
                 logError(e);
             }
         }
+
+        return expired.size();
+    }
+
+    @Periodic(PeriodicType.FASTER)
+    public void removeExpiredExpirables(TaskMonitor taskMonitor) throws UnifyException {
+        expireBefore(System.currentTimeMillis());
     }
 
     @Override
     protected void onInitialize() throws UnifyException {
-        Date now = new Date();
+        final long now = System.currentTimeMillis();
         for (UnifyComponentConfig unifyComponentConfig : getComponentConfigs(UnifyComponent.class)) {
             for (Method method : unifyComponentConfig.getType().getMethods()) {
                 Expirable ea = method.getAnnotation(Expirable.class);
@@ -102,7 +109,7 @@ public class ExpirationManagerImpl extends AbstractUnifyComponent implements Exp
                     }
 
                     UnifyComponent expirable = getComponent(unifyComponentConfig.getName());
-                    expirablesList.add(new ObservedExpirableInfo(expirable, method, now, cycle));
+                    new ObservedExpirableInfo(expirable, method, cycle).schedule(now);
                 }
             }
         }
@@ -110,40 +117,38 @@ public class ExpirationManagerImpl extends AbstractUnifyComponent implements Exp
 
     @Override
     protected void onTerminate() throws UnifyException {
-        expirablesList.clear();
+        timerWheel.clear();
     }
 
-    private class ObservedExpirableInfo {
+    private class ObservedExpirableInfo implements ExpirationHandler {
 
         private UnifyComponent expirable;
 
         private Method method;
 
-        private int cycle;
+        private long cycle;
 
-        private Date expiryDate;
-
-        public ObservedExpirableInfo(UnifyComponent expirable, Method method, Date now, int cycle) {
+        public ObservedExpirableInfo(UnifyComponent expirable, Method method, int cycle) {
             this.expirable = expirable;
             this.method = method;
-            this.cycle = cycle;
-            reset(now);
-        }
-
-        public UnifyComponent getExpirable() {
-            return expirable;
-        }
-
-        public Method getMethod() {
-            return method;
+            this.cycle = cycle * 1000L;
         }
 
-        public boolean isExpired(Date now) {
-            return now.after(expiryDate);
+        @Override
+        public void expire() throws UnifyException {
+            try {
+                logDebug("Invoking expiration method [{1}] on component [{0}]...", expirable.getName(),
+                        method.getName());
+                method.invoke(expirable);
+            } catch (Exception e) {
+                logError(e);
+            } finally {
+                schedule(System.currentTimeMillis());
+            }
         }
 
-        public void reset(Date now) {
-            expiryDate = CalendarUtils.getNowWithOffset(now, cycle);
+        public void schedule(long now) {
+            timerWheel.schedule(this, now + cycle);
         }
     }
 }
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.expiration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A hierarchical timer wheel. Items are scheduled with their exact deadline and
+ * expired in bulk with {@link #expireBefore(long)}. Scheduling and cancellation
+ * are lock-free; scheduled items are handed to the wheel through a concurrent
+ * queue and placed in their slots by the expiring thread. Expiry cost is
+ * proportional to the number of ticks advanced and the number of items expired,
+ * not the number of items scheduled.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class TimerWheel<T> {
+
+    private static final int WHEEL_BITS = 6;
+
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private static final int LEVELS = 4;
+
+    private static final long MAX_SPAN_TICKS = (1L << (WHEEL_BITS * LEVELS)) - 1;
+
+    private final Queue<Timeout<T>> pending;
+
+    private final List<Timeout<T>>[][] wheels;
+
+    private final AtomicInteger size;
+
+    private final long tickMillis;
+
+    private long currentTick;
+
+    private long enteredTick;
+
+    private int placed;
+
+    public TimerWheel(long tickMillis) {
+        this(tickMillis, System.currentTimeMillis());
+    }
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long tickMillis, long startTime) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick milliseconds must be greater than zero.");
+        }
+
+        this.tickMillis = tickMillis;
+        this.pending = new ConcurrentLinkedQueue<Timeout<T>>();
+        this.wheels = new List[LEVELS][WHEEL_SIZE];
+        for (int i = 0; i < LEVELS; i++) {
+            for (int j = 0; j < WHEEL_SIZE; j++) {
+                wheels[i][j] = new ArrayList<Timeout<T>>();
+            }
+        }
+
+        this.size = new AtomicInteger();
+        this.currentTick = startTime / tickMillis;
+        this.enteredTick = currentTick;
+    }
+
+    /**
+     * Schedules an item for expiration at the supplied deadline. This method does
+     * not block.
+     * 
+     * @param item
+     *            the item to schedule
+     * @param deadline
+     *            the expiration time in milliseconds since epoch
+     * @return the timeout handle that can be used to cancel the expiration
+     */
+    public Timeout<T> schedule(T item, long deadline) {
+        Timeout<T> timeout = new Timeout<T>(this, item, deadline);
+        size.incrementAndGet();
+        pending.offer(timeout);
+        return timeout;
+    }
+
+    /**
+     * Expires all scheduled items with deadline at or before supplied time.
+     * Expired items are removed from the wheel and returned in deadline tick
+     * order.
+     * 
+     * @param time
+     *            the time in milliseconds since epoch
+     * @return the list of expired items
+     */
+    public synchronized List<T> expireBefore(long time) {
+        drainPending();
+        final long targetTick = time / tickMillis;
+        if (placed == 0) {
+            if (targetTick > currentTick) {
+                currentTick = targetTick;
+                enteredTick = targetTick;
+            }
+
+            return Collections.emptyList();
+        }
+
+        List<T> expired = new ArrayList<T>();
+        while (true) {
+            if (enteredTick < currentTick) {
+                cascade(currentTick);
+                enteredTick = currentTick;
+            }
+
+            List<Timeout<T>> bucket = wheels[0][(int) (currentTick & WHEEL_MASK)];
+            if (!bucket.isEmpty()) {
+                expire(bucket, time, expired);
+            }
+
+            if (currentTick >= targetTick) {
+                break;
+            }
+
+            if (placed == 0) {
+                currentTick = targetTick;
+                enteredTick = targetTick;
+                break;
+            }
+
+            currentTick++;
+        }
+
+        return expired;
+    }
+
+    /**
+     * Removes all scheduled items from this wheel.
+     */
+    public synchronized void clear() {
+        Timeout<T> timeout = null;
+        while ((timeout = pending.poll()) != null) {
+            timeout.cancel();
+        }
+
+        for (int i = 0; i < LEVELS; i++) {
+            for (int j = 0; j < WHEEL_SIZE; j++) {
+                for (Timeout<T> _timeout : wheels[i][j]) {
+                    _timeout.cancel();
+                }
+
+                wheels[i][j].clear();
+            }
+        }
+
+        placed = 0;
+    }
+
+    /**
+     * Returns the number of scheduled items that have not expired or been
+     * cancelled.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    private void drainPending() {
+        Timeout<T> timeout = null;
+        while ((timeout = pending.poll()) != null) {
+            if (!timeout.isCancelled()) {
+                place(timeout);
+            }
+        }
+    }
+
+    private void cascade(long tick) {
+        for (int level = LEVELS - 1; level > 0; level--) {
+            final int shift = WHEEL_BITS * level;
+            if ((tick & ((1L << shift) - 1)) == 0) {
+                List<Timeout<T>> bucket = wheels[level][(int) ((tick >>> shift) & WHEEL_MASK)];
+                if (!bucket.isEmpty()) {
+                    List<Timeout<T>> timeouts = new ArrayList<Timeout<T>>(bucket);
+                    placed -= bucket.size();
+                    bucket.clear();
+                    for (Timeout<T> timeout : timeouts) {
+                        if (!timeout.isCancelled()) {
+                            place(timeout);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void expire(List<Timeout<T>> bucket, long time, List<T> expired) {
+        int keep = 0;
+        for (int i = 0; i < bucket.size(); i++) {
+            Timeout<T> timeout = bucket.get(i);
+            if (timeout.isCancelled()) {
+                continue;
+            }
+
+            if (timeout.getDeadline() <= time) {
+                if (timeout.expire()) {
+                    expired.add(timeout.getItem());
+                }
+                continue;
+            }
+
+            bucket.set(keep++, timeout);
+        }
+
+        placed -= bucket.size() - keep;
+        for (int i = bucket.size() - 1; i >= keep; i--) {
+            bucket.remove(i);
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        final long deadlineTick = timeout.getDeadline() / tickMillis;
+        final long delta = deadlineTick - currentTick;
+        if (delta <= 0) {
+            wheels[0][(int) (currentTick & WHEEL_MASK)].add(timeout);
+        } else {
+            final long tick = delta > MAX_SPAN_TICKS ? currentTick + MAX_SPAN_TICKS : deadlineTick;
+            final long span = tick - currentTick;
+            int level = 0;
+            while (level < LEVELS - 1 && span >= (1L << (WHEEL_BITS * (level + 1)))) {
+                level++;
+            }
+
+            wheels[level][(int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK)].add(timeout);
+        }
+
+        placed++;
+    }
+
+    public static class Timeout<T> {
+
+        private static final int SCHEDULED = 0;
+
+        private static final int EXPIRED = 1;
+
+        private static final int CANCELLED = 2;
+
+        private final TimerWheel<T> timerWheel;
+
+        private final T item;
+
+        private final long deadline;
+
+        private final AtomicInteger state;
+
+        private Timeout(TimerWheel<T> timerWheel, T item, long deadline) {
+            this.timerWheel = timerWheel;
+            this.item = item;
+            this.deadline = deadline;
+            this.state = new AtomicInteger(SCHEDULED);
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        /**
+         * Cancels this timeout. This method does not block.
+         * 
+         * @return true if timeout was cancelled before expiring
+         */
+        public boolean cancel() {
+            if (state.compareAndSet(SCHEDULED, CANCELLED)) {
+                timerWheel.size.decrementAndGet();
+                return true;
+            }
+
+            return false;
+        }
+
+        private boolean expire() {
+            if (state.compareAndSet(SCHEDULED, EXPIRED)) {
+                timerWheel.size.decrementAndGet();
+                return true;
+            }
+
+            return false;
+        }
+    }
+}
@@ -15,32 +15,97 @@
  */
 package com.tcdng.unify.core.list;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.tcdng.unify.common.data.Listable;
 import com.tcdng.unify.common.database.Entity;
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.RequestContextManager;
 import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.annotation.Broadcast;
 import com.tcdng.unify.core.annotation.Configurable;
 import com.tcdng.unify.core.business.GenericService;
+import com.tcdng.unify.core.database.DatabaseTransactionManager;
+import com.tcdng.unify.core.database.EntityEvent;
+import com.tcdng.unify.core.database.EntityEventListener;
 import com.tcdng.unify.core.database.Query;
+import com.tcdng.unify.core.util.NameUtils;
+import com.tcdng.unify.core.util.ReflectUtils;
 import com.tcdng.unify.core.util.StringUtils;
 
 /**
  * Convenient base class for database search provider list commands.
+ * <p>
+ * Filter searches return records whose description contains the filter,
+ * case-sensitive and in record ID order, up to the configured search limit.
+ * They can optionally be answered from an in-memory n-gram index of the
+ * provider's records with the same results. The index is built in the
+ * background on first use, with searches answered from the database until it
+ * is ready. It is kept current from entity events set off on the provider's
+ * record type and rebuilt after the configured rebuild period, so changes made
+ * without entity events are picked up. Entity event changes are shared with
+ * other cluster nodes through a broadcast command. Index searches return
+ * copies of the indexed records.
+ * <p>
+ * Only records with numeric IDs are indexed. The index holds every record and
+ * about 24 bytes for each description character, so searches fall back to the
+ * database when the record count exceeds the configured maximum index size.
+ * Query filters added by {@link #addQueryFilters(Query)} are applied when
+ * loading the index and so should not depend on request context.
  * 
  * @author The Code Department
  * @since 4.1
  */
-public abstract class AbstractDBSearchProvider extends AbstractSearchProviderListCommand {
+public abstract class AbstractDBSearchProvider extends AbstractSearchProviderListCommand
+        implements EntityEventListener {
+
+    private static final int REFRESH_BATCH_SIZE = 500;
 
     @Configurable
     private GenericService genericService;
 
+    @Configurable
+    private DatabaseTransactionManager databaseTransactionManager;
+
+    @Configurable(ApplicationComponents.APPLICATION_REQUESTCONTEXTMANAGER)
+    private RequestContextManager requestContextManager;
+
     @Configurable("30")
     private int searchLimit;
 
+    @Configurable("false")
+    private boolean inMemoryIndex;
+
+    @Configurable("20000")
+    private int maxIndexSize;
+
+    @Configurable("300") // Index rebuild period in seconds
+    private int indexRebuildPeriod;
+
+    private final Object indexLock = new Object();
+
+    private final Set<Long> pendingIds = Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+
+    private volatile SearchIndex searchIndex;
+
+    private volatile boolean rebuildIndex;
+
+    private volatile long indexBuildTime;
+
+    private boolean indexBuilding;
+
+    private boolean indexUnavailable;
+
+    private boolean indexUnsupported;
+
+    private boolean listening;
+
     private Class<? extends Entity> recordType;
 
     private String keyProperty;
@@ -71,7 +136,19 @@ public abstract class AbstractDBSearchProvider extends AbstractSearchProviderLis
 
         String filter = params.getFilter();
         if (StringUtils.isNotBlank(filter)) {
-            Query<?> query = Query.of(recordType).addLike(descProperty, filter).setLimit(searchLimit);
+            if (inMemoryIndex) {
+                SearchIndex index = getSearchIndex();
+                if (index != null) {
+                    List<Entity> list = new ArrayList<Entity>();
+                    for (Entity record : index.search(filter, searchLimit)) {
+                        list.add(ReflectUtils.shallowBeanCopy(record));
+                    }
+
+                    return list;
+                }
+            }
+
+            Query<?> query = Query.of(recordType).addLike(descProperty, filter).addOrder("id").setLimit(searchLimit);
             addQueryFilters(query);
             return genericService.listAll(query);
         }
@@ -89,7 +166,210 @@ public abstract class AbstractDBSearchProvider extends AbstractSearchProviderLis
         return descProperty;
     }
 
+    @Override
+    public void onEntityEvents(List<EntityEvent> events) {
+        List<String> ids = null;
+        boolean rebuild = false;
+        for (EntityEvent event : events) {
+            if (recordType.equals(event.getEntityClass())) {
+                if (ids == null) {
+                    ids = new ArrayList<String>();
+                }
+
+                Object id = event.getId();
+                if (id == null) {
+                    rebuild = true;
+                } else {
+                    if (id instanceof Number) {
+                        pendingIds.add(((Number) id).longValue());
+                    }
+
+                    ids.add(String.valueOf(id));
+                }
+            }
+        }
+
+        if (ids != null) {
+            if (rebuild) {
+                rebuildIndex = true;
+                ids.clear();
+            }
+
+            try {
+                getUnifyComponentContext().broadcastToOtherNodes(
+                        NameUtils.getComponentMethodName(getName(), "refreshSearchIndex"),
+                        ids.toArray(new String[ids.size()]));
+            } catch (UnifyException e) {
+                logError(e);
+            }
+        }
+    }
+
+    /**
+     * Refreshes index entries of records changed on another cluster node.
+     * Rebuilds the whole index if no record IDs are supplied.
+     * 
+     * @param ids
+     *            the changed record IDs
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    @Broadcast
+    public void refreshSearchIndex(String... ids) throws UnifyException {
+        if (ids.length == 0) {
+            rebuildIndex = true;
+            return;
+        }
+
+        synchronized (indexLock) {
+            if (searchIndex != null || indexBuilding) {
+                for (String id : ids) {
+                    pendingIds.add(Long.valueOf(id));
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if searches are answered from the in-memory index.
+     * 
+     * @return true if index is built and is not due for rebuild
+     */
+    public boolean isSearchIndexReady() {
+        return searchIndex != null && !rebuildIndex && !isIndexExpired();
+    }
+
     protected void addQueryFilters(Query<?> query) throws UnifyException {
 
     }
+
+    private SearchIndex getSearchIndex() throws UnifyException {
+        SearchIndex index = searchIndex;
+        if (index != null && !rebuildIndex && pendingIds.isEmpty() && !isIndexExpired()) {
+            return index;
+        }
+
+        synchronized (indexLock) {
+            if (indexUnsupported) {
+                return null;
+            }
+
+            if (!listening) {
+                databaseTransactionManager.addEntityEventListener(this);
+                listening = true;
+            }
+
+            if ((rebuildIndex || isIndexExpired()) && !indexBuilding) {
+                rebuildIndex = false;
+                searchIndex = null;
+                indexUnavailable = false;
+            }
+
+            if (searchIndex == null) {
+                if (!indexBuilding && !indexUnavailable) {
+                    // Changes from here on are applied after build
+                    pendingIds.clear();
+                    indexBuilding = true;
+                    indexBuildTime = System.currentTimeMillis();
+                    Thread thread = new Thread(new IndexBuildThread());
+                    thread.setDaemon(true);
+                    thread.start();
+                }
+            } else if (!pendingIds.isEmpty()) {
+                refreshPendingIndexEntries();
+            }
+
+            return searchIndex;
+        }
+    }
+
+    private boolean isIndexExpired() {
+        return indexRebuildPeriod > 0 && indexBuildTime > 0
+                && System.currentTimeMillis() - indexBuildTime >= indexRebuildPeriod * 1000L;
+    }
+
+    private SearchIndex buildSearchIndex() throws UnifyException {
+        if (genericService.countAll(createIndexQuery()) > maxIndexSize) {
+            logDebug("Search index for [{0}] not built. Record count is above maximum index size [{1}].",
+                    recordType, maxIndexSize);
+            return null;
+        }
+
+        SearchIndex index = new SearchIndex();
+        for (Entity record : genericService.listAll(createIndexQuery().addOrder("id"))) {
+            if (!(record.getId() instanceof Number)) {
+                logWarn("Search index for [{0}] not supported. Record IDs are not numeric.", recordType);
+                synchronized (indexLock) {
+                    indexUnsupported = true;
+                }
+
+                return null;
+            }
+
+            index.put(((Number) record.getId()).longValue(), record,
+                    (String) ReflectUtils.getBeanProperty(record, descProperty));
+        }
+
+        index.compact();
+        return index;
+    }
+
+    private void refreshPendingIndexEntries() throws UnifyException {
+        List<Long> ids = new ArrayList<Long>(pendingIds);
+        pendingIds.removeAll(ids);
+        final int len = ids.size();
+        for (int i = 0; i < len; i += REFRESH_BATCH_SIZE) {
+            List<Long> batchIds = ids.subList(i, Math.min(i + REFRESH_BATCH_SIZE, len));
+            Set<Long> missingIds = new HashSet<Long>(batchIds);
+            Query<?> query = createIndexQuery();
+            query.addAmongst("id", new ArrayList<Long>(batchIds));
+            for (Entity record : genericService.listAll(query)) {
+                final long id = ((Number) record.getId()).longValue();
+                missingIds.remove(id);
+                searchIndex.put(id, record, (String) ReflectUtils.getBeanProperty(record, descProperty));
+            }
+
+            for (Long id : missingIds) {
+                searchIndex.remove(id);
+            }
+        }
+
+        if (searchIndex.size() > maxIndexSize) {
+            searchIndex = null;
+            indexUnavailable = true;
+        }
+    }
+
+    private Query<?> createIndexQuery() throws UnifyException {
+        Query<?> query = Query.of(recordType, false);
+        addQueryFilters(query);
+        query.ignoreEmptyCriteria(true);
+        return query;
+    }
+
+    private class IndexBuildThread implements Runnable {
+
+        @Override
+        public void run() {
+            SearchIndex index = null;
+            try {
+                requestContextManager.loadRequestContext(getRequestContext());
+                index = buildSearchIndex();
+            } catch (Exception e) {
+                logError(e);
+            } finally {
+                try {
+                    requestContextManager.unloadRequestContext();
+                } catch (Exception e) {
+                    logError(e);
+                }
+
+                synchronized (indexLock) {
+                    searchIndex = index;
+                    indexUnavailable = index == null;
+                    indexBuilding = false;
+                }
+            }
+        }
+    }
 }
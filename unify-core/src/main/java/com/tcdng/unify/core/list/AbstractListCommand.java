@@ -15,8 +15,15 @@
  */
 package com.tcdng.unify.core.list;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.tcdng.unify.common.database.Entity;
 import com.tcdng.unify.core.AbstractUnifyComponent;
 import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.annotation.Configurable;
 
 /**
  * Abstract base component for a list command.
@@ -27,10 +34,37 @@ import com.tcdng.unify.core.UnifyException;
 public abstract class AbstractListCommand<T extends ListParam> extends AbstractUnifyComponent
         implements ListCommand<T> {
 
+    @Configurable("-1")
+    private long cacheTTL;
+
     private Class<T> paramType;
 
+    private long defaultCacheTTL;
+
+    private Set<Class<? extends Entity>> cacheEntityTypes;
+
     public AbstractListCommand(Class<T> paramType) {
         this.paramType = paramType;
+        this.cacheEntityTypes = Collections.emptySet();
+    }
+
+    /**
+     * Creates a list command whose results can be cached.
+     * 
+     * @param paramType
+     *            the parameter type
+     * @param defaultCacheTTL
+     *            the default cache period in seconds. Can be overridden by the
+     *            cacheTTL setting.
+     * @param cacheEntityTypes
+     *            entity types whose changes invalidate cached results
+     */
+    @SafeVarargs
+    public AbstractListCommand(Class<T> paramType, long defaultCacheTTL, Class<? extends Entity>... cacheEntityTypes) {
+        this.paramType = paramType;
+        this.defaultCacheTTL = defaultCacheTTL;
+        this.cacheEntityTypes = Collections
+                .unmodifiableSet(new HashSet<Class<? extends Entity>>(Arrays.asList(cacheEntityTypes)));
     }
 
     @Override
@@ -38,6 +72,16 @@ public abstract class AbstractListCommand<T extends ListParam> extends AbstractU
         return paramType;
     }
 
+    @Override
+    public long getCacheTTL() throws UnifyException {
+        return cacheTTL >= 0 ? cacheTTL : defaultCacheTTL;
+    }
+
+    @Override
+    public Set<Class<? extends Entity>> getCacheEntityTypes() throws UnifyException {
+        return cacheEntityTypes;
+    }
+
     @Override
     protected void onInitialize() throws UnifyException {
 
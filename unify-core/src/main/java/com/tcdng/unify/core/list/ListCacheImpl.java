@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.list;
+
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.annotation.Component;
+import com.tcdng.unify.core.cache.AbstractCache;
+
+/**
+ * Bounded cache for list command results. Results put with an expiry period
+ * expire that period after they are written, whether or not they are accessed.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+@Component(ApplicationComponents.APPLICATION_LISTCACHE)
+public class ListCacheImpl extends AbstractCache<Object, Object> {
+
+	private static final long DEFAULT_MAXIMUM_SIZE = 1000L;
+
+	@Override
+	public Object put(Object key, Object object, long expiryPeriod) throws UnifyException {
+		return put(key, object, expiryPeriod, expiryPeriod);
+	}
+
+	@Override
+	protected long getDefaultMaximumSize() {
+		return DEFAULT_MAXIMUM_SIZE;
+	}
+}
@@ -15,10 +15,13 @@
  */
 package com.tcdng.unify.core.list;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 
 import com.tcdng.unify.common.data.Listable;
+import com.tcdng.unify.common.database.Entity;
 import com.tcdng.unify.core.UnifyComponent;
 import com.tcdng.unify.core.UnifyException;
 
@@ -53,4 +56,28 @@ public interface ListCommand<T extends ListParam> extends UnifyComponent {
      *             if an error occurs
      */
     Class<T> getParamType() throws UnifyException;
+
+    /**
+     * Returns the period in seconds that results of this command can be cached
+     * for by list manager, per locale and parameters. Zero or negative for no
+     * caching. Commands whose results depend on more than locale and
+     * parameters should not be cached. Defaults to no caching.
+     * 
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    default long getCacheTTL() throws UnifyException {
+        return 0L;
+    }
+
+    /**
+     * Returns entity types whose changes invalidate cached results of this
+     * command.
+     * 
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    default Set<Class<? extends Entity>> getCacheEntityTypes() throws UnifyException {
+        return Collections.emptySet();
+    }
 }
@@ -174,4 +174,15 @@ public interface ListManager extends UnifyComponent {
      */
     Listable getListItemByDescription(Locale locale, String listName, String listDesc, Object... params)
             throws UnifyException;
+
+    /**
+     * Invalidates cached list command results for all locales and parameters.
+     * Cached results of other list commands may be invalidated as well.
+     * 
+     * @param listName
+     *            the name of the list command
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    void invalidateListCache(String listName) throws UnifyException;
 }
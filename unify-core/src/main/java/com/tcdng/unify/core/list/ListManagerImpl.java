@@ -22,23 +22,30 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 import com.tcdng.unify.common.annotation.StaticList;
 import com.tcdng.unify.common.constants.EnumConst;
 import com.tcdng.unify.common.data.Listable;
+import com.tcdng.unify.common.database.Entity;
 import com.tcdng.unify.core.AbstractUnifyComponent;
 import com.tcdng.unify.core.ApplicationComponents;
 import com.tcdng.unify.core.UnifyCoreErrorConstants;
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.annotation.Component;
 import com.tcdng.unify.core.annotation.Configurable;
+import com.tcdng.unify.core.cache.CachedLoad;
+import com.tcdng.unify.core.cache.CachedMethodManager;
 import com.tcdng.unify.core.data.LocaleFactoryMap;
 import com.tcdng.unify.core.util.DataUtils;
 import com.tcdng.unify.core.util.ListUtils;
 import com.tcdng.unify.core.util.StringUtils;
 
 /**
- * Default implementation of a list manager.
+ * Default implementation of a list manager. Results of list commands that opt
+ * into caching are kept in the bounded list cache through the cached method
+ * manager, which also evicts them on entity events for the command's entity
+ * types.
  * 
  * @author The Code Department
  * @since 4.1
@@ -49,6 +56,9 @@ public class ListManagerImpl extends AbstractUnifyComponent implements ListManag
 	@Configurable
 	private DynamicListManager dynamicListManager;
 
+	@Configurable
+	private CachedMethodManager cachedMethodManager;
+
 	private final Object lock = new Object();
 
 	private LocaleFactoryMap<Map<String, StaticListInfo>> staticListMaps;
@@ -113,7 +123,7 @@ public class ListManagerImpl extends AbstractUnifyComponent implements ListManag
 			return staticListInfo.getList();
 		}
 
-		return executeListCommand(listName, locale, params);
+		return getListResult(listName, locale, params).getList();
 	}
 
 	@Override
@@ -124,7 +134,7 @@ public class ListManagerImpl extends AbstractUnifyComponent implements ListManag
 			return staticListInfo.getList(filter, limit);
 		}
 
-		return executeListCommand(listName, locale, filter, limit, params);
+		return ListUtils.getSubList(getListResult(listName, locale, params).getList(), filter, limit);
 	}
 
 	@Override
@@ -135,7 +145,8 @@ public class ListManagerImpl extends AbstractUnifyComponent implements ListManag
 			return staticListInfo.getCaseInsensitiveList(filter, limit);
 		}
 
-		return executeCaseInsensitiveListCommand(listName, locale, filter, limit, params);
+		return ListUtils.getCaseInsensitiveSubList(getListResult(listName, locale, params).getList(), filter,
+				limit);
 	}
 
 	@Override
@@ -145,11 +156,7 @@ public class ListManagerImpl extends AbstractUnifyComponent implements ListManag
 			return staticListInfo.getMap();
 		}
 
-		Map<String, Listable> listMap = new HashMap<String, Listable>();
-		for (Listable listable : executeListCommand(listName, locale, params)) {
-			listMap.put(listable.getListKey(), listable);
-		}
-		return listMap;
+		return new HashMap<String, Listable>(getListResult(listName, locale, params).getKeyMap());
 	}
 
 	@Override
@@ -161,7 +168,8 @@ public class ListManagerImpl extends AbstractUnifyComponent implements ListManag
 		}
 
 		Map<String, Listable> listMap = new HashMap<String, Listable>();
-		for (Listable listable : executeListCommand(listName, locale, filter, limit, params)) {
+		for (Listable listable : ListUtils.getSubList(getListResult(listName, locale, params).getList(), filter,
+				limit)) {
 			listMap.put(listable.getListKey(), listable);
 		}
 		return listMap;
@@ -170,19 +178,34 @@ public class ListManagerImpl extends AbstractUnifyComponent implements ListManag
 	@Override
 	public Listable getListItemByKey(Locale locale, String listName, String listKey, Object... params)
 			throws UnifyException {
-		return getListMap(locale, listName, params).get(listKey);
+		StaticListInfo staticListInfo = staticListMaps.get(locale).get(listName);
+		if (staticListInfo != null) {
+			return staticListInfo.getMap().get(listKey);
+		}
+
+		return getListResult(listName, locale, params).getKeyMap().get(listKey);
 	}
 
 	@Override
 	public Listable getListItemByDescription(Locale locale, String listName, String listDesc, Object... params)
 			throws UnifyException {
-		for (Map.Entry<String, Listable> entry : getListMap(locale, listName, params).entrySet()) {
-			if (entry.getValue().getListDescription().equals(listDesc)) {
-				return entry.getValue();
+		StaticListInfo staticListInfo = staticListMaps.get(locale).get(listName);
+		if (staticListInfo != null) {
+			for (Listable listable : staticListInfo.getList()) {
+				if (listable.getListDescription().equals(listDesc)) {
+					return listable;
+				}
 			}
+
+			return null;
 		}
 
-		return null;
+		return getListResult(listName, locale, params).getDescriptionMap().get(listDesc);
+	}
+
+	@Override
+	public void invalidateListCache(String listName) throws UnifyException {
+		cachedMethodManager.evictAll(ApplicationComponents.APPLICATION_LISTCACHE);
 	}
 
 	@Override
@@ -199,25 +222,88 @@ public class ListManagerImpl extends AbstractUnifyComponent implements ListManag
 	}
 
 	@SuppressWarnings("unchecked")
-	private <T extends ListParam> List<? extends Listable> executeListCommand(String listName, Locale locale,
-			Object... params) throws UnifyException {
+	private <T extends ListParam> ListResult getListResult(String listName, Locale locale, Object... params)
+			throws UnifyException {
 		if (isComponent(listName)) {
 			ListCommand<T> listCommand = (ListCommand<T>) getComponent(listName);
-			return listCommand.execute(locale, DataUtils.constructDataObject(listCommand.getParamType(), params));
+			final long cacheTTL = listCommand.getCacheTTL();
+			if (cacheTTL <= 0) {
+				return new ListResult(
+						listCommand.execute(locale, DataUtils.constructDataObject(listCommand.getParamType(), params)));
+			}
+
+			CachedLoad load = cachedMethodManager.beginLoad(ApplicationComponents.APPLICATION_LISTCACHE,
+					cachedMethodManager.getKey(listName, locale, params != null ? params.clone() : null));
+			if (load.isLoaded()) {
+				return (ListResult) load.getValue();
+			}
+
+			try {
+				Set<Class<? extends Entity>> entityTypes = listCommand.getCacheEntityTypes();
+				if (!entityTypes.isEmpty()) {
+					cachedMethodManager.invalidateOn(ApplicationComponents.APPLICATION_LISTCACHE,
+							entityTypes.toArray(new Class[entityTypes.size()]));
+				}
+
+				List<? extends Listable> list = listCommand.execute(locale,
+						DataUtils.constructDataObject(listCommand.getParamType(), params));
+				ListResult listResult = new ListResult(list != null ? Collections.unmodifiableList(list) : null);
+				load.complete(listResult, cacheTTL);
+				return listResult;
+			} finally {
+				load.end();
+			}
 		}
 
-		return dynamicListManager != null ? dynamicListManager.getList(locale, listName, params)
-				: Collections.emptyList();
+		return new ListResult(dynamicListManager != null ? dynamicListManager.getList(locale, listName, params)
+				: Collections.<Listable>emptyList());
 	}
 
-	private <T extends ListParam> List<? extends Listable> executeListCommand(String listName, Locale locale,
-			String filter, int limit, Object... params) throws UnifyException {
-		return ListUtils.getSubList(executeListCommand(listName, locale, params), filter, limit);
-	}
+	private static class ListResult {
+
+		private final List<? extends Listable> list;
+
+		private volatile Map<String, Listable> keyMap;
+
+		private volatile Map<String, Listable> descriptionMap;
 
-	private <T extends ListParam> List<? extends Listable> executeCaseInsensitiveListCommand(String listName,
-			Locale locale, String filter, int limit, Object... params) throws UnifyException {
-		return ListUtils.getCaseInsensitiveSubList(executeListCommand(listName, locale, params), filter, limit);
+		public ListResult(List<? extends Listable> list) {
+			this.list = list == null ? Collections.<Listable>emptyList() : list;
+		}
+
+		public List<? extends Listable> getList() {
+			return list;
+		}
+
+		public Map<String, Listable> getKeyMap() {
+			Map<String, Listable> map = keyMap;
+			if (map == null) {
+				map = new LinkedHashMap<String, Listable>();
+				for (Listable listable : list) {
+					map.put(listable.getListKey(), listable);
+				}
+
+				keyMap = map = Collections.unmodifiableMap(map);
+			}
+
+			return map;
+		}
+
+		public Map<String, Listable> getDescriptionMap() {
+			Map<String, Listable> map = descriptionMap;
+			if (map == null) {
+				map = new HashMap<String, Listable>();
+				for (Listable listable : list) {
+					if (!map.containsKey(listable.getListDescription())) {
+						map.put(listable.getListDescription(), listable);
+					}
+				}
+
+				descriptionMap = map = Collections.unmodifiableMap(map);
+			}
+
+			return map;
+		}
 	}
 
 	public class StaticListInfo implements Listable {
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.list;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.tcdng.unify.common.database.Entity;
+
+/**
+ * In-memory n-gram index of search provider records by description. Every
+ * gram of one up to {@link #MAX_GRAM} characters is indexed, so short search
+ * terms are answered straight from their postings while longer terms
+ * intersect postings and verify candidates. Matching is case-sensitive and
+ * results are in record ID order, the same as a database like search ordered
+ * by ID.
+ * <p>
+ * Postings are sorted arrays of numeric record IDs, so each distinct gram of a
+ * description costs 8 bytes. That is up to 24 bytes for each description
+ * character in addition to the indexed record itself.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+class SearchIndex {
+
+    private static final int MAX_GRAM = 3;
+
+    private final Map<Long, IndexEntry> entries;
+
+    private final Map<String, Postings> postings;
+
+    public SearchIndex() {
+        entries = new HashMap<Long, IndexEntry>();
+        postings = new HashMap<String, Postings>();
+    }
+
+    public synchronized void put(long id, Entity record, String description) {
+        remove(id);
+        String text = description != null ? description : "";
+        entries.put(id, new IndexEntry(record, text));
+        for (String gram : grams(text)) {
+            Postings ids = postings.get(gram);
+            if (ids == null) {
+                ids = new Postings();
+                postings.put(gram, ids);
+            }
+
+            ids.add(id);
+        }
+    }
+
+    public synchronized void remove(long id) {
+        IndexEntry entry = entries.remove(id);
+        if (entry != null) {
+            for (String gram : grams(entry.text)) {
+                Postings ids = postings.get(gram);
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.size() == 0) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Releases spare posting capacity. Called after bulk loading.
+     */
+    public synchronized void compact() {
+        for (Postings ids : postings.values()) {
+            ids.trim();
+        }
+    }
+
+    public synchronized List<Entity> search(String term, int limit) {
+        if (term.length() <= MAX_GRAM) {
+            return collect(postings.get(term), null, limit);
+        }
+
+        Postings smallest = null;
+        for (String gram : termGrams(term)) {
+            Postings ids = postings.get(gram);
+            if (ids == null) {
+                return Collections.emptyList();
+            }
+
+            if (smallest == null || ids.size() < smallest.size()) {
+                smallest = ids;
+            }
+        }
+
+        return collect(smallest, term, limit);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private List<Entity> collect(Postings ids, String verifyTerm, int limit) {
+        if (ids == null) {
+            return Collections.emptyList();
+        }
+
+        List<Entity> list = new ArrayList<Entity>();
+        final int len = ids.size();
+        for (int i = 0; i < len; i++) {
+            IndexEntry entry = entries.get(ids.get(i));
+            if (verifyTerm == null || entry.text.contains(verifyTerm)) {
+                list.add(entry.record);
+                if (limit > 0 && list.size() >= limit) {
+                    break;
+                }
+            }
+        }
+
+        return list;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new LinkedHashSet<String>();
+        final int len = text.length();
+        for (int i = 0; i < len; i++) {
+            for (int j = i + 1; j <= len && j - i <= MAX_GRAM; j++) {
+                grams.add(text.substring(i, j));
+            }
+        }
+
+        return grams;
+    }
+
+    private static Set<String> termGrams(String term) {
+        Set<String> grams = new LinkedHashSet<String>();
+        final int last = term.length() - MAX_GRAM;
+        for (int i = 0; i <= last; i++) {
+            grams.add(term.substring(i, i + MAX_GRAM));
+        }
+
+        return grams;
+    }
+
+    private static class IndexEntry {
+
+        private final Entity record;
+
+        private final String text;
+
+        public IndexEntry(Entity record, String text) {
+            this.record = record;
+            this.text = text;
+        }
+    }
+
+    private static class Postings {
+
+        private long[] ids;
+
+        private int size;
+
+        public Postings() {
+            this.ids = new long[2];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public long get(int index) {
+            return ids[index];
+        }
+
+        public void add(long id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int index = Arrays.binarySearch(ids, 0, size, id);
+                if (index >= 0) {
+                    return;
+                }
+
+                index = -index - 1;
+                ensureCapacity();
+                System.arraycopy(ids, index, ids, index + 1, size - index);
+                ids[index] = id;
+                size++;
+                return;
+            }
+
+            // Records are mostly added in ID order
+            ensureCapacity();
+            ids[size++] = id;
+        }
+
+        public void remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+                size--;
+            }
+        }
+
+        public void trim() {
+            if (size < ids.length) {
+                ids = Arrays.copyOf(ids, size);
+            }
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(2, size + (size >> 1)));
+            }
+        }
+    }
+}
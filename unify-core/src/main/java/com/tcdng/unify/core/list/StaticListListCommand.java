@@ -25,7 +25,8 @@ import com.tcdng.unify.core.annotation.Component;
 import com.tcdng.unify.core.annotation.Configurable;
 
 /**
- * Static list list command.
+ * Static list list command. Static lists are discovered once at startup so
+ * results are cached per locale by the list manager.
  * 
  * @author The Code Department
  * @since 4.1
@@ -33,11 +34,13 @@ import com.tcdng.unify.core.annotation.Configurable;
 @Component("staticlistlist")
 public class StaticListListCommand extends AbstractListCommand<ZeroParams> {
 
+    private static final long DEFAULT_CACHE_TTL = 3600;
+
     @Configurable
     private ListManager listManager;
 
     public StaticListListCommand() {
-        super(ZeroParams.class);
+        super(ZeroParams.class, DEFAULT_CACHE_TTL);
     }
 
     @Override
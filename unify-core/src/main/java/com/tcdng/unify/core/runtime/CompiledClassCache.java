@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.runtime;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.tcdng.unify.core.util.EncodingUtils;
+import com.tcdng.unify.core.util.IOUtils;
+
+/**
+ * Persistent cache of compiled class bytecode keyed by a hash of the class
+ * source. Entries are read from a cache folder and from class path resources
+ * under {@link #CLASSPATH_CACHE_RESOURCE}, which allows pre-generated entries
+ * to be packaged into an application archive. New entries are written to the
+ * cache folder, if any.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class CompiledClassCache {
+
+    public static final String CLASSPATH_CACHE_RESOURCE = "META-INF/unify/classcache/";
+
+    public static final String ENTRY_EXTENSION = ".ucc";
+
+    private static final int ENTRY_MAGIC = 0x55434301;
+
+    private static final String KEY_VERSION = "ucc-1;" + System.getProperty("java.specification.version") + ";";
+
+    private final File folder;
+
+    private final ClassLoader resourceClassLoader;
+
+    private final AtomicLong hits;
+
+    private final AtomicLong misses;
+
+    /**
+     * Creates a compiled class cache.
+     * 
+     * @param folder
+     *            optional cache folder. New entries are not persisted if null.
+     * @param resourceClassLoader
+     *            optional class loader to look up pre-generated entries with
+     */
+    public CompiledClassCache(File folder, ClassLoader resourceClassLoader) {
+        this.folder = folder;
+        this.resourceClassLoader = resourceClassLoader;
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+    }
+
+    /**
+     * Computes the cache key for supplied class source.
+     * 
+     * @param className
+     *            the class name
+     * @param src
+     *            the class source
+     * @return the hex encoded hash key
+     */
+    public static String getKey(String className, String src) {
+        MessageDigest digest = EncodingUtils.getSha256Digest();
+        digest.update(KEY_VERSION.getBytes(StandardCharsets.UTF_8));
+        digest.update(className.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+        digest.update(src.getBytes(StandardCharsets.UTF_8));
+        return EncodingUtils.getHexString(digest.digest());
+    }
+
+    /**
+     * Gets cached bytecode.
+     * 
+     * @param key
+     *            the cache key
+     * @return the bytecode by class name, otherwise null if not cached or entry is
+     *         unreadable
+     */
+    public Map<String, byte[]> get(String key) {
+        Map<String, byte[]> bytecodes = null;
+        if (folder != null) {
+            File file = new File(folder, key + ENTRY_EXTENSION);
+            if (file.isFile()) {
+                try {
+                    bytecodes = read(new FileInputStream(file));
+                } catch (IOException e) {
+                    file.delete();
+                }
+            }
+        }
+
+        if (bytecodes == null && resourceClassLoader != null) {
+            InputStream in = resourceClassLoader.getResourceAsStream(CLASSPATH_CACHE_RESOURCE + key + ENTRY_EXTENSION);
+            if (in != null) {
+                try {
+                    bytecodes = read(in);
+                } catch (IOException e) {
+                    // Ignore unreadable packaged entry
+                }
+            }
+        }
+
+        if (bytecodes != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+
+        return bytecodes;
+    }
+
+    /**
+     * Persists bytecode to cache folder. Does nothing if cache has no folder.
+     * 
+     * @param key
+     *            the cache key
+     * @param bytecodes
+     *            the bytecode by class name
+     * @return true if persisted
+     */
+    public boolean put(String key, Map<String, byte[]> bytecodes) {
+        if (folder == null || bytecodes == null || bytecodes.isEmpty()) {
+            return false;
+        }
+
+        if (!folder.isDirectory() && !folder.mkdirs() && !folder.isDirectory()) {
+            return false;
+        }
+
+        // Write to temporary file first then move so readers never see partial entries
+        File file = new File(folder, key + ENTRY_EXTENSION);
+        File tmpFile = new File(folder, key + "." + Thread.currentThread().getId() + ".tmp");
+        DataOutputStream out = null;
+        try {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)));
+            out.writeInt(ENTRY_MAGIC);
+            out.writeInt(bytecodes.size());
+            for (Map.Entry<String, byte[]> entry : bytecodes.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().length);
+                out.write(entry.getValue());
+            }
+            out.close();
+            out = null;
+
+            if (!tmpFile.renameTo(file)) {
+                file.delete();
+                if (!tmpFile.renameTo(file)) {
+                    tmpFile.delete();
+                    return false;
+                }
+            }
+
+            return true;
+        } catch (IOException e) {
+            IOUtils.close(out);
+            tmpFile.delete();
+            return false;
+        }
+    }
+
+    public File getFolder() {
+        return folder;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private Map<String, byte[]> read(InputStream in) throws IOException {
+        DataInputStream din = new DataInputStream(new BufferedInputStream(in));
+        try {
+            if (din.readInt() != ENTRY_MAGIC) {
+                throw new IOException("Bad compiled class cache entry.");
+            }
+
+            int count = din.readInt();
+            Map<String, byte[]> bytecodes = new HashMap<String, byte[]>();
+            for (int i = 0; i < count; i++) {
+                String className = din.readUTF();
+                byte[] bytecode = new byte[din.readInt()];
+                din.readFully(bytecode);
+                bytecodes.put(className, bytecode);
+            }
+
+            return bytecodes;
+        } finally {
+            IOUtils.close(din);
+        }
+    }
+}
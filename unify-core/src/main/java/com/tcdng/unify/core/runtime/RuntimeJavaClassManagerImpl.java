@@ -29,6 +29,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.codehaus.commons.compiler.util.reflect.ByteArrayClassLoader;
 import org.codehaus.commons.compiler.util.resource.Resource;
 import org.codehaus.commons.compiler.util.resource.ResourceFinder;
 import org.codehaus.commons.compiler.util.resource.StringResource;
@@ -37,10 +38,12 @@ import org.codehaus.janino.SimpleCompiler;
 
 import com.tcdng.unify.core.ApplicationComponents;
 import com.tcdng.unify.core.UnifyCoreErrorConstants;
+import com.tcdng.unify.core.UnifyCorePropertyConstants;
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.annotation.Component;
 import com.tcdng.unify.core.util.IOUtils;
 import com.tcdng.unify.core.util.ReflectUtils;
+import com.tcdng.unify.core.util.StringUtils;
 
 /**
  * Default implementation of runtime java class manager.
@@ -53,6 +56,8 @@ public class RuntimeJavaClassManagerImpl extends AbstractRuntimeJavaClassManager
 
 	private Map<String, ClassInfo> classByName;
 
+	private CompiledClassCache compiledClassCache;
+
 	public RuntimeJavaClassManagerImpl() {
 		reset();
 	}
@@ -88,7 +93,7 @@ public class RuntimeJavaClassManagerImpl extends AbstractRuntimeJavaClassManager
 	@Override
 	public Class<?> compileAndLoadJavaClass(String className, String src) throws UnifyException {
 		try {
-			return innerCompileAndLoadClass(className, new StringReader(src));
+			return innerCompileAndLoadCachedClass(className, src);
 		} catch (UnifyException e) {
 			logDebug("@Source: \n{0}", src);
 			throw e;
@@ -137,9 +142,25 @@ public class RuntimeJavaClassManagerImpl extends AbstractRuntimeJavaClassManager
 		classByName = new ConcurrentHashMap<String, ClassInfo>();
 	}
 
+	public CompiledClassCache getCompiledClassCache() {
+		return compiledClassCache;
+	}
+
 	@Override
 	protected void onInitialize() throws UnifyException {
 		super.onInitialize();
+		File folder = null;
+		String folderName = getContainerSetting(String.class, UnifyCorePropertyConstants.APPLICATION_CLASSCACHE_FOLDER);
+		if (!StringUtils.isBlank(folderName)) {
+			folder = new File(folderName);
+			if (!folder.isAbsolute()) {
+				folder = new File(getWorkingPathFilename(folderName));
+			}
+
+			logInfo("Using compiled class cache folder [{0}]...", folder);
+		}
+
+		compiledClassCache = new CompiledClassCache(folder, getClass().getClassLoader());
 		ReflectUtils.registerClassForNameProvider(this);
 	}
 
@@ -149,13 +170,45 @@ public class RuntimeJavaClassManagerImpl extends AbstractRuntimeJavaClassManager
 		super.onTerminate();
 	}
 
-	private synchronized Class<?> innerCompileAndLoadClass(String className, Reader reader) throws UnifyException {
+	private synchronized Class<?> innerCompileAndLoadCachedClass(String className, String src)
+			throws UnifyException {
+		if (compiledClassCache == null) {
+			return innerCompileAndLoadClass(className, new StringReader(src));
+		}
+
+		final String key = CompiledClassCache.getKey(className, src);
+		Map<String, byte[]> bytecodes = compiledClassCache.get(key);
+		if (bytecodes != null) {
+			try {
+				Class<?> clazz = new ByteArrayClassLoader(bytecodes, getClass().getClassLoader()).loadClass(className);
+				classByName.put(className, new ClassInfo(clazz));
+				return clazz;
+			} catch (Exception e) {
+				logWarn("Unable to load cached class [{0}]. Recompiling...", className);
+			} catch (LinkageError e) {
+				logWarn("Unable to link cached class [{0}]. Recompiling...", className);
+			}
+		}
+
+		return innerCompileAndLoadClass(className, new StringReader(src), key);
+	}
+
+	private Class<?> innerCompileAndLoadClass(String className, Reader reader) throws UnifyException {
+		return innerCompileAndLoadClass(className, reader, null);
+	}
+
+	private synchronized Class<?> innerCompileAndLoadClass(String className, Reader reader, String cacheKey)
+			throws UnifyException {
 		try {
 			SimpleCompiler compiler = new SimpleCompiler();
 			compiler.setParentClassLoader(getClass().getClassLoader());
 			compiler.cook(reader);
 			Class<?> clazz = compiler.getClassLoader().loadClass(className);
 			classByName.put(className, new ClassInfo(clazz));
+			if (cacheKey != null) {
+				compiledClassCache.put(cacheKey, compiler.getBytecodes());
+			}
+
 			return clazz;
 		} catch (Exception e) {
 			throw new UnifyException(e, UnifyCoreErrorConstants.COMPILER_CLASSLOAD_ERROR);
@@ -19,6 +19,7 @@ import java.util.List;
 
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.business.BusinessService;
+import com.tcdng.unify.core.database.PurgeResult;
 import com.tcdng.unify.core.system.entities.ClusterNode;
 import com.tcdng.unify.core.system.entities.ClusterNodeQuery;
 
@@ -61,4 +62,11 @@ public interface ClusterService extends BusinessService {
      *             if an error occurs
      */
     List<Command> getClusterCommands() throws UnifyException;
+
+    /**
+     * Gets the result of the last cluster housekeeping purge on this node.
+     * 
+     * @return the purge result, otherwise null if no purge has run
+     */
+    PurgeResult getLastPurgeResult();
 }
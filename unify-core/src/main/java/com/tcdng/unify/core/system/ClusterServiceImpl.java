@@ -28,11 +28,15 @@ import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.annotation.Component;
 import com.tcdng.unify.core.annotation.Configurable;
 import com.tcdng.unify.core.annotation.Periodic;
+import com.tcdng.unify.core.annotation.PeriodicScope;
 import com.tcdng.unify.core.annotation.PeriodicType;
 import com.tcdng.unify.core.annotation.Synchronized;
 import com.tcdng.unify.core.annotation.Transactional;
 import com.tcdng.unify.core.business.AbstractBusinessService;
+import com.tcdng.unify.core.criterion.Amongst;
 import com.tcdng.unify.core.criterion.Update;
+import com.tcdng.unify.core.database.ChunkedPurger;
+import com.tcdng.unify.core.database.PurgeResult;
 import com.tcdng.unify.core.system.entities.ClusterCommand;
 import com.tcdng.unify.core.system.entities.ClusterCommandParam;
 import com.tcdng.unify.core.system.entities.ClusterCommandParamQuery;
@@ -58,6 +62,8 @@ public class ClusterServiceImpl extends AbstractBusinessService implements Clust
 	@Configurable("1") // Node expiration in minutes
 	private int nodeExpirationPeriod;
 
+	private volatile PurgeResult lastPurgeResult;
+
 	@Override
 	public List<ClusterNode> findClusterNodes(ClusterNodeQuery query) throws UnifyException {
 		return db().findAll(query);
@@ -109,12 +115,22 @@ public class ClusterServiceImpl extends AbstractBusinessService implements Clust
 						new ClusterCommandParamQuery().clusterCommandId(clusterCommandId))));
 			}
 
-			db().deleteAll(new ClusterCommandParamQuery().clusterCommandIdIn(clusterCommandIdList));
-			db().deleteAll(new ClusterCommandQuery().idIn(clusterCommandIdList));
+			// Delete in chunks, parameters first
+			final int len = clusterCommandIdList.size();
+			for (int i = 0; i < len; i += ChunkedPurger.MAX_BATCH_SIZE) {
+				List<Long> chunkIdList = new ArrayList<Long>(
+						clusterCommandIdList.subList(i, Math.min(i + ChunkedPurger.MAX_BATCH_SIZE, len)));
+				db().deleteAll(new ClusterCommandParamQuery().clusterCommandIdIn(chunkIdList));
+				db().deleteAll(new ClusterCommandQuery().idIn(chunkIdList));
+			}
 		}
 		return resultList;
 	}
 
+	@Override
+	public PurgeResult getLastPurgeResult() {
+		return lastPurgeResult;
+	}
 
 	@Periodic(PeriodicType.FAST)
 	public void performHeartBeat(TaskMonitor taskMonitor) throws UnifyException {
@@ -135,19 +151,24 @@ public class ClusterServiceImpl extends AbstractBusinessService implements Clust
 		}
 	}
 
-	@Periodic(PeriodicType.SLOWER)
+	@Periodic(value = PeriodicType.SLOWER, scope = PeriodicScope.LEADER_ONLY)
 	@Synchronized(lock = CLUSTER_HOUSE_KEEPING_LOCK, waitForLock = false)
 	public void performClusterHouseKeeping(TaskMonitor taskMonitor) throws UnifyException {
 		// Obliterate cluster nodes with stopped heart beats (Dead nodes).
 		List<String> deadNodeIds = db().valueList(String.class, "nodeId", new ClusterNodeQuery()
 				.lastHeartBeatOlderThan(getNewNodeExpiryDate()).nodeNotEqual(getNodeId()));
 		if (!deadNodeIds.isEmpty()) {
-			// Delete node commands
-			db().deleteAll(new ClusterCommandParamQuery().nodeIdIn(deadNodeIds));
-			db().deleteAll(new ClusterCommandQuery().nodeIdIn(deadNodeIds));
-
-			// Delete nodes
-			db().deleteAll(new ClusterNodeQuery().nodeIdIn(deadNodeIds));
+			// Delete node commands in chunks, parameters first
+			PurgeResult purgeResult = newChunkedPurger().purge(ClusterCommand.class,
+					new Amongst("nodeId", deadNodeIds),
+					new ChunkedPurger.Child(ClusterCommandParam.class, "clusterCommandId"));
+			lastPurgeResult = purgeResult;
+			logDebug("Cluster housekeeping purge: {0}", purgeResult);
+
+			// Delete nodes only after all their commands are gone
+			if (purgeResult.isComplete()) {
+				db().deleteAll(new ClusterNodeQuery().nodeIdIn(deadNodeIds));
+			}
 		}
 	}
 
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.system;
+
+import java.util.List;
+import java.util.Map;
+
+import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.business.BusinessService;
+import com.tcdng.unify.core.system.entities.ClusterTask;
+
+/**
+ * Database backed distributed task queue. Tasks are persisted as rows and
+ * claimed in batches by worker nodes under a lease. Tasks whose lease expire
+ * before completion are reclaimed by other nodes.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public interface ClusterTaskService extends BusinessService {
+
+    /**
+     * Submits a task to the cluster task queue.
+     * 
+     * @param taskName
+     *            the task name
+     * @param parameters
+     *            the task parameters. Values must be serializable.
+     * @param maxAttempts
+     *            the maximum number of attempts
+     * @return the cluster task ID
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    Long submitTask(String taskName, Map<String, Object> parameters, int maxAttempts) throws UnifyException;
+
+    /**
+     * Claims a batch of pending tasks for a worker node. Also reclaims running
+     * tasks with expired leases.
+     * 
+     * @param workerNode
+     *            the worker node ID
+     * @param batchSize
+     *            the maximum number of tasks to claim
+     * @param leaseInMillSec
+     *            the lease period in milliseconds
+     * @return list of claimed tasks
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    List<ClusterTask> claimTasks(String workerNode, int batchSize, long leaseInMillSec) throws UnifyException;
+
+    /**
+     * Renews lease on a claimed task.
+     * 
+     * @param taskId
+     *            the task ID
+     * @param claimToken
+     *            the claim token
+     * @param leaseInMillSec
+     *            the lease period in milliseconds
+     * @return true if lease is still held by claim otherwise false
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    boolean renewTaskLease(Long taskId, String claimToken, long leaseInMillSec) throws UnifyException;
+
+    /**
+     * Stores task status messages of a claimed task centrally.
+     * 
+     * @param taskId
+     *            the task ID
+     * @param claimToken
+     *            the claim token
+     * @param messages
+     *            the task messages so far
+     * @return true if claim is still valid otherwise false
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    boolean logTaskStatus(Long taskId, String claimToken, String[] messages) throws UnifyException;
+
+    /**
+     * Marks a claimed task as successfully completed.
+     * 
+     * @param taskId
+     *            the task ID
+     * @param claimToken
+     *            the claim token
+     * @param results
+     *            the task results. Values must be serializable.
+     * @return true if claim is still valid and task is completed otherwise false
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    boolean completeTask(Long taskId, String claimToken, Map<String, Object> results) throws UnifyException;
+
+    /**
+     * Marks a claimed task attempt as failed. Task is scheduled for retry with
+     * exponential backoff if it has attempts left otherwise it is marked as
+     * failed.
+     * 
+     * @param taskId
+     *            the task ID
+     * @param claimToken
+     *            the claim token
+     * @param errorMessage
+     *            the error message
+     * @return true if claim is still valid otherwise false
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    boolean failTask(Long taskId, String claimToken, String errorMessage) throws UnifyException;
+
+    /**
+     * Finds a cluster task.
+     * 
+     * @param taskId
+     *            the task ID
+     * @return the cluster task if found otherwise null
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    ClusterTask findTask(Long taskId) throws UnifyException;
+
+    /**
+     * Gets the results of a completed cluster task.
+     * 
+     * @param taskId
+     *            the task ID
+     * @return the task results if available otherwise null
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    Map<String, Object> getTaskResults(Long taskId) throws UnifyException;
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.system;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.UnifyCorePropertyConstants;
+import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.annotation.Component;
+import com.tcdng.unify.core.annotation.Transactional;
+import com.tcdng.unify.core.business.AbstractBusinessService;
+import com.tcdng.unify.core.criterion.AdditionExpression;
+import com.tcdng.unify.core.criterion.Update;
+import com.tcdng.unify.core.system.entities.ClusterTask;
+import com.tcdng.unify.core.system.entities.ClusterTaskQuery;
+import com.tcdng.unify.core.task.TaskStatus;
+import com.tcdng.unify.core.util.IOUtils;
+import com.tcdng.unify.core.util.StringUtils;
+
+/**
+ * Default implementation of cluster task service. Candidate rows are selected
+ * in ID order up to the batch size and locked with
+ * <code>FOR UPDATE SKIP LOCKED</code> on data sources that support it. Each
+ * candidate is then claimed with a conditional update that only succeeds for
+ * rows that are still claimable, so data sources without skip locked support
+ * remain safe under contention.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+@Transactional
+@Component(ApplicationComponents.APPLICATION_CLUSTERTASKSERVICE)
+public class ClusterTaskServiceImpl extends AbstractBusinessService implements ClusterTaskService {
+
+	private static final long DEFAULT_RETRY_BACKOFF_MILLISECONDS = 10000L;
+
+	private static final long MAX_RETRY_BACKOFF_MILLISECONDS = 60L * 60000L;
+
+	private static final int MAX_MESSAGE_LENGTH = 512;
+
+	private long retryBackoffMilliSecs;
+
+	@Override
+	public Long submitTask(String taskName, Map<String, Object> parameters, int maxAttempts) throws UnifyException {
+		final Date now = db().getNow();
+		ClusterTask clusterTask = new ClusterTask();
+		clusterTask.setTaskName(taskName);
+		clusterTask.setStatus(TaskStatus.INITIALIZED);
+		clusterTask.setParameters(parameters != null && !parameters.isEmpty()
+				? IOUtils.streamToBytes(new HashMap<String, Object>(parameters))
+				: null);
+		clusterTask.setSubmittedOn(now);
+		clusterTask.setNextAttemptOn(now);
+		clusterTask.setAttempts(0);
+		clusterTask.setMaxAttempts(maxAttempts <= 0 ? 1 : maxAttempts);
+		return (Long) db().create(clusterTask);
+	}
+
+	@Override
+	public List<ClusterTask> claimTasks(String workerNode, int batchSize, long leaseInMillSec)
+			throws UnifyException {
+		if (batchSize <= 0) {
+			return Collections.emptyList();
+		}
+
+		final Date now = db().getNow();
+		final String claimToken = UUID.randomUUID().toString();
+		// Fail running tasks with expired leases and no more attempts
+		db().updateAll(new ClusterTaskQuery().leaseExpiredOnFinalAttempt(now),
+				new Update().add("status", TaskStatus.FAILED).add("completedOn", now).add("errorMessage",
+						"Lease expired on final attempt."));
+
+		List<Long> candidateIdList = db().valueList(Long.class, "id",
+				new ClusterTaskQuery().claimable(now).addOrder("id").setLimit(batchSize).skipLocked(true));
+		int claimed = 0;
+		if (!candidateIdList.isEmpty()) {
+			final Update update = new Update().add("status", TaskStatus.RUNNING).add("claimNode", workerNode)
+					.add("claimToken", claimToken).add("leaseExpiry", new Date(now.getTime() + leaseInMillSec))
+					.add("attempts", new AdditionExpression(1));
+			for (Long id : candidateIdList) {
+				claimed += db().updateAll(new ClusterTaskQuery().claimable(now).id(id), update);
+			}
+		}
+
+		if (claimed > 0) {
+			logDebug("Worker [{0}] claimed [{1}] cluster task(s).", workerNode, claimed);
+			return db().findAll(new ClusterTaskQuery().claimToken(claimToken).addOrder("id"));
+		}
+
+		return Collections.emptyList();
+	}
+
+	@Override
+	public boolean renewTaskLease(Long taskId, String claimToken, long leaseInMillSec) throws UnifyException {
+		final Date now = db().getNow();
+		return db().updateAll(new ClusterTaskQuery().claimToken(claimToken).status(TaskStatus.RUNNING).id(taskId),
+				new Update().add("leaseExpiry", new Date(now.getTime() + leaseInMillSec))) > 0;
+	}
+
+	@Override
+	public boolean logTaskStatus(Long taskId, String claimToken, String[] messages) throws UnifyException {
+		if (messages == null || messages.length == 0) {
+			return db().countAll(
+					new ClusterTaskQuery().claimToken(claimToken).status(TaskStatus.RUNNING).id(taskId)) > 0;
+		}
+
+		StringBuilder sb = new StringBuilder();
+		for (String message : messages) {
+			if (sb.length() > 0) {
+				sb.append('\n');
+			}
+
+			sb.append(message);
+		}
+
+		Update update = new Update().add("lastMessage",
+				StringUtils.ellipsize(messages[messages.length - 1], MAX_MESSAGE_LENGTH)).add("messages",
+						sb.toString());
+		return db().updateAll(new ClusterTaskQuery().claimToken(claimToken).status(TaskStatus.RUNNING).id(taskId),
+				update) > 0;
+	}
+
+	@Override
+	public boolean completeTask(Long taskId, String claimToken, Map<String, Object> results) throws UnifyException {
+		final Date now = db().getNow();
+		byte[] _results = null;
+		if (results != null && !results.isEmpty()) {
+			HashMap<String, Object> serializableResults = new HashMap<String, Object>();
+			for (Map.Entry<String, Object> entry : results.entrySet()) {
+				if (entry.getValue() == null || entry.getValue() instanceof Serializable) {
+					serializableResults.put(entry.getKey(), entry.getValue());
+				}
+			}
+
+			_results = IOUtils.streamToBytes(serializableResults);
+		}
+
+		Update update = new Update().add("status", TaskStatus.SUCCESSFUL).add("completedOn", now).add("result",
+				_results);
+		return db().updateAll(new ClusterTaskQuery().claimToken(claimToken).status(TaskStatus.RUNNING).id(taskId),
+				update) > 0;
+	}
+
+	@Override
+	public boolean failTask(Long taskId, String claimToken, String errorMessage) throws UnifyException {
+		ClusterTask clusterTask = db().find(new ClusterTaskQuery().claimToken(claimToken)
+				.status(TaskStatus.RUNNING).id(taskId));
+		if (clusterTask == null) {
+			return false;
+		}
+
+		final Date now = db().getNow();
+		final String _errorMessage = StringUtils.ellipsize(errorMessage, MAX_MESSAGE_LENGTH);
+		Update update = null;
+		if (clusterTask.getAttempts() >= clusterTask.getMaxAttempts()) {
+			update = new Update().add("status", TaskStatus.FAILED).add("completedOn", now).add("errorMessage",
+					_errorMessage);
+		} else {
+			update = new Update().add("status", TaskStatus.INITIALIZED).add("nextAttemptOn",
+					new Date(now.getTime() + getRetryBackoff(clusterTask.getAttempts()))).add("errorMessage",
+							_errorMessage);
+		}
+
+		return db().updateAll(new ClusterTaskQuery().claimToken(claimToken).status(TaskStatus.RUNNING).id(taskId),
+				update) > 0;
+	}
+
+	@Override
+	public ClusterTask findTask(Long taskId) throws UnifyException {
+		return db().find(new ClusterTaskQuery().id(taskId));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public Map<String, Object> getTaskResults(Long taskId) throws UnifyException {
+		byte[] results = db().value(byte[].class, "result", new ClusterTaskQuery().id(taskId));
+		return results != null ? IOUtils.streamFromBytes(HashMap.class, results) : null;
+	}
+
+	@Override
+	protected void onInitialize() throws UnifyException {
+		retryBackoffMilliSecs = getContainerSetting(long.class,
+				UnifyCorePropertyConstants.APPLICATION_CLUSTERTASK_RETRY_BACKOFF_MILLISECONDS,
+				DEFAULT_RETRY_BACKOFF_MILLISECONDS);
+	}
+
+	private long getRetryBackoff(int attempts) {
+		// Double per attempt, stopping at maximum so shifts never overflow
+		long backoff = Math.max(retryBackoffMilliSecs, 0L);
+		for (int i = 1; i < attempts && backoff < MAX_RETRY_BACKOFF_MILLISECONDS; i++) {
+			backoff <<= 1;
+		}
+
+		return Math.min(backoff, MAX_RETRY_BACKOFF_MILLISECONDS);
+	}
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.system;
+
+import java.util.Map;
+
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.annotation.Component;
+import com.tcdng.unify.core.annotation.Configurable;
+import com.tcdng.unify.core.task.AbstractTaskStatusLogger;
+import com.tcdng.unify.core.task.TaskMonitor;
+import com.tcdng.unify.core.task.TaskParameterConstants;
+
+/**
+ * Task status logger that stores status messages of cluster tasks centrally
+ * on the cluster task record. Tasks that were not claimed from the cluster
+ * task queue are ignored.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+@Component(ApplicationComponents.APPLICATION_CLUSTERTASKSTATUSLOGGER)
+public class ClusterTaskStatusLogger extends AbstractTaskStatusLogger {
+
+	@Configurable(ApplicationComponents.APPLICATION_CLUSTERTASKSERVICE)
+	private ClusterTaskService clusterTaskService;
+
+	@Override
+	public void logStatus(TaskMonitor tm, Map<String, Object> parameters) throws UnifyException {
+		if (parameters != null) {
+			final Long taskId = (Long) parameters.get(TaskParameterConstants.CLUSTER_TASK_ID);
+			final String claimToken = (String) parameters.get(TaskParameterConstants.CLUSTER_TASK_CLAIM_TOKEN);
+			if (taskId != null && claimToken != null) {
+				clusterTaskService.logTaskStatus(taskId, claimToken, tm.getMessages());
+			}
+		}
+	}
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.system;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Consistent hash ring of cluster nodes. Each node is placed on the ring at a
+ * number of virtual points so that keys are spread evenly and only the keys of
+ * a joining or leaving node change owner.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class ConsistentHashRing {
+
+    private static final int DEFAULT_VIRTUAL_NODES = 64;
+
+    private final TreeMap<Long, String> ring;
+
+    private final SortedSet<String> nodes;
+
+    public ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+        this.ring = new TreeMap<Long, String>();
+        this.nodes = Collections.unmodifiableSortedSet(new TreeSet<String>(nodes));
+        final int _virtualNodes = virtualNodes > 0 ? virtualNodes : DEFAULT_VIRTUAL_NODES;
+        for (String node : this.nodes) {
+            for (int i = 0; i < _virtualNodes; i++) {
+                ring.put(hash(node + "#" + i), node);
+            }
+        }
+    }
+
+    public ConsistentHashRing(Collection<String> nodes) {
+        this(nodes, DEFAULT_VIRTUAL_NODES);
+    }
+
+    public SortedSet<String> getNodes() {
+        return nodes;
+    }
+
+    public boolean isEmpty() {
+        return ring.isEmpty();
+    }
+
+    /**
+     * Gets the node that owns supplied key.
+     * 
+     * @param key
+     *            the key
+     * @return the owner node, or null if ring is empty
+     */
+    public String getOwner(String key) {
+        if (ring.isEmpty()) {
+            return null;
+        }
+
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    private static long hash(String val) {
+        // FNV-1a 64-bit with final avalanche mix
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : val.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+
+        hash ^= (hash >>> 33);
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= (hash >>> 33);
+        return hash;
+    }
+}
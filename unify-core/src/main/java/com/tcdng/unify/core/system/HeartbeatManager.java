@@ -53,4 +53,11 @@ public interface HeartbeatManager extends BusinessService {
 	 * @throws UnifyException
 	 */
 	void stopHeartbeat(String heartbeatId) throws UnifyException;
+
+	/**
+	 * Gets heartbeat statistics. Includes time spent on heartbeat writes.
+	 * 
+	 * @return the statistics snapshot
+	 */
+	HeartbeatStats getStats();
 }
@@ -15,17 +15,23 @@
  */
 package com.tcdng.unify.core.system;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.tcdng.unify.common.database.Entity;
 import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.UnifyCorePropertyConstants;
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.annotation.Component;
 import com.tcdng.unify.core.annotation.Periodic;
 import com.tcdng.unify.core.annotation.PeriodicType;
+import com.tcdng.unify.core.annotation.Transactional;
 import com.tcdng.unify.core.business.AbstractBusinessService;
 import com.tcdng.unify.core.business.AbstractQueuedExec;
 import com.tcdng.unify.core.business.QueuedExec;
@@ -36,22 +42,49 @@ import com.tcdng.unify.core.task.TaskMonitor;
 import com.tcdng.unify.core.util.CalendarUtils;
 
 /**
- * Heartbeat manager implementation.
+ * Heartbeat manager implementation. In batch mode, all due heartbeats on this
+ * node are written in one database batch update and committed once.
  * 
  * @author The Code Department
  * @since 4.1
  */
+@Transactional
 @Component(ApplicationComponents.APPLICATION_HEARTBEATMANAGER)
 public class HeartbeatManagerImpl extends AbstractBusinessService implements HeartbeatManager {
 
 	private static final int MAX_HEARTBEAT_THREADS = 32;
 
+	private static final long DEFAULT_SHUTDOWN_WAIT_MILLISECONDS = 5000L;
+
 	private final Map<String, HeartbeatConfig> configs;
 
 	private final QueuedExec<HeartbeatConfig> queuedExec;
 
+	private final AtomicLong writeCount;
+
+	private final AtomicLong updateCount;
+
+	private final AtomicLong stoppedCount;
+
+	private final AtomicLong failedCount;
+
+	private final AtomicLong totalWriteNanos;
+
+	private final AtomicLong maxWriteNanos;
+
+	private final AtomicLong lastWriteNanos;
+
+	private boolean batchMode;
+
 	public HeartbeatManagerImpl() {
 		this.configs = new ConcurrentHashMap<String, HeartbeatConfig>();
+		this.writeCount = new AtomicLong();
+		this.updateCount = new AtomicLong();
+		this.stoppedCount = new AtomicLong();
+		this.failedCount = new AtomicLong();
+		this.totalWriteNanos = new AtomicLong();
+		this.maxWriteNanos = new AtomicLong();
+		this.lastWriteNanos = new AtomicLong();
 		this.queuedExec = new AbstractQueuedExec<HeartbeatConfig>(MAX_HEARTBEAT_THREADS) {
 
 			@Override
@@ -85,8 +118,19 @@ public class HeartbeatManagerImpl extends AbstractBusinessService implements Hea
 		configs.remove(heartbeatId);
 	}
 
+	@Override
+	public HeartbeatStats getStats() {
+		return new HeartbeatStats(configs.size(), writeCount.get(), updateCount.get(), stoppedCount.get(),
+				failedCount.get(), totalWriteNanos.get(), maxWriteNanos.get(), lastWriteNanos.get());
+	}
+
 	@Periodic(PeriodicType.SLOWEST)
 	public void sustainHeartbeats(TaskMonitor taskMonitor) throws UnifyException {
+		if (batchMode) {
+			performBatchHeartbeats(configs.values());
+			return;
+		}
+
 		for (HeartbeatConfig heartbeatConfig : configs.values()) {
 			if (!heartbeatConfig.isProcessing()) {
 				heartbeatConfig.setProcessing(true);
@@ -95,12 +139,86 @@ public class HeartbeatManagerImpl extends AbstractBusinessService implements Hea
 		}
 	}
 
+	@Override
+	protected void onInitialize() throws UnifyException {
+		super.onInitialize();
+		batchMode = getContainerSetting(boolean.class, UnifyCorePropertyConstants.APPLICATION_HEARTBEAT_BATCH_MODE,
+				true);
+	}
+
+	@Override
+	protected void onTerminate() throws UnifyException {
+		queuedExec.shutdown(getContainerSetting(long.class,
+				UnifyCorePropertyConstants.APPLICATION_QUEUEDEXEC_SHUTDOWN_MILLISECONDS,
+				DEFAULT_SHUTDOWN_WAIT_MILLISECONDS));
+	}
+
 	private void performHeartbeat(HeartbeatConfig heartbeatConfig) throws UnifyException {
 		final Date newExpiryDate = CalendarUtils.getDateWithFrequencyOffset(getNow(), FrequencyUnit.MINUTE,
 				heartbeatConfig.getLifeExtensionInMinutes());
-		if (db().updateAll(heartbeatConfig.getQuery(),
-				new Update().add(heartbeatConfig.getExpiryFieldName(), newExpiryDate)) == 0) {
+		final long startNanos = System.nanoTime();
+		int updated = 0;
+		try {
+			updated = db().updateAll(heartbeatConfig.getQuery(),
+					new Update().add(heartbeatConfig.getExpiryFieldName(), newExpiryDate));
+		} catch (UnifyException e) {
+			failedCount.incrementAndGet();
+			throw e;
+		} finally {
+			recordWrite(startNanos, 1);
+		}
+
+		if (updated == 0) {
 			stopHeartbeat(heartbeatConfig.getId());
+			stoppedCount.incrementAndGet();
+		}
+	}
+
+	private void performBatchHeartbeats(Collection<HeartbeatConfig> heartbeatConfigs) throws UnifyException {
+		if (heartbeatConfigs.isEmpty()) {
+			return;
+		}
+
+		final Date now = getNow();
+		List<HeartbeatConfig> configList = new ArrayList<HeartbeatConfig>(heartbeatConfigs);
+		List<Query<? extends Entity>> queryList = new ArrayList<Query<? extends Entity>>(configList.size());
+		List<Update> updateList = new ArrayList<Update>(configList.size());
+		for (HeartbeatConfig heartbeatConfig : configList) {
+			final Date newExpiryDate = CalendarUtils.getDateWithFrequencyOffset(now, FrequencyUnit.MINUTE,
+					heartbeatConfig.getLifeExtensionInMinutes());
+			queryList.add(heartbeatConfig.getQuery().copy());
+			updateList.add(new Update().add(heartbeatConfig.getExpiryFieldName(), newExpiryDate));
+		}
+
+		final long startNanos = System.nanoTime();
+		int[] counts = null;
+		try {
+			counts = db().updateAllBatch(queryList, updateList);
+		} catch (UnifyException e) {
+			failedCount.incrementAndGet();
+			logError(e);
+			return;
+		} finally {
+			recordWrite(startNanos, configList.size());
+		}
+
+		for (int i = 0; i < counts.length; i++) {
+			if (counts[i] == 0) {
+				stopHeartbeat(configList.get(i).getId());
+				stoppedCount.incrementAndGet();
+			}
+		}
+	}
+
+	private void recordWrite(long startNanos, int updates) {
+		final long writeNanos = System.nanoTime() - startNanos;
+		writeCount.incrementAndGet();
+		updateCount.addAndGet(updates);
+		totalWriteNanos.addAndGet(writeNanos);
+		lastWriteNanos.set(writeNanos);
+		long max = maxWriteNanos.get();
+		while (writeNanos > max && !maxWriteNanos.compareAndSet(max, writeNanos)) {
+			max = maxWriteNanos.get();
 		}
 	}
 
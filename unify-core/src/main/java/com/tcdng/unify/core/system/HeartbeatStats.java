@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.system;
+
+/**
+ * Heartbeat statistics snapshot.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class HeartbeatStats {
+
+	private final int activeHeartbeats;
+
+	private final long writeCount;
+
+	private final long updateCount;
+
+	private final long stoppedCount;
+
+	private final long failedCount;
+
+	private final long totalWriteNanos;
+
+	private final long maxWriteNanos;
+
+	private final long lastWriteNanos;
+
+	public HeartbeatStats(int activeHeartbeats, long writeCount, long updateCount, long stoppedCount,
+			long failedCount, long totalWriteNanos, long maxWriteNanos, long lastWriteNanos) {
+		this.activeHeartbeats = activeHeartbeats;
+		this.writeCount = writeCount;
+		this.updateCount = updateCount;
+		this.stoppedCount = stoppedCount;
+		this.failedCount = failedCount;
+		this.totalWriteNanos = totalWriteNanos;
+		this.maxWriteNanos = maxWriteNanos;
+		this.lastWriteNanos = lastWriteNanos;
+	}
+
+	public int getActiveHeartbeats() {
+		return activeHeartbeats;
+	}
+
+	/**
+	 * Gets number of heartbeat writes. A batched write counts once.
+	 */
+	public long getWriteCount() {
+		return writeCount;
+	}
+
+	/**
+	 * Gets number of heartbeat updates across all writes.
+	 */
+	public long getUpdateCount() {
+		return updateCount;
+	}
+
+	/**
+	 * Gets number of heartbeats stopped because no entity matched criteria.
+	 */
+	public long getStoppedCount() {
+		return stoppedCount;
+	}
+
+	public long getFailedCount() {
+		return failedCount;
+	}
+
+	public long getTotalWriteNanos() {
+		return totalWriteNanos;
+	}
+
+	public long getMaxWriteNanos() {
+		return maxWriteNanos;
+	}
+
+	public long getLastWriteNanos() {
+		return lastWriteNanos;
+	}
+
+	public long getAverageWriteNanos() {
+		return writeCount > 0 ? totalWriteNanos / writeCount : 0L;
+	}
+
+	@Override
+	public String toString() {
+		return "HeartbeatStats [activeHeartbeats=" + activeHeartbeats + ", writeCount=" + writeCount
+				+ ", updateCount=" + updateCount + ", stoppedCount=" + stoppedCount + ", failedCount=" + failedCount
+				+ ", totalWriteNanos=" + totalWriteNanos + ", maxWriteNanos=" + maxWriteNanos + ", lastWriteNanos="
+				+ lastWriteNanos + "]";
+	}
+}
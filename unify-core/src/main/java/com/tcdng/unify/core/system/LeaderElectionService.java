@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.system;
+
+import java.util.List;
+
+import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.business.BusinessService;
+import com.tcdng.unify.core.system.entities.ClusterLeader;
+
+/**
+ * Cluster leader election service. Leadership is held through a lease row in
+ * the database that the leader renews periodically. Each change of leadership
+ * increments a fencing token that work done on behalf of the leader can be
+ * validated against. The service also maps partition keys to live cluster
+ * nodes using a consistent hash ring.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public interface LeaderElectionService extends BusinessService {
+
+    /**
+     * Tests if this node currently holds a valid leadership lease. Always true
+     * when container is not in cluster mode.
+     * 
+     * @return true if this node is leader
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    boolean isLeader() throws UnifyException;
+
+    /**
+     * Gets the fencing token of this node's current leadership lease.
+     * 
+     * @return the fencing token, or null if this node is not leader
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    Long getFencingToken() throws UnifyException;
+
+    /**
+     * Tests if supplied fencing token is still the token of the current
+     * unexpired leadership lease held by this node.
+     * 
+     * @param fencingToken
+     *            the fencing token to test
+     * @return true if token is valid
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    boolean isFencingTokenValid(long fencingToken) throws UnifyException;
+
+    /**
+     * Tests if this node owns supplied partition key on the consistent hash ring
+     * of live cluster nodes. Always true when container is not in cluster mode.
+     * 
+     * @param partitionKey
+     *            the partition key
+     * @return true if this node owns key
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    boolean isPartitionOwner(String partitionKey) throws UnifyException;
+
+    /**
+     * Gets the live cluster node that owns supplied partition key.
+     * 
+     * @param partitionKey
+     *            the partition key
+     * @return the owner node ID
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    String getPartitionOwner(String partitionKey) throws UnifyException;
+
+    /**
+     * Gets the IDs of live cluster nodes in the consistent hash ring.
+     * 
+     * @return the live node IDs
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    List<String> getLiveNodes() throws UnifyException;
+
+    /**
+     * Finds current leadership lease record.
+     * 
+     * @return the lease record, or null if leadership has never been acquired
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    ClusterLeader findLeader() throws UnifyException;
+
+    /**
+     * Attempts to acquire or renew leadership for a node. Renewal keeps the
+     * current fencing token. Acquisition succeeds only if leadership is free or
+     * the current lease has expired, and increments the fencing token.
+     * 
+     * @param nodeId
+     *            the node ID
+     * @param leaseInMillSec
+     *            the lease period in milliseconds
+     * @return the fencing token if node holds leadership, otherwise null
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    Long acquireLeadership(String nodeId, long leaseInMillSec) throws UnifyException;
+
+    /**
+     * Releases leadership held by a node.
+     * 
+     * @param nodeId
+     *            the node ID
+     * @param fencingToken
+     *            the node's fencing token
+     * @return true if leadership was released
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    boolean releaseLeadership(String nodeId, long fencingToken) throws UnifyException;
+}
@@ -0,0 +1,381 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.system;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import com.tcdng.unify.common.constants.ApplicationCommonConstants;
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.UnifyCorePropertyConstants;
+import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.annotation.Component;
+import com.tcdng.unify.core.annotation.Configurable;
+import com.tcdng.unify.core.annotation.Periodic;
+import com.tcdng.unify.core.annotation.PeriodicType;
+import com.tcdng.unify.core.annotation.Transactional;
+import com.tcdng.unify.core.business.AbstractBusinessService;
+import com.tcdng.unify.core.database.sql.SqlDataSource;
+import com.tcdng.unify.core.database.sql.SqlEntityInfo;
+import com.tcdng.unify.core.system.entities.ClusterLeader;
+import com.tcdng.unify.core.system.entities.ClusterLeaderQuery;
+import com.tcdng.unify.core.system.entities.ClusterNodeQuery;
+import com.tcdng.unify.core.task.TaskMonitor;
+import com.tcdng.unify.core.util.SqlUtils;
+
+/**
+ * Default implementation of cluster leader election service. Lease operations
+ * are performed on a dedicated connection and committed immediately so that
+ * they never roll back with an application transaction.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+@Transactional
+@Component(ApplicationComponents.APPLICATION_LEADERELECTIONSERVICE)
+public class LeaderElectionServiceImpl extends AbstractBusinessService implements LeaderElectionService {
+
+	private static final String LEADERSHIP = "app:leadership";
+
+	private static final long DEFAULT_LEASE_MILLISECONDS = 20000L;
+
+	@Configurable("1") // Node expiration in minutes
+	private int nodeExpirationPeriod;
+
+	private volatile LeadershipSql leadershipSql;
+
+	private long leaseMilliSecs;
+
+	private volatile long fencingToken;
+
+	private volatile long leaseDeadlineNanos;
+
+	private volatile ConsistentHashRing hashRing;
+
+	@Override
+	public boolean isLeader() throws UnifyException {
+		return !isClusterMode() || (fencingToken > 0 && System.nanoTime() < leaseDeadlineNanos);
+	}
+
+	@Override
+	public Long getFencingToken() throws UnifyException {
+		return isClusterMode() && isLeader() ? Long.valueOf(fencingToken) : null;
+	}
+
+	@Override
+	public boolean isFencingTokenValid(long fencingToken) throws UnifyException {
+		final Timestamp now = new Timestamp(db().getNow().getTime());
+		boolean valid = false;
+		final LeadershipSql sql = getLeadershipSql();
+		SqlDataSource sqlDataSource = getSqlDataSource();
+		Connection connection = (Connection) sqlDataSource.getConnection();
+		PreparedStatement pstmt = null;
+		ResultSet rst = null;
+		try {
+			pstmt = connection.prepareStatement(sql.validateSql);
+			pstmt.setString(1, LEADERSHIP);
+			pstmt.setString(2, getNodeId());
+			pstmt.setLong(3, fencingToken);
+			pstmt.setTimestamp(4, now);
+			rst = pstmt.executeQuery();
+			rst.next();
+			valid = rst.getInt(1) > 0;
+			connection.commit();
+		} catch (Exception e) {
+			logSevere(e);
+		} finally {
+			SqlUtils.close(rst);
+			SqlUtils.close(pstmt);
+			sqlDataSource.restoreConnection(connection);
+		}
+
+		return valid;
+	}
+
+	@Override
+	public boolean isPartitionOwner(String partitionKey) throws UnifyException {
+		return !isClusterMode() || getNodeId().equals(getPartitionOwner(partitionKey));
+	}
+
+	@Override
+	public String getPartitionOwner(String partitionKey) throws UnifyException {
+		ConsistentHashRing _hashRing = hashRing;
+		if (_hashRing == null || _hashRing.isEmpty()) {
+			return getNodeId();
+		}
+
+		return _hashRing.getOwner(partitionKey);
+	}
+
+	@Override
+	public List<String> getLiveNodes() throws UnifyException {
+		ConsistentHashRing _hashRing = hashRing;
+		if (_hashRing == null || _hashRing.isEmpty()) {
+			return Collections.singletonList(getNodeId());
+		}
+
+		return new ArrayList<String>(_hashRing.getNodes());
+	}
+
+	@Override
+	public ClusterLeader findLeader() throws UnifyException {
+		return db().find(new ClusterLeaderQuery().leadershipName(LEADERSHIP));
+	}
+
+	@Override
+	public Long acquireLeadership(String nodeId, long leaseInMillSec) throws UnifyException {
+		final Date _now = db().getNow();
+		final Timestamp now = new Timestamp(_now.getTime());
+		final Timestamp leaseExpiry = new Timestamp(_now.getTime() + leaseInMillSec);
+		Long fencingToken = null;
+		final LeadershipSql sql = getLeadershipSql();
+		SqlDataSource sqlDataSource = getSqlDataSource();
+		Connection connection = (Connection) sqlDataSource.getConnection();
+		PreparedStatement pstmt = null;
+		ResultSet rst = null;
+		try {
+			// Renew if already leader
+			pstmt = connection.prepareStatement(sql.renewSql);
+			pstmt.setTimestamp(1, leaseExpiry);
+			pstmt.setString(2, LEADERSHIP);
+			pstmt.setString(3, nodeId);
+			if (pstmt.executeUpdate() == 0) {
+				SqlUtils.close(pstmt);
+				// Take over if leadership is free or lease has expired
+				pstmt = connection.prepareStatement(sql.takeOverSql);
+				pstmt.setString(1, nodeId);
+				pstmt.setTimestamp(2, leaseExpiry);
+				pstmt.setTimestamp(3, now);
+				pstmt.setString(4, LEADERSHIP);
+				pstmt.setTimestamp(5, now);
+				if (pstmt.executeUpdate() == 0) {
+					SqlUtils.close(pstmt);
+					pstmt = connection.prepareStatement(sql.existsSql);
+					pstmt.setString(1, LEADERSHIP);
+					rst = pstmt.executeQuery();
+					rst.next();
+					final boolean exists = rst.getInt(1) > 0;
+					SqlUtils.close(rst);
+					SqlUtils.close(pstmt);
+					rst = null;
+					pstmt = null;
+					if (!exists) {
+						// Create leadership record (This will fail - throw a PK exception - if another
+						// node beat this node to it)
+						pstmt = connection.prepareStatement(sql.insertSql);
+						pstmt.setString(1, LEADERSHIP);
+						pstmt.setString(2, nodeId);
+						pstmt.setLong(3, 1L);
+						pstmt.setTimestamp(4, leaseExpiry);
+						pstmt.setTimestamp(5, now);
+						try {
+							pstmt.executeUpdate();
+						} catch (SQLException e) {
+							connection.rollback();
+							logDebug("Node [{0}] lost leadership record creation race.", nodeId);
+							return null;
+						}
+					}
+				}
+			}
+
+			SqlUtils.close(pstmt);
+			pstmt = connection.prepareStatement(sql.tokenSql);
+			pstmt.setString(1, LEADERSHIP);
+			pstmt.setString(2, nodeId);
+			rst = pstmt.executeQuery();
+			if (rst.next()) {
+				fencingToken = rst.getLong(1);
+			}
+
+			connection.commit();
+		} catch (Exception e) {
+			fencingToken = null;
+			rollback(connection);
+			logSevere(e);
+		} finally {
+			SqlUtils.close(rst);
+			SqlUtils.close(pstmt);
+			sqlDataSource.restoreConnection(connection);
+		}
+
+		return fencingToken;
+	}
+
+	@Override
+	public boolean releaseLeadership(String nodeId, long fencingToken) throws UnifyException {
+		final Timestamp now = new Timestamp(db().getNow().getTime());
+		boolean released = false;
+		final LeadershipSql sql = getLeadershipSql();
+		SqlDataSource sqlDataSource = getSqlDataSource();
+		Connection connection = (Connection) sqlDataSource.getConnection();
+		PreparedStatement pstmt = null;
+		try {
+			pstmt = connection.prepareStatement(sql.releaseSql);
+			pstmt.setTimestamp(1, now);
+			pstmt.setString(2, LEADERSHIP);
+			pstmt.setString(3, nodeId);
+			pstmt.setLong(4, fencingToken);
+			released = pstmt.executeUpdate() > 0;
+			connection.commit();
+		} catch (Exception e) {
+			rollback(connection);
+			logSevere(e);
+		} finally {
+			SqlUtils.close(pstmt);
+			sqlDataSource.restoreConnection(connection);
+		}
+
+		return released;
+	}
+
+	@Periodic(PeriodicType.FAST)
+	public void maintainLeadership(TaskMonitor taskMonitor) throws UnifyException {
+		if (!isClusterMode()) {
+			return;
+		}
+
+		// Deadline is measured from before the lease write so that local
+		// leadership always lapses ahead of the database lease
+		final long startNanos = System.nanoTime();
+		Long token = acquireLeadership(getNodeId(), leaseMilliSecs);
+		if (token != null) {
+			if (token.longValue() != fencingToken) {
+				logInfo("Node [{0}] acquired cluster leadership with fencing token [{1}].", getNodeId(), token);
+			}
+
+			leaseDeadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(leaseMilliSecs - leaseMilliSecs / 5);
+			fencingToken = token;
+		} else {
+			if (fencingToken > 0) {
+				logInfo("Node [{0}] lost cluster leadership.", getNodeId());
+			}
+
+			fencingToken = 0;
+			leaseDeadlineNanos = 0;
+		}
+
+		// Refresh consistent hash ring of live nodes
+		final Date expiryDate = new Date(db().getNow().getTime() - nodeExpirationPeriod * 60000L);
+		List<String> liveNodeIds = db().valueList(String.class, "nodeId",
+				new ClusterNodeQuery().lastHeartBeatNotOlderThan(expiryDate));
+		ConsistentHashRing _hashRing = hashRing;
+		if (_hashRing == null || !_hashRing.getNodes().equals(new TreeSet<String>(liveNodeIds))) {
+			hashRing = new ConsistentHashRing(liveNodeIds);
+		}
+	}
+
+	@Override
+	protected void onInitialize() throws UnifyException {
+		leaseMilliSecs = getContainerSetting(long.class,
+				UnifyCorePropertyConstants.APPLICATION_LEADER_LEASE_MILLISECONDS, DEFAULT_LEASE_MILLISECONDS);
+	}
+
+	@Override
+	protected void onTerminate() throws UnifyException {
+		if (isClusterMode() && fencingToken > 0) {
+			// Hand over leadership promptly
+			final long _fencingToken = fencingToken;
+			fencingToken = 0;
+			leaseDeadlineNanos = 0;
+			try {
+				releaseLeadership(getNodeId(), _fencingToken);
+			} catch (Exception e) {
+				logError(e);
+			}
+		}
+	}
+
+	private SqlDataSource getSqlDataSource() throws UnifyException {
+		return getComponent(SqlDataSource.class, ApplicationCommonConstants.APPLICATION_DATASOURCE);
+	}
+
+	private void rollback(Connection connection) {
+		try {
+			connection.rollback();
+		} catch (SQLException e) {
+			logSevere(e);
+		}
+	}
+
+	private LeadershipSql getLeadershipSql() throws UnifyException {
+		if (leadershipSql == null) {
+			synchronized (this) {
+				if (leadershipSql == null) {
+					// Entity information is only available after schema management at startup
+					leadershipSql = new LeadershipSql(
+							getSqlDataSource().getDialect().findSqlEntityInfo(ClusterLeader.class));
+				}
+			}
+		}
+
+		return leadershipSql;
+	}
+
+	private static String column(SqlEntityInfo sqlEntityInfo, String fieldName) throws UnifyException {
+		return sqlEntityInfo.getFieldInfo(fieldName).getPreferredColumnName();
+	}
+
+	private static class LeadershipSql {
+
+		final String renewSql;
+
+		final String takeOverSql;
+
+		final String existsSql;
+
+		final String insertSql;
+
+		final String tokenSql;
+
+		final String validateSql;
+
+		final String releaseSql;
+
+		public LeadershipSql(SqlEntityInfo sqlEntityInfo) throws UnifyException {
+			final String tableName = sqlEntityInfo.getSchemaTableName();
+			final String idColumn = sqlEntityInfo.getIdFieldInfo().getPreferredColumnName();
+			final String leaderNodeColumn = column(sqlEntityInfo, "leaderNode");
+			final String fencingTokenColumn = column(sqlEntityInfo, "fencingToken");
+			final String leaseExpiryColumn = column(sqlEntityInfo, "leaseExpiry");
+			final String acquiredOnColumn = column(sqlEntityInfo, "acquiredOn");
+			renewSql = "UPDATE " + tableName + " SET " + leaseExpiryColumn + " = ? WHERE " + idColumn + " = ? AND "
+					+ leaderNodeColumn + " = ?";
+			takeOverSql = "UPDATE " + tableName + " SET " + leaderNodeColumn + " = ?, " + fencingTokenColumn + " = "
+					+ fencingTokenColumn + " + 1, " + leaseExpiryColumn + " = ?, " + acquiredOnColumn + " = ? WHERE "
+					+ idColumn + " = ? AND (" + leaderNodeColumn + " IS NULL OR " + leaseExpiryColumn + " < ?)";
+			existsSql = "SELECT COUNT(*) FROM " + tableName + " WHERE " + idColumn + " = ?";
+			insertSql = "INSERT INTO " + tableName + " (" + idColumn + ", " + leaderNodeColumn + ", "
+					+ fencingTokenColumn + ", " + leaseExpiryColumn + ", " + acquiredOnColumn + ") VALUES (?,?,?,?,?)";
+			tokenSql = "SELECT " + fencingTokenColumn + " FROM " + tableName + " WHERE " + idColumn + " = ? AND "
+					+ leaderNodeColumn + " = ?";
+			validateSql = "SELECT COUNT(*) FROM " + tableName + " WHERE " + idColumn + " = ? AND "
+					+ leaderNodeColumn + " = ? AND " + fencingTokenColumn + " = ? AND " + leaseExpiryColumn + " >= ?";
+			releaseSql = "UPDATE " + tableName + " SET " + leaderNodeColumn + " = NULL, " + leaseExpiryColumn
+					+ " = ? WHERE " + idColumn + " = ? AND " + leaderNodeColumn + " = ? AND " + fencingTokenColumn
+					+ " = ?";
+		}
+	}
+}
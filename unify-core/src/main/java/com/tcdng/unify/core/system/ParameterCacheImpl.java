@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.system;
+
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.annotation.Component;
+import com.tcdng.unify.core.cache.AbstractCache;
+
+/**
+ * Bounded cache for parameter definitions and parameter values loaded by the
+ * parameter service.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+@Component(ApplicationComponents.APPLICATION_PARAMETERCACHE)
+public class ParameterCacheImpl extends AbstractCache<Object, Object> {
+
+    private static final long DEFAULT_MAXIMUM_SIZE = 2000L;
+
+    @Override
+    protected long getDefaultMaximumSize() {
+        return DEFAULT_MAXIMUM_SIZE;
+    }
+}
@@ -109,6 +109,22 @@ public interface ParameterService extends BusinessService {
     Map<String, Object> findParameterTypeValues(String paramTypeName, String instTypeName, Long instId)
             throws UnifyException;
 
+    /**
+     * Finds parameter string values
+     * 
+     * @param paramTypeName
+     *            the parameter definition name
+     * @param instTypeName
+     *            the instance type name
+     * @param instId
+     *            the type instance ID
+     * @return an unmodifiable map of parameter string values by parameter name
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    Map<String, String> findParameterValues(String paramTypeName, String instTypeName, Long instId)
+            throws UnifyException;
+
     /**
      * Updates parameter values for a definition instance.
      * 
@@ -126,6 +142,22 @@ public interface ParameterService extends BusinessService {
     void updateParameterValues(String paramTypeName, String instTypeName, Long instId, Inputs inputs)
             throws UnifyException;
 
+    /**
+     * Updates parameter values for multiple instances of a definition in one
+     * transaction with a single cache invalidation.
+     * 
+     * @param paramTypeName
+     *            the definition name
+     * @param instTypeName
+     *            the instance type name
+     * @param inputsByInstId
+     *            the values to set by instance ID
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    void updateParameterValues(String paramTypeName, String instTypeName, Map<Long, Inputs> inputsByInstId)
+            throws UnifyException;
+
     /**
      * Deletes parameter values for a definition instance.
      * 
@@ -139,4 +171,15 @@ public interface ParameterService extends BusinessService {
      *             if an error occurs
      */
     void deleteParameterValues(String paramTypeName, String instTypeName, Long instId) throws UnifyException;
+
+    /**
+     * Invalidates cached parameter definitions and values on this node and on
+     * other nodes in the cluster.
+     * 
+     * @param paramTypeNames
+     *            the names of the changed definitions
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    void invalidateParameterCache(String... paramTypeNames) throws UnifyException;
 }
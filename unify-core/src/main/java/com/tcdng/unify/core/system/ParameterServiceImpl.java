@@ -27,6 +27,9 @@ import java.util.Set;
 import com.tcdng.unify.core.ApplicationComponents;
 import com.tcdng.unify.core.UnifyCoreErrorConstants;
 import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.annotation.Broadcast;
+import com.tcdng.unify.core.annotation.CacheEvict;
+import com.tcdng.unify.core.annotation.Cached;
 import com.tcdng.unify.core.annotation.Component;
 import com.tcdng.unify.core.annotation.Parameter;
 import com.tcdng.unify.core.annotation.Transactional;
@@ -46,6 +49,12 @@ import com.tcdng.unify.core.util.ReflectUtils;
 
 /**
  * Default implementation of parameter service.
+ * <p>
+ * Parameter definitions and parameter values are cached in the bounded
+ * parameter cache, loaded in bulk per parameter type and per parameter type
+ * instance. Changes made through this service evict the cache when the method
+ * completes and again when the changing transaction completes, and on other
+ * nodes through a cluster broadcast.
  * 
  * @author The Code Department
  * @since 4.1
@@ -87,9 +96,13 @@ public class ParameterServiceImpl extends AbstractBusinessService implements Par
             pdd.setParameterDefs(parameterList);
             db().updateByIdVersion(pdd);
         }
+
+        parametersChanged(name);
     }
 
     @Override
+    @Cached(cache = ApplicationComponents.APPLICATION_PARAMETERCACHE,
+            invalidateOn = { ParametersDef.class, ParameterValues.class })
     public Map<String, ParameterDef> findParameterDefinitionsByName(String name) throws UnifyException {
         ParametersDef pdd = db().find(new ParametersDefQuery().typeName(name));
         if (pdd != null && !pdd.isEmpty()) {
@@ -97,7 +110,8 @@ public class ParameterServiceImpl extends AbstractBusinessService implements Par
             for (ParameterDef pd : pdd.getParameterDefs()) {
                 map.put(pd.getName(), pd);
             }
-            return map;
+
+            return Collections.unmodifiableMap(map);
         }
 
         return Collections.emptyMap();
@@ -105,10 +119,10 @@ public class ParameterServiceImpl extends AbstractBusinessService implements Par
 
     @Override
     public List<Input<?>> fetchInputList(String name) throws UnifyException {
-        ParametersDef parametersDef = db().find(new ParametersDefQuery().typeName(name));
-        if (parametersDef != null) {
+        Map<String, ParameterDef> parameterDefMap = findParameterDefinitionsByName(name);
+        if (!parameterDefMap.isEmpty()) {
             List<Input<?>> inputList = new ArrayList<Input<?>>();
-            for (ParameterDef pdd : parametersDef.getParameterDefs()) {
+            for (ParameterDef pdd : parameterDefMap.values()) {
                 inputList.add(getInput(pdd));
             }
 
@@ -125,18 +139,15 @@ public class ParameterServiceImpl extends AbstractBusinessService implements Par
             inputList = new ArrayList<Input<?>>();
             Map<String, ParameterDef> parameterDefMap = findParameterDefinitionsByName(paramTypeName);
             Set<String> usedSet = new HashSet<String>();
-            ParameterValues parameterValues = db()
-                    .list(new ParameterValuesQuery().typeName(paramTypeName).instTypeName(instTypeName).instId(instId));
-            if (parameterValues != null) {
-                for (ParameterValue parameterValue : parameterValues.getParameterValues()) {
-                    String key = parameterValue.getParamKey();
-                    ParameterDef parameterDef = parameterDefMap.get(key);
-                    if (parameterDef != null) {
-                        usedSet.add(key);
-                        Input<?> input = getInput(parameterDef);
-                        input.setStringValue(parameterValue.getParamValue());
-                        inputList.add(input);
-                    }
+            for (Map.Entry<String, String> entry : findParameterValues(paramTypeName, instTypeName, instId)
+                    .entrySet()) {
+                String key = entry.getKey();
+                ParameterDef parameterDef = parameterDefMap.get(key);
+                if (parameterDef != null) {
+                    usedSet.add(key);
+                    Input<?> input = getInput(parameterDef);
+                    input.setStringValue(entry.getValue());
+                    inputList.add(input);
                 }
             }
 
@@ -158,21 +169,38 @@ public class ParameterServiceImpl extends AbstractBusinessService implements Par
     @Override
     public Map<String, Object> findParameterTypeValues(String paramTypeName, String instTypeName, Long instId)
             throws UnifyException {
-        ParameterValues parameterValuesData =
-                db().list(new ParameterValuesQuery().typeName(paramTypeName).instTypeName(instTypeName).instId(instId));
-        if (parameterValuesData != null) {
-            Map<String, Object> result = new HashMap<String, Object>();
+        Map<String, String> values = findParameterValues(paramTypeName, instTypeName, instId);
+        if (!values.isEmpty()) {
+            Map<String, Object> typeValues = new HashMap<String, Object>();
             Map<String, ParameterDef> parameterDefMap = findParameterDefinitionsByName(paramTypeName);
-            for (ParameterValue parameterValueData : parameterValuesData.getParameterValues()) {
-                ParameterDef parameterDefData = parameterDefMap.get(parameterValueData.getParamKey());
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                ParameterDef parameterDefData = parameterDefMap.get(entry.getKey());
                 if (parameterDefData != null) {
                     Class<?> type = ReflectUtils.classForName(parameterDefData.getType());
-                    result.put(parameterDefData.getName(),
-                            DataUtils.convert(type, parameterValueData.getParamValue()));
+                    typeValues.put(parameterDefData.getName(), DataUtils.convert(type, entry.getValue()));
                 }
             }
 
-            return result;
+            return typeValues;
+        }
+
+        return Collections.emptyMap();
+    }
+
+    @Override
+    @Cached(cache = ApplicationComponents.APPLICATION_PARAMETERCACHE,
+            invalidateOn = { ParametersDef.class, ParameterValues.class })
+    public Map<String, String> findParameterValues(String paramTypeName, String instTypeName, Long instId)
+            throws UnifyException {
+        ParameterValues parameterValuesData = db().list(
+                new ParameterValuesQuery().typeName(paramTypeName).instTypeName(instTypeName).instId(instId));
+        if (parameterValuesData != null) {
+            Map<String, String> values = new LinkedHashMap<String, String>();
+            for (ParameterValue parameterValueData : parameterValuesData.getParameterValues()) {
+                values.put(parameterValueData.getParamKey(), parameterValueData.getParamValue());
+            }
+
+            return Collections.unmodifiableMap(values);
         }
 
         return Collections.emptyMap();
@@ -181,13 +209,61 @@ public class ParameterServiceImpl extends AbstractBusinessService implements Par
     @Override
     public void updateParameterValues(String paramTypeName, String instTypeName, Long instId, Inputs inputs)
             throws UnifyException {
+        ParametersDef pdd = getParametersDef(paramTypeName);
+        ParameterValues parameterValues =
+                db().list(new ParameterValuesQuery().typeName(paramTypeName).instTypeName(instTypeName).instId(instId));
+        writeParameterValues(pdd, paramTypeName, instTypeName, instId, parameterValues, inputs);
+        parametersChanged(paramTypeName);
+    }
+
+    @Override
+    public void updateParameterValues(String paramTypeName, String instTypeName, Map<Long, Inputs> inputsByInstId)
+            throws UnifyException {
+        if (inputsByInstId.isEmpty()) {
+            return;
+        }
+
+        ParametersDef pdd = getParametersDef(paramTypeName);
+        Map<Long, ParameterValues> parameterValuesByInstId = new HashMap<Long, ParameterValues>();
+        for (ParameterValues parameterValues : db().listAll(new ParameterValuesQuery().typeName(paramTypeName)
+                .instTypeName(instTypeName).addAmongst("instId", inputsByInstId.keySet()))) {
+            parameterValuesByInstId.put(parameterValues.getInstId(), parameterValues);
+        }
+
+        for (Map.Entry<Long, Inputs> entry : inputsByInstId.entrySet()) {
+            writeParameterValues(pdd, paramTypeName, instTypeName, entry.getKey(),
+                    parameterValuesByInstId.get(entry.getKey()), entry.getValue());
+        }
+
+        parametersChanged(paramTypeName);
+    }
+
+    @Override
+    public void deleteParameterValues(String paramTypeName, String instTypeName, Long instId) throws UnifyException {
+        db().deleteAll(new ParameterValuesQuery().typeName(paramTypeName).instTypeName(instTypeName).instId(instId));
+        parametersChanged(paramTypeName);
+    }
+
+    @Override
+    @Broadcast
+    @CacheEvict(cache = ApplicationComponents.APPLICATION_PARAMETERCACHE, allEntries = true)
+    public void invalidateParameterCache(String... paramTypeNames) throws UnifyException {
+        // Eviction is performed by the generated business service proxy from
+        // @CacheEvict, after the current transaction commits. @Broadcast
+        // repeats this call on other cluster nodes.
+    }
+
+    private ParametersDef getParametersDef(String paramTypeName) throws UnifyException {
         ParametersDef pdd = db().find(new ParametersDefQuery().typeName(paramTypeName));
         if (pdd == null) {
             throw new UnifyException(UnifyCoreErrorConstants.PARAMETER_DEFINITION_UNKNOWN, paramTypeName);
         }
 
-        ParameterValues parameterValues =
-                db().list(new ParameterValuesQuery().typeName(paramTypeName).instTypeName(instTypeName).instId(instId));
+        return pdd;
+    }
+
+    private void writeParameterValues(ParametersDef pdd, String paramTypeName, String instTypeName, Long instId,
+            ParameterValues parameterValues, Inputs inputs) throws UnifyException {
         Long parameterValuesId = null;
         if (parameterValues == null) {
             parameterValues = new ParameterValues();
@@ -223,9 +299,9 @@ public class ParameterServiceImpl extends AbstractBusinessService implements Par
         db().updateByIdVersion(parameterValues);
     }
 
-    @Override
-    public void deleteParameterValues(String paramTypeName, String instTypeName, Long instId) throws UnifyException {
-        db().deleteAll(new ParameterValuesQuery().typeName(paramTypeName).instTypeName(instTypeName).instId(instId));
+    private void parametersChanged(String paramTypeName) throws UnifyException {
+        // Evicts on this node after commit and on other nodes
+        invalidateParameterCache(paramTypeName);
     }
 
     private Input<?> getInput(ParameterDef parameterDef) throws UnifyException {
@@ -233,5 +309,4 @@ public class ParameterServiceImpl extends AbstractBusinessService implements Par
         return DataUtils.newInput(type, parameterDef.getName(), resolveSessionMessage(parameterDef.getDescription()),
                 parameterDef.getEditor(), parameterDef.isMandatory());
     }
-
 }
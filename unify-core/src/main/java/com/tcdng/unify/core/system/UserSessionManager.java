@@ -21,6 +21,7 @@ import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.UserSession;
 import com.tcdng.unify.core.UserToken;
 import com.tcdng.unify.core.business.BusinessService;
+import com.tcdng.unify.core.database.PurgeResult;
 import com.tcdng.unify.core.system.entities.UserSessionTracking;
 import com.tcdng.unify.core.system.entities.UserSessionTrackingQuery;
 
@@ -169,4 +170,11 @@ public interface UserSessionManager extends BusinessService {
      * @throws UnifyException
      */
     void forceLogout(String... sessionIds) throws UnifyException;
+
+    /**
+     * Gets the result of the last expired session purge on this node.
+     * 
+     * @return the purge result, otherwise null if no purge has run
+     */
+    PurgeResult getLastPurgeResult();
 }
@@ -15,11 +15,14 @@
  */
 package com.tcdng.unify.core.system;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import com.tcdng.unify.common.database.Entity;
 import com.tcdng.unify.core.ApplicationComponents;
 import com.tcdng.unify.core.SessionAttributeValueConstants;
 import com.tcdng.unify.core.SessionContext;
@@ -31,12 +34,15 @@ import com.tcdng.unify.core.UserSession;
 import com.tcdng.unify.core.UserToken;
 import com.tcdng.unify.core.annotation.Broadcast;
 import com.tcdng.unify.core.annotation.Component;
+import com.tcdng.unify.core.annotation.Configurable;
 import com.tcdng.unify.core.annotation.Periodic;
 import com.tcdng.unify.core.annotation.PeriodicType;
-import com.tcdng.unify.core.annotation.Synchronized;
 import com.tcdng.unify.core.annotation.Transactional;
 import com.tcdng.unify.core.business.AbstractBusinessService;
+import com.tcdng.unify.core.criterion.Less;
 import com.tcdng.unify.core.criterion.Update;
+import com.tcdng.unify.core.database.PurgeResult;
+import com.tcdng.unify.core.database.Query;
 import com.tcdng.unify.core.system.entities.UserSessionTracking;
 import com.tcdng.unify.core.system.entities.UserSessionTrackingQuery;
 import com.tcdng.unify.core.task.TaskMonitor;
@@ -54,8 +60,15 @@ public class UserSessionManagerImpl extends AbstractBusinessService implements U
 
 	private static final String USER_SESSION_LOCK = "app::usersession-lock";
 
+	private static final int UPDATE_BATCH_SIZE = 500;
+
+    @Configurable(ApplicationComponents.APPLICATION_LEADERELECTIONSERVICE)
+    private LeaderElectionService leaderElectionService;
+
     private Map<String, UserSession> userSessions;
 
+    private volatile PurgeResult lastPurgeResult;
+
     public UserSessionManagerImpl() {
         userSessions = new ConcurrentHashMap<String, UserSession>();
     }
@@ -181,8 +194,12 @@ public class UserSessionManagerImpl extends AbstractBusinessService implements U
         }
     }
 
+    @Override
+    public PurgeResult getLastPurgeResult() {
+        return lastPurgeResult;
+    }
+
     @Periodic(PeriodicType.NORMAL)
-    @Synchronized(USER_SESSION_LOCK)
 	public void performUserSessionHouseKeeping(TaskMonitor taskMonitor) throws UnifyException {
 		// Update active session records and remove inactive ones
 		Date now = db().getNow();
@@ -190,6 +207,7 @@ public class UserSessionManagerImpl extends AbstractBusinessService implements U
 				UnifyCoreConstants.DEFAULT_APPLICATION_SESSION_TIMEOUT_SECONDS);
 		expirationInSeconds = expirationInSeconds + expirationInSeconds / 5;
 		Date expiryTime = CalendarUtils.getDateWithOffset(now, -(expirationInSeconds * 1000));
+		Map<SessionContext, Date> lastAccessTimes = new LinkedHashMap<SessionContext, Date>();
 		for (UserSession userSession : userSessions.values()) {
 			SessionContext sessionContext = userSession.getSessionContext();
 			boolean isNewLastAccessTime = sessionContext.isNewLastAccessTime();
@@ -199,8 +217,7 @@ public class UserSessionManagerImpl extends AbstractBusinessService implements U
 			}
 
 			if (isNewLastAccessTime) {
-				db().updateAll(new UserSessionTrackingQuery().id(sessionContext.getId()),
-						new Update().add("node", getNodeId()).add("lastAccessTime", lastAccessTime));
+				lastAccessTimes.put(sessionContext, lastAccessTime);
 			}
 
 			if (sessionContext.getLastAccessTime() != null && expiryTime.after(sessionContext.getLastAccessTime())) {
@@ -208,8 +225,21 @@ public class UserSessionManagerImpl extends AbstractBusinessService implements U
 			}
 		}
 
-		// Delete inactive session
-		db().deleteAll(new UserSessionTrackingQuery().expired(expiryTime));
+		// Each node only updates its own sessions so no cluster lock is required
+		if (!lastAccessTimes.isEmpty()) {
+			updateLastAccessTimes(lastAccessTimes);
+		}
+
+		// Delete inactive session. Only leader need do this for the whole cluster
+		if (leaderElectionService.isLeader() && tryGrabLock(USER_SESSION_LOCK)) {
+			try {
+				lastPurgeResult = newChunkedPurger().purge(UserSessionTracking.class,
+						new Less("lastAccessTime", expiryTime));
+				logDebug("User session housekeeping purge: {0}", lastPurgeResult);
+			} finally {
+				releaseLock(USER_SESSION_LOCK);
+			}
+		}
 	}
 
     private void broadcast(UserSession userSession, String attribute, Object value) throws UnifyException {
@@ -221,6 +251,37 @@ public class UserSessionManagerImpl extends AbstractBusinessService implements U
         }
     }
 
+    private void updateLastAccessTimes(Map<SessionContext, Date> lastAccessTimes) throws UnifyException {
+        final String nodeId = getNodeId();
+        List<Map.Entry<SessionContext, Date>> entryList = new ArrayList<Map.Entry<SessionContext, Date>>(
+                lastAccessTimes.entrySet());
+        final int len = entryList.size();
+        for (int i = 0; i < len; i += UPDATE_BATCH_SIZE) {
+            List<Map.Entry<SessionContext, Date>> batchList = entryList.subList(i,
+                    Math.min(i + UPDATE_BATCH_SIZE, len));
+            List<Query<? extends Entity>> queryList = new ArrayList<Query<? extends Entity>>(batchList.size());
+            List<Update> updateList = new ArrayList<Update>(batchList.size());
+            for (Map.Entry<SessionContext, Date> entry : batchList) {
+                queryList.add(new UserSessionTrackingQuery().id(entry.getKey().getId()));
+                updateList.add(new Update().add("node", nodeId).add("lastAccessTime", entry.getValue()));
+            }
+
+            try {
+                db().updateAllBatch(queryList, updateList);
+            } catch (UnifyException e) {
+                logError(e);
+                // Retry on next cycle
+                for (Map.Entry<SessionContext, Date> entry : entryList.subList(i, len)) {
+                    if (!entry.getKey().isNewLastAccessTime()) {
+                        entry.getKey().setLastAccessTime(entry.getValue());
+                    }
+                }
+
+                return;
+            }
+        }
+    }
+
     private void logOut(UserSession userSession) throws UnifyException {
         if (userSession != null) {
             SessionContext sessionContext = userSession.getSessionContext();
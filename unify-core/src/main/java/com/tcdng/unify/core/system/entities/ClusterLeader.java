@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.system.entities;
+
+import java.util.Date;
+
+import com.tcdng.unify.common.annotation.ColumnType;
+import com.tcdng.unify.common.annotation.Table;
+import com.tcdng.unify.core.annotation.Column;
+import com.tcdng.unify.core.annotation.Id;
+
+/**
+ * Entity for storing cluster leadership lease information. The fencing token
+ * is incremented each time leadership changes hands.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+@Table("UNCLUSTERLEADER")
+public class ClusterLeader extends AbstractSystemEntity {
+
+    @Id(length = 64)
+    private String leadershipName;
+
+    @Column(length = 40, nullable = true)
+    private String leaderNode;
+
+    @Column
+    private Long fencingToken;
+
+    @Column(type = ColumnType.TIMESTAMP, nullable = true)
+    private Date leaseExpiry;
+
+    @Column(type = ColumnType.TIMESTAMP, nullable = true)
+    private Date acquiredOn;
+
+    @Override
+    public Object getId() {
+        return leadershipName;
+    }
+
+    public String getLeadershipName() {
+        return leadershipName;
+    }
+
+    public void setLeadershipName(String leadershipName) {
+        this.leadershipName = leadershipName;
+    }
+
+    public String getLeaderNode() {
+        return leaderNode;
+    }
+
+    public void setLeaderNode(String leaderNode) {
+        this.leaderNode = leaderNode;
+    }
+
+    public Long getFencingToken() {
+        return fencingToken;
+    }
+
+    public void setFencingToken(Long fencingToken) {
+        this.fencingToken = fencingToken;
+    }
+
+    public Date getLeaseExpiry() {
+        return leaseExpiry;
+    }
+
+    public void setLeaseExpiry(Date leaseExpiry) {
+        this.leaseExpiry = leaseExpiry;
+    }
+
+    public Date getAcquiredOn() {
+        return acquiredOn;
+    }
+
+    public void setAcquiredOn(Date acquiredOn) {
+        this.acquiredOn = acquiredOn;
+    }
+}
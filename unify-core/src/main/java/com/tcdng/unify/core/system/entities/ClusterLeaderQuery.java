@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.system.entities;
+
+import com.tcdng.unify.core.database.Query;
+
+/**
+ * Cluster leadership lease query.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class ClusterLeaderQuery extends Query<ClusterLeader> {
+
+    public ClusterLeaderQuery() {
+        super(ClusterLeader.class);
+    }
+
+    public ClusterLeaderQuery leadershipName(String leadershipName) {
+        return (ClusterLeaderQuery) addEquals("leadershipName", leadershipName);
+    }
+
+    public ClusterLeaderQuery leaderNode(String leaderNode) {
+        return (ClusterLeaderQuery) addEquals("leaderNode", leaderNode);
+    }
+}
@@ -47,4 +47,8 @@ public class ClusterNodeQuery extends Query<ClusterNode> {
     public ClusterNodeQuery lastHeartBeatOlderThan(Date expiryDt) {
         return (ClusterNodeQuery) addLessThan("lastHeartBeat", expiryDt);
     }
+
+    public ClusterNodeQuery lastHeartBeatNotOlderThan(Date expiryDt) {
+        return (ClusterNodeQuery) addGreaterThanEqual("lastHeartBeat", expiryDt);
+    }
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.system.entities;
+
+import java.util.Date;
+
+import com.tcdng.unify.common.annotation.ColumnType;
+import com.tcdng.unify.common.annotation.Index;
+import com.tcdng.unify.common.annotation.Table;
+import com.tcdng.unify.core.annotation.Column;
+import com.tcdng.unify.core.task.TaskStatus;
+
+/**
+ * Entity for storing distributed cluster task information.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+@Table(name = "UNCLUSTERTASK", indexes = { @Index({ "status", "nextAttemptOn" }), @Index({ "claimToken" }) })
+public class ClusterTask extends AbstractSystemSequencedEntity {
+
+    @Column(length = 128)
+    private String taskName;
+
+    @Column
+    private TaskStatus status;
+
+    @Column(nullable = true)
+    private byte[] parameters;
+
+    @Column(nullable = true)
+    private byte[] result;
+
+    @Column(length = 128, nullable = true)
+    private String claimNode;
+
+    @Column(length = 64, nullable = true)
+    private String claimToken;
+
+    @Column(type = ColumnType.TIMESTAMP, nullable = true)
+    private Date leaseExpiry;
+
+    @Column(type = ColumnType.TIMESTAMP)
+    private Date nextAttemptOn;
+
+    @Column(type = ColumnType.TIMESTAMP)
+    private Date submittedOn;
+
+    @Column(type = ColumnType.TIMESTAMP, nullable = true)
+    private Date completedOn;
+
+    @Column
+    private Integer attempts;
+
+    @Column
+    private Integer maxAttempts;
+
+    @Column(length = 512, nullable = true)
+    private String lastMessage;
+
+    @Column(type = ColumnType.CLOB, nullable = true)
+    private String messages;
+
+    @Column(length = 512, nullable = true)
+    private String errorMessage;
+
+    public String getTaskName() {
+        return taskName;
+    }
+
+    public void setTaskName(String taskName) {
+        this.taskName = taskName;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public byte[] getParameters() {
+        return parameters;
+    }
+
+    public void setParameters(byte[] parameters) {
+        this.parameters = parameters;
+    }
+
+    public byte[] getResult() {
+        return result;
+    }
+
+    public void setResult(byte[] result) {
+        this.result = result;
+    }
+
+    public String getClaimNode() {
+        return claimNode;
+    }
+
+    public void setClaimNode(String claimNode) {
+        this.claimNode = claimNode;
+    }
+
+    public String getClaimToken() {
+        return claimToken;
+    }
+
+    public void setClaimToken(String claimToken) {
+        this.claimToken = claimToken;
+    }
+
+    public Date getLeaseExpiry() {
+        return leaseExpiry;
+    }
+
+    public void setLeaseExpiry(Date leaseExpiry) {
+        this.leaseExpiry = leaseExpiry;
+    }
+
+    public Date getNextAttemptOn() {
+        return nextAttemptOn;
+    }
+
+    public void setNextAttemptOn(Date nextAttemptOn) {
+        this.nextAttemptOn = nextAttemptOn;
+    }
+
+    public Date getSubmittedOn() {
+        return submittedOn;
+    }
+
+    public void setSubmittedOn(Date submittedOn) {
+        this.submittedOn = submittedOn;
+    }
+
+    public Date getCompletedOn() {
+        return completedOn;
+    }
+
+    public void setCompletedOn(Date completedOn) {
+        this.completedOn = completedOn;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public Integer getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(Integer maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public String getLastMessage() {
+        return lastMessage;
+    }
+
+    public void setLastMessage(String lastMessage) {
+        this.lastMessage = lastMessage;
+    }
+
+    public String getMessages() {
+        return messages;
+    }
+
+    public void setMessages(String messages) {
+        this.messages = messages;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.system.entities;
+
+import java.util.Collection;
+import java.util.Date;
+
+import com.tcdng.unify.core.criterion.And;
+import com.tcdng.unify.core.criterion.Equals;
+import com.tcdng.unify.core.criterion.Less;
+import com.tcdng.unify.core.criterion.LessField;
+import com.tcdng.unify.core.criterion.LessOrEqual;
+import com.tcdng.unify.core.criterion.Or;
+import com.tcdng.unify.core.task.TaskStatus;
+
+/**
+ * Cluster task query.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class ClusterTaskQuery extends SequencedEntityQuery<ClusterTask> {
+
+    public ClusterTaskQuery() {
+        super(ClusterTask.class);
+    }
+
+    public ClusterTaskQuery taskName(String taskName) {
+        return (ClusterTaskQuery) addEquals("taskName", taskName);
+    }
+
+    public ClusterTaskQuery status(TaskStatus status) {
+        return (ClusterTaskQuery) addEquals("status", status);
+    }
+
+    public ClusterTaskQuery statusIn(Collection<TaskStatus> status) {
+        return (ClusterTaskQuery) addAmongst("status", status);
+    }
+
+    public ClusterTaskQuery claimNode(String claimNode) {
+        return (ClusterTaskQuery) addEquals("claimNode", claimNode);
+    }
+
+    public ClusterTaskQuery claimToken(String claimToken) {
+        return (ClusterTaskQuery) addEquals("claimToken", claimToken);
+    }
+
+    public ClusterTaskQuery claimable(Date now) {
+        return (ClusterTaskQuery) addRestriction(new Or()
+                .add(new And().add(new Equals("status", TaskStatus.INITIALIZED))
+                        .add(new LessOrEqual("nextAttemptOn", now)))
+                .add(new And().add(new Equals("status", TaskStatus.RUNNING)).add(new Less("leaseExpiry", now))
+                        .add(new LessField("attempts", "maxAttempts"))));
+    }
+
+    public ClusterTaskQuery leaseExpiredOnFinalAttempt(Date now) {
+        return (ClusterTaskQuery) status(TaskStatus.RUNNING).addLessThan("leaseExpiry", now)
+                .addGreaterThanEqualField("attempts", "maxAttempts");
+    }
+}
@@ -17,6 +17,8 @@ package com.tcdng.unify.core.task;
 
 import java.lang.reflect.Method;
 
+import com.tcdng.unify.core.annotation.PeriodicScope;
+
 /**
  * A periodic execution information object.
  * 
@@ -29,9 +31,16 @@ public class PeriodicExecutionInfo {
 
     private Method method;
 
-    public PeriodicExecutionInfo(String componentName, Method method) {
+    private PeriodicScope scope;
+
+    public PeriodicExecutionInfo(String componentName, Method method, PeriodicScope scope) {
         this.componentName = componentName;
         this.method = method;
+        this.scope = scope;
+    }
+
+    public PeriodicExecutionInfo(String componentName, Method method) {
+        this(componentName, method, PeriodicScope.ALL_NODES);
     }
 
     public String getComponentName() {
@@ -41,4 +50,12 @@ public class PeriodicExecutionInfo {
     public Method getMethod() {
         return method;
     }
+
+    public PeriodicScope getScope() {
+        return scope;
+    }
+
+    public String getPartitionKey() {
+        return componentName + "." + method.getName();
+    }
 }
@@ -15,9 +15,11 @@
  */
 package com.tcdng.unify.core.task;
 
+import com.tcdng.unify.core.ApplicationComponents;
 import com.tcdng.unify.core.UnifyComponent;
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.annotation.Component;
+import com.tcdng.unify.core.system.LeaderElectionService;
 
 /**
  * Periodic execution task.
@@ -34,6 +36,10 @@ public class PeriodicExecutionTask extends AbstractTask {
 			if (!tm.isCancelled()) {
 				PeriodicExecutionInfo periodicExecutionInfo = input.getParam(PeriodicExecutionInfo.class,
 						PeriodicExecutionTaskConstants.PERIODICEXECUTIONINFO);
+				if (!isInScope(periodicExecutionInfo)) {
+					return;
+				}
+
 				logDebug("Invoking periodic method [{0}] on component [{1}]...",
 						periodicExecutionInfo.getMethod().getName(), periodicExecutionInfo.getComponentName());
 				UnifyComponent unifyComponent = getComponent(periodicExecutionInfo.getComponentName());
@@ -45,4 +51,21 @@ public class PeriodicExecutionTask extends AbstractTask {
 			throwOperationErrorException(e);
 		}
 	}
+
+	private boolean isInScope(PeriodicExecutionInfo periodicExecutionInfo) throws UnifyException {
+		if (periodicExecutionInfo.getScope().isAllNodes() || !isClusterMode()) {
+			return true;
+		}
+
+		LeaderElectionService leaderElectionService = (LeaderElectionService) getComponent(
+				ApplicationComponents.APPLICATION_LEADERELECTIONSERVICE);
+		switch (periodicExecutionInfo.getScope()) {
+		case LEADER_ONLY:
+			return leaderElectionService.isLeader();
+		case PARTITION_OWNER:
+			return leaderElectionService.isPartitionOwner(periodicExecutionInfo.getPartitionKey());
+		default:
+			return true;
+		}
+	}
 }
@@ -15,6 +15,7 @@
  */
 package com.tcdng.unify.core.task;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -65,4 +66,25 @@ public class TaskInput {
     public <T> T getParam(Class<T> valueType, String name) throws UnifyException {
         return DataUtils.convert(valueType, parameters.get(name));
     }
+
+    /**
+     * Creates a slice of this input with supplied parameters overriding this
+     * input's parameters.
+     * 
+     * @param sliceParameters
+     *            the slice parameters
+     * @return the input slice
+     */
+    public TaskInput slice(Map<String, Object> sliceParameters) {
+        Map<String, Object> _parameters = new HashMap<String, Object>();
+        if (parameters != null) {
+            _parameters.putAll(parameters);
+        }
+
+        if (sliceParameters != null) {
+            _parameters.putAll(sliceParameters);
+        }
+
+        return new TaskInput(taskName, tmc, _parameters);
+    }
 }
@@ -138,4 +138,17 @@ public interface TaskManager extends UnifyComponent {
 	 */
 	TaskMonitor schedulePeriodicExecution(PeriodicType periodicType, String businessServiceName, String methodName,
 			long inDelayInMillSec) throws UnifyException;
+
+	/**
+	 * Submits a task with specified name to the cluster task queue. Task is
+	 * executed by any worker node in cluster and survives the loss of the node
+	 * executing it.
+	 * 
+	 * @param taskName    the task name
+	 * @param parameters  the execution parameters. Values must be serializable.
+	 * @param maxAttempts the maximum number of execution attempts
+	 * @return the cluster task ID
+	 * @throws UnifyException if an error occurs
+	 */
+	Long submitClusterTask(String taskName, Map<String, Object> parameters, int maxAttempts) throws UnifyException;
 }
@@ -19,8 +19,10 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.tcdng.unify.core.AbstractUnifyComponent;
 import com.tcdng.unify.core.ApplicationComponents;
@@ -34,13 +36,19 @@ import com.tcdng.unify.core.UserTokenProvider;
 import com.tcdng.unify.core.annotation.Component;
 import com.tcdng.unify.core.annotation.Configurable;
 import com.tcdng.unify.core.annotation.Parameter;
+import com.tcdng.unify.core.annotation.Periodic;
+import com.tcdng.unify.core.annotation.PeriodicClusterOnly;
+import com.tcdng.unify.core.annotation.PeriodicScope;
 import com.tcdng.unify.core.annotation.PeriodicType;
 import com.tcdng.unify.core.annotation.Taskable;
 import com.tcdng.unify.core.business.internal.ProxyBusinessServiceMethodRelay;
 import com.tcdng.unify.core.data.FactoryMap;
 import com.tcdng.unify.core.data.ParamConfig;
+import com.tcdng.unify.core.system.ClusterTaskService;
+import com.tcdng.unify.core.system.entities.ClusterTask;
 import com.tcdng.unify.core.util.AnnotationUtils;
 import com.tcdng.unify.core.util.DataUtils;
+import com.tcdng.unify.core.util.IOUtils;
 import com.tcdng.unify.core.util.ReflectUtils;
 
 /**
@@ -54,6 +62,10 @@ public class TaskManagerImpl extends AbstractUnifyComponent implements TaskManag
 
 	private static final int DEFAULT_TASKRUNNER_MAXTHREADS = 128;
 
+	private static final int DEFAULT_CLUSTERTASK_MAXCONCURRENT = 8;
+
+	private static final long DEFAULT_CLUSTERTASK_LEASE_MILLISECONDS = 60000L;
+
 	@Configurable(ApplicationComponents.APPLICATION_PROXYBUSINESSSERVICEGENERATOR)
 	private ProxyBusinessServiceMethodRelay proxyMethodRelay;
 
@@ -76,8 +88,17 @@ public class TaskManagerImpl extends AbstractUnifyComponent implements TaskManag
 
 	private FactoryMap<String, List<ParamConfig>> taskParamConfigByTypeMap;
 
+	private Map<Long, ClusterTaskRun> clusterTaskRuns;
+
+	private boolean clusterTaskWorker;
+
+	private int clusterTaskMaxConcurrent;
+
+	private long clusterTaskLeaseMilliSecs;
+
 	public TaskManagerImpl() {
 		taskConfigByNameMap = new HashMap<String, TaskableMethodConfig>();
+		clusterTaskRuns = new ConcurrentHashMap<Long, ClusterTaskRun>();
 		taskParamConfigByTypeMap = new FactoryMap<String, List<ParamConfig>>() {
 
 			@Override
@@ -154,8 +175,19 @@ public class TaskManagerImpl extends AbstractUnifyComponent implements TaskManag
 		try {
 			Map<String, Object> parameters = new HashMap<String, Object>();
 			Method method = getComponentType(businessServiceName).getMethod(methodName, TaskMonitor.class);
+			PeriodicScope scope = PeriodicScope.ALL_NODES;
+			Periodic pa = method.getAnnotation(Periodic.class);
+			if (pa != null) {
+				scope = pa.scope();
+			} else {
+				PeriodicClusterOnly pac = method.getAnnotation(PeriodicClusterOnly.class);
+				if (pac != null) {
+					scope = pac.scope();
+				}
+			}
+
 			parameters.put(PeriodicExecutionTaskConstants.PERIODICEXECUTIONINFO,
-					new PeriodicExecutionInfo(businessServiceName, method));
+					new PeriodicExecutionInfo(businessServiceName, method, scope));
 
 			return periodicRunner.schedule(periodicType, PeriodicExecutionTaskConstants.PERIODIC_METHOD_TASK,
 					parameters, true, inDelayInMillSec);
@@ -167,6 +199,74 @@ public class TaskManagerImpl extends AbstractUnifyComponent implements TaskManag
 		return null;
 	}
 
+	@Override
+	public Long submitClusterTask(String taskName, Map<String, Object> parameters, int maxAttempts)
+			throws UnifyException {
+		return getClusterTaskService().submitTask(taskName, parameters, maxAttempts);
+	}
+
+	@Periodic(PeriodicType.FAST)
+	public void processClusterTasks(TaskMonitor taskMonitor) throws UnifyException {
+		if (!clusterTaskWorker) {
+			return;
+		}
+
+		ClusterTaskService clusterTaskService = getClusterTaskService();
+		// Report finished tasks and renew leases on running tasks
+		Iterator<ClusterTaskRun> it = clusterTaskRuns.values().iterator();
+		while (it.hasNext()) {
+			ClusterTaskRun run = it.next();
+			TaskMonitor tm = run.getTm();
+			try {
+				getClusterTaskStatusLogger().logStatus(tm, run.getParameters());
+				if (tm.isExited()) {
+					it.remove();
+					if (tm.isDone() && !tm.isExceptions()) {
+						Map<String, Object> results = new HashMap<String, Object>();
+						for (String name : tm.getTaskOutput().getResultNames()) {
+							results.put(name, tm.getTaskOutput().getResult(name));
+						}
+
+						clusterTaskService.completeTask(run.getTaskId(), run.getClaimToken(), results);
+					} else {
+						clusterTaskService.failTask(run.getTaskId(), run.getClaimToken(), getFailureMessage(tm));
+					}
+				} else if (!clusterTaskService.renewTaskLease(run.getTaskId(), run.getClaimToken(),
+						clusterTaskLeaseMilliSecs)) {
+					// Lease lost to another node
+					it.remove();
+					tm.cancel();
+				}
+			} catch (UnifyException e) {
+				logError(e);
+			}
+		}
+
+		// Claim new tasks up to capacity
+		final int capacity = clusterTaskMaxConcurrent - clusterTaskRuns.size();
+		if (capacity > 0) {
+			for (ClusterTask clusterTask : clusterTaskService.claimTasks(getNodeId(), capacity,
+					clusterTaskLeaseMilliSecs)) {
+				try {
+					@SuppressWarnings("unchecked")
+					Map<String, Object> parameters = clusterTask.getParameters() != null
+							? IOUtils.streamFromBytes(HashMap.class, clusterTask.getParameters())
+							: new HashMap<String, Object>();
+					parameters.put(TaskParameterConstants.CLUSTER_TASK_ID, clusterTask.getId());
+					parameters.put(TaskParameterConstants.CLUSTER_TASK_CLAIM_TOKEN, clusterTask.getClaimToken());
+					TaskMonitor tm = startTask(clusterTask.getTaskName(), parameters, true);
+					ClusterTaskRun run = new ClusterTaskRun(clusterTask.getId(), clusterTask.getClaimToken(),
+							parameters, tm);
+					clusterTaskRuns.put(run.getTaskId(), run);
+				} catch (UnifyException e) {
+					logError(e);
+					clusterTaskService.failTask(clusterTask.getId(), clusterTask.getClaimToken(),
+							e.getMessage());
+				}
+			}
+		}
+	}
+
 	@Override
 	protected void onInitialize() throws UnifyException {
 		for (UnifyComponentConfig unifyComponentConfig : getComponentConfigs(UnifyComponent.class)) {
@@ -221,14 +321,24 @@ public class TaskManagerImpl extends AbstractUnifyComponent implements TaskManag
 
 					// Create configuration and store
 					String idGenerator = AnnotationUtils.getAnnotationString(ta.idGenerator());
+					String partitioner = AnnotationUtils.getAnnotationString(ta.partitioner());
 					tmc = new TaskableMethodConfig(ta.name(), resolveApplicationMessage(ta.description()),
 							unifyComponentConfig.getName(), method, paramConfigList, ta.limit(), idGenerator,
-							ta.schedulable());
+							ta.schedulable(), partitioner, ta.parallelism());
 					taskConfigByNameMap.put(tmc.getName(), tmc);
 				}
 			}
 		}
 
+		clusterTaskWorker = getContainerSetting(boolean.class,
+				UnifyCorePropertyConstants.APPLICATION_CLUSTERTASK_WORKER_ENABLED, false);
+		clusterTaskMaxConcurrent = getContainerSetting(int.class,
+				UnifyCorePropertyConstants.APPLICATION_CLUSTERTASK_WORKER_MAXCONCURRENT,
+				DEFAULT_CLUSTERTASK_MAXCONCURRENT);
+		clusterTaskLeaseMilliSecs = getContainerSetting(long.class,
+				UnifyCorePropertyConstants.APPLICATION_CLUSTERTASK_LEASE_MILLISECONDS,
+				DEFAULT_CLUSTERTASK_LEASE_MILLISECONDS);
+
 		final int maxThreads = getContainerSetting(int.class,
 				UnifyCorePropertyConstants.APPLICATION_MAX_TASKRUNNER_THREADS, DEFAULT_TASKRUNNER_MAXTHREADS);
 		periodicRunner.start(maxThreads, true);
@@ -241,4 +351,55 @@ public class TaskManagerImpl extends AbstractUnifyComponent implements TaskManag
 
 	}
 
+	private ClusterTaskService getClusterTaskService() throws UnifyException {
+		return (ClusterTaskService) getComponent(ApplicationComponents.APPLICATION_CLUSTERTASKSERVICE);
+	}
+
+	private TaskStatusLogger getClusterTaskStatusLogger() throws UnifyException {
+		return (TaskStatusLogger) getComponent(ApplicationComponents.APPLICATION_CLUSTERTASKSTATUSLOGGER);
+	}
+
+	private String getFailureMessage(TaskMonitor tm) {
+		if (tm.isExceptions()) {
+			Exception[] exceptions = tm.getExceptions();
+			return exceptions[exceptions.length - 1].getMessage();
+		}
+
+		return "Task ended with status " + tm.getTaskStatus() + ".";
+	}
+
+	private class ClusterTaskRun {
+
+		private final Long taskId;
+
+		private final String claimToken;
+
+		private final Map<String, Object> parameters;
+
+		private final TaskMonitor tm;
+
+		public ClusterTaskRun(Long taskId, String claimToken, Map<String, Object> parameters, TaskMonitor tm) {
+			this.taskId = taskId;
+			this.claimToken = claimToken;
+			this.parameters = parameters;
+			this.tm = tm;
+		}
+
+		public Long getTaskId() {
+			return taskId;
+		}
+
+		public String getClaimToken() {
+			return claimToken;
+		}
+
+		public Map<String, Object> getParameters() {
+			return parameters;
+		}
+
+		public TaskMonitor getTm() {
+			return tm;
+		}
+	}
+
 }
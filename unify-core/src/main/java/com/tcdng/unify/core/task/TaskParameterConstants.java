@@ -29,4 +29,8 @@ public interface TaskParameterConstants {
 	
     String LOCK_TO_TRY = "sys.lockToTry";
 
+    String CLUSTER_TASK_ID = "sys.clusterTaskId";
+
+    String CLUSTER_TASK_CLAIM_TOKEN = "sys.clusterTaskClaimToken";
+
 }
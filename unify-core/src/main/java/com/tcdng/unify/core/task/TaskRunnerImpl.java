@@ -1,616 +1,919 @@
-/*
- * Copyright (c) 2018-2025 The Code Department.
- * 
- * Licensed under the Apache License, Version 2.0 (the "License"); you may not
- * use this file except in compliance with the License. You may obtain a copy of
- * the License at
- * 
- * http://www.apache.org/licenses/LICENSE-2.0
- * 
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
- * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
- * License for the specific language governing permissions and limitations under
- * the License.
- */
-package com.tcdng.unify.core.task;
-
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
-
-import com.tcdng.unify.core.AbstractUnifyComponent;
-import com.tcdng.unify.core.ApplicationComponents;
-import com.tcdng.unify.core.RequestContext;
-import com.tcdng.unify.core.RequestContextManager;
-import com.tcdng.unify.core.UnifyCorePropertyConstants;
-import com.tcdng.unify.core.UnifyError;
-import com.tcdng.unify.core.UnifyException;
-import com.tcdng.unify.core.UserToken;
-import com.tcdng.unify.core.UserTokenProvider;
-import com.tcdng.unify.core.annotation.Component;
-import com.tcdng.unify.core.annotation.Configurable;
-import com.tcdng.unify.core.annotation.PeriodicType;
-import com.tcdng.unify.core.annotation.Singleton;
-import com.tcdng.unify.core.util.DataUtils;
-import com.tcdng.unify.core.util.StringUtils;
-import com.tcdng.unify.core.util.ThreadUtils;
-
-/**
- * Task runner implementation.
- * 
- * @author The Code Department
- * @since 4.1
- */
-@Singleton(false)
-@Component("task-runner")
-public class TaskRunnerImpl extends AbstractUnifyComponent implements TaskRunner {
-
-	private static final long DEFAULT_SHUTDOWN_WAIT_MILLISECONDS = 60000L;
-
-	private static final int DEFAULT_MAX_MONITOR_MESSAGES = 100;
-
-	@Configurable(ApplicationComponents.APPLICATION_REQUESTCONTEXTMANAGER)
-	private RequestContextManager requestContextManager;
-
-	@Configurable
-	private UserTokenProvider userTokenProvider;
-	
-	private ExecutorService processingExecutor;
-
-	private final Set<String> tasks;
-
-	private long shutdownWaitMilliSecs;
-
-	private int maxMonitorMessages;
-
-	private boolean started;
-
-	private boolean permitMultiple;
-	
-	public TaskRunnerImpl() {
-		this.tasks = new HashSet<String>();
-	}
-	
-	@Override
-	public boolean start(int maxRunThread, boolean permitMultiple) {
-		logDebug("Starting task runner [{0}] with maximum run threads [{1}]...", this, maxRunThread);
-		if (!this.started) {
-			synchronized (this) {
-				if (!this.started) {
-					this.processingExecutor = Executors.newFixedThreadPool(maxRunThread <= 0 ? 1 : maxRunThread);
-					this.permitMultiple = permitMultiple;
-					this.started = true;
-					logDebug("Task runner [{0}] is successfully started.", this);
-					return true;
-				}
-			}
-		}
-
-		logDebug("Task runner [{0}] is already started.", this);
-		return false;
-	}
-
-	@Override
-	public void stop() {
-		logDebug("Stopping task runner [{0}] ...", this);
-		if (started) {
-			synchronized (this) {
-				if (started) {
-					processingExecutor.shutdown();
-					started = false;
-					tasks.clear();
-					
-					try {
-						processingExecutor.awaitTermination(shutdownWaitMilliSecs, TimeUnit.MILLISECONDS);
-					} catch (InterruptedException e) {
-						logSevere(e);
-					}
-
-					logDebug("Task runner [{0}] is successfully stopped.", this);
-					return;
-				}
-			}
-		}
-
-		logDebug("Task runner [{0}] is already stopped.", this);
-	}
-
-	@Override
-	public boolean isRunning() {
-		return started;
-	}
-
-	@Override
-	public boolean isScheduled(String taskName) {
-		return tasks.contains(taskName);
-	}
-
-	@Override
-	public TaskMonitor schedule(PeriodicType periodicType, String taskName, Map<String, Object> parameters,
-			boolean logMessages, long inDelayInMillSec) throws UnifyException {
-		return schedule(null, taskName, parameters, logMessages, inDelayInMillSec, periodicType.getPeriodInMillSec(),
-				0);
-	}
-
-	@Override
-	public TaskMonitor schedule(String taskName, Map<String, Object> parameters, boolean logMessages,
-			long inDelayInMillSec, long periodInMillSec, int numberOfTimes) throws UnifyException {
-		return schedule(null, taskName, parameters, logMessages, inDelayInMillSec, periodInMillSec, numberOfTimes);
-	}
-
-	@Override
-	public TaskMonitor schedule(TaskableMethodConfig tmc, String taskName, Map<String, Object> parameters,
-			boolean logMessages, long inDelayInMillSec, long periodInMillSec, int numberOfTimes) throws UnifyException {
-		boolean _permitMultiple = permitMultiple;
-		String actualTaskName = taskName;
-		if (tmc != null) {
-			_permitMultiple &= tmc.isPermitMultiple();
-			actualTaskName = TaskableMethodConstants.TASKABLE_METHOD_TASK;
-		}
-
-		return internalSchedule(tmc, actualTaskName, taskName, parameters, _permitMultiple, logMessages,
-				inDelayInMillSec, periodInMillSec, numberOfTimes);
-	}
-
-	private TaskMonitor internalSchedule(TaskableMethodConfig tmc, String actualTaskName, String taskName,
-			Map<String, Object> parameters, boolean _permitMultiple, boolean logMessages, long inDelayInMillSec,
-			long periodInMillSec, int numberOfTimes) throws UnifyException {
-		if (numberOfTimes > 0) {
-			logDebug(
-					"Scheduling task [{0} - {1}] for execution [{2}] time(s) with initial delay [{3}ms] and repeat period [{4}ms]...",
-					actualTaskName, taskName, numberOfTimes, inDelayInMillSec, periodInMillSec);
-		} else {
-			logDebug(
-					"Scheduling task [{0} - {1}] for continuous execution with initial delay [{2}ms] and repeat period [{3}ms]...",
-					actualTaskName, taskName, inDelayInMillSec, periodInMillSec);
-		}
-
-		TaskMonitorImpl tm = new TaskMonitorImpl(actualTaskName, logMessages, numberOfTimes);
-		if (isRunning()) {
-			synchronized (this) {
-				if (isRunning()) {
-					if (_permitMultiple || !isScheduled(taskName)) {
-						TaskRunParams params = new TaskRunParams(taskName, tm, tmc, parameters, inDelayInMillSec, periodInMillSec,
-								numberOfTimes, _permitMultiple);
-						schedule(params);
-					} else {
-						tm.notPermitted();
-					}
-				} else {
-					throwOperationErrorException(new IllegalStateException("Task runner is not started."));
-				}
-			}
-		} else {
-			throwOperationErrorException(new IllegalStateException("Task runner is not started."));
-		}
-
-		logDebug("Scheduling of task [{0}] completed with permitted [{1}].", actualTaskName, !tm.isNotPermitted());
-		return tm;
-	}
-
-	@Override
-	protected void onInitialize() throws UnifyException {
-		shutdownWaitMilliSecs = getContainerSetting(long.class,
-				UnifyCorePropertyConstants.APPLICATION_TASKRUNNER_SHUTDOWN_MILLISECONDS,
-				DEFAULT_SHUTDOWN_WAIT_MILLISECONDS);
-		maxMonitorMessages = getContainerSetting(int.class,
-				UnifyCorePropertyConstants.APPLICATION_MAX_TASKMONITOR_MESSAGES, DEFAULT_MAX_MONITOR_MESSAGES);
-	}
-
-	@Override
-	protected void onTerminate() throws UnifyException {
-		stop();
-	}
-
-	private void schedule(TaskRunParams params) {
-		tasks.add(params.getTaskName());
-
-		if (params.isWithInDelayInMillSec()) {
-			new WaitThread(params, params.getInDelayInMillSec()).start();
-		} else {
-			processingExecutor.execute(new TaskRunnable(params));
-		}
-	}
-
-	private boolean scheduleRepeatIfNecessary(TaskRunParams params) {
-		if (params.incRunCounterAndCheckRepeat() && !params.getTm().isCancelled()) {
-			if (params.isWithPeriodInMillSec()) {
-				new WaitThread(params, params.getPeriodInMillSec()).start();
-			} else {
-				processingExecutor.execute(new TaskRunnable(params));
-			}
-
-			// Repeat
-			return true;
-		}
-
-		// Done
-		if (!params.isPermitMultiple()) {
-			tasks.remove(params.getTaskName());
-		}
-
-		return false;
-	}
-
-	
-	private class WaitThread extends Thread {
-
-		private final TaskRunParams params;
-
-		private final long waitMilliSecs;
-
-		public WaitThread(TaskRunParams params, long waitMilliSecs) {
-			this.params = params;
-			this.waitMilliSecs = waitMilliSecs;
-		}
-
-		@Override
-		public void run() {
-			ThreadUtils.sleep(waitMilliSecs);
-			processingExecutor.execute(new TaskRunnable(params));
-		}
-
-	}
-
-	private class TaskRunnable implements Runnable {
-
-		private final TaskRunParams params;
-
-		private final String lockToTry;
-
-		private final Long tenantId;
-
-		private final String userLoginId;
-
-		public TaskRunnable(TaskRunParams params) {
-			this.params = params;
-			this.tenantId = (Long) params.getParameter(TaskParameterConstants.TENANT_ID);
-			this.userLoginId = (String) params.getParameter(TaskParameterConstants.USER_LOGIN_ID);
-			this.lockToTry = (String) params.getParameter(TaskParameterConstants.LOCK_TO_TRY);
-		}
-
-		@Override
-		public void run() {
-			final boolean lock = !StringUtils.isBlank(lockToTry);
-			final TaskMonitorImpl tm = params.getTm();
-			tm.begin();
-			try {
-				if (!lock || tryGrabLock(lockToTry)) {
-					try {
-						RequestContext requestContext = getRequestContext();
-						requestContextManager.loadRequestContext(requestContext);
-						if (requestContext.getSessionContext().getUserToken() == null) {
-							if (userTokenProvider != null && !StringUtils.isBlank(userLoginId)) {
-								UserToken userToken = userTokenProvider.getUserToken(userLoginId, tenantId);
-								requestContext.getSessionContext().setUserToken(userToken);
-							}
-						}
-
-						TaskInput input = params.isWithTaskableMethodConfig()
-								? new TaskInput(params.getActualTaskName(), params.getTaskableMethodConfig(),
-										params.getParameters())
-								: new TaskInput(params.getActualTaskName(), params.getParameters());
-						Task task = getComponent(Task.class, params.getActualTaskName());
-						task.execute(tm, input);
-					} catch (Exception e) {
-						tm.addException(e);
-						logError(e);
-					} finally {
-						if (lock) {
-							releaseLock(lockToTry);
-						}
-
-						try {
-							requestContextManager.unloadRequestContext();
-						} catch (Exception e) {
-							logError(e);
-						}
-					}
-				}
-			} catch (Exception e) {
-				tm.addException(e);
-				logError(e);
-			} finally {
-				tm.done();
-			}
-
-			scheduleRepeatIfNecessary(params);
-		}
-
-	}
-
-	private class TaskRunParams {
-
-		private final String taskName;
-		
-		private final TaskMonitorImpl tm;
-
-		private final TaskableMethodConfig tmc;
-
-		private final Map<String, Object> parameters;
-
-		private final long inDelayInMillSec;
-
-		private final long periodInMillSec;
-
-		private final int numberOfTimes;
-
-		private final boolean permitMultiple;
-		
-		private long runCounter;
-
-		public TaskRunParams(String taskName, TaskMonitorImpl tm, TaskableMethodConfig tmc, Map<String, Object> parameters,
-				long inDelayInMillSec, long periodInMillSec, int numberOfTimes, boolean permitMultiple) {
-			this.taskName = taskName;
-			this.tm = tm;
-			this.tmc = tmc;
-			this.parameters = parameters;
-			this.inDelayInMillSec = inDelayInMillSec;
-			this.periodInMillSec = periodInMillSec;
-			this.numberOfTimes = numberOfTimes;
-			this.permitMultiple = permitMultiple;
-			this.runCounter = 0L;
-		}
-
-		public TaskMonitorImpl getTm() {
-			return tm;
-		}
-
-		public String getTaskName() {
-			return taskName;
-		}
-
-		public String getActualTaskName() {
-			return tm.getTaskName();
-		}
-
-		public TaskableMethodConfig getTaskableMethodConfig() {
-			return tmc;
-		}
-
-		public boolean isWithTaskableMethodConfig() {
-			return tmc != null;
-		}
-
-		public Map<String, Object> getParameters() {
-			return parameters;
-		}
-
-		public Object getParameter(String name) {
-			return parameters != null ? parameters.get(name) : null;
-		}
-
-		public long getInDelayInMillSec() {
-			return inDelayInMillSec;
-		}
-
-		public boolean isWithInDelayInMillSec() {
-			return inDelayInMillSec > 0;
-		}
-
-		public long getPeriodInMillSec() {
-			return periodInMillSec;
-		}
-
-		public boolean isWithPeriodInMillSec() {
-			return periodInMillSec > 0;
-		}
-
-		public boolean incRunCounterAndCheckRepeat() {
-			++runCounter;
-			return numberOfTimes <= 0 || runCounter < numberOfTimes;
-		}
-
-		public boolean isPermitMultiple() {
-			return permitMultiple;
-		}
-
-	}
-
-	private class TaskMonitorImpl implements TaskMonitor {
-
-		private static final int CANCELLED = -1;
-
-		private static final int PENDING = 0;
-
-		private static final int RUNNING = 1;
-
-		private static final int DONE = 2;
-
-		private static final int NOT_PERMITTED = 3;
-
-		private String taskName;
-
-		private List<String> messages;
-
-		private List<Exception> exceptions;
-
-		private final TaskOutput output;
-
-		private final boolean logMessages;
-
-		private final int expectedRuns;
-
-		private int actualRuns;
-
-		private int running;
-
-		public TaskMonitorImpl(String taskName, boolean logMessages, int expectedRuns) {
-			this.output = new TaskOutput();
-			this.taskName = taskName;
-			this.logMessages = logMessages;
-			this.expectedRuns = expectedRuns;
-			this.exceptions = new ArrayList<Exception>();
-			if (this.logMessages) {
-				messages = new ArrayList<String>();
-			}
-
-			this.running = PENDING;
-			this.actualRuns = 0;
-		}
-
-		@Override
-		public String getTaskName() {
-			return taskName;
-		}
-
-		public void begin() {
-			if (running == PENDING) {
-				running = RUNNING;
-			}
-		}
-
-		public void done() {
-			if (running == RUNNING) {
-				actualRuns++;
-				if (expectedRuns > 0 && actualRuns >= expectedRuns) {
-					running = DONE;
-				}
-			}
-		}
-
-		public void notPermitted() {
-			if (running == PENDING) {
-				running = NOT_PERMITTED;
-			}
-		}
-
-		@Override
-		public void cancel() {
-			if (running == PENDING || running == RUNNING) {
-				running = CANCELLED;
-			}
-		}
-
-		@Override
-		public int expectedRuns() {
-			return expectedRuns;
-		}
-
-		@Override
-		public int actualRuns() {
-			return actualRuns;
-		}
-
-		@Override
-		public TaskStatus getTaskStatus() {
-			if (isDone()) {
-				return isExceptions() ? TaskStatus.FAILED:  TaskStatus.SUCCESSFUL;
-			}
-
-			if (isRunning()) {
-				return TaskStatus.RUNNING;
-			}	
-			
-			if (isCancelled()) {
-				return TaskStatus.CANCELED;
-			}
-			
-			if (isNotPermitted()) {
-				return TaskStatus.ABORTED;
-			}
-
-			return TaskStatus.INITIALIZED;
-		}
-
-		@Override
-		public boolean isNotPermitted() {
-			return running == NOT_PERMITTED;
-		}
-
-		@Override
-		public boolean isExceptions() {
-			return !exceptions.isEmpty();
-		}
-
-		@Override
-		public boolean isCancelled() {
-			return running == CANCELLED;
-		}
-
-		@Override
-		public boolean isRunning() {
-			return running == RUNNING;
-		}
-
-		@Override
-		public boolean isDone() {
-			return running == DONE;
-		}
-
-		@Override
-		public boolean isExited() {
-			return isNotPermitted() || isCancelled() || isDone();
-		}
-
-		@Override
-		public TaskOutput getTaskOutput() {
-			return output;
-		}
-
-		@Override
-		public void addException(Exception exception) {
-			exceptions.add(exception);
-		}
-
-		@Override
-		public Exception[] getExceptions() {
-			return exceptions.toArray(new Exception[exceptions.size()]);
-		}
-
-		@Override
-		public void addMessage(String message) {
-			if (logMessages) {
-				if (messages.size() >= maxMonitorMessages) {
-					messages.remove(0);
-				}
-
-				messages.add(message);
-			}
-		}
-
-		@Override
-		public void addErrorMessage(UnifyError unifyError) {
-			if (logMessages) {
-				try {
-					addMessage(getSessionMessage(unifyError.getErrorCode(), unifyError.getErrorParams()));
-				} catch (UnifyException e) {
-					addException(e);
-				}
-			}
-		}
-
-		@Override
-		public String[] getMessages() {
-			if (logMessages) {
-				return messages.toArray(new String[messages.size()]);
-			}
-
-			return DataUtils.ZEROLEN_STRING_ARRAY;
-		}
-
-		@Override
-		public String getLastMessage() {
-			if (logMessages) {
-				if (!messages.isEmpty()) {
-					return messages.get(messages.size() - 1);
-				}
-			}
-
-			return null;
-		}
-
-		@Override
-		public void clearMessages() {
-			messages.clear();
-		}
-
-	}
-
-}
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.tcdng.unify.core.AbstractUnifyComponent;
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.RequestContext;
+import com.tcdng.unify.core.RequestContextManager;
+import com.tcdng.unify.core.UnifyCorePropertyConstants;
+import com.tcdng.unify.core.UnifyError;
+import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.UserToken;
+import com.tcdng.unify.core.UserTokenProvider;
+import com.tcdng.unify.core.annotation.Component;
+import com.tcdng.unify.core.annotation.Configurable;
+import com.tcdng.unify.core.annotation.PeriodicType;
+import com.tcdng.unify.core.annotation.Singleton;
+import com.tcdng.unify.core.util.DataUtils;
+import com.tcdng.unify.core.util.StringUtils;
+import com.tcdng.unify.core.util.ThreadUtils;
+
+/**
+ * Task runner implementation.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+@Singleton(false)
+@Component("task-runner")
+public class TaskRunnerImpl extends AbstractUnifyComponent implements TaskRunner {
+
+	private static final long DEFAULT_SHUTDOWN_WAIT_MILLISECONDS = 60000L;
+
+	private static final int DEFAULT_MAX_MONITOR_MESSAGES = 100;
+
+	@Configurable(ApplicationComponents.APPLICATION_REQUESTCONTEXTMANAGER)
+	private RequestContextManager requestContextManager;
+
+	@Configurable
+	private UserTokenProvider userTokenProvider;
+	
+	private ExecutorService processingExecutor;
+
+	private final Set<String> tasks;
+
+	private long shutdownWaitMilliSecs;
+
+	private int maxMonitorMessages;
+
+	private int maxRunThread;
+
+	private int maxPartitionParallelism;
+
+	private boolean started;
+
+	private boolean permitMultiple;
+	
+	public TaskRunnerImpl() {
+		this.tasks = new HashSet<String>();
+	}
+	
+	@Override
+	public boolean start(int maxRunThread, boolean permitMultiple) {
+		logDebug("Starting task runner [{0}] with maximum run threads [{1}]...", this, maxRunThread);
+		if (!this.started) {
+			synchronized (this) {
+				if (!this.started) {
+					this.maxRunThread = maxRunThread <= 0 ? 1 : maxRunThread;
+					this.processingExecutor = Executors.newFixedThreadPool(this.maxRunThread);
+					this.permitMultiple = permitMultiple;
+					this.started = true;
+					logDebug("Task runner [{0}] is successfully started.", this);
+					return true;
+				}
+			}
+		}
+
+		logDebug("Task runner [{0}] is already started.", this);
+		return false;
+	}
+
+	@Override
+	public void stop() {
+		logDebug("Stopping task runner [{0}] ...", this);
+		if (started) {
+			synchronized (this) {
+				if (started) {
+					processingExecutor.shutdown();
+					started = false;
+					tasks.clear();
+					
+					try {
+						processingExecutor.awaitTermination(shutdownWaitMilliSecs, TimeUnit.MILLISECONDS);
+					} catch (InterruptedException e) {
+						logSevere(e);
+					}
+
+					logDebug("Task runner [{0}] is successfully stopped.", this);
+					return;
+				}
+			}
+		}
+
+		logDebug("Task runner [{0}] is already stopped.", this);
+	}
+
+	@Override
+	public boolean isRunning() {
+		return started;
+	}
+
+	@Override
+	public boolean isScheduled(String taskName) {
+		return tasks.contains(taskName);
+	}
+
+	@Override
+	public TaskMonitor schedule(PeriodicType periodicType, String taskName, Map<String, Object> parameters,
+			boolean logMessages, long inDelayInMillSec) throws UnifyException {
+		return schedule(null, taskName, parameters, logMessages, inDelayInMillSec, periodicType.getPeriodInMillSec(),
+				0);
+	}
+
+	@Override
+	public TaskMonitor schedule(String taskName, Map<String, Object> parameters, boolean logMessages,
+			long inDelayInMillSec, long periodInMillSec, int numberOfTimes) throws UnifyException {
+		return schedule(null, taskName, parameters, logMessages, inDelayInMillSec, periodInMillSec, numberOfTimes);
+	}
+
+	@Override
+	public TaskMonitor schedule(TaskableMethodConfig tmc, String taskName, Map<String, Object> parameters,
+			boolean logMessages, long inDelayInMillSec, long periodInMillSec, int numberOfTimes) throws UnifyException {
+		boolean _permitMultiple = permitMultiple;
+		String actualTaskName = taskName;
+		if (tmc != null) {
+			_permitMultiple &= tmc.isPermitMultiple();
+			actualTaskName = TaskableMethodConstants.TASKABLE_METHOD_TASK;
+		}
+
+		return internalSchedule(tmc, actualTaskName, taskName, parameters, _permitMultiple, logMessages,
+				inDelayInMillSec, periodInMillSec, numberOfTimes);
+	}
+
+	private TaskMonitor internalSchedule(TaskableMethodConfig tmc, String actualTaskName, String taskName,
+			Map<String, Object> parameters, boolean _permitMultiple, boolean logMessages, long inDelayInMillSec,
+			long periodInMillSec, int numberOfTimes) throws UnifyException {
+		if (numberOfTimes > 0) {
+			logDebug(
+					"Scheduling task [{0} - {1}] for execution [{2}] time(s) with initial delay [{3}ms] and repeat period [{4}ms]...",
+					actualTaskName, taskName, numberOfTimes, inDelayInMillSec, periodInMillSec);
+		} else {
+			logDebug(
+					"Scheduling task [{0} - {1}] for continuous execution with initial delay [{2}ms] and repeat period [{3}ms]...",
+					actualTaskName, taskName, inDelayInMillSec, periodInMillSec);
+		}
+
+		TaskMonitorImpl tm = new TaskMonitorImpl(actualTaskName, logMessages, numberOfTimes);
+		if (isRunning()) {
+			synchronized (this) {
+				if (isRunning()) {
+					if (_permitMultiple || !isScheduled(taskName)) {
+						TaskRunParams params = new TaskRunParams(taskName, tm, tmc, parameters, inDelayInMillSec, periodInMillSec,
+								numberOfTimes, _permitMultiple);
+						schedule(params);
+					} else {
+						tm.notPermitted();
+					}
+				} else {
+					throwOperationErrorException(new IllegalStateException("Task runner is not started."));
+				}
+			}
+		} else {
+			throwOperationErrorException(new IllegalStateException("Task runner is not started."));
+		}
+
+		logDebug("Scheduling of task [{0}] completed with permitted [{1}].", actualTaskName, !tm.isNotPermitted());
+		return tm;
+	}
+
+	@Override
+	protected void onInitialize() throws UnifyException {
+		shutdownWaitMilliSecs = getContainerSetting(long.class,
+				UnifyCorePropertyConstants.APPLICATION_TASKRUNNER_SHUTDOWN_MILLISECONDS,
+				DEFAULT_SHUTDOWN_WAIT_MILLISECONDS);
+		maxMonitorMessages = getContainerSetting(int.class,
+				UnifyCorePropertyConstants.APPLICATION_MAX_TASKMONITOR_MESSAGES, DEFAULT_MAX_MONITOR_MESSAGES);
+		maxPartitionParallelism = getContainerSetting(int.class,
+				UnifyCorePropertyConstants.APPLICATION_MAX_TASKPARTITION_PARALLELISM, 0);
+	}
+
+	@Override
+	protected void onTerminate() throws UnifyException {
+		stop();
+	}
+
+	private void schedule(TaskRunParams params) {
+		tasks.add(params.getTaskName());
+
+		if (params.isWithInDelayInMillSec()) {
+			new WaitThread(params, params.getInDelayInMillSec()).start();
+		} else {
+			processingExecutor.execute(new TaskRunnable(params));
+		}
+	}
+
+	private boolean scheduleRepeatIfNecessary(TaskRunParams params) {
+		if (params.incRunCounterAndCheckRepeat() && !params.getTm().isCancelled()) {
+			if (params.isWithPeriodInMillSec()) {
+				new WaitThread(params, params.getPeriodInMillSec()).start();
+			} else {
+				processingExecutor.execute(new TaskRunnable(params));
+			}
+
+			// Repeat
+			return true;
+		}
+
+		// Done
+		if (!params.isPermitMultiple()) {
+			tasks.remove(params.getTaskName());
+		}
+
+		return false;
+	}
+
+	private void executePartitioned(Task task, TaskMonitorImpl tm, TaskInput input, UserToken userToken)
+			throws UnifyException {
+		final TaskableMethodConfig tmc = input.getTmc();
+		TaskPartitioner partitioner = getComponent(TaskPartitioner.class, tmc.getPartitioner());
+		List<TaskInput> slices = partitioner.partition(input);
+		final int sliceCount = slices != null ? slices.size() : 0;
+		tm.getTaskOutput().setResult(TaskableMethodConstants.TASK_PARTITION_COUNT, sliceCount);
+		if (sliceCount == 0) {
+			tm.getTaskOutput().setResult(TaskableMethodConstants.TASK_RESULT, new ArrayList<Object>());
+			return;
+		}
+
+		int parallelism = tmc.getParallelism() > 0 ? tmc.getParallelism()
+				: (maxPartitionParallelism > 0 ? maxPartitionParallelism : maxRunThread);
+		parallelism = Math.min(Math.min(parallelism, maxRunThread), sliceCount);
+		logDebug("Executing task [{0}] in [{1}] partitions with parallelism [{2}]...", tmc.getName(), sliceCount,
+				parallelism);
+
+		// Calling thread always participates and withdraws workers still queued
+		// when it runs out of partitions, so it only waits on running workers
+		// and never on pool threads held by other partitioned tasks
+		PartitionRun run = new PartitionRun(task, tm, slices);
+		final CountDownLatch latch = new CountDownLatch(parallelism - 1);
+		List<PartitionWorker> workers = new ArrayList<PartitionWorker>();
+		for (int i = 1; i < parallelism; i++) {
+			PartitionWorker worker = new PartitionWorker(run, userToken, latch);
+			workers.add(worker);
+			processingExecutor.execute(worker);
+		}
+
+		run.work();
+		for (PartitionWorker worker : workers) {
+			if (worker.claim()) {
+				latch.countDown();
+			}
+		}
+
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throwOperationErrorException(e);
+		}
+
+		tm.getTaskOutput().setResult(TaskableMethodConstants.TASK_RESULT, run.getResults());
+		logDebug("Partitioned task [{0}] completed [{1}] of [{2}] partitions.", tmc.getName(), run.getCompleted(),
+				sliceCount);
+	}
+
+	private class PartitionRun {
+
+		private final Task task;
+
+		private final TaskMonitorImpl tm;
+
+		private final List<TaskInput> slices;
+
+		private final Object[] results;
+
+		private final AtomicInteger next;
+
+		private final AtomicInteger completed;
+
+		private volatile boolean failed;
+
+		public PartitionRun(Task task, TaskMonitorImpl tm, List<TaskInput> slices) {
+			this.task = task;
+			this.tm = tm;
+			this.slices = slices;
+			this.results = new Object[slices.size()];
+			this.next = new AtomicInteger();
+			this.completed = new AtomicInteger();
+		}
+
+		public void work() {
+			int index = 0;
+			while (!isStopped() && (index = next.getAndIncrement()) < slices.size()) {
+				PartitionTaskMonitor ptm = new PartitionTaskMonitor(this);
+				try {
+					task.execute(ptm, slices.get(index));
+					results[index] = ptm.getTaskOutput().getResult(TaskableMethodConstants.TASK_RESULT);
+					final int _completed = completed.incrementAndGet();
+					synchronized (tm) {
+						tm.getTaskOutput().setResult(TaskableMethodConstants.TASK_PARTITIONS_COMPLETED, _completed);
+					}
+				} catch (Exception e) {
+					fail(e);
+				}
+			}
+		}
+
+		public void fail(Exception e) {
+			synchronized (tm) {
+				if (!failed) {
+					failed = true;
+					tm.addException(e);
+					logError(e);
+				}
+			}
+		}
+
+		public boolean isStopped() {
+			return failed || tm.isCancelled();
+		}
+
+		public TaskMonitorImpl getTm() {
+			return tm;
+		}
+
+		public int getCompleted() {
+			return completed.get();
+		}
+
+		public List<Object> getResults() {
+			return Arrays.asList(results);
+		}
+	}
+
+	private class PartitionWorker implements Runnable {
+
+		private final PartitionRun run;
+
+		private final UserToken userToken;
+
+		private final CountDownLatch latch;
+
+		private final AtomicBoolean claimed;
+
+		public PartitionWorker(PartitionRun run, UserToken userToken, CountDownLatch latch) {
+			this.run = run;
+			this.userToken = userToken;
+			this.latch = latch;
+			this.claimed = new AtomicBoolean();
+		}
+
+		public boolean claim() {
+			return claimed.compareAndSet(false, true);
+		}
+
+		@Override
+		public void run() {
+			if (!claim()) {
+				return;
+			}
+
+			try {
+				RequestContext requestContext = getRequestContext();
+				requestContextManager.loadRequestContext(requestContext);
+				if (userToken != null && requestContext.getSessionContext().getUserToken() == null) {
+					requestContext.getSessionContext().setUserToken(userToken);
+				}
+
+				run.work();
+			} catch (Exception e) {
+				run.fail(e);
+			} finally {
+				try {
+					requestContextManager.unloadRequestContext();
+				} catch (Exception e) {
+					logError(e);
+				}
+
+				latch.countDown();
+			}
+		}
+	}
+
+	private class PartitionTaskMonitor implements TaskMonitor {
+
+		private final PartitionRun run;
+
+		private final TaskMonitorImpl tm;
+
+		private final TaskOutput output;
+
+		public PartitionTaskMonitor(PartitionRun run) {
+			this.run = run;
+			this.tm = run.getTm();
+			this.output = new TaskOutput();
+		}
+
+		@Override
+		public String getTaskName() {
+			return tm.getTaskName();
+		}
+
+		@Override
+		public TaskOutput getTaskOutput() {
+			return output;
+		}
+
+		@Override
+		public void addMessage(String message) {
+			synchronized (tm) {
+				tm.addMessage(message);
+			}
+		}
+
+		@Override
+		public void addErrorMessage(UnifyError unifyError) {
+			synchronized (tm) {
+				tm.addErrorMessage(unifyError);
+			}
+		}
+
+		@Override
+		public String[] getMessages() {
+			synchronized (tm) {
+				return tm.getMessages();
+			}
+		}
+
+		@Override
+		public String getLastMessage() {
+			synchronized (tm) {
+				return tm.getLastMessage();
+			}
+		}
+
+		@Override
+		public void clearMessages() {
+			synchronized (tm) {
+				tm.clearMessages();
+			}
+		}
+
+		@Override
+		public void addException(Exception e) {
+			run.fail(e);
+		}
+
+		@Override
+		public Exception[] getExceptions() {
+			synchronized (tm) {
+				return tm.getExceptions();
+			}
+		}
+
+		@Override
+		public TaskStatus getTaskStatus() {
+			return run.isStopped() ? TaskStatus.CANCELED : tm.getTaskStatus();
+		}
+
+		@Override
+		public int expectedRuns() {
+			return tm.expectedRuns();
+		}
+
+		@Override
+		public int actualRuns() {
+			return tm.actualRuns();
+		}
+
+		@Override
+		public void cancel() {
+			tm.cancel();
+		}
+
+		@Override
+		public boolean isNotPermitted() {
+			return tm.isNotPermitted();
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return run.isStopped();
+		}
+
+		@Override
+		public boolean isExceptions() {
+			return tm.isExceptions();
+		}
+
+		@Override
+		public boolean isDone() {
+			return tm.isDone();
+		}
+
+		@Override
+		public boolean isRunning() {
+			return tm.isRunning();
+		}
+
+		@Override
+		public boolean isExited() {
+			return tm.isExited();
+		}
+	}
+
+	private class WaitThread extends Thread {
+
+		private final TaskRunParams params;
+
+		private final long waitMilliSecs;
+
+		public WaitThread(TaskRunParams params, long waitMilliSecs) {
+			this.params = params;
+			this.waitMilliSecs = waitMilliSecs;
+		}
+
+		@Override
+		public void run() {
+			ThreadUtils.sleep(waitMilliSecs);
+			processingExecutor.execute(new TaskRunnable(params));
+		}
+
+	}
+
+	private class TaskRunnable implements Runnable {
+
+		private final TaskRunParams params;
+
+		private final String lockToTry;
+
+		private final Long tenantId;
+
+		private final String userLoginId;
+
+		public TaskRunnable(TaskRunParams params) {
+			this.params = params;
+			this.tenantId = (Long) params.getParameter(TaskParameterConstants.TENANT_ID);
+			this.userLoginId = (String) params.getParameter(TaskParameterConstants.USER_LOGIN_ID);
+			this.lockToTry = (String) params.getParameter(TaskParameterConstants.LOCK_TO_TRY);
+		}
+
+		@Override
+		public void run() {
+			final boolean lock = !StringUtils.isBlank(lockToTry);
+			final TaskMonitorImpl tm = params.getTm();
+			tm.begin();
+			try {
+				if (!lock || tryGrabLock(lockToTry)) {
+					try {
+						RequestContext requestContext = getRequestContext();
+						requestContextManager.loadRequestContext(requestContext);
+						if (requestContext.getSessionContext().getUserToken() == null) {
+							if (userTokenProvider != null && !StringUtils.isBlank(userLoginId)) {
+								UserToken userToken = userTokenProvider.getUserToken(userLoginId, tenantId);
+								requestContext.getSessionContext().setUserToken(userToken);
+							}
+						}
+
+						TaskInput input = params.isWithTaskableMethodConfig()
+								? new TaskInput(params.getActualTaskName(), params.getTaskableMethodConfig(),
+										params.getParameters())
+								: new TaskInput(params.getActualTaskName(), params.getParameters());
+						Task task = getComponent(Task.class, params.getActualTaskName());
+						if (input.isWithTmc() && input.getTmc().isPartitioned()) {
+							executePartitioned(task, tm, input, requestContext.getSessionContext().getUserToken());
+						} else {
+							task.execute(tm, input);
+						}
+					} catch (Exception e) {
+						tm.addException(e);
+						logError(e);
+					} finally {
+						if (lock) {
+							releaseLock(lockToTry);
+						}
+
+						try {
+							requestContextManager.unloadRequestContext();
+						} catch (Exception e) {
+							logError(e);
+						}
+					}
+				}
+			} catch (Exception e) {
+				tm.addException(e);
+				logError(e);
+			} finally {
+				tm.done();
+			}
+
+			scheduleRepeatIfNecessary(params);
+		}
+
+	}
+
+	private class TaskRunParams {
+
+		private final String taskName;
+		
+		private final TaskMonitorImpl tm;
+
+		private final TaskableMethodConfig tmc;
+
+		private final Map<String, Object> parameters;
+
+		private final long inDelayInMillSec;
+
+		private final long periodInMillSec;
+
+		private final int numberOfTimes;
+
+		private final boolean permitMultiple;
+		
+		private long runCounter;
+
+		public TaskRunParams(String taskName, TaskMonitorImpl tm, TaskableMethodConfig tmc, Map<String, Object> parameters,
+				long inDelayInMillSec, long periodInMillSec, int numberOfTimes, boolean permitMultiple) {
+			this.taskName = taskName;
+			this.tm = tm;
+			this.tmc = tmc;
+			this.parameters = parameters;
+			this.inDelayInMillSec = inDelayInMillSec;
+			this.periodInMillSec = periodInMillSec;
+			this.numberOfTimes = numberOfTimes;
+			this.permitMultiple = permitMultiple;
+			this.runCounter = 0L;
+		}
+
+		public TaskMonitorImpl getTm() {
+			return tm;
+		}
+
+		public String getTaskName() {
+			return taskName;
+		}
+
+		public String getActualTaskName() {
+			return tm.getTaskName();
+		}
+
+		public TaskableMethodConfig getTaskableMethodConfig() {
+			return tmc;
+		}
+
+		public boolean isWithTaskableMethodConfig() {
+			return tmc != null;
+		}
+
+		public Map<String, Object> getParameters() {
+			return parameters;
+		}
+
+		public Object getParameter(String name) {
+			return parameters != null ? parameters.get(name) : null;
+		}
+
+		public long getInDelayInMillSec() {
+			return inDelayInMillSec;
+		}
+
+		public boolean isWithInDelayInMillSec() {
+			return inDelayInMillSec > 0;
+		}
+
+		public long getPeriodInMillSec() {
+			return periodInMillSec;
+		}
+
+		public boolean isWithPeriodInMillSec() {
+			return periodInMillSec > 0;
+		}
+
+		public boolean incRunCounterAndCheckRepeat() {
+			++runCounter;
+			return numberOfTimes <= 0 || runCounter < numberOfTimes;
+		}
+
+		public boolean isPermitMultiple() {
+			return permitMultiple;
+		}
+
+	}
+
+	private class TaskMonitorImpl implements TaskMonitor {
+
+		private static final int CANCELLED = -1;
+
+		private static final int PENDING = 0;
+
+		private static final int RUNNING = 1;
+
+		private static final int DONE = 2;
+
+		private static final int NOT_PERMITTED = 3;
+
+		private String taskName;
+
+		private List<String> messages;
+
+		private List<Exception> exceptions;
+
+		private final TaskOutput output;
+
+		private final boolean logMessages;
+
+		private final int expectedRuns;
+
+		private int actualRuns;
+
+		private int running;
+
+		public TaskMonitorImpl(String taskName, boolean logMessages, int expectedRuns) {
+			this.output = new TaskOutput();
+			this.taskName = taskName;
+			this.logMessages = logMessages;
+			this.expectedRuns = expectedRuns;
+			this.exceptions = new ArrayList<Exception>();
+			if (this.logMessages) {
+				messages = new ArrayList<String>();
+			}
+
+			this.running = PENDING;
+			this.actualRuns = 0;
+		}
+
+		@Override
+		public String getTaskName() {
+			return taskName;
+		}
+
+		public void begin() {
+			if (running == PENDING) {
+				running = RUNNING;
+			}
+		}
+
+		public void done() {
+			if (running == RUNNING) {
+				actualRuns++;
+				if (expectedRuns > 0 && actualRuns >= expectedRuns) {
+					running = DONE;
+				}
+			}
+		}
+
+		public void notPermitted() {
+			if (running == PENDING) {
+				running = NOT_PERMITTED;
+			}
+		}
+
+		@Override
+		public void cancel() {
+			if (running == PENDING || running == RUNNING) {
+				running = CANCELLED;
+			}
+		}
+
+		@Override
+		public int expectedRuns() {
+			return expectedRuns;
+		}
+
+		@Override
+		public int actualRuns() {
+			return actualRuns;
+		}
+
+		@Override
+		public TaskStatus getTaskStatus() {
+			if (isDone()) {
+				return isExceptions() ? TaskStatus.FAILED:  TaskStatus.SUCCESSFUL;
+			}
+
+			if (isRunning()) {
+				return TaskStatus.RUNNING;
+			}	
+			
+			if (isCancelled()) {
+				return TaskStatus.CANCELED;
+			}
+			
+			if (isNotPermitted()) {
+				return TaskStatus.ABORTED;
+			}
+
+			return TaskStatus.INITIALIZED;
+		}
+
+		@Override
+		public boolean isNotPermitted() {
+			return running == NOT_PERMITTED;
+		}
+
+		@Override
+		public boolean isExceptions() {
+			return !exceptions.isEmpty();
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return running == CANCELLED;
+		}
+
+		@Override
+		public boolean isRunning() {
+			return running == RUNNING;
+		}
+
+		@Override
+		public boolean isDone() {
+			return running == DONE;
+		}
+
+		@Override
+		public boolean isExited() {
+			return isNotPermitted() || isCancelled() || isDone();
+		}
+
+		@Override
+		public TaskOutput getTaskOutput() {
+			return output;
+		}
+
+		@Override
+		public void addException(Exception exception) {
+			exceptions.add(exception);
+		}
+
+		@Override
+		public Exception[] getExceptions() {
+			return exceptions.toArray(new Exception[exceptions.size()]);
+		}
+
+		@Override
+		public void addMessage(String message) {
+			if (logMessages) {
+				if (messages.size() >= maxMonitorMessages) {
+					messages.remove(0);
+				}
+
+				messages.add(message);
+			}
+		}
+
+		@Override
+		public void addErrorMessage(UnifyError unifyError) {
+			if (logMessages) {
+				try {
+					addMessage(getSessionMessage(unifyError.getErrorCode(), unifyError.getErrorParams()));
+				} catch (UnifyException e) {
+					addException(e);
+				}
+			}
+		}
+
+		@Override
+		public String[] getMessages() {
+			if (logMessages) {
+				return messages.toArray(new String[messages.size()]);
+			}
+
+			return DataUtils.ZEROLEN_STRING_ARRAY;
+		}
+
+		@Override
+		public String getLastMessage() {
+			if (logMessages) {
+				if (!messages.isEmpty()) {
+					return messages.get(messages.size() - 1);
+				}
+			}
+
+			return null;
+		}
+
+		@Override
+		public void clearMessages() {
+			messages.clear();
+		}
+
+	}
+
+}
@@ -46,8 +46,19 @@ public class TaskableMethodConfig implements Listable {
 
     private boolean schedulable;
 
+    private String partitioner;
+
+    private int parallelism;
+
     public TaskableMethodConfig(String name, String description, String componentName, Method method,
             List<ParamConfig> paramConfigList, TaskExecLimit taskExecLimit, String idGenerator, boolean schedulable) {
+        this(name, description, componentName, method, paramConfigList, taskExecLimit, idGenerator, schedulable, null,
+                0);
+    }
+
+    public TaskableMethodConfig(String name, String description, String componentName, Method method,
+            List<ParamConfig> paramConfigList, TaskExecLimit taskExecLimit, String idGenerator, boolean schedulable,
+            String partitioner, int parallelism) {
         this.name = name;
         this.description = description;
         this.componentName = componentName;
@@ -56,6 +67,8 @@ public class TaskableMethodConfig implements Listable {
         this.taskExecLimit = taskExecLimit;
         this.idGenerator = idGenerator;
         this.schedulable = schedulable;
+        this.partitioner = partitioner;
+        this.parallelism = parallelism;
     }
 
     @Override
@@ -107,4 +120,16 @@ public class TaskableMethodConfig implements Listable {
     public boolean isSchedulable() {
         return schedulable;
     }
+
+    public String getPartitioner() {
+        return partitioner;
+    }
+
+    public boolean isPartitioned() {
+        return partitioner != null;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
 }
@@ -27,4 +27,8 @@ public interface TaskableMethodConstants {
 
     String TASK_RESULT = "taskResult";
 
+    String TASK_PARTITION_COUNT = "taskPartitionCount";
+
+    String TASK_PARTITIONS_COMPLETED = "taskPartitionsCompleted";
+
 }
@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.upl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.tcdng.unify.core.util.EncodingUtils;
+import com.tcdng.unify.core.util.IOUtils;
+
+/**
+ * Persistent cache of compiled locale-neutral UPL documents. Each document is
+ * stored in its own entry in a cache folder together with the names of all
+ * sources it was compiled from and a key computed from a hash of those sources
+ * and versions. An entry is used only if its key matches the key of the
+ * current sources.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class CompiledUplCache {
+
+    public static final String ENTRY_EXTENSION = ".upc";
+
+    private static final int ENTRY_MAGIC = 0x55504301;
+
+    private static final String KEY_VERSION = "upc-1;" + System.getProperty("java.specification.version") + ";";
+
+    private final File folder;
+
+    private final AtomicLong hits;
+
+    private final AtomicLong misses;
+
+    /**
+     * Creates a compiled UPL cache.
+     * 
+     * @param folder
+     *            the cache folder
+     */
+    public CompiledUplCache(File folder) {
+        this.folder = folder;
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+    }
+
+    /**
+     * Computes the cache key for supplied document sources.
+     * 
+     * @param parts
+     *            the key parts. Versions, names and source content.
+     * @return the hex encoded hash key
+     */
+    public static String getKey(String... parts) {
+        MessageDigest digest = EncodingUtils.getSha256Digest();
+        digest.update(KEY_VERSION.getBytes(StandardCharsets.UTF_8));
+        for (String part : parts) {
+            if (part != null) {
+                digest.update(part.getBytes(StandardCharsets.UTF_8));
+            }
+
+            digest.update((byte) 0);
+        }
+
+        return EncodingUtils.getHexString(digest.digest());
+    }
+
+    /**
+     * Gets the names of sources a cached document was compiled from.
+     * 
+     * @param name
+     *            the document name
+     * @return the source names, otherwise null if document is not cached
+     */
+    public List<String> getSourceNames(String name) {
+        File file = getEntryFile(name);
+        if (file.isFile()) {
+            DataInputStream din = null;
+            try {
+                din = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+                if (readHeader(din, name)) {
+                    return readSourceNames(din);
+                }
+            } catch (IOException e) {
+                file.delete();
+            } finally {
+                IOUtils.close(din);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets a cached document.
+     * 
+     * @param name
+     *            the document name
+     * @param key
+     *            the key of the document's current sources
+     * @return the cached document, otherwise null if not cached, stale or
+     *         unreadable
+     */
+    public UplDocument get(String name, String key) {
+        UplDocument uplDocument = null;
+        File file = getEntryFile(name);
+        if (file.isFile()) {
+            DataInputStream din = null;
+            try {
+                din = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+                if (readHeader(din, name) && readSourceNames(din) != null && key.equals(din.readUTF())) {
+                    uplDocument = (UplDocument) new ObjectInputStream(din).readObject();
+                }
+            } catch (Exception e) {
+                file.delete();
+            } finally {
+                IOUtils.close(din);
+            }
+        }
+
+        if (uplDocument != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+
+        return uplDocument;
+    }
+
+    /**
+     * Persists a compiled document to cache folder.
+     * 
+     * @param name
+     *            the document name
+     * @param sourceNames
+     *            the names of all sources document was compiled from
+     * @param key
+     *            the key of the document's sources
+     * @param uplDocument
+     *            the compiled document
+     * @return true if persisted, false if folder is not writable or document
+     *         holds values that can not be serialized
+     */
+    public boolean put(String name, List<String> sourceNames, String key, UplDocument uplDocument) {
+        if (!folder.isDirectory() && !folder.mkdirs() && !folder.isDirectory()) {
+            return false;
+        }
+
+        // Write to temporary file first then move so readers never see partial entries
+        File file = getEntryFile(name);
+        File tmpFile = new File(folder, file.getName() + "." + Thread.currentThread().getId() + ".tmp");
+        DataOutputStream out = null;
+        try {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)));
+            out.writeInt(ENTRY_MAGIC);
+            out.writeUTF(name);
+            out.writeInt(sourceNames.size());
+            for (String sourceName : sourceNames) {
+                out.writeUTF(sourceName);
+            }
+            out.writeUTF(key);
+            ObjectOutputStream oout = new ObjectOutputStream(out);
+            oout.writeObject(uplDocument);
+            oout.close();
+            out = null;
+
+            if (!tmpFile.renameTo(file)) {
+                file.delete();
+                if (!tmpFile.renameTo(file)) {
+                    tmpFile.delete();
+                    return false;
+                }
+            }
+
+            return true;
+        } catch (IOException e) {
+            IOUtils.close(out);
+            tmpFile.delete();
+            return false;
+        }
+    }
+
+    /**
+     * Returns the names of documents with entries in cache folder.
+     */
+    public List<String> getNames() {
+        List<String> names = new ArrayList<String>();
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isFile() && file.getName().endsWith(ENTRY_EXTENSION)) {
+                    DataInputStream din = null;
+                    try {
+                        din = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+                        if (din.readInt() == ENTRY_MAGIC) {
+                            names.add(din.readUTF());
+                        }
+                    } catch (IOException e) {
+                        // Ignore unreadable entry
+                    } finally {
+                        IOUtils.close(din);
+                    }
+                }
+            }
+        }
+
+        return names;
+    }
+
+    public File getFolder() {
+        return folder;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private boolean readHeader(DataInputStream din, String name) throws IOException {
+        if (din.readInt() != ENTRY_MAGIC) {
+            throw new IOException("Bad compiled UPL cache entry.");
+        }
+
+        return name.equals(din.readUTF());
+    }
+
+    private List<String> readSourceNames(DataInputStream din) throws IOException {
+        int count = din.readInt();
+        List<String> sourceNames = new ArrayList<String>(count);
+        for (int i = 0; i < count; i++) {
+            sourceNames.add(din.readUTF());
+        }
+
+        return sourceNames;
+    }
+
+    private File getEntryFile(String name) {
+        return new File(folder, getKey(name) + ENTRY_EXTENSION);
+    }
+}
@@ -15,13 +15,17 @@
  */
 package com.tcdng.unify.core.upl;
 
+import java.io.Serializable;
+
 /**
  * UPL attribute information.
  * 
  * @author The Code Department
  * @since 4.1
  */
-public class UplAttributeInfo {
+public class UplAttributeInfo implements Serializable {
+
+    private static final long serialVersionUID = -6603517437187301585L;
 
     private Class<?> attributeClass;
 
@@ -15,16 +15,23 @@
  */
 package com.tcdng.unify.core.upl;
 
+import java.io.File;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
 import java.io.LineNumberReader;
 import java.io.Reader;
+import java.io.Serializable;
 import java.io.StringReader;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.tcdng.unify.core.AbstractUnifyComponent;
 import com.tcdng.unify.core.ApplicationComponents;
@@ -35,15 +42,15 @@ import com.tcdng.unify.core.UnifyCoreSessionAttributeConstants;
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.annotation.Component;
 import com.tcdng.unify.core.annotation.Configurable;
+import com.tcdng.unify.core.annotation.Periodic;
+import com.tcdng.unify.core.annotation.PeriodicType;
 import com.tcdng.unify.core.annotation.UplAttribute;
 import com.tcdng.unify.core.annotation.UplAttributes;
 import com.tcdng.unify.core.annotation.UplBinding;
 import com.tcdng.unify.core.data.CycleDetector;
 import com.tcdng.unify.core.data.FactoryMap;
-import com.tcdng.unify.core.data.LocaleFactoryMaps;
-import com.tcdng.unify.core.data.LocaleMaps;
-import com.tcdng.unify.core.data.StaleableLocaleFactoryMaps;
-import com.tcdng.unify.core.message.ResourceBundles;
+import com.tcdng.unify.core.data.StaleableFactoryMap;
+import com.tcdng.unify.core.task.TaskMonitor;
 import com.tcdng.unify.core.upl.UplUtils.UplComponentClone;
 import com.tcdng.unify.core.upl.UplUtils.UplGeneratorTarget;
 import com.tcdng.unify.core.util.AnnotationUtils;
@@ -67,47 +74,52 @@ public class UplCompilerImpl extends AbstractUnifyComponent implements UplCompil
 	@Configurable("512")
 	private int multilineBufferSize;
 
-	private LocaleMaps<String, UplElementAttributes> uplElementAttributesMap;
+	private static final Object LOCALE_VALUE = LocaleValue.INSTANCE;
 
-	private LocaleFactoryMaps<String, UplElement> uplElementByDescriptorMap;
+	private Map<String, UplElement> uplElementAttributesMap;
 
-	private LocaleFactoryMaps<String, UplDocument> uplDocumentByNameMap;
+	private FactoryMap<String, UplElement> uplElementByDescriptorMap;
+
+	private FactoryMap<String, UplDocument> uplDocumentByNameMap;
 
 	private FactoryMap<String, UplAttributesInfo> uplAttributesInfoMap;
 
 	private FactoryMap<String, String> qualifiedNameByNameMap;
 
+	private CompiledUplCache compiledUplCache;
+
+	private volatile boolean preloadCachedDocuments;
+
 	public UplCompilerImpl() {
-		uplElementAttributesMap = new LocaleMaps<String, UplElementAttributes>();
+		uplElementAttributesMap = new ConcurrentHashMap<String, UplElement>();
 
-		uplElementByDescriptorMap = new LocaleFactoryMaps<String, UplElement>() {
+		uplElementByDescriptorMap = new FactoryMap<String, UplElement>() {
 			@Override
-			protected UplElement createObject(Locale locale, String descriptor, Object... params) throws Exception {
+			protected UplElement create(String descriptor, Object... params) throws Exception {
 				ParserContext parserContext = new ParserContext();
 				UplElement uplElement = parseElementType(parserContext, UplTypeConstants.DESCRIPTOR, "", 0, descriptor,
 						0, true);
 				parseDescriptor(parserContext, uplElement, descriptor, uplElement.getElementType().length() + 2);
 				postParse(parserContext, uplElement);
-				CompilerContext compilerContext = new CompilerContext("", getUnifyComponentContext().getMessages(),
-						locale);
+				CompilerContext compilerContext = new CompilerContext("");
 				compileAttributes(compilerContext, uplElement);
-				postCompile(uplElement, locale);
+				postCompile(uplElement);
 				registerByAttributesKey(compilerContext, uplElement, descriptor);
 				return uplElement;
 			}
 		};
 
-		uplDocumentByNameMap = new StaleableLocaleFactoryMaps<String, UplDocument>() {
+		uplDocumentByNameMap = new StaleableFactoryMap<String, UplDocument>() {
 
 			@Override
-			protected boolean valueStale(Locale locale, String name, UplDocument values) throws Exception {
+			protected boolean stale(String name, UplDocument uplDocument) throws Exception {
 				return isStaleDocument(name);
 			}
 
 			@Override
-			protected UplDocument createObject(Locale locale, String name, Object... params) throws Exception {
-				logDebug("Compiling UPL document [{0}] [{1}]...", name, locale);
-				return innerCompileUplDocument(name, locale);
+			protected UplDocument create(String name, Object... params) throws Exception {
+				logDebug("Compiling UPL document [{0}]...", name);
+				return innerCompileUplDocument(name);
 			}
 		};
 
@@ -164,18 +176,18 @@ public class UplCompilerImpl extends AbstractUnifyComponent implements UplCompil
 
 	@Override
 	public UplElementAttributes compileDescriptor(Locale locale, String descriptor) throws UnifyException {
-		return uplElementByDescriptorMap.get(locale, descriptor);
+		return localize(uplElementByDescriptorMap.get(descriptor), locale);
 	}
 
 	@Override
 	public UplDocumentAttributes compileComponentDocuments(Locale locale, String name) throws UnifyException {
-		return uplDocumentByNameMap.get(locale, name);
+		return (UplDocumentAttributes) localize(uplDocumentByNameMap.get(name), locale);
 	}
 
 	@Override
 	public boolean invalidateStaleDocument(String name) throws UnifyException {
 		if (isStaleDocument(name)) {
-			uplDocumentByNameMap.removeSubkeys(name);
+			uplDocumentByNameMap.remove(name);
 			return true;
 		}
 
@@ -184,17 +196,17 @@ public class UplCompilerImpl extends AbstractUnifyComponent implements UplCompil
 
 	@Override
 	public UplElementAttributes getUplElementAttributes(Locale locale, String attributesKey) throws UnifyException {
-		UplElementAttributes uplElementAttributes = uplElementAttributesMap.get(locale, attributesKey);
-		if (uplElementAttributes == null) {
-			forceCompile(locale, attributesKey);
-			uplElementAttributes = uplElementAttributesMap.get(locale, attributesKey);
+		UplElement uplElement = uplElementAttributesMap.get(attributesKey);
+		if (uplElement == null) {
+			forceCompile(attributesKey);
+			uplElement = uplElementAttributesMap.get(attributesKey);
 		}
 
-		if (uplElementAttributes == null) {
+		if (uplElement == null) {
 			throw new UnifyException(UnifyCoreErrorConstants.UPL_COMPILER_ATTRIBUTEKEY_UNKNOWN, attributesKey, locale);
 		}
 
-		return uplElementAttributes;
+		return localize(uplElement, locale);
 	}
 
 	@Override
@@ -212,9 +224,42 @@ public class UplCompilerImpl extends AbstractUnifyComponent implements UplCompil
 		}
 	}
 
+	/**
+	 * Loads documents persisted in compiled UPL cache once after startup so that
+	 * first requests after a restart do not pay for compilation.
+	 * 
+	 * @param taskMonitor the task monitor
+	 * @throws UnifyException if an error occurs
+	 */
+	@Periodic(PeriodicType.SLOW)
+	public void preloadCachedDocuments(TaskMonitor taskMonitor) throws UnifyException {
+		if (preloadCachedDocuments) {
+			preloadCachedDocuments = false;
+			List<String> names = compiledUplCache.getNames();
+			logDebug("Preloading [{0}] cached UPL documents...", names.size());
+			for (String name : names) {
+				try {
+					uplDocumentByNameMap.get(name);
+				} catch (UnifyException e) {
+					logError(e);
+				}
+			}
+		}
+	}
+
 	@Override
 	protected void onInitialize() throws UnifyException {
+		String folderName = getContainerSetting(String.class, UnifyCorePropertyConstants.APPLICATION_UPLCACHE_FOLDER);
+		if (!StringUtils.isBlank(folderName)) {
+			File folder = new File(folderName);
+			if (!folder.isAbsolute()) {
+				folder = new File(getWorkingPathFilename(folderName));
+			}
 
+			logInfo("Using compiled UPL cache folder [{0}]...", folder);
+			compiledUplCache = new CompiledUplCache(folder);
+			preloadCachedDocuments = true;
+		}
 	}
 
 	@Override
@@ -232,7 +277,7 @@ public class UplCompilerImpl extends AbstractUnifyComponent implements UplCompil
 		return stale;
 	}
 
-	private UplDocument innerCompileUplDocument(String componentName, Locale locale) throws UnifyException {
+	private UplDocument innerCompileUplDocument(String componentName) throws UnifyException {
 		// Check if clone
 		String actComponentName = componentName;
 		if (UplUtils.isUplCloneName(componentName)) {
@@ -251,8 +296,35 @@ public class UplCompilerImpl extends AbstractUnifyComponent implements UplCompil
 
 		Class<? extends UnifyComponent> typeClass = getComponentType(actComponentName);
 
+		// Use persisted compilation if all sources it was compiled from are unchanged
+		final boolean cacheable = compiledUplCache != null && generatedUpl == null;
+		if (cacheable) {
+			List<String> sourceNames = compiledUplCache.getSourceNames(componentName);
+			if (sourceNames != null) {
+				List<UplSource> sources = new ArrayList<UplSource>();
+				try {
+					for (String sourceName : sourceNames) {
+						sources.add(readUplSource(sourceName));
+					}
+				} catch (UnifyException e) {
+					sources = null;
+				}
+
+				if (sources != null) {
+					UplDocument uplDocument = compiledUplCache.get(componentName,
+							getCacheKey(componentName, typeClass, sources));
+					if (uplDocument != null) {
+						logDebug("Compiled UPL document [{0}] loaded from cache.", componentName);
+						registerCachedElement(uplDocument);
+						return uplDocument;
+					}
+				}
+			}
+		}
+
+		ParserContext parserContext = new ParserContext(actComponentName);
 		UplDocument uplDocument = new UplDocument();
-		parseDocument(new ParserContext(actComponentName), uplDocument, typeClass, generatedUpl);
+		parseDocument(parserContext, uplDocument, typeClass, generatedUpl);
 		uplDocument.generateLongNames(componentName);
 
 		CycleDetector<String> cycleDetector = new CycleDetector<String>();
@@ -262,8 +334,7 @@ public class UplCompilerImpl extends AbstractUnifyComponent implements UplCompil
 			throw new UnifyException(UnifyCoreErrorConstants.UPL_CYCLIC_REFERENCE_DETECTED, cycle.toString());
 		}
 
-		CompilerContext compilerContext = new CompilerContext(componentName, getUnifyComponentContext().getMessages(),
-				locale);
+		CompilerContext compilerContext = new CompilerContext(componentName);
 		compile(compilerContext, uplDocument);
 
 		// Register UPL attributes by attributes key
@@ -275,9 +346,63 @@ public class UplCompilerImpl extends AbstractUnifyComponent implements UplCompil
 		// Finalize
 		uplDocument.finalizeReferences();
 
+		if (cacheable) {
+			List<UplSource> sources = parserContext.getSources();
+			List<String> sourceNames = new ArrayList<String>();
+			for (UplSource source : sources) {
+				sourceNames.add(source.getName());
+			}
+
+			if (!compiledUplCache.put(componentName, sourceNames, getCacheKey(componentName, typeClass, sources),
+					uplDocument)) {
+				logDebug("Unable to persist compiled UPL document [{0}] to cache.", componentName);
+			}
+		}
+
 		return uplDocument;
 	}
 
+	private String getCacheKey(String componentName, Class<?> typeClass, List<UplSource> sources)
+			throws UnifyException {
+		List<String> parts = new ArrayList<String>();
+		parts.add(UplCompilerImpl.class.getPackage().getImplementationVersion());
+		parts.add(getDeploymentVersion());
+		parts.add(getAuxiliaryVersion());
+		parts.add(String.valueOf(getContainerSetting(Object.class, UnifyCorePropertyConstants.APPLICATION_LAYOUT)));
+		parts.add(componentName);
+		parts.add(typeClass.getName());
+		for (UplSource source : sources) {
+			parts.add(source.getName());
+			parts.add(source.getContent());
+		}
+
+		return CompiledUplCache.getKey(parts.toArray(new String[parts.size()]));
+	}
+
+	@SuppressWarnings("unchecked")
+	private void registerCachedElement(UplElement uplElement) throws UnifyException {
+		if (uplElement.getKey() != null) {
+			uplElementAttributesMap.put(uplElement.getKey(), uplElement);
+		}
+
+		for (String attribute : uplElement.getAttributeNames()) {
+			Object value = uplElement.getAttributeValue(attribute);
+			if (value instanceof InlineComponentValue) {
+				registerCachedElement(((InlineComponentValue) value).getUplElement());
+			} else if (value instanceof List) {
+				for (Object listValue : (List<Object>) value) {
+					if (listValue instanceof InlineComponentValue) {
+						registerCachedElement(((InlineComponentValue) listValue).getUplElement());
+					}
+				}
+			}
+		}
+
+		for (String id : uplElement.getChildIds()) {
+			registerCachedElement(uplElement.getChildElement(id));
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	private void updateUplElementReferences(UplElement parentUplElement, CycleDetector<String> cycleDetector)
 			throws UnifyException {
@@ -332,7 +457,7 @@ public class UplCompilerImpl extends AbstractUnifyComponent implements UplCompil
 			compile(compilerContext, compileUplElement.getChildElement(id));
 		}
 
-		postCompile(compileUplElement, compilerContext.getLocale());
+		postCompile(compileUplElement);
 	}
 
 	private void compileAttributes(CompilerContext compilerContext, UplElement compileUplElement)
@@ -341,6 +466,9 @@ public class UplCompilerImpl extends AbstractUnifyComponent implements UplCompil
 			Object value = compileValue(compilerContext, compileUplElement, attribute,
 					compileUplElement.getAttributeValue(attribute));
 			compileUplElement.setAttributeValue(attribute, value);
+			if (isLocaleDependent(value)) {
+				compileUplElement.addLocalizedAttribute(attribute);
+			}
 		}
 	}
 
@@ -363,8 +491,7 @@ public class UplCompilerImpl extends AbstractUnifyComponent implements UplCompil
 						? compileUplElement.getParentElement().getAttributeValue(string)
 						: compileUplElement.getAttributeValue(string);
 			} else if (TokenUtils.isMessageToken(string)) {
-				value = compilerContext.getMessages().getMessage(compilerContext.getLocale(),
-						TokenUtils.extractTokenValue(string));
+				value = new MessageValue(TokenUtils.extractTokenValue(string));
 			} else if (TokenUtils.isUnifyPropertyToken(string)) {
 				value = getContainerSetting(String.class, TokenUtils.extractTokenValue(string));
 			} else if (TokenUtils.isElementTypeTag(string)) {
@@ -379,7 +506,7 @@ public class UplCompilerImpl extends AbstractUnifyComponent implements UplCompil
 			UplElement valUPLElement = (UplElement) value;
 			compile(compilerContext, valUPLElement);
 			registerByAttributesKey(compilerContext, valUPLElement, valUPLElement.getSource());
-			value = getUplComponent(compilerContext.getLocale(), valUPLElement.getKey());
+			value = new InlineComponentValue(valUPLElement);
 		} else if (value instanceof List) {
 			List<Object> list = new ArrayList<Object>();
 			for (Object listValue : (List<Object>) value) {
@@ -445,7 +572,7 @@ public class UplCompilerImpl extends AbstractUnifyComponent implements UplCompil
 		uplElement.getParentElement().extendAttributes(newAttribute, uplAttributeInfo);
 	}
 
-	private void postCompile(UplElement uplElement, Locale locale) throws UnifyException {
+	private void postCompile(UplElement uplElement) throws UnifyException {
 		// Convert attribute values to appropriate types
 		UplAttributesInfo uplAttributesInfo = uplAttributesInfoMap.get(uplElement.getElementType());
 		for (String attribute : uplAttributesInfo.getAttributes()) {
@@ -458,8 +585,12 @@ public class UplCompilerImpl extends AbstractUnifyComponent implements UplCompil
 						uplElement.getSource(), uplElement.getLineNumber(), uplElement.getElementType(), attribute);
 			}
 
-			// Convert attribute values
-			uplElement.setAttributeValue(attribute, DataUtils.convert(uplAttributeInfo.getAttributeClass(), value));
+			// Convert attribute values. Locale dependent values are converted on
+			// resolution.
+			if (!uplElement.isLocalizedAttribute(attribute)) {
+				uplElement.setAttributeValue(attribute,
+						DataUtils.convert(uplAttributeInfo.getAttributeClass(), value));
+			}
 		}
 
 		// Detect unknown attributes
@@ -471,7 +602,70 @@ public class UplCompilerImpl extends AbstractUnifyComponent implements UplCompil
 		}
 
 		// Set element locale
-		uplElement.setAttributeValue("locale", locale);
+		uplElement.setAttributeValue("locale", LOCALE_VALUE);
+		uplElement.addLocalizedAttribute("locale");
+	}
+
+	/**
+	 * Returns the locale overlay of a compiled UPL element, creating one if
+	 * necessary.
+	 * 
+	 * @param uplElement the compiled locale-neutral element
+	 * @param locale     the overlay locale
+	 * @throws UnifyException if an error occurs
+	 */
+	private UplElementAttributes localize(UplElement uplElement, Locale locale) throws UnifyException {
+		UplElementAttributes localized = uplElement.getLocaleOverlay(locale);
+		if (localized == null) {
+			localized = uplElement.putLocaleOverlay(locale,
+					uplElement instanceof UplDocument ? new LocalizedUplDocument((UplDocument) uplElement, locale)
+							: new LocalizedUplElement(uplElement, locale));
+		}
+
+		return localized;
+	}
+
+	@SuppressWarnings("unchecked")
+	private boolean isLocaleDependent(Object value) {
+		if (value instanceof MessageValue || value instanceof InlineComponentValue || value == LOCALE_VALUE) {
+			return true;
+		}
+
+		if (value instanceof List) {
+			for (Object listValue : (List<Object>) value) {
+				if (isLocaleDependent(listValue)) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Object resolveLocaleDependent(Locale locale, Object value) throws UnifyException {
+		if (value instanceof MessageValue) {
+			return getUnifyComponentContext().getMessages().getMessage(locale, ((MessageValue) value).getKey());
+		}
+
+		if (value instanceof InlineComponentValue) {
+			return getUplComponent(locale, ((InlineComponentValue) value).getKey());
+		}
+
+		if (value == LOCALE_VALUE) {
+			return locale;
+		}
+
+		if (value instanceof List) {
+			List<Object> list = new ArrayList<Object>();
+			for (Object listValue : (List<Object>) value) {
+				list.add(resolveLocaleDependent(locale, listValue));
+			}
+
+			return list;
+		}
+
+		return value;
 	}
 
 	private void parseDocument(ParserContext parserContext, UplElement uplElement,
@@ -482,22 +676,32 @@ public class UplCompilerImpl extends AbstractUnifyComponent implements UplCompil
 			uplElement.merge(parseUplSource(parserContext, new StringReader(generatedUpl), componentClass.getName()));
 		}
 
-		// Loop through class and all super classes
+		// Sources of class and all super classes
+		for (UplSource source : readUplSources(componentClass)) {
+			parserContext.addSource(source);
+			logDebug("Parsing binded document for component type [{0}] [{1}]...", componentClass, source.getName());
+			uplElement.merge(parseUplSource(parserContext, new StringReader(source.getContent()), source.getName()));
+		}
+		postParse(parserContext, uplElement);
+	}
+
+	private List<UplSource> readUplSources(Class<? extends UnifyComponent> componentClass) throws UnifyException {
+		List<UplSource> sources = new ArrayList<UplSource>();
 		Class<?> clazz = componentClass;
 		while (clazz != null) {
 			com.tcdng.unify.core.annotation.UplBinding uba = clazz
 					.getAnnotation(com.tcdng.unify.core.annotation.UplBinding.class);
 			if (uba != null) {
-				logDebug("Parsing binded document for component type [{0}] [{1}]...", componentClass, uba.value());
-				uplElement.merge(parseUplSource(parserContext, uba));
+				sources.add(readUplSource(uba));
 			}
 			clazz = clazz.getSuperclass();
 		}
-		postParse(parserContext, uplElement);
+
+		return sources;
 	}
 
 	@SuppressWarnings("unchecked")
-	private UplElement parseUplSource(ParserContext parserContext, UplBinding uba) throws UnifyException {
+	private UplSource readUplSource(UplBinding uba) throws UnifyException {
 		String source = uba.value();
 		String workingPath = getUnifyComponentContext().getWorkingPath();
 		List<String> categoryList = DataUtils.convert(ArrayList.class, String.class,
@@ -512,8 +716,16 @@ public class UplCompilerImpl extends AbstractUnifyComponent implements UplCompil
 			}
 		}
 
-		Reader reader = new InputStreamReader(IOUtils.openFileResourceInputStream(source, workingPath));
-		return parseUplSource(parserContext, reader, source);
+		return readUplSource(source);
+	}
+
+	private UplSource readUplSource(String source) throws UnifyException {
+		InputStream in = IOUtils.openFileResourceInputStream(source, getUnifyComponentContext().getWorkingPath());
+		try {
+			return new UplSource(source, new String(IOUtils.readAll(in), Charset.defaultCharset()));
+		} finally {
+			IOUtils.close(in);
+		}
 	}
 
 	private UplElement parseUplSource(ParserContext parserContext, Reader reader, String srcFileName)
@@ -759,7 +971,7 @@ public class UplCompilerImpl extends AbstractUnifyComponent implements UplCompil
 		// uplElementAttributesMap.put(compilerContext.getLocale(), attributesKey,
 		// uplElement);
 		// }
-		uplElementAttributesMap.put(compilerContext.getLocale(), attributesKey, uplElement);
+		uplElementAttributesMap.put(attributesKey, uplElement);
 
 		uplElement.setKey(attributesKey);
 	}
@@ -770,19 +982,18 @@ public class UplCompilerImpl extends AbstractUnifyComponent implements UplCompil
 	 * node in a cluster and is trying to fetch its UPL attributes which may not
 	 * have been compiled in the new node.
 	 * 
-	 * @param locale        the locale to compile for
 	 * @param attributesKey the attributes key
 	 * @throws UnifyException if an error occurs
 	 */
-	private void forceCompile(Locale locale, String attributesKey) throws UnifyException {
+	private void forceCompile(String attributesKey) throws UnifyException {
 		UplAttributesKeyFields uakf = UplUtils.extractUplAtributesKeyFields(attributesKey);
 		switch (uakf.getUplType()) {
 		case UplTypeConstants.DOCUMENT:
 		case UplTypeConstants.DOCUMENT_INLINE:
-			compileComponentDocuments(locale, uakf.getComponentName());
+			uplDocumentByNameMap.get(uakf.getComponentName());
 			break;
 		default: // Free form
-			compileDescriptor(locale, uakf.getDescriptor());
+			uplElementByDescriptorMap.get(uakf.getDescriptor());
 		}
 	}
 
@@ -903,12 +1114,23 @@ public class UplCompilerImpl extends AbstractUnifyComponent implements UplCompil
 
 		private boolean idGeneratorUsed;
 
+		private List<UplSource> sources;
+
 		public ParserContext(String componentName) {
 			this.componentName = componentName;
+			this.sources = new ArrayList<UplSource>();
 		}
 
 		public ParserContext() {
+			this.sources = new ArrayList<UplSource>();
+		}
+
+		public void addSource(UplSource source) {
+			sources.add(source);
+		}
 
+		public List<UplSource> getSources() {
+			return sources;
 		}
 
 		public String getComponentName() {
@@ -932,26 +1154,252 @@ public class UplCompilerImpl extends AbstractUnifyComponent implements UplCompil
 
 		private String componentName;
 
-		private ResourceBundles messages;
+		public CompilerContext(String componentName) {
+			this.componentName = componentName;
+		}
+
+		public String getComponentName() {
+			return componentName;
+		}
+	}
 
-		private Locale locale;
+	private enum LocaleValue {
+		INSTANCE
+	}
 
-		public CompilerContext(String componentName, ResourceBundles messages, Locale locale) {
-			this.componentName = componentName;
-			this.messages = messages;
+	private static class MessageValue implements Serializable {
+
+		private static final long serialVersionUID = 2814410357361626383L;
+
+		private final String key;
+
+		public MessageValue(String key) {
+			this.key = key;
+		}
+
+		public String getKey() {
+			return key;
+		}
+	}
+
+	private static class InlineComponentValue implements Serializable {
+
+		private static final long serialVersionUID = -4735329470262312337L;
+
+		private final UplElement uplElement;
+
+		public InlineComponentValue(UplElement uplElement) {
+			this.uplElement = uplElement;
+		}
+
+		public UplElement getUplElement() {
+			return uplElement;
+		}
+
+		public String getKey() {
+			return uplElement.getKey();
+		}
+	}
+
+	private static class UplSource {
+
+		private final String name;
+
+		private final String content;
+
+		public UplSource(String name, String content) {
+			this.name = name;
+			this.content = content;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getContent() {
+			return content;
+		}
+	}
+
+	/**
+	 * Locale overlay of a compiled UPL element. Delegates to the shared
+	 * locale-neutral element and resolves locale dependent attributes lazily.
+	 */
+	private class LocalizedUplElement implements UplElementAttributes {
+
+		private final UplElement uplElement;
+
+		protected final Locale locale;
+
+		private Map<String, Object> values;
+
+		public LocalizedUplElement(UplElement uplElement, Locale locale) {
+			this.uplElement = uplElement;
 			this.locale = locale;
 		}
 
+		@Override
+		public String getParentLongName() {
+			return uplElement.getParentLongName();
+		}
+
+		@Override
+		public String getLongName() {
+			return uplElement.getLongName();
+		}
+
+		@Override
+		public String getShortName() {
+			return uplElement.getShortName();
+		}
+
+		@Override
+		public String getQualifiedName() {
+			return uplElement.getQualifiedName();
+		}
+
+		@Override
 		public String getComponentName() {
-			return componentName;
+			return uplElement.getComponentName();
 		}
 
-		public ResourceBundles getMessages() {
-			return messages;
+		@Override
+		public String getKey() {
+			return uplElement.getKey();
 		}
 
-		public Locale getLocale() {
-			return locale;
+		@Override
+		public String getId() {
+			return uplElement.getId();
+		}
+
+		@Override
+		public int getUplType() {
+			return uplElement.getUplType();
+		}
+
+		@Override
+		public synchronized void overrideAttribute(String name, Object val) throws UnifyException {
+			getValues().put(name, val);
+		}
+
+		@Override
+		public synchronized boolean isAttribute(String name) {
+			return uplElement.isAttribute(name) || (values != null && values.containsKey(name));
+		}
+
+		@Override
+		public synchronized Set<String> getAttributeNames() {
+			Set<String> names = uplElement.getAttributeNames();
+			if (values != null && !names.containsAll(values.keySet())) {
+				names = new HashSet<String>(names);
+				names.addAll(values.keySet());
+				return Collections.unmodifiableSet(names);
+			}
+
+			return names;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T> T getAttributeValue(Class<T> clazz, String name) throws UnifyException {
+			synchronized (this) {
+				if (values != null && values.containsKey(name)) {
+					return (T) values.get(name);
+				}
+			}
+
+			if (uplElement.isLocalizedAttribute(name)) {
+				Object value = resolveLocaleDependent(locale, uplElement.getAttributeValue(name));
+				UplAttributeInfo uplAttributeInfo = uplAttributesInfoMap.get(uplElement.getElementType())
+						.getUplAttributeInfo(name);
+				if (uplAttributeInfo != null) {
+					value = DataUtils.convert(uplAttributeInfo.getAttributeClass(), value);
+				}
+
+				synchronized (this) {
+					Map<String, Object> values = getValues();
+					if (!values.containsKey(name)) {
+						values.put(name, value);
+					}
+
+					return (T) values.get(name);
+				}
+			}
+
+			return uplElement.getAttributeValue(clazz, name);
+		}
+
+		@Override
+		public List<String> getShallowReferencedLongNames(String attribute) throws UnifyException {
+			return uplElement.getShallowReferencedLongNames(attribute);
+		}
+
+		@Override
+		public Set<String> getShallowReferencedLongNames() throws UnifyException {
+			return uplElement.getShallowReferencedLongNames();
+		}
+
+		@Override
+		public Set<String> getDeepReferencedLongNames() throws UnifyException {
+			return uplElement.getDeepReferencedLongNames();
+		}
+
+		@Override
+		public Set<UplElementAttributes> getChildElements() {
+			Set<String> childIds = uplElement.getChildIds();
+			if (childIds.isEmpty()) {
+				return Collections.emptySet();
+			}
+
+			Set<UplElementAttributes> childElements = new HashSet<UplElementAttributes>();
+			for (String id : childIds) {
+				try {
+					childElements.add(localize(uplElement.getChildElement(id), locale));
+				} catch (UnifyException e) {
+					throw new RuntimeException(e);
+				}
+			}
+
+			return childElements;
+		}
+
+		private Map<String, Object> getValues() {
+			if (values == null) {
+				values = new HashMap<String, Object>();
+			}
+
+			return values;
+		}
+	}
+
+	private class LocalizedUplDocument extends LocalizedUplElement implements UplDocumentAttributes {
+
+		private final UplDocument uplDocument;
+
+		public LocalizedUplDocument(UplDocument uplDocument, Locale locale) {
+			super(uplDocument, locale);
+			this.uplDocument = uplDocument;
+		}
+
+		@Override
+		public Set<String> getLongNames() {
+			return uplDocument.getLongNames();
+		}
+
+		@Override
+		public Set<String> getShortNames() {
+			return uplDocument.getShortNames();
+		}
+
+		@Override
+		public UplElementAttributes getChildElementByLongName(String longName) throws UnifyException {
+			return localize(uplDocument.getChildElementByLongName(longName), locale);
+		}
+
+		@Override
+		public boolean isElementWithLongName(String longName) {
+			return uplDocument.isElementWithLongName(longName);
 		}
 	}
 }
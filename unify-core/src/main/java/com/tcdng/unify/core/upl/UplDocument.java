@@ -32,6 +32,8 @@ import com.tcdng.unify.core.util.StringUtils;
  */
 public class UplDocument extends UplElement implements UplDocumentAttributes {
 
+    private static final long serialVersionUID = -2285361209944741632L;
+
     private Map<String, UplElement> uplElementByLongNameMap;
 
     public UplDocument() {
@@ -15,10 +15,12 @@
  */
 package com.tcdng.unify.core.upl;
 
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
@@ -31,7 +33,9 @@ import com.tcdng.unify.core.UnifyException;
  * @author The Code Department
  * @since 4.1
  */
-public class UplElement implements UplElementAttributes {
+public class UplElement implements UplElementAttributes, Serializable {
+
+    private static final long serialVersionUID = 4061822434583452129L;
 
     private Map<String, Object> uplAttributes;
 
@@ -45,6 +49,10 @@ public class UplElement implements UplElementAttributes {
 
     private Set<String> deepReferencedLongNames;
 
+    private Set<String> localizedAttributes;
+
+    private transient Map<Locale, UplElementAttributes> localeOverlays;
+
     private UplElement parentElement;
 
     private String qualifiedName;
@@ -279,6 +287,36 @@ public class UplElement implements UplElementAttributes {
         uplAttributes.put(name, value);
     }
 
+    public boolean isLocalizedAttribute(String name) {
+        return localizedAttributes != null && localizedAttributes.contains(name);
+    }
+
+    public void addLocalizedAttribute(String name) {
+        if (localizedAttributes == null) {
+            localizedAttributes = new HashSet<String>();
+        }
+
+        localizedAttributes.add(name);
+    }
+
+    public synchronized UplElementAttributes getLocaleOverlay(Locale locale) {
+        return localeOverlays != null ? localeOverlays.get(locale) : null;
+    }
+
+    public synchronized UplElementAttributes putLocaleOverlay(Locale locale, UplElementAttributes overlay) {
+        if (localeOverlays == null) {
+            localeOverlays = new HashMap<Locale, UplElementAttributes>(4);
+        }
+
+        UplElementAttributes existing = localeOverlays.get(locale);
+        if (existing != null) {
+            return existing;
+        }
+
+        localeOverlays.put(locale, overlay);
+        return overlay;
+    }
+
     public boolean isChildElement(String id) {
         if (childElements != null) {
             return childElements.containsKey(id);
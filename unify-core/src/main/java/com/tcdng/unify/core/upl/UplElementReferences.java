@@ -15,6 +15,7 @@
  */
 package com.tcdng.unify.core.upl;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -28,7 +29,9 @@ import com.tcdng.unify.core.data.CycleDetector;
  * @author The Code Department
  * @since 4.1
  */
-public class UplElementReferences {
+public class UplElementReferences implements Serializable {
+
+    private static final long serialVersionUID = 7393016487313478361L;
 
     private List<String> idList;
 
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor that writes a module's component index at build time.
+ * Records every class level annotation, excluding source retained annotations,
+ * of all types compiled including nested types.
+ * <p>
+ * Enable by running compiler with this processor, for example with a
+ * <code>proc:only</code> execution of the maven compiler plugin in the
+ * <code>process-classes</code> phase.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+@SupportedAnnotationTypes("*")
+public class ComponentIndexProcessor extends AbstractProcessor {
+
+    private final Map<String, Set<String>> index;
+
+    private final Set<String> processedTypes;
+
+    public ComponentIndexProcessor() {
+        this.index = new TreeMap<String, Set<String>>();
+        this.processedTypes = new HashSet<String>();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        } else {
+            for (Element element : roundEnv.getRootElements()) {
+                if (element instanceof TypeElement) {
+                    collect((TypeElement) element);
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private void collect(TypeElement type) {
+        final Elements elements = processingEnv.getElementUtils();
+        final String typeName = elements.getBinaryName(type).toString();
+        processedTypes.add(typeName);
+        for (AnnotationMirror annotationMirror : type.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotationMirror.getAnnotationType().asElement();
+            Retention retention = annotationType.getAnnotation(Retention.class);
+            if (retention == null || !RetentionPolicy.SOURCE.equals(retention.value())) {
+                add(index, elements.getBinaryName(annotationType).toString(), typeName);
+            }
+        }
+
+        for (Element enclosed : type.getEnclosedElements()) {
+            if (enclosed instanceof TypeElement) {
+                collect((TypeElement) enclosed);
+            }
+        }
+    }
+
+    private void writeIndex() {
+        // Merge entries of an earlier index for types that were not recompiled
+        mergePreviousIndex();
+        try {
+            FileObject fileObject = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    ComponentIndexUtils.COMPONENT_INDEX_RESOURCE);
+            Writer writer = new OutputStreamWriter(fileObject.openOutputStream(), StandardCharsets.UTF_8);
+            try {
+                ComponentIndexUtils.writeIndex(writer, index);
+            } finally {
+                writer.close();
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write component index: " + e.getMessage());
+        }
+    }
+
+    private void mergePreviousIndex() {
+        Map<String, Set<String>> previousIndex = null;
+        try {
+            FileObject fileObject = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+                    ComponentIndexUtils.COMPONENT_INDEX_RESOURCE);
+            InputStream in = fileObject.openInputStream();
+            try {
+                previousIndex = ComponentIndexUtils.readIndex(in);
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            // No previous index
+            return;
+        }
+
+        final Elements elements = processingEnv.getElementUtils();
+        for (Map.Entry<String, Set<String>> entry : previousIndex.entrySet()) {
+            for (String typeName : entry.getValue()) {
+                if (!processedTypes.contains(typeName)
+                        && elements.getTypeElement(typeName.replace('$', '.')) != null) {
+                    add(index, entry.getKey(), typeName);
+                }
+            }
+        }
+    }
+
+    private static void add(Map<String, Set<String>> index, String annotationName, String typeName) {
+        Set<String> typeNames = index.get(annotationName);
+        if (typeNames == null) {
+            typeNames = new TreeSet<String>();
+            index.put(annotationName, typeNames);
+        }
+
+        typeNames.add(typeName);
+    }
+}
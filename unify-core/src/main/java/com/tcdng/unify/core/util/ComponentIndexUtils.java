@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.util;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import org.scannotation.AnnotationDB;
+
+/**
+ * Utility methods for build-time component index. A component index is a
+ * resource, {@link #COMPONENT_INDEX_RESOURCE}, written into a module's archive
+ * by {@link ComponentIndexProcessor} that lists the types carrying each
+ * class-level annotation. Archives with an index are not scanned at startup.
+ * 
+ * <p>
+ * Index format is one line per annotation,
+ * <code>annotationClassName=typeName,typeName...</code>, with lines starting
+ * with '#' ignored.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public final class ComponentIndexUtils {
+
+    public static final String COMPONENT_INDEX_RESOURCE = "META-INF/unify/component-index";
+
+    private ComponentIndexUtils() {
+
+    }
+
+    /**
+     * Reads component index from a class path archive.
+     * 
+     * @param archiveUrl
+     *            the archive URL. Either a class folder or a jar file.
+     * @return the annotation index, keyed by annotation class name, otherwise null
+     *         if archive has no component index
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    public static Map<String, Set<String>> readIndex(URL archiveUrl) throws IOException {
+        File file = toFile(archiveUrl);
+        if (file != null) {
+            if (file.isDirectory()) {
+                File indexFile = new File(file, COMPONENT_INDEX_RESOURCE);
+                if (indexFile.isFile()) {
+                    InputStream in = new FileInputStream(indexFile);
+                    try {
+                        return readIndex(in);
+                    } finally {
+                        IOUtils.close(in);
+                    }
+                }
+            } else if (file.isFile()) {
+                JarFile jarFile = new JarFile(file);
+                try {
+                    JarEntry entry = jarFile.getJarEntry(COMPONENT_INDEX_RESOURCE);
+                    if (entry != null) {
+                        InputStream in = jarFile.getInputStream(entry);
+                        try {
+                            return readIndex(in);
+                        } finally {
+                            IOUtils.close(in);
+                        }
+                    }
+                } finally {
+                    jarFile.close();
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Reads a component index from supplied input stream.
+     * 
+     * @param in
+     *            the input stream
+     * @return the annotation index, keyed by annotation class name
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    public static Map<String, Set<String>> readIndex(InputStream in) throws IOException {
+        Map<String, Set<String>> index = new TreeMap<String, Set<String>>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line = null;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.charAt(0) == '#') {
+                continue;
+            }
+
+            int eqIndex = line.indexOf('=');
+            if (eqIndex > 0) {
+                Set<String> typeNames = new TreeSet<String>();
+                for (String typeName : line.substring(eqIndex + 1).split(",")) {
+                    typeName = typeName.trim();
+                    if (!typeName.isEmpty()) {
+                        typeNames.add(typeName);
+                    }
+                }
+
+                index.put(line.substring(0, eqIndex).trim(), typeNames);
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Writes a component index.
+     * 
+     * @param writer
+     *            the writer to use
+     * @param index
+     *            the annotation index to write
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    public static void writeIndex(Writer writer, Map<String, Set<String>> index) throws IOException {
+        writer.write("# Unify component index. Generated at build time - do not edit.\n");
+        for (Map.Entry<String, Set<String>> entry : new TreeMap<String, Set<String>>(index).entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                writer.write(entry.getKey());
+                writer.write('=');
+                boolean appendSym = false;
+                for (String typeName : new TreeSet<String>(entry.getValue())) {
+                    if (appendSym) {
+                        writer.write(',');
+                    } else {
+                        appendSym = true;
+                    }
+
+                    writer.write(typeName);
+                }
+                writer.write('\n');
+            }
+        }
+
+        writer.flush();
+    }
+
+    /**
+     * Adds all entries of an annotation index to another.
+     * 
+     * @param target
+     *            the index to add to
+     * @param source
+     *            the index to add from
+     */
+    public static void mergeIndex(Map<String, Set<String>> target, Map<String, Set<String>> source) {
+        for (Map.Entry<String, Set<String>> entry : source.entrySet()) {
+            Set<String> typeNames = target.get(entry.getKey());
+            if (typeNames == null) {
+                typeNames = new HashSet<String>();
+                target.put(entry.getKey(), typeNames);
+            }
+
+            typeNames.addAll(entry.getValue());
+        }
+    }
+
+    /**
+     * Checks that the component index of an archive is consistent with a
+     * classpath scan of the same archive. Intended for use in tests.
+     * 
+     * @param archiveUrl
+     *            the archive URL
+     * @return a list of inconsistencies, empty if index is consistent
+     * @throws IOException
+     *             if archive has no component index or an I/O error occurs
+     */
+    public static List<String> checkIndex(URL archiveUrl) throws IOException {
+        Map<String, Set<String>> index = readIndex(archiveUrl);
+        if (index == null) {
+            throw new IOException("No component index found in archive [" + archiveUrl + "].");
+        }
+
+        AnnotationDB annotationDB = new AnnotationDB();
+        annotationDB.setScanFieldAnnotations(false);
+        annotationDB.setScanMethodAnnotations(false);
+        annotationDB.setScanParameterAnnotations(false);
+        annotationDB.scanArchives(archiveUrl);
+        Map<String, Set<String>> scanned = annotationDB.getAnnotationIndex();
+
+        List<String> inconsistencies = new ArrayList<String>();
+        Set<String> annotationNames = new TreeSet<String>(scanned.keySet());
+        annotationNames.addAll(index.keySet());
+        for (String annotationName : annotationNames) {
+            Set<String> scannedTypes = scanned.containsKey(annotationName) ? scanned.get(annotationName)
+                    : Collections.<String>emptySet();
+            Set<String> indexedTypes = index.containsKey(annotationName) ? index.get(annotationName)
+                    : Collections.<String>emptySet();
+            for (String typeName : new TreeSet<String>(scannedTypes)) {
+                if (!indexedTypes.contains(typeName)) {
+                    inconsistencies
+                            .add("Type [" + typeName + "] annotated with [" + annotationName + "] is not indexed.");
+                }
+            }
+
+            for (String typeName : indexedTypes) {
+                if (!scannedTypes.contains(typeName)) {
+                    inconsistencies.add("Indexed type [" + typeName + "] for annotation [" + annotationName
+                            + "] is not found in archive.");
+                }
+            }
+        }
+
+        return inconsistencies;
+    }
+
+    private static File toFile(URL url) {
+        if (!"file".equals(url.getProtocol())) {
+            return null;
+        }
+
+        try {
+            return new File(url.toURI());
+        } catch (URISyntaxException e) {
+            return new File(url.getPath());
+        } catch (IllegalArgumentException e) {
+            return new File(url.getPath());
+        }
+    }
+}
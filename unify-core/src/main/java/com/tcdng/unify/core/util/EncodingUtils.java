@@ -15,6 +15,8 @@
  */
 package com.tcdng.unify.core.util;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 
 /**
@@ -29,4 +31,32 @@ public final class EncodingUtils {
 		return str != null ? Base64.getEncoder().encodeToString(str.getBytes()) : null;
 	}
 
+	/**
+	 * Creates a SHA-256 message digest.
+	 * 
+	 * @return the message digest
+	 */
+	public static MessageDigest getSha256Digest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Encodes bytes as a lower case hexadecimal string.
+	 * 
+	 * @param bytes the bytes to encode
+	 * @return the hexadecimal string
+	 */
+	public static String getHexString(byte[] bytes) {
+		StringBuilder sb = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			sb.append(Character.forDigit((b >> 4) & 0x0f, 16)).append(Character.forDigit(b & 0x0f, 16));
+		}
+
+		return sb.toString();
+	}
+
 }
@@ -77,6 +77,10 @@ public class IOUtils {
 		restrictedJARMode = true;
 	}
 
+	public static boolean isRestrictedJARMode() {
+		return restrictedJARMode;
+	}
+
 	/**
 	 * Detects an opens an input stream for a streamable object.
 	 * 
@@ -188,6 +192,16 @@ public class IOUtils {
 		throw new UnifyException(UnifyCoreErrorConstants.IOUTIL_UNABLE_TO_OPEN_RESOURCE_STREAM, resourceName);
 	}
 
+	/**
+	 * Gets a resource URL from the current class loader.
+	 * 
+	 * @param resourceName the resource name
+	 * @return the resource URL otherwise null if not found
+	 */
+	public static URL getClassLoaderResource(String resourceName) {
+		return IOUtils.class.getClassLoader().getResource(IOUtils.conformJarSeparator(resourceName));
+	}
+
 	/**
 	 * List resources in class loader directory.
 	 * 
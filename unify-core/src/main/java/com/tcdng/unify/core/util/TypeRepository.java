@@ -63,4 +63,11 @@ public interface TypeRepository {
      */
     <T> List<Class<? extends T>> getAnnotatedClassesExcluded(Class<T> classType,
             Class<? extends Annotation> annotationClass, String... excludedPackages) throws UnifyException;
+
+    /**
+     * Gets the time taken to build this repository.
+     * 
+     * @return the build time in nanoseconds
+     */
+    long getBuildNanos();
 }
@@ -19,7 +19,9 @@ import java.lang.annotation.Annotation;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.scannotation.AnnotationDB;
@@ -47,11 +49,6 @@ public class TypeUtils {
             synchronized (TypeUtils.class) {
                 if (classPathTypeRepository == null) {
                     try {
-                        AnnotationDB classpathDB = new AnnotationDB();
-                        classpathDB.setScanFieldAnnotations(false);
-                        classpathDB.setScanMethodAnnotations(false);
-                        classpathDB.setScanParameterAnnotations(false);
-
                         List<URL> finalUrls = new ArrayList<URL>();
                         if (baseUrls != null) {
                             finalUrls.addAll(Arrays.asList(baseUrls));
@@ -62,8 +59,9 @@ public class TypeUtils {
                             finalUrls.addAll(Arrays.asList(urls));
                         }
 
-                        classpathDB.scanArchives(DataUtils.toArray(URL.class, finalUrls));
-                        classPathTypeRepository = new TypeRepositoryImpl(classpathDB);
+                        classPathTypeRepository = createTypeRepository(DataUtils.toArray(URL.class, finalUrls));
+                    } catch (UnifyException e) {
+                        throw e;
                     } catch (Exception e) {
                         throw new UnifyException(e, UnifyCoreErrorConstants.ANNOTATIONUTIL_ERROR);
                     }
@@ -74,12 +72,64 @@ public class TypeUtils {
         return classPathTypeRepository;
     }
 
+    /**
+     * Creates a type repository for supplied archives. Archives with a build-time
+     * component index are read from their index. Only archives without an index
+     * are scanned.
+     * 
+     * @param urls
+     *            the archive URLs
+     * @return the type repository
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    protected static TypeRepository createTypeRepository(URL... urls) throws UnifyException {
+        final long startNanos = System.nanoTime();
+        try {
+            Map<String, Set<String>> annotationIndex = new HashMap<String, Set<String>>();
+            List<URL> scanUrls = new ArrayList<URL>();
+            for (URL url : urls) {
+                Map<String, Set<String>> index = ComponentIndexUtils.readIndex(url);
+                if (index != null) {
+                    ComponentIndexUtils.mergeIndex(annotationIndex, index);
+                } else {
+                    scanUrls.add(url);
+                }
+            }
+
+            if (!scanUrls.isEmpty()) {
+                AnnotationDB classpathDB = new AnnotationDB();
+                classpathDB.setScanFieldAnnotations(false);
+                classpathDB.setScanMethodAnnotations(false);
+                classpathDB.setScanParameterAnnotations(false);
+                classpathDB.scanArchives(DataUtils.toArray(URL.class, scanUrls));
+                ComponentIndexUtils.mergeIndex(annotationIndex, classpathDB.getAnnotationIndex());
+            }
+
+            return new TypeRepositoryImpl(annotationIndex, System.nanoTime() - startNanos);
+        } catch (Exception e) {
+            throw new UnifyException(e, UnifyCoreErrorConstants.ANNOTATIONUTIL_ERROR);
+        }
+    }
+
     protected static class TypeRepositoryImpl implements TypeRepository {
 
-        private AnnotationDB annotationDB;
+        private Map<String, Set<String>> annotationIndex;
+
+        private long buildNanos;
 
         public TypeRepositoryImpl(AnnotationDB annotationDB) {
-            this.annotationDB = annotationDB;
+            this(annotationDB.getAnnotationIndex(), 0L);
+        }
+
+        public TypeRepositoryImpl(Map<String, Set<String>> annotationIndex, long buildNanos) {
+            this.annotationIndex = annotationIndex;
+            this.buildNanos = buildNanos;
+        }
+
+        @Override
+        public long getBuildNanos() {
+            return buildNanos;
         }
 
         @Override
@@ -99,7 +149,7 @@ public class TypeUtils {
                 Class<? extends Annotation> annotationClass, boolean exclude, String... packages)
                 throws UnifyException {
             List<Class<? extends T>> resultList = new ArrayList<Class<? extends T>>();
-            Set<String> annotatedClassNames = annotationDB.getAnnotationIndex().get(annotationClass.getName());
+            Set<String> annotatedClassNames = annotationIndex.get(annotationClass.getName());
 
             if (annotatedClassNames != null && !annotatedClassNames.isEmpty()) {
                 if (packages.length > 0) {
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Component dependency graph tests.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class ComponentDependencyGraphTest {
+
+    @Test
+    public void testNoCycles() throws Exception {
+        ComponentDependencyGraph graph = new ComponentDependencyGraph();
+        graph.addDependency("a", "b");
+        graph.addDependency("b", "c");
+        graph.addNode("c");
+        assertTrue(graph.getCycles().isEmpty());
+        assertNull(graph.getCycleReport());
+    }
+
+    @Test
+    public void testDetectCycles() throws Exception {
+        ComponentDependencyGraph graph = new ComponentDependencyGraph();
+        graph.addDependency("a", "b");
+        graph.addDependency("b", "c");
+        graph.addDependency("c", "a");
+        graph.addDependency("d", "d");
+        graph.addDependency("e", "a");
+        List<List<String>> cycles = graph.getCycles();
+        assertEquals(2, cycles.size());
+
+        List<String> cycle = new ArrayList<String>(cycles.get(0));
+        Collections.sort(cycle);
+        assertEquals(Arrays.asList("a", "b", "c"), cycle);
+        assertEquals(Arrays.asList("d"), cycles.get(1));
+        assertTrue(graph.getCycleReport().startsWith("2 component dependency cycle(s) detected:"));
+    }
+
+    @Test
+    public void testExecuteRespectsDependencies() throws Exception {
+        final ComponentDependencyGraph graph = new ComponentDependencyGraph();
+        for (int i = 0; i < 50; i++) {
+            graph.addNode("comp" + i);
+            if (i > 0) {
+                graph.addDependency("comp" + i, "comp" + (i / 2));
+            }
+        }
+        graph.addDependency("comp10", "unknown");
+
+        final Map<String, Integer> order = new ConcurrentHashMap<String, Integer>();
+        final AtomicInteger counter = new AtomicInteger();
+        graph.execute(4, new ComponentDependencyGraph.NodeAction() {
+            @Override
+            public void execute(String name) throws UnifyException {
+                for (String dependsOn : graph.getDependencies(name)) {
+                    if (!"unknown".equals(dependsOn) && !order.containsKey(dependsOn)) {
+                        throw new UnifyOperationException("Dependency not executed", dependsOn);
+                    }
+                }
+
+                order.put(name, counter.incrementAndGet());
+            }
+        });
+
+        assertEquals(50, order.size());
+    }
+
+    @Test
+    public void testExecuteCycleMembersTogether() throws Exception {
+        ComponentDependencyGraph graph = new ComponentDependencyGraph();
+        graph.addDependency("a", "b");
+        graph.addDependency("b", "a");
+        graph.addDependency("c", "a");
+        final List<String> executed = Collections.synchronizedList(new ArrayList<String>());
+        graph.execute(2, new ComponentDependencyGraph.NodeAction() {
+            @Override
+            public void execute(String name) throws UnifyException {
+                executed.add(name);
+            }
+        });
+
+        assertEquals(3, executed.size());
+        assertEquals("c", executed.get(2));
+    }
+
+    @Test
+    public void testExecuteRethrowsError() throws Exception {
+        ComponentDependencyGraph graph = new ComponentDependencyGraph();
+        graph.addDependency("a", "b");
+        graph.addNode("b");
+        try {
+            graph.execute(2, new ComponentDependencyGraph.NodeAction() {
+                @Override
+                public void execute(String name) throws UnifyException {
+                    if ("b".equals(name)) {
+                        throw new UnifyException(UnifyCoreErrorConstants.COMPONENT_INSTANTIATION_ERROR, name);
+                    }
+
+                    fail("Dependent executed after dependency failure");
+                }
+            });
+            fail("Expected exception");
+        } catch (UnifyException e) {
+            assertEquals(UnifyCoreErrorConstants.COMPONENT_INSTANTIATION_ERROR, e.getErrorCode());
+        }
+    }
+}
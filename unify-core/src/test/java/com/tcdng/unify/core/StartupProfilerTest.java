@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Startup profiler tests.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class StartupProfilerTest extends AbstractUnifyComponentTest {
+
+    @Test
+    public void testNestedFramesSelfTime() throws Exception {
+        StartupProfiler profiler = new StartupProfiler();
+        assertTrue(profiler.begin(StartupProfiler.PHASE, "outer"));
+        assertTrue(profiler.begin(StartupProfiler.COMPONENT, "comp-a"));
+        assertTrue(profiler.begin(StartupProfiler.COMPONENT, "comp-b"));
+        Thread.sleep(20);
+        long compBNanos = profiler.end();
+        profiler.end();
+        profiler.end();
+
+        List<StartupProfiler.ComponentTime> topList = profiler.getTopComponentTimes(10);
+        assertEquals(2, topList.size());
+        assertEquals("comp-b", topList.get(0).getName());
+        assertEquals(compBNanos, topList.get(0).getSelfNanos());
+        assertTrue(topList.get(1).getSelfNanos() < compBNanos);
+        assertTrue(topList.get(1).getTotalMillis() >= topList.get(0).getTotalMillis());
+
+        List<StartupProfiler.Event> events = profiler.getEvents();
+        assertEquals(3, events.size());
+        assertEquals("outer", events.get(0).getName());
+        assertEquals(0, events.get(0).getDepth());
+        assertEquals(1, events.get(2).getDepth());
+    }
+
+    @Test
+    public void testStoppedProfilerIgnoresFrames() throws Exception {
+        StartupProfiler profiler = new StartupProfiler();
+        profiler.stop();
+        assertTrue(profiler.isStopped());
+        assertFalse(profiler.begin(StartupProfiler.PHASE, "late"));
+        assertTrue(profiler.getEvents().isEmpty());
+    }
+
+    @Test
+    public void testTopComponentTimesLimit() throws Exception {
+        StartupProfiler profiler = new StartupProfiler();
+        for (int i = 0; i < 5; i++) {
+            profiler.begin(StartupProfiler.COMPONENT, "comp-" + i);
+            profiler.end();
+        }
+
+        assertEquals(3, profiler.getTopComponentTimes(3).size());
+        assertEquals(5, profiler.getTopComponentTimes(10).size());
+    }
+
+    @Test
+    public void testWriteTrace() throws Exception {
+        StartupProfiler profiler = new StartupProfiler();
+        profiler.addPriorPhase("classpath-scan", 5000000L);
+        profiler.begin(StartupProfiler.PHASE, "boot \"service\"");
+        profiler.end();
+
+        StringWriter writer = new StringWriter();
+        profiler.writeTrace(writer);
+        String trace = writer.toString();
+        assertTrue(trace.startsWith("{\"traceEvents\":["));
+        assertTrue(trace.contains("\"name\":\"classpath-scan\""));
+        assertTrue(trace.contains("\"ph\":\"X\""));
+        assertTrue(trace.contains("\"displayTimeUnit\":\"ms\""));
+    }
+
+    @Test
+    public void testContainerStartupProfile() throws Exception {
+        StartupProfiler profiler = getApplicationContext().getContainer().getStartupProfiler();
+        assertNotNull(profiler);
+        assertTrue(profiler.isStopped());
+
+        boolean bootService = false;
+        boolean manageSchema = false;
+        boolean component = false;
+        for (StartupProfiler.Event event : profiler.getEvents()) {
+            if (StartupProfiler.PHASE.equals(event.getCategory())) {
+                bootService |= "boot-service".equals(event.getName());
+                manageSchema |= event.getName().startsWith("manage-schema:");
+            } else if (StartupProfiler.COMPONENT.equals(event.getCategory())) {
+                component = true;
+            }
+        }
+
+        assertTrue(bootService);
+        assertTrue(manageSchema);
+        assertTrue(component);
+
+        List<String> report = profiler.getReport(5);
+        assertTrue(report.get(0).startsWith("Startup profile"));
+        assertTrue(report.contains("Top 5 components by initialization time:"));
+    }
+
+    @Override
+    protected void doAddSettingsAndDependencies() throws Exception {
+        addContainerSetting(UnifyCorePropertyConstants.APPLICATION_STARTUP_PROFILE, Boolean.TRUE);
+    }
+
+    @Override
+    protected void onSetup() throws Exception {
+
+    }
+
+    @Override
+    protected void onTearDown() throws Exception {
+
+    }
+}
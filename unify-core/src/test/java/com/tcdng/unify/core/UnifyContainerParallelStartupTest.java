@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.tcdng.unify.core.database.Author;
+import com.tcdng.unify.core.database.AuthorView;
+import com.tcdng.unify.core.database.BranchExt;
+import com.tcdng.unify.core.database.Office;
+import com.tcdng.unify.core.database.sql.SqlDataSource;
+import com.tcdng.unify.core.database.sql.SqlDataSourceDialect;
+
+/**
+ * Unify container parallel startup tests.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class UnifyContainerParallelStartupTest extends AbstractUnifyComponentTest {
+
+    @Test
+    public void testSingletonsInitializedAtStartup() throws Exception {
+        UnifyComponent c1 = getComponent("component-a1");
+        assertTrue(c1.isInitialized());
+        assertSame(c1, getComponent("component-a1"));
+    }
+
+    @Test
+    public void testDependenciesInjected() throws Exception {
+        UnifyContainerTest.TestComponentB testComponentB = (UnifyContainerTest.TestComponentB) getComponent(
+                "component-b");
+        assertTrue(testComponentB.isInitialized());
+        assertNotNull(testComponentB.getTestComponentA1());
+        assertEquals("127.0.0.1", testComponentB.getAddress());
+    }
+
+    @Test
+    public void testCyclicSingletonsInitialized() throws Exception {
+        UnifyContainerTest.TestComponentE e = (UnifyContainerTest.TestComponentE) getComponent("component-e");
+        UnifyContainerTest.TestComponentF f = (UnifyContainerTest.TestComponentF) getComponent("component-f");
+        assertEquals(f, e.getTestComponentF());
+        assertEquals(e, f.getTestComponentE());
+    }
+
+    @Test
+    public void testSqlEntityInfoBuiltAtStartup() throws Exception {
+        SqlDataSourceDialect sqlDataSourceDialect =
+                ((SqlDataSource) getComponent(ApplicationComponents.APPLICATION_DATASOURCE)).getDialect();
+        assertNotNull(sqlDataSourceDialect.findSqlEntityInfo(Office.class));
+        assertNotNull(sqlDataSourceDialect.findSqlEntityInfo(Author.class));
+        assertNotNull(sqlDataSourceDialect.findSqlEntityInfo(BranchExt.class));
+        assertTrue(sqlDataSourceDialect.findSqlEntityInfo(AuthorView.class).isViewOnly());
+    }
+
+    @Override
+    protected void doAddSettingsAndDependencies() throws Exception {
+        addContainerSetting(UnifyCorePropertyConstants.APPLICATION_PARALLEL_STARTUP, Boolean.TRUE);
+        addContainerSetting(UnifyCorePropertyConstants.APPLICATION_PARALLEL_STARTUP_THREADS, 4);
+
+        addDependency("component-a1", UnifyContainerTest.TestComponentA1.class);
+        addDependency("component-a2", UnifyContainerTest.TestComponentA2.class, false);
+        addDependency("component-b", UnifyContainerTest.TestComponentB.class);
+        addDependency("component-e", UnifyContainerTest.TestComponentE.class);
+        addDependency("component-f", UnifyContainerTest.TestComponentF.class);
+    }
+
+    @Override
+    protected void onSetup() throws Exception {
+
+    }
+
+    @Override
+    protected void onTearDown() throws Exception {
+
+    }
+}
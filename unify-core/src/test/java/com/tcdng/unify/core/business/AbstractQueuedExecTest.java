@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.business;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Queued execution tests.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class AbstractQueuedExecTest {
+
+    @Test
+    public void testExecuteUnbounded() throws Exception {
+        TestQueuedExec queuedExec = new TestQueuedExec(2, 0, QueuedExecRejectionPolicy.REJECT, false);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(queuedExec.execute("req" + i));
+        }
+
+        queuedExec.release();
+        assertTrue(queuedExec.shutdown(5000));
+        assertEquals(100, queuedExec.getExecuted().size());
+
+        QueuedExecStats stats = queuedExec.getStats();
+        assertEquals(100L, stats.getSubmittedCount());
+        assertEquals(100L, stats.getExecutedCount());
+        assertEquals(0L, stats.getRejectedCount());
+        assertEquals(0, stats.getQueueDepth());
+        assertEquals(0, stats.getQueueCapacity());
+    }
+
+    @Test
+    public void testBoundedReject() throws Exception {
+        TestQueuedExec queuedExec = new TestQueuedExec(1, 2, QueuedExecRejectionPolicy.REJECT, false);
+        assertTrue(queuedExec.execute("req0"));
+        assertTrue(queuedExec.awaitStarted());
+        assertTrue(queuedExec.execute("req1"));
+        assertTrue(queuedExec.execute("req2"));
+        assertFalse(queuedExec.execute("req3"));
+        assertFalse(queuedExec.execute("req4"));
+
+        QueuedExecStats stats = queuedExec.getStats();
+        assertEquals(2, stats.getQueueDepth());
+        assertEquals(2, stats.getQueueCapacity());
+        assertEquals(2L, stats.getRejectedCount());
+
+        queuedExec.release();
+        assertTrue(queuedExec.shutdown(5000));
+        assertEquals(3, queuedExec.getExecuted().size());
+        assertFalse(queuedExec.getExecuted().contains("req3"));
+    }
+
+    @Test
+    public void testBoundedCallerRuns() throws Exception {
+        TestQueuedExec queuedExec = new TestQueuedExec(1, 1, QueuedExecRejectionPolicy.CALLER_RUNS, false);
+        assertTrue(queuedExec.execute("req0"));
+        assertTrue(queuedExec.awaitStarted());
+        assertTrue(queuedExec.execute("req1"));
+        queuedExec.setBlocking(false);
+        assertTrue(queuedExec.execute("req2"));
+        assertTrue(queuedExec.getExecuted().contains("req2"));
+
+        queuedExec.release();
+        assertTrue(queuedExec.shutdown(5000));
+        assertEquals(3, queuedExec.getExecuted().size());
+        assertEquals(1L, queuedExec.getStats().getCallerRunsCount());
+        assertEquals(0L, queuedExec.getStats().getRejectedCount());
+    }
+
+    @Test
+    public void testCoalescing() throws Exception {
+        TestQueuedExec queuedExec = new TestQueuedExec(1, 0, QueuedExecRejectionPolicy.REJECT, true);
+        assertTrue(queuedExec.execute("a:0"));
+        assertTrue(queuedExec.awaitStarted());
+        assertTrue(queuedExec.execute("a:1"));
+        assertTrue(queuedExec.execute("b:1"));
+        assertTrue(queuedExec.execute("a:2"));
+        assertTrue(queuedExec.execute("a:3"));
+        assertTrue(queuedExec.execute("b:2"));
+
+        QueuedExecStats stats = queuedExec.getStats();
+        assertEquals(2, stats.getQueueDepth());
+        assertEquals(3L, stats.getCoalescedCount());
+
+        queuedExec.release();
+        assertTrue(queuedExec.shutdown(5000));
+        List<String> executed = queuedExec.getExecuted();
+        assertEquals(3, executed.size());
+        assertTrue(executed.contains("a:0"));
+        assertTrue(executed.contains("a:3"));
+        assertTrue(executed.contains("b:2"));
+    }
+
+    @Test
+    public void testShutdownDrainsQueue() throws Exception {
+        TestQueuedExec queuedExec = new TestQueuedExec(1, 0, QueuedExecRejectionPolicy.REJECT, false);
+        assertTrue(queuedExec.execute("req0"));
+        assertTrue(queuedExec.awaitStarted());
+        for (int i = 1; i < 10; i++) {
+            assertTrue(queuedExec.execute("req" + i));
+        }
+
+        assertFalse(queuedExec.shutdown(50));
+        assertTrue(queuedExec.isShutdown());
+        assertFalse(queuedExec.execute("req10"));
+
+        TestQueuedExec drainingExec = new TestQueuedExec(1, 0, QueuedExecRejectionPolicy.REJECT, false);
+        drainingExec.setBlocking(false);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(drainingExec.execute("req" + i));
+        }
+
+        assertTrue(drainingExec.shutdown(5000));
+        assertEquals(10, drainingExec.getExecuted().size());
+        assertTrue(drainingExec.getStats().getTotalExecNanos() > 0);
+    }
+
+    private static class TestQueuedExec extends AbstractQueuedExec<String> {
+
+        private final List<String> executed;
+
+        private final CountDownLatch started;
+
+        private final CountDownLatch released;
+
+        private final boolean coalesce;
+
+        private volatile boolean blocking;
+
+        public TestQueuedExec(int maxProcessingThreads, int queueCapacity, QueuedExecRejectionPolicy rejectionPolicy,
+                boolean coalesce) {
+            super(maxProcessingThreads, queueCapacity, rejectionPolicy);
+            this.executed = Collections.synchronizedList(new ArrayList<String>());
+            this.started = new CountDownLatch(1);
+            this.released = new CountDownLatch(1);
+            this.coalesce = coalesce;
+            this.blocking = true;
+        }
+
+        public List<String> getExecuted() {
+            return executed;
+        }
+
+        public boolean awaitStarted() throws InterruptedException {
+            return started.await(5, TimeUnit.SECONDS);
+        }
+
+        public void release() {
+            released.countDown();
+        }
+
+        public void setBlocking(boolean blocking) {
+            this.blocking = blocking;
+        }
+
+        @Override
+        protected Object getCoalescingKey(String param) {
+            return coalesce ? param.substring(0, param.indexOf(':')) : null;
+        }
+
+        @Override
+        protected void doExecute(String param) {
+            started.countDown();
+            if (blocking) {
+                try {
+                    released.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+
+            executed.add(param);
+        }
+    }
+}
@@ -30,6 +30,7 @@ import org.junit.Test;
 import com.tcdng.unify.core.AbstractUnifyComponentTest;
 import com.tcdng.unify.core.ApplicationComponents;
 import com.tcdng.unify.core.Setting;
+import com.tcdng.unify.core.cache.Cache;
 import com.tcdng.unify.core.database.DatabaseTransactionManager;
 import com.tcdng.unify.core.database.dynamic.sql.DynamicSqlDataSourceConfig;
 import com.tcdng.unify.core.database.dynamic.sql.DynamicSqlDataSourceManager;
@@ -278,6 +279,53 @@ public class BusinessServiceTest extends AbstractUnifyComponentTest {
         assertEquals("1002252443", id);
     }
 
+    @Test
+    public void testCachedBusinessServiceMethod() throws Exception {
+        MockService mockService = (MockService) getComponent("mockservice");
+        Long accountId = mockService.createAccount(new Account("001", "Sim"));
+        int loads = mockService.getCachedAccountLoads();
+        Account account = mockService.findCachedAccount(accountId);
+        assertNotNull(account);
+        assertEquals("001", account.getAccountNo());
+        assertTrue(account == mockService.findCachedAccount(accountId));
+        assertEquals(loads + 1, mockService.getCachedAccountLoads());
+
+        mockService.evictCachedAccount(accountId);
+        assertEquals("001", mockService.findCachedAccount(accountId).getAccountNo());
+        assertEquals(loads + 2, mockService.getCachedAccountLoads());
+    }
+
+    @Test
+    public void testCachedBusinessServiceMethodsWithSameParameters() throws Exception {
+        MockService mockService = (MockService) getComponent("mockservice");
+        Long accountId = mockService.createAccount(new Account("001", "Sim"));
+        int loads = mockService.getCachedAccountLoads();
+        assertEquals("001", mockService.findCachedAccount(accountId).getAccountNo());
+        assertEquals("001", mockService.findCachedAccountNo(accountId));
+        assertEquals("001", mockService.findCachedAccount(accountId).getAccountNo());
+        assertEquals("001", mockService.findCachedAccountNo(accountId));
+        assertEquals(loads + 2, mockService.getCachedAccountLoads());
+
+        mockService.evictCachedAccount(accountId);
+        assertEquals("001", mockService.findCachedAccount(accountId).getAccountNo());
+        assertEquals("001", mockService.findCachedAccountNo(accountId));
+        assertEquals(loads + 4, mockService.getCachedAccountLoads());
+    }
+
+    @Test
+    public void testCachedBusinessServiceMethodInvalidateOnEntityEvent() throws Exception {
+        MockService mockService = (MockService) getComponent("mockservice");
+        Long accountId = mockService.createAccount(new Account("001", "Sim"));
+        int loads = mockService.getCachedAccountLoads();
+        mockService.findCachedAccount(accountId);
+        mockService.findCachedAccount(accountId);
+        assertEquals(loads + 1, mockService.getCachedAccountLoads());
+
+        mockService.touchAccount(accountId);
+        mockService.findCachedAccount(accountId);
+        assertEquals(loads + 2, mockService.getCachedAccountLoads());
+    }
+
     @Override
     protected void doAddSettingsAndDependencies() throws Exception {
         super.doAddSettingsAndDependencies();
@@ -309,6 +357,7 @@ public class BusinessServiceTest extends AbstractUnifyComponentTest {
     protected void onTearDown() throws Exception {
         // Clear application data soure records
         deleteAll(LoanDisbursement.class, LoanAccount.class, Account.class, Booking.class);
+        ((Cache<?, ?>) getComponent(ApplicationComponents.APPLICATION_METHODCACHE)).clear();
 
         // Unconfigure and dynamic data source
         DynamicSqlDataSourceManager dynamicSqlDataSourceManager = (DynamicSqlDataSourceManager) getComponent(
@@ -55,4 +55,14 @@ public interface MockService extends BusinessService {
     Long createAccountWithCreditCheckExceptionAfter(Account account, BigDecimal loanAmount) throws UnifyException;
     
     String createBooking(Booking booking) throws UnifyException;
+
+    Account findCachedAccount(Long accountId) throws UnifyException;
+
+    String findCachedAccountNo(Long accountId) throws UnifyException;
+
+    void evictCachedAccount(Long accountId) throws UnifyException;
+
+    void touchAccount(Long accountId) throws UnifyException;
+
+    int getCachedAccountLoads() throws UnifyException;
 }
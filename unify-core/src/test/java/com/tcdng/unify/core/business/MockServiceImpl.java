@@ -17,13 +17,18 @@ package com.tcdng.unify.core.business;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import com.tcdng.unify.core.ApplicationComponents;
 import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.annotation.CacheEvict;
+import com.tcdng.unify.core.annotation.Cached;
 import com.tcdng.unify.core.annotation.Component;
 import com.tcdng.unify.core.annotation.Configurable;
 import com.tcdng.unify.core.annotation.Synchronized;
 import com.tcdng.unify.core.annotation.TransactionAttribute;
 import com.tcdng.unify.core.annotation.Transactional;
+import com.tcdng.unify.core.constant.TopicEventType;
 
 /**
  * A mock business service.
@@ -38,6 +43,8 @@ public class MockServiceImpl extends AbstractBusinessService implements MockServ
     @Configurable("anothermockservice")
     private AnotherMockService anotherMockService;
 
+    private final AtomicInteger cachedAccountLoads = new AtomicInteger();
+
     @Override
     @Synchronized("sling")
     public int add(int a, int b) throws UnifyException {
@@ -124,4 +131,34 @@ public class MockServiceImpl extends AbstractBusinessService implements MockServ
     public String createBooking(Booking booking) throws UnifyException {
         return (String) db().create(booking);
     }
+
+    @Override
+    @Cached(cache = ApplicationComponents.APPLICATION_METHODCACHE, invalidateOn = Account.class)
+    public Account findCachedAccount(Long accountId) throws UnifyException {
+        cachedAccountLoads.incrementAndGet();
+        return db().find(Account.class, accountId);
+    }
+
+    @Override
+    @Cached(ApplicationComponents.APPLICATION_METHODCACHE)
+    public String findCachedAccountNo(Long accountId) throws UnifyException {
+        cachedAccountLoads.incrementAndGet();
+        return db().value(String.class, "accountNo", new AccountQuery().addEquals("id", accountId));
+    }
+
+    @Override
+    @CacheEvict(ApplicationComponents.APPLICATION_METHODCACHE)
+    public void evictCachedAccount(Long accountId) throws UnifyException {
+
+    }
+
+    @Override
+    public void touchAccount(Long accountId) throws UnifyException {
+        setOffEntityEvent(TopicEventType.UPDATE, Account.class, accountId);
+    }
+
+    @Override
+    public int getCachedAccountLoads() throws UnifyException {
+        return cachedAccountLoads.get();
+    }
 }
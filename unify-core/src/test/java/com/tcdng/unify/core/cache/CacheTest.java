@@ -17,10 +17,12 @@ package com.tcdng.unify.core.cache;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
 import com.tcdng.unify.core.AbstractUnifyComponentTest;
+import com.tcdng.unify.core.Setting;
 
 /**
  * Cache tests.
@@ -92,6 +94,101 @@ public class CacheTest extends AbstractUnifyComponentTest {
         assertEquals("24 Parklane, Apapa", cache.get("address"));
     }
 
+    @Test
+    public void testExpireBefore() throws Exception {
+        cache.put("telephone", "+2348020948192", 1);
+        cache.put("address", "24 Parklane, Apapa", 120);
+        long now = System.currentTimeMillis();
+        assertEquals(0, cache.expireBefore(now));
+        assertEquals(1, cache.expireBefore(now + 60000));
+        assertEquals(1, cache.size());
+        assertNull(cache.get("telephone"));
+        assertEquals("24 Parklane, Apapa", cache.get("address"));
+    }
+
+    @Test
+    public void testExpireBeforeSkipsReplacedObject() throws Exception {
+        cache.put("address", "24 Parklane, Apapa", 1);
+        cache.put("address", "38 Warehouse Rd, Apapa", 120);
+        assertEquals(0, cache.expireBefore(System.currentTimeMillis() + 60000));
+        assertEquals("38 Warehouse Rd, Apapa", cache.get("address"));
+    }
+
+    @Test
+    public void testCacheStats() throws Exception {
+        cache.put("address", "24 Parklane, Apapa");
+        CacheStats stats = cache.getStats();
+        cache.get("address");
+        cache.get("telephone");
+        CacheStats newStats = cache.getStats();
+        assertEquals(stats.getHitCount() + 1, newStats.getHitCount());
+        assertEquals(stats.getMissCount() + 1, newStats.getMissCount());
+    }
+
+    @Test
+    public void testExpireAfterWrite() throws Exception {
+        MockCache mockCache = (MockCache) cache;
+        mockCache.put("telephone", "+2348020948192", 120, 1);
+        mockCache.put("address", "24 Parklane, Apapa", 120, 0);
+        assertEquals("+2348020948192", cache.get("telephone"));
+        assertEquals(1, cache.expireBefore(System.currentTimeMillis() + 60000));
+        assertNull(cache.get("telephone"));
+        assertEquals("24 Parklane, Apapa", cache.get("address"));
+    }
+
+    @Test
+    public void testBoundedCacheEvicts() throws Exception {
+        MockCache boundedCache = (MockCache) getComponent("bounded-cache");
+        boundedCache.clear();
+        CacheStats stats = boundedCache.getStats();
+        for (int i = 0; i < 50; i++) {
+            boundedCache.put("key" + i, "value" + i);
+        }
+
+        assertEquals(10, boundedCache.size());
+        assertEquals(10, boundedCache.getWeightedSize());
+        assertEquals(stats.getEvictionCount() + 40, boundedCache.getStats().getEvictionCount());
+    }
+
+    @Test
+    public void testBoundedCacheRetainsFrequentlyUsed() throws Exception {
+        MockCache boundedCache = (MockCache) getComponent("bounded-cache");
+        boundedCache.clear();
+        boundedCache.put("hot", "hotValue");
+        boundedCache.put("warm", "warmValue");
+        for (int i = 0; i < 10; i++) {
+            assertEquals("hotValue", boundedCache.get("hot"));
+        }
+
+        for (int i = 0; i < 100; i++) {
+            boundedCache.put("cold" + i, "coldValue" + i);
+        }
+
+        assertEquals("hotValue", boundedCache.get("hot"));
+        assertTrue(boundedCache.size() <= 10);
+    }
+
+    @Test
+    public void testRefreshAhead() throws Exception {
+        MockCache refreshCache = (MockCache) getComponent("refresh-cache");
+        refreshCache.clear();
+        refreshCache.put("address", "24 Parklane");
+        refreshCache.put("telephone", "+2348020948192");
+        assertEquals("24 Parklane", refreshCache.get("address"));
+        long loadCount = refreshCache.getStats().getLoadSuccessCount();
+        assertEquals(0, refreshCache.expireBefore(System.currentTimeMillis() + 6000));
+        assertEquals(loadCount + 1, refreshCache.getStats().getLoadSuccessCount());
+        assertEquals("24 Parklane+", refreshCache.get("address"));
+        assertEquals("+2348020948192", refreshCache.get("telephone"));
+    }
+
+    @Override
+    protected void doAddSettingsAndDependencies() throws Exception {
+        addDependency("bounded-cache", MockCache.class, new Setting("maximumSize", 10));
+        addDependency("refresh-cache", MockCache.class, new Setting("expireAfterWrite", 10),
+                new Setting("refreshAheadPeriod", 5));
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     protected void onSetup() throws Exception {
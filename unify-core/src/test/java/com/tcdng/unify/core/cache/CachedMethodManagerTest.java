@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import com.tcdng.unify.core.AbstractUnifyComponentTest;
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.Setting;
+import com.tcdng.unify.core.database.DatabaseTransactionManager;
+
+/**
+ * Cached method manager tests.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class CachedMethodManagerTest extends AbstractUnifyComponentTest {
+
+    private static final String CACHE_NAME = ApplicationComponents.APPLICATION_METHODCACHE;
+
+    private CachedMethodManager cachedMethodManager;
+
+    @Test
+    public void testGetKey() throws Exception {
+        assertEquals(cachedMethodManager.getKey("a()"), cachedMethodManager.getKey("a()"));
+        assertFalse(cachedMethodManager.getKey("a()").equals(cachedMethodManager.getKey("b()")));
+        assertEquals(cachedMethodManager.getKey("a(Long)", 20L), cachedMethodManager.getKey("a(Long)", 20L));
+        assertFalse(Long.valueOf(20L).equals(cachedMethodManager.getKey("a(Long)", 20L)));
+        assertFalse(cachedMethodManager.getKey("a(Long)", 20L).equals(cachedMethodManager.getKey("b(Long)", 20L)));
+        assertEquals(cachedMethodManager.getKey("a(String,int)", "apapa", 20),
+                cachedMethodManager.getKey("a(String,int)", "apapa", 20));
+        assertEquals(cachedMethodManager.getKey("a(String[])", new Object[] { new String[] { "a", "b" } }),
+                cachedMethodManager.getKey("a(String[])", new Object[] { new String[] { "a", "b" } }));
+        assertFalse(cachedMethodManager.getKey("a(String,int)", "apapa", 20)
+                .equals(cachedMethodManager.getKey("a(String,int)", "apapa", 21)));
+    }
+
+    @Test
+    public void testLoadThenHit() throws Exception {
+        CachedLoad load = cachedMethodManager.beginLoad(CACHE_NAME, "address");
+        assertFalse(load.isLoaded());
+        try {
+            load.complete("24 Parklane, Apapa");
+        } finally {
+            load.end();
+        }
+
+        load = cachedMethodManager.beginLoad(CACHE_NAME, "address");
+        assertTrue(load.isLoaded());
+        assertEquals("24 Parklane, Apapa", load.getValue());
+    }
+
+    @Test
+    public void testEvictDuringLoadIsNotCached() throws Exception {
+        CachedLoad load = cachedMethodManager.beginLoad(CACHE_NAME, "address");
+        cachedMethodManager.evict(CACHE_NAME, "address");
+        try {
+            load.complete("24 Parklane, Apapa");
+        } finally {
+            load.end();
+        }
+
+        load = cachedMethodManager.beginLoad(CACHE_NAME, "address");
+        assertFalse(load.isLoaded());
+        load.end();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testEvictInTransactionRepeatedOnCompletion() throws Exception {
+        DatabaseTransactionManager tm = (DatabaseTransactionManager) getComponent(
+                ApplicationComponents.APPLICATION_DATABASETRANSACTIONMANAGER);
+        tm.beginTransaction();
+        try {
+            cachedMethodManager.evict(CACHE_NAME, "address");
+            // Stale value cached by another thread before this transaction completes
+            ((Cache<Object, Object>) getComponent(CACHE_NAME)).put("address", "24 Parklane, Apapa");
+            assertTrue(cachedMethodManager.beginLoad(CACHE_NAME, "address").isLoaded());
+        } finally {
+            tm.endTransaction();
+        }
+
+        CachedLoad load = cachedMethodManager.beginLoad(CACHE_NAME, "address");
+        assertFalse(load.isLoaded());
+        load.end();
+    }
+
+    @Test
+    public void testLoadInTransactionCachedOnCommit() throws Exception {
+        DatabaseTransactionManager tm = (DatabaseTransactionManager) getComponent(
+                ApplicationComponents.APPLICATION_DATABASETRANSACTIONMANAGER);
+        tm.beginTransaction();
+        try {
+            CachedLoad load = cachedMethodManager.beginLoad(CACHE_NAME, "address");
+            try {
+                load.complete("24 Parklane, Apapa");
+            } finally {
+                load.end();
+            }
+
+            load = cachedMethodManager.beginLoad(CACHE_NAME, "address");
+            assertFalse(load.isLoaded());
+            load.end();
+        } finally {
+            tm.endTransaction();
+        }
+
+        CachedLoad load = cachedMethodManager.beginLoad(CACHE_NAME, "address");
+        assertTrue(load.isLoaded());
+        assertEquals("24 Parklane, Apapa", load.getValue());
+    }
+
+    @Test
+    public void testLoadInRolledBackTransactionIsNotCached() throws Exception {
+        DatabaseTransactionManager tm = (DatabaseTransactionManager) getComponent(
+                ApplicationComponents.APPLICATION_DATABASETRANSACTIONMANAGER);
+        tm.beginTransaction();
+        try {
+            tm.setRollback();
+            CachedLoad load = cachedMethodManager.beginLoad(CACHE_NAME, "address");
+            try {
+                load.complete("24 Parklane, Apapa");
+            } finally {
+                load.end();
+            }
+        } finally {
+            tm.endTransaction();
+        }
+
+        CachedLoad load = cachedMethodManager.beginLoad(CACHE_NAME, "address");
+        assertFalse(load.isLoaded());
+        load.end();
+    }
+
+    @Test
+    public void testFailedLoadIsNotCached() throws Exception {
+        CachedLoad load = cachedMethodManager.beginLoad(CACHE_NAME, "address");
+        load.end();
+
+        load = cachedMethodManager.beginLoad(CACHE_NAME, "address");
+        assertFalse(load.isLoaded());
+        assertNull(load.getValue());
+        load.end();
+    }
+
+    @Test
+    public void testConcurrentLoadWaitsForSingleLoad() throws Exception {
+        final CachedLoad load = cachedMethodManager.beginLoad(CACHE_NAME, "address");
+        assertFalse(load.isLoaded());
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final AtomicReference<CachedLoad> waiterLoad = new AtomicReference<CachedLoad>();
+        Thread waiter = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    started.countDown();
+                    waiterLoad.set(cachedMethodManager.beginLoad(CACHE_NAME, "address"));
+                } catch (Exception e) {
+                }
+            }
+        };
+        waiter.start();
+        started.await();
+        Thread.sleep(100);
+        assertNull(waiterLoad.get());
+
+        try {
+            load.complete("24 Parklane, Apapa");
+        } finally {
+            load.end();
+        }
+
+        waiter.join(5000);
+        assertTrue(waiterLoad.get().isLoaded());
+        assertEquals("24 Parklane, Apapa", waiterLoad.get().getValue());
+    }
+
+    @Test
+    public void testLoadWaitTimesOut() throws Exception {
+        final CachedMethodManager shortWaitManager = (CachedMethodManager) getComponent(
+                "test-shortwaitcachedmethodmanager");
+        final CachedLoad load = shortWaitManager.beginLoad(CACHE_NAME, "address");
+        final AtomicReference<CachedLoad> waiterLoad = new AtomicReference<CachedLoad>();
+        Thread waiter = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    CachedLoad _load = shortWaitManager.beginLoad(CACHE_NAME, "address");
+                    _load.end();
+                    waiterLoad.set(_load);
+                } catch (Exception e) {
+                }
+            }
+        };
+
+        try {
+            waiter.start();
+            waiter.join(2000);
+            assertFalse(waiter.isAlive());
+            assertFalse(waiterLoad.get().isLoaded());
+        } finally {
+            load.end();
+        }
+    }
+
+    @Test
+    public void testLoadWaitCycleIsNotBlocked() throws Exception {
+        final CountDownLatch owning = new CountDownLatch(2);
+        Thread threadA = new CycleLoadThread(owning, "address", "phone");
+        Thread threadB = new CycleLoadThread(owning, "phone", "address");
+        threadA.start();
+        threadB.start();
+        threadA.join(3000);
+        threadB.join(3000);
+        assertFalse(threadA.isAlive());
+        assertFalse(threadB.isAlive());
+    }
+
+    @Test
+    public void testReentrantLoadIsNotBlocked() throws Exception {
+        CachedLoad load = cachedMethodManager.beginLoad(CACHE_NAME, "address");
+        CachedLoad innerLoad = cachedMethodManager.beginLoad(CACHE_NAME, "address");
+        assertFalse(innerLoad.isLoaded());
+        innerLoad.complete("24 Parklane, Apapa");
+        innerLoad.end();
+        load.end();
+
+        load = cachedMethodManager.beginLoad(CACHE_NAME, "address");
+        assertFalse(load.isLoaded());
+        load.end();
+    }
+
+    @Override
+    protected void doAddSettingsAndDependencies() throws Exception {
+        super.doAddSettingsAndDependencies();
+        addDependency("test-shortwaitcachedmethodmanager", CachedMethodManagerImpl.class,
+                new Setting("maxLoadWaitMilliSecs", 200L));
+    }
+
+    @Override
+    protected void onSetup() throws Exception {
+        cachedMethodManager = (CachedMethodManager) getComponent(
+                ApplicationComponents.APPLICATION_CACHEDMETHODMANAGER);
+    }
+
+    @Override
+    protected void onTearDown() throws Exception {
+        cachedMethodManager.evictAll(CACHE_NAME);
+    }
+
+    private class CycleLoadThread extends Thread {
+
+        private final CountDownLatch owning;
+
+        private final String ownKey;
+
+        private final String otherKey;
+
+        public CycleLoadThread(CountDownLatch owning, String ownKey, String otherKey) {
+            this.owning = owning;
+            this.ownKey = ownKey;
+            this.otherKey = otherKey;
+        }
+
+        @Override
+        public void run() {
+            try {
+                CachedLoad load = cachedMethodManager.beginLoad(CACHE_NAME, ownKey);
+                try {
+                    owning.countDown();
+                    owning.await();
+                    cachedMethodManager.beginLoad(CACHE_NAME, otherKey).end();
+                } finally {
+                    load.end();
+                }
+            } catch (Exception e) {
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.channels.Channels;
+
+import org.junit.Test;
+
+import com.tcdng.unify.core.AbstractUnifyComponentTest;
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.Setting;
+import com.tcdng.unify.core.util.IOUtils;
+
+/**
+ * File cache tests.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class FileCacheTest extends AbstractUnifyComponentTest {
+
+    private File fileA;
+
+    private File fileB;
+
+    @Test
+    public void testGetFile() throws Exception {
+        FileCache fileCache = (FileCache) getComponent(ApplicationComponents.APPLICATION_FILECACHE);
+        assertEquals("Hello World!", new String(IOUtils.readAll(fileCache.getFile(fileA.getAbsolutePath()))));
+        assertEquals(12L, fileCache.getFileBytes());
+        assertNull(fileCache.getFile(fileA.getAbsolutePath() + ".missing"));
+    }
+
+    @Test
+    public void testGetFileOffHeap() throws Exception {
+        FileCache fileCache = (FileCache) getComponent("offheap-filecache");
+        assertEquals("Hello World!", new String(IOUtils.readAll(fileCache.getFile(fileA.getAbsolutePath()))));
+        assertEquals("The quick brown fox jumps over the lazy dog",
+                new String(IOUtils.readAll(fileCache.getFile(fileB.getAbsolutePath()))));
+        assertEquals(55L, fileCache.getFileBytes());
+    }
+
+    @Test
+    public void testWriteFile() throws Exception {
+        FileCache fileCache = (FileCache) getComponent(ApplicationComponents.APPLICATION_FILECACHE);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        assertEquals(12L, fileCache.writeFile(fileA.getAbsolutePath(), baos));
+        assertEquals("Hello World!", new String(baos.toByteArray()));
+        assertEquals(-1L, fileCache.writeFile(fileA.getAbsolutePath() + ".missing", baos));
+    }
+
+    @Test
+    public void testWriteFileOffHeap() throws Exception {
+        FileCache fileCache = (FileCache) getComponent("offheap-filecache");
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        assertEquals(43L, fileCache.writeFile(fileB.getAbsolutePath(), Channels.newChannel(baos)));
+        assertEquals("The quick brown fox jumps over the lazy dog", new String(baos.toByteArray()));
+
+        baos = new ByteArrayOutputStream();
+        assertEquals(43L, fileCache.writeFile(fileB.getAbsolutePath(), baos));
+        assertEquals("The quick brown fox jumps over the lazy dog", new String(baos.toByteArray()));
+    }
+
+    @Test
+    public void testFileByteBudget() throws Exception {
+        FileCache fileCache = (FileCache) getComponent("offheap-filecache");
+        File fileC = createFile("Lorem ipsum dolor sit amet");
+        try {
+            fileCache.getFile(fileA.getAbsolutePath());
+            fileCache.getFile(fileB.getAbsolutePath());
+            fileCache.getFile(fileC.getAbsolutePath());
+            assertEquals(26L, fileCache.getFileBytes());
+            assertFalse(fileCache.removeFile(fileB.getAbsolutePath()));
+            assertTrue(fileCache.removeFile(fileC.getAbsolutePath()));
+            assertEquals(0L, fileCache.getFileBytes());
+        } finally {
+            fileC.delete();
+        }
+    }
+
+    @Test
+    public void testFileOverByteBudget() throws Exception {
+        FileCache fileCache = (FileCache) getComponent("offheap-filecache");
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 8; i++) {
+            sb.append("0123456789");
+        }
+
+        final String content = sb.toString();
+        File fileC = createFile(content);
+        try {
+            assertEquals(content, new String(IOUtils.readAll(fileCache.getFile(fileC.getAbsolutePath()))));
+            assertEquals(0L, fileCache.getFileBytes());
+
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            assertEquals(80L, fileCache.writeFile(fileC.getAbsolutePath(), baos));
+            assertEquals(content, new String(baos.toByteArray()));
+
+            baos = new ByteArrayOutputStream();
+            assertEquals(80L, fileCache.writeFile(fileC.getAbsolutePath(), Channels.newChannel(baos)));
+            assertEquals(content, new String(baos.toByteArray()));
+            assertEquals(0L, fileCache.getFileBytes());
+            assertFalse(fileCache.removeFile(fileC.getAbsolutePath()));
+        } finally {
+            fileC.delete();
+        }
+    }
+
+    @Test
+    public void testRemoveModifiedFiles() throws Exception {
+        FileCacheImpl fileCache = (FileCacheImpl) getComponent("offheap-filecache");
+        assertEquals("Hello World!", new String(IOUtils.readAll(fileCache.getFile(fileA.getAbsolutePath()))));
+        IOUtils.writeToFile(fileA, "Hello Unify!".getBytes());
+        fileA.setLastModified(fileA.lastModified() - 60000L);
+        assertEquals("Hello World!", new String(IOUtils.readAll(fileCache.getFile(fileA.getAbsolutePath()))));
+
+        fileCache.removeModifiedFiles(null);
+        assertEquals("Hello Unify!", new String(IOUtils.readAll(fileCache.getFile(fileA.getAbsolutePath()))));
+    }
+
+    @Test
+    public void testMappedFileModifiedInPlace() throws Exception {
+        FileCache fileCache = (FileCache) getComponent("offheap-filecache");
+        assertEquals("The quick brown fox jumps over the lazy dog",
+                new String(IOUtils.readAll(fileCache.getFile(fileB.getAbsolutePath()))));
+        IOUtils.writeToFile(fileB, "The lazy dog sleeps".getBytes());
+        assertEquals("The lazy dog sleeps", new String(IOUtils.readAll(fileCache.getFile(fileB.getAbsolutePath()))));
+        assertEquals(19L, fileCache.getFileBytes());
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        IOUtils.writeToFile(fileB, "The quick brown fox jumps again".getBytes());
+        assertEquals(31L, fileCache.writeFile(fileB.getAbsolutePath(), Channels.newChannel(baos)));
+        assertEquals("The quick brown fox jumps again", new String(baos.toByteArray()));
+        assertEquals(31L, fileCache.getFileBytes());
+    }
+
+    @Override
+    protected void doAddSettingsAndDependencies() throws Exception {
+        addDependency("offheap-filecache", FileCacheImpl.class, new Setting("offHeap", Boolean.TRUE),
+                new Setting("mapThreshold", 16), new Setting("fileByteBudget", 64));
+    }
+
+    @Override
+    protected void onSetup() throws Exception {
+        fileA = createFile("Hello World!");
+        fileB = createFile("The quick brown fox jumps over the lazy dog");
+    }
+
+    @Override
+    protected void onTearDown() throws Exception {
+        ((FileCache) getComponent(ApplicationComponents.APPLICATION_FILECACHE)).clear();
+        ((FileCache) getComponent("offheap-filecache")).clear();
+        fileA.delete();
+        fileB.delete();
+    }
+
+    private File createFile(String content) throws Exception {
+        File file = File.createTempFile("filecache", ".txt");
+        IOUtils.writeToFile(file, content.getBytes());
+        return file;
+    }
+}
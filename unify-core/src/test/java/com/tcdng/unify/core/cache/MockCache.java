@@ -27,6 +27,11 @@ import com.tcdng.unify.core.annotation.Component;
 @Component("mock-cache")
 public class MockCache extends AbstractCache<String, String> {
 
+    @Override
+    protected String reload(String key, String oldObject) throws UnifyException {
+        return oldObject + "+";
+    }
+
     @Override
     protected void onInitialize() throws UnifyException {
 
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.tcdng.unify.core.UnifyException;
+
+/**
+ * Factory map tests.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class FactoryMapTest {
+
+    @Test
+    public void testGetCreatesOnce() throws Exception {
+        final AtomicInteger creations = new AtomicInteger();
+        final FactoryMap<String, String> map = new FactoryMap<String, String>() {
+            @Override
+            protected String create(String key, Object... params) throws Exception {
+                creations.incrementAndGet();
+                Thread.sleep(50);
+                return key.toUpperCase();
+            }
+        };
+
+        List<Future<String>> results = submit(8, new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return map.get("alpha");
+            }
+        });
+
+        for (Future<String> result : results) {
+            assertEquals("ALPHA", result.get(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1, creations.get());
+        assertEquals(1, map.getStats().getCreateCount());
+        assertTrue(map.getStats().getWaitCount() > 0);
+        assertTrue(map.getStats().getTotalCreateNanos() > 0);
+    }
+
+    @Test
+    public void testGetDifferentKeysInParallel() throws Exception {
+        final CountDownLatch betaCreated = new CountDownLatch(1);
+        final FactoryMap<String, String> map = new FactoryMap<String, String>() {
+            @Override
+            protected String create(String key, Object... params) throws Exception {
+                if ("alpha".equals(key)) {
+                    // Slow creation completes only after another key is created
+                    if (!betaCreated.await(5, TimeUnit.SECONDS)) {
+                        throw new IllegalStateException("Blocked by creation of another key");
+                    }
+                } else {
+                    betaCreated.countDown();
+                }
+
+                return key.toUpperCase();
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> alpha = executor.submit(new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    return map.get("alpha");
+                }
+            });
+            Thread.sleep(50);
+            Future<String> beta = executor.submit(new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    return map.get("beta");
+                }
+            });
+
+            assertEquals("BETA", beta.get(5, TimeUnit.SECONDS));
+            assertEquals("ALPHA", alpha.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRecursiveGet() throws Exception {
+        final FactoryMap<String, String> map = new FactoryMap<String, String>() {
+            @Override
+            protected String create(String key, Object... params) throws Exception {
+                if (params.length == 0) {
+                    return get(key, Boolean.TRUE) + "!";
+                }
+
+                return key;
+            }
+        };
+
+        assertEquals("alpha!", map.get("alpha"));
+        assertEquals("alpha!", map.get("alpha"));
+        assertEquals(1, map.getStats().getReentrantCreateCount());
+        assertEquals(2, map.getStats().getCreateCount());
+    }
+
+    @Test
+    public void testCreationWaitCycle() throws Exception {
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+        final FactoryMap<String, String> map = new FactoryMap<String, String>() {
+            @Override
+            protected String create(String key, Object... params) throws Exception {
+                if (params.length == 0) {
+                    // Both threads create their key then request the other's
+                    barrier.await(5, TimeUnit.SECONDS);
+                    return key + get("alpha".equals(key) ? "beta" : "alpha", Boolean.TRUE);
+                }
+
+                return key;
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> alpha = executor.submit(new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    return map.get("alpha");
+                }
+            });
+            Future<String> beta = executor.submit(new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    return map.get("beta");
+                }
+            });
+
+            // Completes without deadlock
+            assertTrue(alpha.get(5, TimeUnit.SECONDS).startsWith("alphabeta"));
+            assertTrue(beta.get(5, TimeUnit.SECONDS).startsWith("betaalpha"));
+            assertTrue(map.getStats().getReentrantCreateCount() > 0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailedCreationRetried() throws Exception {
+        final AtomicInteger attempts = new AtomicInteger();
+        final FactoryMap<String, String> map = new FactoryMap<String, String>() {
+            @Override
+            protected String create(String key, Object... params) throws Exception {
+                if (attempts.incrementAndGet() == 1) {
+                    throw new IllegalStateException("First attempt fails");
+                }
+
+                return key;
+            }
+        };
+
+        try {
+            map.get("alpha");
+            fail("Expected exception");
+        } catch (UnifyException e) {
+        }
+
+        assertEquals("alpha", map.get("alpha"));
+        assertEquals("alpha", map.get("alpha"));
+        assertEquals(2, attempts.get());
+        assertEquals(1, map.getStats().getFailedCreateCount());
+        assertEquals(1, map.getStats().getCreateCount());
+    }
+
+    private <T> List<Future<T>> submit(int threads, Callable<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<T>> results = new ArrayList<Future<T>>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(task));
+            }
+
+            for (Future<T> result : results) {
+                result.get(5, TimeUnit.SECONDS);
+            }
+
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import org.junit.Test;
+
+import com.tcdng.unify.common.database.Entity;
+import com.tcdng.unify.core.AbstractUnifyComponentTest;
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.criterion.Amongst;
+import com.tcdng.unify.core.criterion.Less;
+import com.tcdng.unify.core.criterion.Restriction;
+import com.tcdng.unify.core.criterion.Update;
+import com.tcdng.unify.core.system.entities.ClusterCommand;
+import com.tcdng.unify.core.system.entities.ClusterCommandParam;
+import com.tcdng.unify.core.system.entities.ClusterNode;
+import com.tcdng.unify.core.system.entities.UserSessionTracking;
+
+/**
+ * Chunked purger test case.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class ChunkedPurgerTest extends AbstractUnifyComponentTest {
+
+    @Test
+    public void testPurgeInChunksChildFirst() throws Exception {
+        createCommands("node-x", 25, 2);
+        createCommands("node-y", 5, 2);
+
+        ChunkedPurger purger = newChunkedPurger(10, 60000L);
+        PurgeResult result = purge(purger, "node-x");
+        assertTrue(result.isComplete());
+        assertEquals(3, result.getChunks());
+        assertEquals(75L, result.getRowsPurged());
+        assertEquals(5, countAll(ClusterCommand.class));
+        assertEquals(10, countAll(ClusterCommandParam.class));
+    }
+
+    @Test
+    public void testPurgeStopsOnTimeBudget() throws Exception {
+        createCommands("node-x", 25, 1);
+
+        ChunkedPurger purger = newChunkedPurger(10, 0L);
+        PurgeResult result = purge(purger, "node-x");
+        assertFalse(result.isComplete());
+        assertEquals(1, result.getChunks());
+        assertEquals(20L, result.getRowsPurged());
+        assertEquals(15, countAll(ClusterCommand.class));
+
+        purger = newChunkedPurger(10, 60000L);
+        result = purge(purger, "node-x");
+        assertTrue(result.isComplete());
+        assertEquals(30L, result.getRowsPurged());
+        assertEquals(0, countAll(ClusterCommand.class));
+        assertEquals(0, countAll(ClusterCommandParam.class));
+    }
+
+    @Test
+    public void testPurgeBatchSizeCapped() throws Exception {
+        createCommands("node-x", ChunkedPurger.MAX_BATCH_SIZE + 10, 0);
+
+        PurgeResult result = purge(newChunkedPurger(ChunkedPurger.MAX_BATCH_SIZE * 10, 60000L), "node-x");
+        assertTrue(result.isComplete());
+        assertEquals(2, result.getChunks());
+        assertEquals(ChunkedPurger.MAX_BATCH_SIZE + 10L, result.getRowsPurged());
+        assertEquals(0, countAll(ClusterCommand.class));
+    }
+
+    @Test
+    public void testPurgeNoMatch() throws Exception {
+        createCommands("node-y", 3, 1);
+
+        PurgeResult result = purge(newChunkedPurger(10, 60000L), "node-x");
+        assertTrue(result.isComplete());
+        assertEquals(0, result.getChunks());
+        assertEquals(0L, result.getRowsPurged());
+        assertEquals(3, countAll(ClusterCommand.class));
+    }
+
+    @Test
+    public void testPurgeNonSequencedEntity() throws Exception {
+        Date now = new Date();
+        Date old = new Date(now.getTime() - 3600000L);
+        for (int i = 0; i < 12; i++) {
+            createSession("old-" + i);
+        }
+        createSession("new-0");
+        updateLastAccessTime("old-", old);
+
+        PurgeResult result = purge(newChunkedPurger(5, 60000L), UserSessionTracking.class,
+                new Less("lastAccessTime", new Date(now.getTime() - 60000L)));
+        assertTrue(result.isComplete());
+        assertEquals(3, result.getChunks());
+        assertEquals(12L, result.getRowsPurged());
+        assertEquals(1, countSessions());
+        assertNotNull(findRecord(UserSessionTracking.class, "new-0"));
+    }
+
+    @Override
+    protected void onSetup() throws Exception {
+        createNode("node-x");
+        createNode("node-y");
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected void onTearDown() throws Exception {
+        deleteAll(ClusterCommandParam.class, ClusterCommand.class, ClusterNode.class, UserSessionTracking.class);
+    }
+
+    private PurgeResult purge(ChunkedPurger purger, String nodeId) throws Exception {
+        return purge(purger, ClusterCommand.class, new Amongst("nodeId", Arrays.asList(nodeId)),
+                new ChunkedPurger.Child(ClusterCommandParam.class, "clusterCommandId"));
+    }
+
+    private PurgeResult purge(ChunkedPurger purger, Class<? extends Entity> entityClass, Restriction criteria,
+            ChunkedPurger.Child... children) throws Exception {
+        DatabaseTransactionManager tm = (DatabaseTransactionManager) getComponent(
+                ApplicationComponents.APPLICATION_DATABASETRANSACTIONMANAGER);
+        tm.beginTransaction();
+        try {
+            return purger.purge(entityClass, criteria, children);
+        } finally {
+            tm.endTransaction();
+        }
+    }
+
+    private ChunkedPurger newChunkedPurger(int batchSize, long timeBudgetMillis) throws Exception {
+        return new ChunkedPurger((Database) getComponent(ApplicationComponents.APPLICATION_DATABASE),
+                (DatabaseTransactionManager) getComponent(ApplicationComponents.APPLICATION_DATABASETRANSACTIONMANAGER),
+                batchSize, timeBudgetMillis);
+    }
+
+    private void createSession(String sessionId) throws Exception {
+        UserSessionTracking userSessionTracking = new UserSessionTracking();
+        userSessionTracking.setSessionId(sessionId);
+        userSessionTracking.setNode("node-x");
+        createRecord(userSessionTracking);
+    }
+
+    private int countSessions() throws Exception {
+        Database db = (Database) getComponent(ApplicationComponents.APPLICATION_DATABASE);
+        DatabaseTransactionManager tm = (DatabaseTransactionManager) getComponent(
+                ApplicationComponents.APPLICATION_DATABASETRANSACTIONMANAGER);
+        tm.beginTransaction();
+        try {
+            return db.countAll(Query.of(UserSessionTracking.class).ignoreEmptyCriteria(true));
+        } finally {
+            tm.endTransaction();
+        }
+    }
+
+    private void updateLastAccessTime(String sessionIdPrefix, Date lastAccessTime) throws Exception {
+        Database db = (Database) getComponent(ApplicationComponents.APPLICATION_DATABASE);
+        DatabaseTransactionManager tm = (DatabaseTransactionManager) getComponent(
+                ApplicationComponents.APPLICATION_DATABASETRANSACTIONMANAGER);
+        tm.beginTransaction();
+        try {
+            db.updateAll(Query.of(UserSessionTracking.class).addBeginsWith("sessionId", sessionIdPrefix),
+                    new Update().add("lastAccessTime", lastAccessTime));
+        } finally {
+            tm.endTransaction();
+        }
+    }
+
+    private void createNode(String nodeId) throws Exception {
+        ClusterNode clusterNode = new ClusterNode();
+        clusterNode.setNodeId(nodeId);
+        clusterNode.setLastHeartBeat(new Date());
+        clusterNode.setIpAddress("127.0.0.1");
+        createRecord(clusterNode);
+    }
+
+    private void createCommands(String nodeId, int count, int params) throws Exception {
+        for (int i = 0; i < count; i++) {
+            ClusterCommand clusterCommand = new ClusterCommand();
+            clusterCommand.setNodeId(nodeId);
+            clusterCommand.setCommandCode("cmd" + i);
+            Long clusterCommandId = (Long) createRecord(clusterCommand);
+            for (int j = 0; j < params; j++) {
+                ClusterCommandParam clusterCommandParam = new ClusterCommandParam();
+                clusterCommandParam.setClusterCommandId(clusterCommandId);
+                clusterCommandParam.setParameter("param" + j);
+                createRecord(clusterCommandParam);
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.database;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+
+import org.junit.Test;
+
+import com.tcdng.unify.common.constants.ApplicationCommonConstants;
+import com.tcdng.unify.core.AbstractUnifyComponentTest;
+import com.tcdng.unify.core.ApplicationComponents;
+
+/**
+ * Database clock tests.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class DatabaseClockTest extends AbstractUnifyComponentTest {
+
+    private static final long TOLERANCE_MILLISECONDS = 250L + 100L;
+
+    private DatabaseTransactionManager tm;
+
+    private Database db;
+
+    private DatabaseClock clock;
+
+    @Test
+    public void testGetNowByDataSourceName() throws Exception {
+        assertFalse(clock.isStrict());
+        Date now = clock.getNow(ApplicationCommonConstants.APPLICATION_DATASOURCE);
+        assertNotNull(now);
+        assertNotNull(clock.getOffsetMillis(ApplicationCommonConstants.APPLICATION_DATASOURCE));
+        Long errorBound = clock.getErrorBoundMillis(ApplicationCommonConstants.APPLICATION_DATASOURCE);
+        assertNotNull(errorBound);
+        assertTrue(errorBound >= 1L);
+    }
+
+    @Test
+    public void testGetNowCloseToStrictNow() throws Exception {
+        tm.beginTransaction();
+        try {
+            Date now = db.getNow();
+            Date strictNow = db.getStrictNow();
+            assertNotNull(now);
+            assertNotNull(strictNow);
+            assertTrue(Math.abs(strictNow.getTime() - now.getTime()) <= TOLERANCE_MILLISECONDS);
+
+            for (int i = 0; i < 10; i++) {
+                Date next = db.getNow();
+                assertFalse(next.before(now));
+                now = next;
+            }
+        } finally {
+            tm.endTransaction();
+        }
+    }
+
+    @Test
+    public void testUnknownDataSourceNotCalibrated() throws Exception {
+        assertNull(clock.getOffsetMillis("unknown-datasource"));
+        assertNull(clock.getErrorBoundMillis("unknown-datasource"));
+    }
+
+    @Override
+    protected void onSetup() throws Exception {
+        tm = (DatabaseTransactionManager) getComponent(ApplicationComponents.APPLICATION_DATABASETRANSACTIONMANAGER);
+        db = (Database) getComponent(ApplicationComponents.APPLICATION_DATABASE);
+        clock = (DatabaseClock) getComponent(ApplicationComponents.APPLICATION_DATABASECLOCK);
+    }
+
+    @Override
+    protected void onTearDown() throws Exception {
+
+    }
+}
@@ -32,6 +32,7 @@ import java.util.Set;
 
 import org.junit.Test;
 
+import com.tcdng.unify.common.database.Entity;
 import com.tcdng.unify.core.AbstractUnifyComponentTest;
 import com.tcdng.unify.core.ApplicationComponents;
 import com.tcdng.unify.core.UnifyCorePropertyConstants;
@@ -2829,6 +2830,39 @@ public class DatabaseTableEntityCRUDTest extends AbstractUnifyComponentTest {
 		}
 	}
 
+	@Test
+	public void testUpdateAllBatch() throws Exception {
+		tm.beginTransaction();
+		try {
+			db.create(new Fruit("apple", "red", 20.00));
+			db.create(new Fruit("pineapple", "cyan", 60.00));
+			db.create(new Fruit("banana", "yellow", 45.00));
+			db.create(new Fruit("orange", "orange", 15.00));
+			List<Query<? extends Entity>> queryList = new ArrayList<Query<? extends Entity>>();
+			List<Update> updateList = new ArrayList<Update>();
+			queryList.add(new FruitQuery().addEquals("name", "apple"));
+			updateList.add(new Update().add("price", 25.00));
+			queryList.add(new FruitQuery().addEquals("name", "orange"));
+			updateList.add(new Update().add("price", 35.00));
+			queryList.add(new FruitQuery().addEquals("name", "mango"));
+			updateList.add(new Update().add("price", 40.00));
+			int[] result = db.updateAllBatch(queryList, updateList);
+			assertEquals(3, result.length);
+			assertEquals(1, result[0]);
+			assertEquals(1, result[1]);
+			assertEquals(0, result[2]);
+
+			List<Fruit> testFruitList = db.findAll(new FruitQuery().ignoreEmptyCriteria(true).addOrder("name"));
+			assertEquals(4, testFruitList.size());
+			assertEquals(Double.valueOf(25.00), testFruitList.get(0).getPrice());
+			assertEquals(Double.valueOf(45.00), testFruitList.get(1).getPrice());
+			assertEquals(Double.valueOf(35.00), testFruitList.get(2).getPrice());
+			assertEquals(Double.valueOf(60.00), testFruitList.get(3).getPrice());
+		} finally {
+			tm.endTransaction();
+		}
+	}
+
 	@Test
 	public void testUpdateAllRecordWithOrder() throws Exception {
 		tm.beginTransaction();
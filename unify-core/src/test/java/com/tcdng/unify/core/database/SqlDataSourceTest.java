@@ -266,6 +266,19 @@ public class SqlDataSourceTest extends AbstractUnifyComponentTest {
 
     }
 
+    @Test
+    public void testGetAllColumnMapLowerCase() throws Exception {
+        Map<String, Map<String, SqlColumnInfo>> allColumnMap = sqlDataSource.getAllColumnMapLowerCase("PUBLIC");
+        assertNotNull(allColumnMap);
+        Map<String, SqlColumnInfo> columnMap = allColumnMap.get("AUTHOR");
+        assertNotNull(columnMap);
+        assertEquals(sqlDataSource.getColumnMapLowerCase("PUBLIC", "AUTHOR").keySet(), columnMap.keySet());
+        assertTrue(columnMap.containsKey("author_id"));
+        assertTrue(columnMap.containsKey("office_id"));
+
+        assertTrue(sqlDataSource.getAllColumnMapLowerCase(null).isEmpty());
+    }
+
     @Override
     protected void onSetup() throws Exception {
         sqlDataSource = (SqlDataSource) getComponent(ApplicationComponents.APPLICATION_DATASOURCE);
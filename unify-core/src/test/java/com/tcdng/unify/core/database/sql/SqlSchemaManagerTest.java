@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.database.sql;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.tcdng.unify.common.database.Entity;
+import com.tcdng.unify.core.AbstractUnifyComponentTest;
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.constant.ForceConstraints;
+import com.tcdng.unify.core.constant.PrintFormat;
+import com.tcdng.unify.core.database.Author;
+import com.tcdng.unify.core.database.Office;
+
+/**
+ * SQL schema manager tests.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class SqlSchemaManagerTest extends AbstractUnifyComponentTest {
+
+    private SqlSchemaManager sqlSchemaManager;
+
+    private SqlDataSource sqlDataSource;
+
+    private SqlSchemaManagerOptions options;
+
+    @Test
+    public void testManageSchemaSkippedOnUnchangedFingerprint() throws Exception {
+        List<Class<?>> tableList = Arrays.<Class<?>>asList(Office.class, Author.class);
+        List<Class<? extends Entity>> viewList = Collections.emptyList();
+        sqlSchemaManager.manageSchema(sqlDataSource, options, tableList, viewList);
+        assertFalse(sqlSchemaManager.manageSchema(sqlDataSource, options, tableList, viewList));
+    }
+
+    @Test
+    public void testManageSchemaOnChangedFingerprint() throws Exception {
+        List<Class<? extends Entity>> viewList = Collections.emptyList();
+        sqlSchemaManager.manageSchema(sqlDataSource, options, Arrays.<Class<?>>asList(Office.class), viewList);
+        assertTrue(sqlSchemaManager.manageSchema(sqlDataSource, options,
+                Arrays.<Class<?>>asList(Office.class, Author.class), viewList));
+        assertFalse(sqlSchemaManager.manageSchema(sqlDataSource, options,
+                Arrays.<Class<?>>asList(Office.class, Author.class), viewList));
+        assertTrue(sqlSchemaManager.manageSchema(sqlDataSource,
+                new SqlSchemaManagerOptions(PrintFormat.NONE, ForceConstraints.FALSE),
+                Arrays.<Class<?>>asList(Office.class, Author.class), viewList));
+    }
+
+    @Override
+    protected void onSetup() throws Exception {
+        sqlSchemaManager = (SqlSchemaManager) getComponent(ApplicationComponents.APPLICATION_SQLSCHEMAMANAGER);
+        sqlDataSource = (SqlDataSource) getComponent(ApplicationComponents.APPLICATION_DATASOURCE);
+        options = new SqlSchemaManagerOptions(PrintFormat.NONE, ForceConstraints.TRUE);
+    }
+
+    @Override
+    protected void onTearDown() throws Exception {
+
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.expiration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Timer wheel tests.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class TimerWheelTest {
+
+    private static final long START = 1000000L;
+
+    @Test
+    public void testExpireBeforeDeadline() throws Exception {
+        TimerWheel<String> wheel = new TimerWheel<String>(10L, START);
+        wheel.schedule("a", START + 25);
+        wheel.schedule("b", START + 55);
+        assertEquals(2, wheel.size());
+
+        assertTrue(wheel.expireBefore(START + 24).isEmpty());
+        assertEquals(Arrays.asList("a"), wheel.expireBefore(START + 25));
+        assertTrue(wheel.expireBefore(START + 54).isEmpty());
+        assertEquals(Arrays.asList("b"), wheel.expireBefore(START + 100));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testExpireWithinSameTick() throws Exception {
+        TimerWheel<String> wheel = new TimerWheel<String>(100L, START);
+        wheel.schedule("a", START + 110);
+        wheel.schedule("b", START + 150);
+        assertEquals(Arrays.asList("a"), wheel.expireBefore(START + 120));
+        assertEquals(Arrays.asList("b"), wheel.expireBefore(START + 150));
+    }
+
+    @Test
+    public void testExpirePastDeadline() throws Exception {
+        TimerWheel<String> wheel = new TimerWheel<String>(10L, START);
+        wheel.schedule("a", START - 5000);
+        assertEquals(Arrays.asList("a"), wheel.expireBefore(START));
+    }
+
+    @Test
+    public void testExpireAcrossLevels() throws Exception {
+        TimerWheel<Long> wheel = new TimerWheel<Long>(1L, 0L);
+        long[] deadlines = { 3L, 63L, 64L, 65L, 4095L, 4096L, 5000L, 262144L, 300000L, 16777216L, 20000000L };
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, deadline);
+        }
+
+        for (long deadline : deadlines) {
+            assertTrue(wheel.expireBefore(deadline - 1).isEmpty());
+            assertEquals(Arrays.asList(deadline), wheel.expireBefore(deadline));
+        }
+
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testExpireManyInBulk() throws Exception {
+        TimerWheel<Integer> wheel = new TimerWheel<Integer>(10L, START);
+        for (int i = 0; i < 1000; i++) {
+            wheel.schedule(i, START + i * 7);
+        }
+
+        List<Integer> expired = wheel.expireBefore(START + 3500);
+        assertEquals(501, expired.size());
+        assertEquals(499, wheel.size());
+        assertEquals(499, wheel.expireBefore(START + 7000).size());
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        TimerWheel<String> wheel = new TimerWheel<String>(10L, START);
+        TimerWheel.Timeout<String> timeout = wheel.schedule("a", START + 30);
+        wheel.schedule("b", START + 30);
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertEquals(1, wheel.size());
+        assertEquals(Arrays.asList("b"), wheel.expireBefore(START + 30));
+        assertFalse(timeout.isExpired());
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        TimerWheel<String> wheel = new TimerWheel<String>(10L, START);
+        wheel.schedule("a", START + 30);
+        wheel.expireBefore(START);
+        wheel.schedule("b", START + 3000);
+        wheel.clear();
+        assertEquals(0, wheel.size());
+        assertTrue(wheel.expireBefore(START + 5000).isEmpty());
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.list;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.tcdng.unify.common.data.Listable;
+import com.tcdng.unify.core.AbstractUnifyComponentTest;
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.Setting;
+import com.tcdng.unify.core.constant.TopicEventType;
+import com.tcdng.unify.core.criterion.Update;
+import com.tcdng.unify.core.database.Database;
+import com.tcdng.unify.core.database.DatabaseTransactionManager;
+import com.tcdng.unify.core.database.Fruit;
+import com.tcdng.unify.core.database.FruitQuery;
+
+/**
+ * Database search provider tests.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class DBSearchProviderTest extends AbstractUnifyComponentTest {
+
+    @Test
+    public void testSearchWithoutIndex() throws Exception {
+        SearchProvider searchProvider = (SearchProvider) getComponent("test-fruitsearch");
+        assertEquals(Collections.singletonList("Banana"), names(searchProvider.search("Ban")));
+        assertEquals(0, searchProvider.search("Kiwi").size());
+    }
+
+    @Test
+    public void testSearchWithIndex() throws Exception {
+        SearchProvider searchProvider = getReadySearchProvider("test-indexedfruitsearch");
+        assertEquals(Collections.singletonList("Banana"), names(searchProvider.search("Ban")));
+        assertEquals(Collections.singletonList("Banana"), names(searchProvider.search("nan")));
+        assertEquals(Collections.singletonList("Pineapple"), names(searchProvider.search("apple")));
+        assertEquals(Arrays.asList("Banana", "Orange"), names(searchProvider.search("an")));
+        assertEquals(0, searchProvider.search("BANANA").size());
+        assertEquals(0, searchProvider.search("Kiwi").size());
+        assertEquals(0, searchProvider.search("nanx").size());
+    }
+
+    @Test
+    public void testSearchWithIndexMatchesDatabaseSearch() throws Exception {
+        SearchProvider dbSearchProvider = (SearchProvider) getComponent("test-fruitsearch");
+        SearchProvider indexSearchProvider = getReadySearchProvider("test-indexedfruitsearch");
+        for (String filter : new String[] { "Ban", "nan", "BANANA", "banana", "an", "e", "apple", "Pine", "nge",
+                "Kiwi", "nanx" }) {
+            assertEquals(filter, names(dbSearchProvider.search(filter)), names(indexSearchProvider.search(filter)));
+        }
+    }
+
+    @Test
+    public void testIndexReturnsCopies() throws Exception {
+        SearchProvider searchProvider = getReadySearchProvider("test-indexedfruitsearch");
+        List<? extends Listable> list = searchProvider.search("Ban");
+        assertEquals(1, list.size());
+        ((Fruit) list.get(0)).setName("Plantain");
+
+        assertEquals(Collections.singletonList("Banana"), names(searchProvider.search("Ban")));
+        assertEquals(0, searchProvider.search("Plan").size());
+    }
+
+    @Test
+    public void testIndexRebuiltAfterRebuildPeriod() throws Exception {
+        SearchProvider searchProvider = getReadySearchProvider("test-rebuildindexfruitsearch");
+        assertEquals(0, searchProvider.search("Kiwi").size());
+
+        createRecord(new Fruit("Kiwi", "green", 15.00));
+        assertEquals(0, searchProvider.search("Kiwi").size());
+
+        // Database search while index is rebuilt
+        Thread.sleep(1100);
+        assertEquals(Collections.singletonList("Kiwi"), names(searchProvider.search("Kiwi")));
+
+        searchProvider = getReadySearchProvider("test-rebuildindexfruitsearch");
+        assertEquals(Collections.singletonList("Kiwi"), names(searchProvider.search("Kiwi")));
+    }
+
+    @Test
+    public void testSearchFromDatabaseUntilIndexReady() throws Exception {
+        AbstractDBSearchProvider searchProvider = (AbstractDBSearchProvider) getComponent(
+                "test-indexedfruitsearch");
+        assertFalse(searchProvider.isSearchIndexReady());
+        assertEquals(Collections.singletonList("Banana"), names(searchProvider.search("Ban")));
+        assertEquals(Arrays.asList("Banana", "Orange"), names(searchProvider.search("an")));
+    }
+
+    @Test
+    public void testIndexFollowsEntityEvents() throws Exception {
+        SearchProvider searchProvider = getReadySearchProvider("test-indexedfruitsearch");
+        assertEquals(0, searchProvider.search("Kiwi").size());
+
+        Database db = (Database) getComponent(ApplicationComponents.APPLICATION_DATABASE);
+        DatabaseTransactionManager tm = (DatabaseTransactionManager) getComponent(
+                ApplicationComponents.APPLICATION_DATABASETRANSACTIONMANAGER);
+        tm.beginTransaction();
+        try {
+            Object kiwiId = db.create(new Fruit("Kiwi", "green", 15.00));
+            tm.setOffEntityEvent(TopicEventType.CREATE, null, Fruit.class, kiwiId);
+
+            Object orangeId = db.find(new FruitQuery().addEquals("name", "Orange")).getId();
+            db.updateAll(new FruitQuery().addEquals("name", "Orange"), new Update().add("name", "Tangerine"));
+            tm.setOffEntityEvent(TopicEventType.UPDATE, null, Fruit.class, orangeId);
+
+            Object bananaId = db.find(new FruitQuery().addEquals("name", "Banana")).getId();
+            db.deleteAll(new FruitQuery().addEquals("name", "Banana"));
+            tm.setOffEntityEvent(TopicEventType.DELETE, null, Fruit.class, bananaId);
+        } finally {
+            tm.endTransaction();
+        }
+
+        assertEquals(Collections.singletonList("Kiwi"), names(searchProvider.search("Kiw")));
+        assertEquals(Collections.singletonList("Tangerine"), names(searchProvider.search("Tang")));
+        assertEquals(0, searchProvider.search("Orange").size());
+        assertEquals(0, searchProvider.search("Banana").size());
+        assertTrue(((AbstractDBSearchProvider) searchProvider).isSearchIndexReady());
+    }
+
+    @Test
+    public void testIndexFallsBackAboveMaximumSize() throws Exception {
+        AbstractDBSearchProvider searchProvider = (AbstractDBSearchProvider) getComponent(
+                "test-smallindexfruitsearch");
+        assertEquals(Collections.singletonList("Banana"), names(searchProvider.search("Ban")));
+        Thread.sleep(200);
+        assertEquals(Collections.singletonList("Banana"), names(searchProvider.search("nan")));
+        assertFalse(searchProvider.isSearchIndexReady());
+    }
+
+    @Override
+    protected void doAddSettingsAndDependencies() throws Exception {
+        super.doAddSettingsAndDependencies();
+        addDependency("test-fruitsearch", TestFruitSearchProvider.class);
+        addDependency("test-indexedfruitsearch", TestFruitSearchProvider.class,
+                new Setting("inMemoryIndex", Boolean.TRUE));
+        addDependency("test-smallindexfruitsearch", TestFruitSearchProvider.class,
+                new Setting("inMemoryIndex", Boolean.TRUE), new Setting("maxIndexSize", 2));
+        addDependency("test-rebuildindexfruitsearch", TestFruitSearchProvider.class,
+                new Setting("inMemoryIndex", Boolean.TRUE), new Setting("indexRebuildPeriod", 1));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected void onSetup() throws Exception {
+        deleteAll(Fruit.class);
+        createRecord(new Fruit("Banana", "yellow", 45.00));
+        createRecord(new Fruit("Orange", "orange", 20.00));
+        createRecord(new Fruit("Pineapple", "yellow", 60.00));
+        ((AbstractDBSearchProvider) getComponent("test-indexedfruitsearch")).refreshSearchIndex();
+        ((AbstractDBSearchProvider) getComponent("test-rebuildindexfruitsearch")).refreshSearchIndex();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected void onTearDown() throws Exception {
+        deleteAll(Fruit.class);
+    }
+
+    private SearchProvider getReadySearchProvider(String name) throws Exception {
+        AbstractDBSearchProvider searchProvider = (AbstractDBSearchProvider) getComponent(name);
+        final long expiryTime = System.currentTimeMillis() + 5000;
+        while (!searchProvider.isSearchIndexReady() && System.currentTimeMillis() < expiryTime) {
+            searchProvider.search("a");
+            Thread.sleep(10);
+        }
+
+        assertTrue(searchProvider.isSearchIndexReady());
+        return searchProvider;
+    }
+
+    private List<String> names(List<? extends Listable> list) {
+        List<String> names = new ArrayList<String>();
+        for (Listable listable : list) {
+            names.add(((Fruit) listable).getName());
+        }
+
+        return names;
+    }
+}
@@ -18,6 +18,7 @@ package com.tcdng.unify.core.list;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.List;
@@ -28,6 +29,9 @@ import org.junit.Test;
 import com.tcdng.unify.common.data.Listable;
 import com.tcdng.unify.core.AbstractUnifyComponentTest;
 import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.constant.TopicEventType;
+import com.tcdng.unify.core.database.DatabaseTransactionManager;
+import com.tcdng.unify.core.database.Fruit;
 
 /**
  * Default list manager implementation tests.
@@ -68,6 +72,7 @@ public class ListManagerImplTest extends AbstractUnifyComponentTest {
         List<? extends Listable> list = listManager.getList(Locale.ENGLISH, "staticlistlist");
         assertNotNull(list);
         assertTrue(!list.isEmpty());
+        assertSame(list, listManager.getList(Locale.ENGLISH, "staticlistlist"));
     }
 
     @Test
@@ -128,9 +133,109 @@ public class ListManagerImplTest extends AbstractUnifyComponentTest {
         assertNull(listable);
     }
     
+    @Test
+    public void testCachedListCommandResults() throws Exception {
+        ListManager listManager = (ListManager) getComponent(ApplicationComponents.APPLICATION_LISTMANAGER);
+        TestCachedListCommand listCommand = (TestCachedListCommand) getComponent("test-cachedlist");
+        final int executions = listCommand.getExecutions();
+
+        List<? extends Listable> list = listManager.getList(Locale.ENGLISH, "test-cachedlist", 2);
+        assertEquals(2, list.size());
+        assertEquals(executions + 1, listCommand.getExecutions());
+
+        assertTrue(list == listManager.getList(Locale.ENGLISH, "test-cachedlist", 2));
+        assertEquals(2, listManager.getListMap(Locale.ENGLISH, "test-cachedlist", 2).size());
+        assertEquals(executions + 1, listCommand.getExecutions());
+
+        assertEquals(4, listManager.getList(Locale.ENGLISH, "test-cachedlist", 4).size());
+        assertEquals(executions + 2, listCommand.getExecutions());
+
+        assertEquals(2, listManager.getList(Locale.GERMAN, "test-cachedlist", 2).size());
+        assertEquals(executions + 3, listCommand.getExecutions());
+    }
+
+    @Test
+    public void testCachedListItemLookup() throws Exception {
+        ListManager listManager = (ListManager) getComponent(ApplicationComponents.APPLICATION_LISTMANAGER);
+        TestCachedListCommand listCommand = (TestCachedListCommand) getComponent("test-cachedlist");
+        final int executions = listCommand.getExecutions();
+
+        Listable listable = listManager.getListItemByKey(Locale.ENGLISH, "test-cachedlist", "key3", 5);
+        assertNotNull(listable);
+        assertEquals("Item 3", listable.getListDescription());
+
+        listable = listManager.getListItemByDescription(Locale.ENGLISH, "test-cachedlist", "Item 5", 5);
+        assertNotNull(listable);
+        assertEquals("key5", listable.getListKey());
+
+        assertNull(listManager.getListItemByKey(Locale.ENGLISH, "test-cachedlist", "key6", 5));
+        assertNull(listManager.getListItemByDescription(Locale.ENGLISH, "test-cachedlist", "Item 6", 5));
+        assertEquals(executions + 1, listCommand.getExecutions());
+    }
+
+    @Test
+    public void testInvalidateListCache() throws Exception {
+        ListManager listManager = (ListManager) getComponent(ApplicationComponents.APPLICATION_LISTMANAGER);
+        TestCachedListCommand listCommand = (TestCachedListCommand) getComponent("test-cachedlist");
+        final int executions = listCommand.getExecutions();
+
+        listManager.getList(Locale.ENGLISH, "test-cachedlist", 2);
+        listManager.getList(Locale.ENGLISH, "test-cachedlist", 2);
+        assertEquals(executions + 1, listCommand.getExecutions());
+
+        listManager.invalidateListCache("test-cachedlist");
+        listManager.getList(Locale.ENGLISH, "test-cachedlist", 2);
+        listManager.getList(Locale.ENGLISH, "test-cachedlist", 2);
+        assertEquals(executions + 2, listCommand.getExecutions());
+    }
+
+    @Test
+    public void testEntityEventInvalidatesCachedList() throws Exception {
+        ListManager listManager = (ListManager) getComponent(ApplicationComponents.APPLICATION_LISTMANAGER);
+        TestCachedListCommand listCommand = (TestCachedListCommand) getComponent("test-cachedlist");
+        final int executions = listCommand.getExecutions();
+
+        listManager.getList(Locale.ENGLISH, "test-cachedlist", 2);
+        listManager.getList(Locale.ENGLISH, "test-cachedlist", 2);
+        assertEquals(executions + 1, listCommand.getExecutions());
+
+        DatabaseTransactionManager tm = (DatabaseTransactionManager) getComponent(
+                ApplicationComponents.APPLICATION_DATABASETRANSACTIONMANAGER);
+        tm.beginTransaction();
+        try {
+            tm.setOffEntityEvent(TopicEventType.UPDATE, null, Fruit.class, Long.valueOf(1L));
+        } finally {
+            tm.endTransaction();
+        }
+
+        listManager.getList(Locale.ENGLISH, "test-cachedlist", 2);
+        assertEquals(executions + 2, listCommand.getExecutions());
+    }
+
+    @Test
+    public void testCachedListResultsBounded() throws Exception {
+        ListManager listManager = (ListManager) getComponent(ApplicationComponents.APPLICATION_LISTMANAGER);
+        ListCacheImpl listCache = (ListCacheImpl) getComponent(ApplicationComponents.APPLICATION_LISTCACHE);
+        TestCachedListCommand listCommand = (TestCachedListCommand) getComponent("test-cachedlist");
+        final int count = (int) listCache.getMaximumSize() + 100;
+        final int executions = listCommand.getExecutions();
+        for (int i = 0; i < count; i++) {
+            listManager.getList(Locale.ENGLISH, "test-cachedlist", -i);
+        }
+
+        assertEquals(executions + count, listCommand.getExecutions());
+        assertTrue(listCache.size() <= listCache.getMaximumSize());
+
+        // Still caching when full
+        listManager.getList(Locale.ENGLISH, "test-cachedlist", 2);
+        listManager.getList(Locale.ENGLISH, "test-cachedlist", 2);
+        assertEquals(executions + count + 1, listCommand.getExecutions());
+    }
+
     @Override
     protected void onSetup() throws Exception {
-
+        ListManager listManager = (ListManager) getComponent(ApplicationComponents.APPLICATION_LISTMANAGER);
+        listManager.invalidateListCache("test-cachedlist");
     }
 
     @Override
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.list;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.tcdng.unify.common.data.Listable;
+import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.annotation.Component;
+import com.tcdng.unify.core.data.ListData;
+import com.tcdng.unify.core.database.Fruit;
+
+/**
+ * Test cached list command.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+@Component("test-cachedlist")
+public class TestCachedListCommand extends AbstractListCommand<IntegerParam> {
+
+    private int executions;
+
+    public TestCachedListCommand() {
+        super(IntegerParam.class, 60L, Fruit.class);
+    }
+
+    @Override
+    public List<? extends Listable> execute(Locale locale, IntegerParam params) throws UnifyException {
+        executions++;
+        List<Listable> list = new ArrayList<Listable>();
+        final int count = params.isPresent() ? params.getValue() : 3;
+        for (int i = 1; i <= count; i++) {
+            list.add(new ListData("key" + i, "Item " + i));
+        }
+
+        return list;
+    }
+
+    public int getExecutions() {
+        return executions;
+    }
+}
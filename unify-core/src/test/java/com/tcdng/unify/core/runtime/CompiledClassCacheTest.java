@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.runtime;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Compiled class cache tests.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class CompiledClassCacheTest {
+
+    private File folder;
+
+    @Test
+    public void testGetKey() throws Exception {
+        String key = CompiledClassCache.getKey("a.B", "class B {}");
+        assertEquals(64, key.length());
+        assertEquals(key, CompiledClassCache.getKey("a.B", "class B {}"));
+        assertNotEquals(key, CompiledClassCache.getKey("a.B", "class B { }"));
+        assertNotEquals(key, CompiledClassCache.getKey("a.C", "class B {}"));
+    }
+
+    @Test
+    public void testPutGet() throws Exception {
+        CompiledClassCache cache = new CompiledClassCache(folder, null);
+        Map<String, byte[]> bytecodes = new HashMap<String, byte[]>();
+        bytecodes.put("a.B", new byte[] { 1, 2, 3 });
+        bytecodes.put("a.B$1", new byte[] { 4 });
+        assertTrue(cache.put("key1", bytecodes));
+
+        Map<String, byte[]> cached = new CompiledClassCache(folder, null).get("key1");
+        assertEquals(2, cached.size());
+        assertArrayEquals(new byte[] { 1, 2, 3 }, cached.get("a.B"));
+        assertArrayEquals(new byte[] { 4 }, cached.get("a.B$1"));
+        assertNull(cache.get("key2"));
+        assertEquals(0, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testGetCorruptEntry() throws Exception {
+        assertTrue(folder.mkdirs());
+        File file = new File(folder, "key1" + CompiledClassCache.ENTRY_EXTENSION);
+        FileOutputStream out = new FileOutputStream(file);
+        out.write(new byte[] { 0, 1, 2, 3, 4, 5 });
+        out.close();
+
+        CompiledClassCache cache = new CompiledClassCache(folder, null);
+        assertNull(cache.get("key1"));
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void testNoFolder() throws Exception {
+        CompiledClassCache cache = new CompiledClassCache(null, getClass().getClassLoader());
+        Map<String, byte[]> bytecodes = new HashMap<String, byte[]>();
+        bytecodes.put("a.B", new byte[] { 1 });
+        assertFalse(cache.put("key1", bytecodes));
+        assertNull(cache.get("key1"));
+    }
+
+    @Before
+    public void setup() throws Exception {
+        folder = new File(System.getProperty("java.io.tmpdir"), "unify-classcache-test-" + System.nanoTime());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+
+        folder.delete();
+    }
+}
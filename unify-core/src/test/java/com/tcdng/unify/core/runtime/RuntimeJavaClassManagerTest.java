@@ -18,17 +18,21 @@ package com.tcdng.unify.core.runtime;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.util.Arrays;
 import java.util.List;
 
+import org.junit.AfterClass;
 import org.junit.Test;
 
 import com.tcdng.unify.common.database.Entity;
 import com.tcdng.unify.core.AbstractUnifyComponentTest;
 import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.UnifyCorePropertyConstants;
 import com.tcdng.unify.core.util.ReflectUtils;
 
 /**
@@ -39,6 +43,9 @@ import com.tcdng.unify.core.util.ReflectUtils;
  */
 public class RuntimeJavaClassManagerTest extends AbstractUnifyComponentTest {
 
+    private static final File CLASSCACHE_FOLDER = new File(System.getProperty("java.io.tmpdir"),
+            "unify-classcache-" + System.nanoTime());
+
     private RuntimeJavaClassManager rjcm;
 
     private final String engHelloSrc = "package com.tcdng.unify.core.runtime;" + "@Language(\"English\")"
@@ -131,6 +138,45 @@ public class RuntimeJavaClassManagerTest extends AbstractUnifyComponentTest {
         assertEquals("Caliban's War", book.getTitle());
     }
 
+    @Test
+    public void testCompileAndLoadClassFromCache() throws Exception {
+        CompiledClassCache compiledClassCache = ((RuntimeJavaClassManagerImpl) rjcm).getCompiledClassCache();
+        final String className = "com.tcdng.unify.core.runtime.CachedHello";
+        final String src = naijaHelloSrc.replace("NaijaHello", "CachedHello");
+        long hits = compiledClassCache.getHits();
+        Class<?> clazz1 = rjcm.compileAndLoadJavaClass(className, src);
+        assertEquals(hits, compiledClassCache.getHits());
+        assertTrue(new File(CLASSCACHE_FOLDER, CompiledClassCache.getKey(className, src)
+                + CompiledClassCache.ENTRY_EXTENSION).isFile());
+
+        rjcm.reset();
+        Class<?> clazz2 = rjcm.compileAndLoadJavaClass(className, src);
+        assertEquals(hits + 1, compiledClassCache.getHits());
+        assertNotSame(clazz1, clazz2);
+        assertEquals(className, clazz2.getName());
+        assertSame(clazz2, ReflectUtils.classForName(className));
+        Hello hello = (Hello) ReflectUtils.newInstance(clazz2);
+        assertEquals("How now?", hello.hello());
+    }
+
+    @AfterClass
+    public static void deleteClassCacheFolder() throws Exception {
+        File[] files = CLASSCACHE_FOLDER.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+
+        CLASSCACHE_FOLDER.delete();
+    }
+
+    @Override
+    protected void doAddSettingsAndDependencies() throws Exception {
+        addContainerSetting(UnifyCorePropertyConstants.APPLICATION_CLASSCACHE_FOLDER,
+                CLASSCACHE_FOLDER.getAbsolutePath());
+    }
+
     @Override
     protected void onSetup() throws Exception {
         rjcm = (RuntimeJavaClassManager) getComponent(ApplicationComponents.APPLICATION_RUNTIMEJAVACLASSMANAGER);
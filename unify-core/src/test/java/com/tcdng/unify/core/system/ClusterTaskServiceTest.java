@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.system;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.tcdng.unify.core.AbstractUnifyComponentTest;
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.TestTaskMonitor;
+import com.tcdng.unify.core.system.entities.ClusterTask;
+import com.tcdng.unify.core.task.TaskMonitor;
+import com.tcdng.unify.core.task.TaskParameterConstants;
+import com.tcdng.unify.core.task.TaskStatus;
+import com.tcdng.unify.core.task.TaskStatusLogger;
+
+/**
+ * Cluster task service test case.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class ClusterTaskServiceTest extends AbstractUnifyComponentTest {
+
+    private static final long LEASE = 60000L;
+
+    @Test
+    public void testSubmitTask() throws Exception {
+        ClusterTaskService cts = getClusterTaskService();
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put("branch", "Lagos");
+        Long taskId = cts.submitTask("test-taska", parameters, 3);
+        assertNotNull(taskId);
+
+        ClusterTask clusterTask = cts.findTask(taskId);
+        assertNotNull(clusterTask);
+        assertEquals("test-taska", clusterTask.getTaskName());
+        assertEquals(TaskStatus.INITIALIZED, clusterTask.getStatus());
+        assertEquals(Integer.valueOf(0), clusterTask.getAttempts());
+        assertEquals(Integer.valueOf(3), clusterTask.getMaxAttempts());
+        assertNotNull(clusterTask.getParameters());
+        assertNull(clusterTask.getClaimNode());
+    }
+
+    @Test
+    public void testClaimTasksAcrossWorkers() throws Exception {
+        ClusterTaskService cts = getClusterTaskService();
+        for (int i = 0; i < 10; i++) {
+            cts.submitTask("test-taska", null, 1);
+        }
+
+        List<ClusterTask> claimA = cts.claimTasks("node-a", 4, LEASE);
+        assertEquals(4, claimA.size());
+        List<ClusterTask> claimB = cts.claimTasks("node-b", 10, LEASE);
+        assertEquals(6, claimB.size());
+        assertTrue(cts.claimTasks("node-c", 10, LEASE).isEmpty());
+
+        Set<Long> ids = new HashSet<Long>();
+        for (ClusterTask clusterTask : claimA) {
+            assertEquals("node-a", clusterTask.getClaimNode());
+            assertEquals(TaskStatus.RUNNING, clusterTask.getStatus());
+            assertEquals(Integer.valueOf(1), clusterTask.getAttempts());
+            ids.add(clusterTask.getId());
+        }
+
+        for (ClusterTask clusterTask : claimB) {
+            assertEquals("node-b", clusterTask.getClaimNode());
+            ids.add(clusterTask.getId());
+        }
+
+        assertEquals(10, ids.size());
+    }
+
+    @Test
+    public void testReclaimExpiredLease() throws Exception {
+        ClusterTaskService cts = getClusterTaskService();
+        Long taskId = cts.submitTask("test-taska", null, 2);
+        ClusterTask claimA = cts.claimTasks("node-a", 1, -LEASE).get(0);
+        assertEquals(taskId, claimA.getId());
+
+        List<ClusterTask> claimB = cts.claimTasks("node-b", 1, LEASE);
+        assertEquals(1, claimB.size());
+        assertEquals(taskId, claimB.get(0).getId());
+        assertEquals(Integer.valueOf(2), claimB.get(0).getAttempts());
+
+        // Fenced off
+        assertFalse(cts.renewTaskLease(taskId, claimA.getClaimToken(), LEASE));
+        assertFalse(cts.logTaskStatus(taskId, claimA.getClaimToken(), new String[] { "Stale" }));
+        assertFalse(cts.completeTask(taskId, claimA.getClaimToken(), null));
+        assertTrue(cts.renewTaskLease(taskId, claimB.get(0).getClaimToken(), LEASE));
+    }
+
+    @Test
+    public void testLogTaskStatus() throws Exception {
+        ClusterTaskService cts = getClusterTaskService();
+        Long taskId = cts.submitTask("test-taska", null, 1);
+        ClusterTask clusterTask = cts.claimTasks("node-a", 1, LEASE).get(0);
+
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put(TaskParameterConstants.CLUSTER_TASK_ID, taskId);
+        parameters.put(TaskParameterConstants.CLUSTER_TASK_CLAIM_TOKEN, clusterTask.getClaimToken());
+        TaskMonitor tm = new TestTaskMonitor() {
+            @Override
+            public String[] getMessages() {
+                return new String[] { "Started", "Halfway" };
+            }
+        };
+        TaskStatusLogger logger = (TaskStatusLogger) getComponent(
+                ApplicationComponents.APPLICATION_CLUSTERTASKSTATUSLOGGER);
+        logger.logStatus(tm, parameters);
+
+        clusterTask = cts.findTask(taskId);
+        assertEquals("Halfway", clusterTask.getLastMessage());
+        assertEquals("Started\nHalfway", clusterTask.getMessages());
+    }
+
+    @Test
+    public void testExpiredLeaseOnFinalAttempt() throws Exception {
+        ClusterTaskService cts = getClusterTaskService();
+        Long taskId = cts.submitTask("test-taska", null, 1);
+        cts.claimTasks("node-a", 1, -LEASE);
+        assertTrue(cts.claimTasks("node-b", 1, LEASE).isEmpty());
+        assertEquals(TaskStatus.FAILED, cts.findTask(taskId).getStatus());
+    }
+
+    @Test
+    public void testCompleteTask() throws Exception {
+        ClusterTaskService cts = getClusterTaskService();
+        Long taskId = cts.submitTask("test-taska", null, 1);
+        ClusterTask clusterTask = cts.claimTasks("node-a", 1, LEASE).get(0);
+        assertTrue(cts.completeTask(taskId, clusterTask.getClaimToken(),
+                Collections.<String, Object>singletonMap("message", "Hello World!")));
+
+        clusterTask = cts.findTask(taskId);
+        assertEquals(TaskStatus.SUCCESSFUL, clusterTask.getStatus());
+        assertNotNull(clusterTask.getCompletedOn());
+        assertEquals("Hello World!", cts.getTaskResults(taskId).get("message"));
+    }
+
+    @Test
+    public void testFailTaskWithRetryBackoff() throws Exception {
+        ClusterTaskService cts = getClusterTaskService();
+        Long taskId = cts.submitTask("test-taska", null, 2);
+        ClusterTask clusterTask = cts.claimTasks("node-a", 1, LEASE).get(0);
+        assertTrue(cts.failTask(taskId, clusterTask.getClaimToken(), "Connection reset"));
+
+        clusterTask = cts.findTask(taskId);
+        assertEquals(TaskStatus.INITIALIZED, clusterTask.getStatus());
+        assertEquals("Connection reset", clusterTask.getErrorMessage());
+        assertTrue(clusterTask.getNextAttemptOn().after(clusterTask.getSubmittedOn()));
+
+        // Backing off
+        assertTrue(cts.claimTasks("node-b", 1, LEASE).isEmpty());
+    }
+
+    @Test
+    public void testFailTaskOnFinalAttempt() throws Exception {
+        ClusterTaskService cts = getClusterTaskService();
+        Long taskId = cts.submitTask("test-taska", null, 1);
+        ClusterTask clusterTask = cts.claimTasks("node-a", 1, LEASE).get(0);
+        assertTrue(cts.failTask(taskId, clusterTask.getClaimToken(), "Connection reset"));
+        assertEquals(TaskStatus.FAILED, cts.findTask(taskId).getStatus());
+        assertNull(cts.getTaskResults(taskId));
+    }
+
+    @Override
+    protected void onSetup() throws Exception {
+
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected void onTearDown() throws Exception {
+        deleteAll(ClusterTask.class);
+    }
+
+    private ClusterTaskService getClusterTaskService() throws Exception {
+        return (ClusterTaskService) getComponent(ApplicationComponents.APPLICATION_CLUSTERTASKSERVICE);
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.system;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+import com.tcdng.unify.common.constants.ApplicationCommonConstants;
+import com.tcdng.unify.core.AbstractUnifyComponentTest;
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.SessionContext;
+import com.tcdng.unify.core.UserSession;
+import com.tcdng.unify.core.database.DatabaseClock;
+import com.tcdng.unify.core.system.entities.UserSessionTracking;
+import com.tcdng.unify.core.system.entities.UserSessionTrackingQuery;
+
+/**
+ * Heartbeat manager test case.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class HeartbeatManagerTest extends AbstractUnifyComponentTest {
+
+	@Test
+	public void testBatchHeartbeatExtendsExpiry() throws Exception {
+		UserSessionManager usm = getUserSessionManager();
+		HeartbeatManagerImpl hbm = getHeartbeatManager();
+		usm.addUserSession(new TestUserSession("session-a"));
+		usm.addUserSession(new TestUserSession("session-b"));
+		String idA = hbm.startHeartbeat(new UserSessionTrackingQuery().id("session-a"), "lastAccessTime", 10);
+		String idB = hbm.startHeartbeat(new UserSessionTrackingQuery().id("session-b"), "lastAccessTime", 20);
+		try {
+			HeartbeatStats stats = hbm.getStats();
+			hbm.sustainHeartbeats(null);
+			Date now = getNow();
+			assertNear(now.getTime() + 10 * 60000L, usm.findUserSession("session-a").getLastAccessTime());
+			assertNear(now.getTime() + 20 * 60000L, usm.findUserSession("session-b").getLastAccessTime());
+
+			HeartbeatStats newStats = hbm.getStats();
+			assertEquals(stats.getWriteCount() + 1, newStats.getWriteCount());
+			assertEquals(stats.getUpdateCount() + 2, newStats.getUpdateCount());
+			assertTrue(newStats.getLastWriteNanos() > 0);
+		} finally {
+			hbm.stopHeartbeat(idA);
+			hbm.stopHeartbeat(idB);
+		}
+	}
+
+	@Test
+	public void testBatchHeartbeatStopsWhenNoMatch() throws Exception {
+		UserSessionManager usm = getUserSessionManager();
+		HeartbeatManagerImpl hbm = getHeartbeatManager();
+		usm.addUserSession(new TestUserSession("session-c"));
+		hbm.startHeartbeat(new UserSessionTrackingQuery().id("session-c"), "lastAccessTime", 10);
+		HeartbeatStats stats = hbm.getStats();
+		deleteAll(UserSessionTracking.class);
+
+		hbm.sustainHeartbeats(null);
+		HeartbeatStats newStats = hbm.getStats();
+		assertEquals(stats.getStoppedCount() + 1, newStats.getStoppedCount());
+		assertEquals(stats.getActiveHeartbeats() - 1, newStats.getActiveHeartbeats());
+	}
+
+	@Override
+	protected void onSetup() throws Exception {
+
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	protected void onTearDown() throws Exception {
+		deleteAll(UserSessionTracking.class);
+	}
+
+	private void assertNear(long expected, Date actual) {
+		assertTrue(Math.abs(expected - actual.getTime()) < 5000L);
+	}
+
+	private UserSessionManager getUserSessionManager() throws Exception {
+		return (UserSessionManager) getComponent(ApplicationComponents.APPLICATION_USERSESSIONMANAGER);
+	}
+
+	private HeartbeatManagerImpl getHeartbeatManager() throws Exception {
+		return (HeartbeatManagerImpl) getComponent(ApplicationComponents.APPLICATION_HEARTBEATMANAGER);
+	}
+
+	private Date getNow() throws Exception {
+		return ((DatabaseClock) getComponent(ApplicationComponents.APPLICATION_DATABASECLOCK))
+				.getNow(ApplicationCommonConstants.APPLICATION_DATASOURCE);
+	}
+
+	private class TestUserSession implements UserSession {
+
+		private final SessionContext sessionContext;
+
+		public TestUserSession(String sessionId) {
+			this.sessionContext = new SessionContext(null, sessionId, Locale.getDefault(), TimeZone.getDefault(),
+					null, null, null, "localhost", "127.0.0.1", null);
+		}
+
+		@Override
+		public SessionContext getSessionContext() {
+			return sessionContext;
+		}
+
+		@Override
+		public String getRemoteAddress() {
+			return sessionContext.getRemoteAddress();
+		}
+
+		@Override
+		public String getRemoteHost() {
+			return sessionContext.getRemoteHost();
+		}
+
+		@Override
+		public String getRemoteUser() {
+			return sessionContext.getRemoteUser();
+		}
+
+		@Override
+		public String getTenantPath() {
+			return sessionContext.getTenantPath();
+		}
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.system;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.tcdng.unify.core.AbstractUnifyComponentTest;
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.system.entities.ClusterLeader;
+import com.tcdng.unify.core.util.ThreadUtils;
+
+/**
+ * Leader election service test case.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class LeaderElectionServiceTest extends AbstractUnifyComponentTest {
+
+    private static final long LEASE = 60000L;
+
+    @Test
+    public void testLeaderWhenNotClusterMode() throws Exception {
+        LeaderElectionService les = getLeaderElectionService();
+        assertTrue(les.isLeader());
+        assertNull(les.getFencingToken());
+        assertTrue(les.isPartitionOwner("app-component.method"));
+        assertEquals(1, les.getLiveNodes().size());
+    }
+
+    @Test
+    public void testAcquireLeadership() throws Exception {
+        LeaderElectionService les = getLeaderElectionService();
+        assertNull(les.findLeader());
+
+        Long token = les.acquireLeadership("node-a", LEASE);
+        assertEquals(Long.valueOf(1L), token);
+        assertNull(les.acquireLeadership("node-b", LEASE));
+
+        ClusterLeader clusterLeader = les.findLeader();
+        assertNotNull(clusterLeader);
+        assertEquals("node-a", clusterLeader.getLeaderNode());
+        assertEquals(Long.valueOf(1L), clusterLeader.getFencingToken());
+        assertNotNull(clusterLeader.getLeaseExpiry());
+    }
+
+    @Test
+    public void testRenewLeadershipKeepsFencingToken() throws Exception {
+        LeaderElectionService les = getLeaderElectionService();
+        assertEquals(Long.valueOf(1L), les.acquireLeadership("node-a", LEASE));
+        assertEquals(Long.valueOf(1L), les.acquireLeadership("node-a", LEASE));
+        assertEquals(Long.valueOf(1L), les.acquireLeadership("node-a", LEASE));
+        assertNull(les.acquireLeadership("node-b", LEASE));
+    }
+
+    @Test
+    public void testTakeOverExpiredLeadership() throws Exception {
+        LeaderElectionService les = getLeaderElectionService();
+        assertEquals(Long.valueOf(1L), les.acquireLeadership("node-a", 1L));
+        ThreadUtils.sleep(50);
+
+        assertEquals(Long.valueOf(2L), les.acquireLeadership("node-b", LEASE));
+        assertEquals("node-b", les.findLeader().getLeaderNode());
+
+        // Old leader is fenced off
+        assertNull(les.acquireLeadership("node-a", LEASE));
+        assertFalse(les.releaseLeadership("node-a", 1L));
+    }
+
+    @Test
+    public void testReleaseLeadership() throws Exception {
+        LeaderElectionService les = getLeaderElectionService();
+        assertEquals(Long.valueOf(1L), les.acquireLeadership("node-a", LEASE));
+        assertFalse(les.releaseLeadership("node-b", 1L));
+        assertTrue(les.releaseLeadership("node-a", 1L));
+        assertNull(les.findLeader().getLeaderNode());
+
+        assertEquals(Long.valueOf(2L), les.acquireLeadership("node-b", LEASE));
+    }
+
+    @Test
+    public void testConsistentHashRing() throws Exception {
+        ConsistentHashRing ring = new ConsistentHashRing(Arrays.asList("node-a", "node-b", "node-c"));
+        Map<String, String> owners = new HashMap<String, String>();
+        Map<String, Integer> counts = new HashMap<String, Integer>();
+        for (int i = 0; i < 3000; i++) {
+            String key = "partition-" + i;
+            String owner = ring.getOwner(key);
+            assertNotNull(owner);
+            assertEquals(owner, ring.getOwner(key));
+            owners.put(key, owner);
+            Integer count = counts.get(owner);
+            counts.put(owner, count == null ? 1 : count + 1);
+        }
+
+        assertEquals(3, counts.size());
+        for (Integer count : counts.values()) {
+            assertTrue(count > 500);
+        }
+
+        // Only keys of removed node should move
+        ConsistentHashRing smallerRing = new ConsistentHashRing(Arrays.asList("node-a", "node-c"));
+        for (Map.Entry<String, String> entry : owners.entrySet()) {
+            if (!"node-b".equals(entry.getValue())) {
+                assertEquals(entry.getValue(), smallerRing.getOwner(entry.getKey()));
+            }
+        }
+
+        List<String> nodes = Arrays.asList("node-a", "node-c");
+        assertEquals(nodes, Arrays.asList(smallerRing.getNodes().toArray(new String[0])));
+        assertNull(new ConsistentHashRing(Arrays.<String>asList()).getOwner("partition-0"));
+    }
+
+    @Override
+    protected void onSetup() throws Exception {
+
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected void onTearDown() throws Exception {
+        deleteAll(ClusterLeader.class);
+    }
+
+    private LeaderElectionService getLeaderElectionService() throws Exception {
+        return (LeaderElectionService) getComponent(ApplicationComponents.APPLICATION_LEADERELECTIONSERVICE);
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.system;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.tcdng.unify.core.AbstractUnifyComponentTest;
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.criterion.Update;
+import com.tcdng.unify.core.data.Inputs;
+import com.tcdng.unify.core.database.Database;
+import com.tcdng.unify.core.database.DatabaseTransactionManager;
+import com.tcdng.unify.core.database.Query;
+import com.tcdng.unify.core.system.entities.ParameterDef;
+import com.tcdng.unify.core.system.entities.ParameterValue;
+import com.tcdng.unify.core.system.entities.ParameterValues;
+import com.tcdng.unify.core.system.entities.ParametersDef;
+
+/**
+ * Parameter service tests.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class ParameterServiceTest extends AbstractUnifyComponentTest {
+
+    private static final String PARAM_TYPE = "server-params";
+
+    private ParameterService parameterService;
+
+    @Test
+    public void testUpdateAndFindParameterTypeValues() throws Exception {
+        parameterService.updateParameterValues(PARAM_TYPE, "server", 1L, createInputs("localhost", "8080"));
+        Map<String, Object> values = parameterService.findParameterTypeValues(PARAM_TYPE, "server", 1L);
+        assertEquals("localhost", values.get("host"));
+        assertEquals(Integer.valueOf(8080), values.get("port"));
+        assertEquals("localhost", parameterService.fetchNormalizedInputs(PARAM_TYPE, "server", 1L)
+                .getInputValue("host"));
+        assertTrue(parameterService.findParameterTypeValues(PARAM_TYPE, "server", 2L).isEmpty());
+    }
+
+    @Test
+    public void testParameterValuesAreCached() throws Exception {
+        parameterService.updateParameterValues(PARAM_TYPE, "server", 1L, createInputs("localhost", "8080"));
+        assertEquals("localhost", parameterService.findParameterTypeValues(PARAM_TYPE, "server", 1L).get("host"));
+
+        // Change value behind service
+        Database db = (Database) getComponent(ApplicationComponents.APPLICATION_DATABASE);
+        DatabaseTransactionManager tm = (DatabaseTransactionManager) getComponent(
+                ApplicationComponents.APPLICATION_DATABASETRANSACTIONMANAGER);
+        tm.beginTransaction();
+        try {
+            db.updateAll(Query.of(ParameterValue.class).addEquals("paramKey", "host"),
+                    new Update().add("paramValue", "remotehost"));
+        } finally {
+            tm.endTransaction();
+        }
+
+        assertEquals("localhost", parameterService.findParameterTypeValues(PARAM_TYPE, "server", 1L).get("host"));
+        parameterService.invalidateParameterCache(PARAM_TYPE);
+        assertEquals("remotehost", parameterService.findParameterTypeValues(PARAM_TYPE, "server", 1L).get("host"));
+    }
+
+    @Test
+    public void testUpdateInvalidatesCachedValues() throws Exception {
+        parameterService.updateParameterValues(PARAM_TYPE, "server", 1L, createInputs("localhost", "8080"));
+        assertEquals("localhost", parameterService.findParameterTypeValues(PARAM_TYPE, "server", 1L).get("host"));
+        parameterService.updateParameterValues(PARAM_TYPE, "server", 1L, createInputs("remotehost", "9090"));
+        Map<String, Object> values = parameterService.findParameterTypeValues(PARAM_TYPE, "server", 1L);
+        assertEquals("remotehost", values.get("host"));
+        assertEquals(Integer.valueOf(9090), values.get("port"));
+    }
+
+    @Test
+    public void testRolledBackUpdateNotCached() throws Exception {
+        parameterService.updateParameterValues(PARAM_TYPE, "server", 1L, createInputs("localhost", "8080"));
+        assertEquals("localhost", parameterService.findParameterTypeValues(PARAM_TYPE, "server", 1L).get("host"));
+
+        DatabaseTransactionManager tm = (DatabaseTransactionManager) getComponent(
+                ApplicationComponents.APPLICATION_DATABASETRANSACTIONMANAGER);
+        tm.beginTransaction();
+        try {
+            parameterService.updateParameterValues(PARAM_TYPE, "server", 1L, createInputs("remotehost", "9090"));
+            assertEquals("remotehost",
+                    parameterService.findParameterTypeValues(PARAM_TYPE, "server", 1L).get("host"));
+            tm.setRollback();
+        } finally {
+            tm.endTransaction();
+        }
+
+        assertEquals("localhost", parameterService.findParameterTypeValues(PARAM_TYPE, "server", 1L).get("host"));
+    }
+
+    @Test
+    public void testParameterCacheIsBounded() throws Exception {
+        ParameterCacheImpl parameterCache = (ParameterCacheImpl) getComponent(
+                ApplicationComponents.APPLICATION_PARAMETERCACHE);
+        assertEquals(2000L, parameterCache.getMaximumSize());
+
+        final long evictions = parameterCache.getStats().getEvictionCount();
+        final int count = (int) parameterCache.getMaximumSize() + 100;
+        for (int i = 0; i < count; i++) {
+            parameterService.findParameterValues(PARAM_TYPE, "server", Long.valueOf(i));
+        }
+
+        assertTrue(parameterCache.size() <= 2000);
+        assertTrue(parameterCache.getStats().getEvictionCount() >= evictions + 100);
+    }
+
+    @Test
+    public void testBulkUpdateParameterValues() throws Exception {
+        parameterService.updateParameterValues(PARAM_TYPE, "server", 1L, createInputs("localhost", "8080"));
+        assertEquals("localhost", parameterService.findParameterTypeValues(PARAM_TYPE, "server", 1L).get("host"));
+
+        Map<Long, Inputs> inputsByInstId = new LinkedHashMap<Long, Inputs>();
+        inputsByInstId.put(1L, createInputs("alpha", "8081"));
+        inputsByInstId.put(2L, createInputs("beta", "8082"));
+        inputsByInstId.put(3L, createInputs("gamma", "8083"));
+        parameterService.updateParameterValues(PARAM_TYPE, "server", inputsByInstId);
+
+        assertEquals("alpha", parameterService.findParameterTypeValues(PARAM_TYPE, "server", 1L).get("host"));
+        assertEquals("beta", parameterService.findParameterTypeValues(PARAM_TYPE, "server", 2L).get("host"));
+        assertEquals(Integer.valueOf(8083),
+                parameterService.findParameterTypeValues(PARAM_TYPE, "server", 3L).get("port"));
+        assertEquals(3, countAll(ParameterValues.class));
+        assertEquals(6, countAll(ParameterValue.class));
+    }
+
+    @Override
+    protected void onSetup() throws Exception {
+        parameterService = (ParameterService) getComponent(ApplicationComponents.APPLICATION_PARAMETERSERVICE);
+        List<ParameterDef> parameterList = new ArrayList<ParameterDef>();
+        parameterList.add(createParameterDef("host", "Host", String.class, 1));
+        parameterList.add(createParameterDef("port", "Port", Integer.class, 2));
+        parameterService.defineParameters(PARAM_TYPE, parameterList);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected void onTearDown() throws Exception {
+        deleteAll(ParameterValue.class, ParameterValues.class, ParameterDef.class, ParametersDef.class);
+        parameterService.invalidateParameterCache(PARAM_TYPE);
+    }
+
+    private ParameterDef createParameterDef(String name, String description, Class<?> type, int order) {
+        ParameterDef parameterDef = new ParameterDef();
+        parameterDef.setName(name);
+        parameterDef.setDescription(description);
+        parameterDef.setEditor("!ui-text");
+        parameterDef.setType(type.getName());
+        parameterDef.setOrder(order);
+        parameterDef.setMandatory(true);
+        return parameterDef;
+    }
+
+    private Inputs createInputs(String host, String port) throws Exception {
+        Inputs inputs = new Inputs(parameterService.fetchInputList(PARAM_TYPE));
+        inputs.getInput("host").setStringValue(host);
+        inputs.getInput("port").setStringValue(port);
+        return inputs;
+    }
+}
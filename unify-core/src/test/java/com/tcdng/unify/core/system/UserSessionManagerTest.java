@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.system;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+import com.tcdng.unify.common.constants.ApplicationCommonConstants;
+import com.tcdng.unify.core.AbstractUnifyComponentTest;
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.SessionContext;
+import com.tcdng.unify.core.UserSession;
+import com.tcdng.unify.core.database.DatabaseClock;
+import com.tcdng.unify.core.system.entities.UserSessionTracking;
+import com.tcdng.unify.core.system.entities.UserSessionTrackingQuery;
+
+/**
+ * User session manager test case.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class UserSessionManagerTest extends AbstractUnifyComponentTest {
+
+    @Test
+    public void testHouseKeepingUpdatesLastAccessTimes() throws Exception {
+        UserSessionManagerImpl usm = getUserSessionManager();
+        Date now = getNow();
+        for (int i = 0; i < 5; i++) {
+            usm.addUserSession(new TestUserSession("session-" + i));
+        }
+
+        Date[] lastAccessTimes = new Date[5];
+        for (int i = 0; i < 5; i++) {
+            lastAccessTimes[i] = new Date(now.getTime() - (i + 1) * 1000L);
+            usm.getUserSession("session-" + i).getSessionContext().setLastAccessTime(lastAccessTimes[i]);
+        }
+
+        usm.performUserSessionHouseKeeping(null);
+        for (int i = 0; i < 5; i++) {
+            UserSessionTracking userSessionTracking = usm.findUserSession("session-" + i);
+            assertNotNull(userSessionTracking);
+            assertEquals(lastAccessTimes[i], userSessionTracking.getLastAccessTime());
+            assertEquals(usm.getNodeId(), userSessionTracking.getNode());
+        }
+    }
+
+    @Test
+    public void testHouseKeepingRemovesExpiredSessions() throws Exception {
+        UserSessionManagerImpl usm = getUserSessionManager();
+        Date now = getNow();
+        usm.addUserSession(new TestUserSession("session-active"));
+        usm.addUserSession(new TestUserSession("session-expired"));
+        usm.getUserSession("session-expired").getSessionContext()
+                .setLastAccessTime(new Date(now.getTime() - 2L * 24L * 60L * 60000L));
+
+        usm.performUserSessionHouseKeeping(null);
+        assertNotNull(usm.getUserSession("session-active"));
+        assertNotNull(usm.findUserSession("session-active"));
+        assertNull(usm.getUserSession("session-expired"));
+        assertEquals(0, usm.countUserSessions(new UserSessionTrackingQuery().id("session-expired")));
+    }
+
+    @Override
+    protected void onSetup() throws Exception {
+
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected void onTearDown() throws Exception {
+        deleteAll(UserSessionTracking.class);
+    }
+
+    private UserSessionManagerImpl getUserSessionManager() throws Exception {
+        return (UserSessionManagerImpl) getComponent(ApplicationComponents.APPLICATION_USERSESSIONMANAGER);
+    }
+
+    private Date getNow() throws Exception {
+        return ((DatabaseClock) getComponent(ApplicationComponents.APPLICATION_DATABASECLOCK))
+                .getNow(ApplicationCommonConstants.APPLICATION_DATASOURCE);
+    }
+
+    private class TestUserSession implements UserSession {
+
+        private final SessionContext sessionContext;
+
+        public TestUserSession(String sessionId) {
+            this.sessionContext = new SessionContext(null, sessionId, Locale.getDefault(), TimeZone.getDefault(),
+                    null, null, null, "localhost", "127.0.0.1", null);
+        }
+
+        @Override
+        public SessionContext getSessionContext() {
+            return sessionContext;
+        }
+
+        @Override
+        public String getRemoteAddress() {
+            return sessionContext.getRemoteAddress();
+        }
+
+        @Override
+        public String getRemoteHost() {
+            return sessionContext.getRemoteHost();
+        }
+
+        @Override
+        public String getRemoteUser() {
+            return sessionContext.getRemoteUser();
+        }
+
+        @Override
+        public String getTenantPath() {
+            return sessionContext.getTenantPath();
+        }
+    }
+}
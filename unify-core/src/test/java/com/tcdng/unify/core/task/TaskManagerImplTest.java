@@ -20,6 +20,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -30,6 +31,7 @@ import org.junit.Test;
 
 import com.tcdng.unify.core.AbstractUnifyComponentTest;
 import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.UnifyCorePropertyConstants;
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.data.ParamConfig;
 
@@ -41,6 +43,8 @@ import com.tcdng.unify.core.data.ParamConfig;
  */
 public class TaskManagerImplTest extends AbstractUnifyComponentTest {
 
+    private static final int MAX_TASKRUNNER_THREADS = 2;
+
     private TaskManager taskManager;
 
     private Map<String, Object> parameters;
@@ -195,6 +199,60 @@ public class TaskManagerImplTest extends AbstractUnifyComponentTest {
         assertEquals("Hello World!", taskMonitor.getTaskOutput().getResult(String.class, "message"));
     }
 
+    @Test(timeout = 4000)
+    public void testExecutePartitionedTask() throws Exception {
+        TaskableMethodConfig tmc = taskManager.getTaskableMethodConfig("sumrange-task");
+        assertTrue(tmc.isPartitioned());
+        assertEquals("test-rangetaskpartitioner", tmc.getPartitioner());
+        assertEquals(4, tmc.getParallelism());
+
+        parameters.put("from", 0);
+        parameters.put("to", 1050);
+        TaskMonitor taskMonitor = taskManager.executeTask("sumrange-task", parameters, true);
+        assertFalse(taskMonitor.isExceptions());
+        assertEquals(Integer.valueOf(11), taskMonitor.getTaskOutput().getResult(Integer.class,
+                TaskableMethodConstants.TASK_PARTITION_COUNT));
+        assertEquals(Integer.valueOf(11), taskMonitor.getTaskOutput().getResult(Integer.class,
+                TaskableMethodConstants.TASK_PARTITIONS_COMPLETED));
+        assertEquals(11, taskMonitor.getMessages().length);
+
+        List<?> results = (List<?>) taskMonitor.getTaskOutput().getResult(TaskableMethodConstants.TASK_RESULT);
+        assertEquals(11, results.size());
+        long sum = 0;
+        for (Object result : results) {
+            sum += (Long) result;
+        }
+
+        assertEquals(1049L * 1050L / 2L, sum);
+    }
+
+    @Test(timeout = 8000)
+    public void testStartMorePartitionedTasksThanRunThreads() throws Exception {
+        parameters.put("from", 0);
+        parameters.put("to", 1050);
+        List<TaskMonitor> taskMonitors = new ArrayList<TaskMonitor>();
+        for (int i = 0; i < MAX_TASKRUNNER_THREADS * 3; i++) {
+            taskMonitors.add(taskManager.startTask("sumrange-task", parameters, false));
+        }
+
+        for (TaskMonitor taskMonitor : taskMonitors) {
+            assertFalse(taskMonitor.isNotPermitted());
+            while (!taskMonitor.isDone()) {
+                Thread.yield();
+            }
+
+            assertFalse(taskMonitor.isExceptions());
+            assertEquals(Integer.valueOf(11), taskMonitor.getTaskOutput().getResult(Integer.class,
+                    TaskableMethodConstants.TASK_PARTITIONS_COMPLETED));
+        }
+    }
+
+    @Override
+    protected void doAddSettingsAndDependencies() throws Exception {
+        super.doAddSettingsAndDependencies();
+        addContainerSetting(UnifyCorePropertyConstants.APPLICATION_MAX_TASKRUNNER_THREADS, MAX_TASKRUNNER_THREADS);
+    }
+
     @Override
     protected void onSetup() throws Exception {
 
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.task;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.annotation.Component;
+
+/**
+ * Test range task partitioner.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+@Component("test-rangetaskpartitioner")
+public class TestRangeTaskPartitioner extends AbstractTaskPartitioner {
+
+    private static final int SLICE_SIZE = 100;
+
+    @Override
+    public List<TaskInput> partition(TaskInput input) throws UnifyException {
+        final int from = input.getParam(int.class, "from");
+        final int to = input.getParam(int.class, "to");
+        List<TaskInput> slices = new ArrayList<TaskInput>();
+        for (int i = from; i < to; i += SLICE_SIZE) {
+            Map<String, Object> params = new HashMap<String, Object>();
+            params.put("from", i);
+            params.put("to", Math.min(i + SLICE_SIZE, to));
+            slices.add(input.slice(params));
+        }
+
+        return slices;
+    }
+
+}
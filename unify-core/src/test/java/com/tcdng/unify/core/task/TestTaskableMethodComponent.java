@@ -66,6 +66,24 @@ public class TestTaskableMethodComponent extends AbstractUnifyComponent {
         return sb.toString();
     }
 
+    @Taskable(
+            name = "sumrange-task",
+            description = "Sum Range Task",
+            parameters = { @Parameter(name = "from", type = Integer.class),
+                    @Parameter(name = "to", type = Integer.class) },
+            limit = TaskExecLimit.ALLOW_MULTIPLE,
+            partitioner = "test-rangetaskpartitioner",
+            parallelism = 4)
+    public long sumRange(TaskMonitor taskMonitor, Integer from, Integer to) throws UnifyException {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += i;
+        }
+
+        taskMonitor.addMessage("Summed range [" + from + ", " + to + ")");
+        return sum;
+    }
+
     @Override
     protected void onInitialize() throws UnifyException {
 
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.upl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Compiled UPL cache tests.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class CompiledUplCacheTest {
+
+    private File folder;
+
+    @Test
+    public void testGetKey() throws Exception {
+        String key = CompiledUplCache.getKey("test-doc", "!ui-page");
+        assertEquals(64, key.length());
+        assertEquals(key, CompiledUplCache.getKey("test-doc", "!ui-page"));
+        assertNotEquals(key, CompiledUplCache.getKey("test-doc", "!ui-page "));
+        assertNotEquals(key, CompiledUplCache.getKey("test-docx", "!ui-page"));
+        assertNotEquals(CompiledUplCache.getKey("ab", "c"), CompiledUplCache.getKey("a", "bc"));
+        assertNotEquals(CompiledUplCache.getKey("a", null), CompiledUplCache.getKey("a"));
+    }
+
+    @Test
+    public void testPutGet() throws Exception {
+        CompiledUplCache cache = new CompiledUplCache(folder);
+        List<String> sourceNames = Arrays.asList("web/test-doc.upl", "web/test-child.upl");
+        assertTrue(cache.put("test-doc", sourceNames, "key1", createDocument()));
+
+        cache = new CompiledUplCache(folder);
+        assertEquals(sourceNames, cache.getSourceNames("test-doc"));
+        UplDocument uplDocument = cache.get("test-doc", "key1");
+        assertNotNull(uplDocument);
+        assertEquals("Page Title", uplDocument.getAttributeValue(String.class, "caption"));
+        assertTrue(uplDocument.isLocalizedAttribute("caption"));
+        assertTrue(uplDocument.isElementWithLongName("test-doc.nameId"));
+        UplElement uplElement = uplDocument.getChildElementByLongName("test-doc.nameId");
+        assertEquals("Name", uplElement.getAttributeValue(String.class, "caption"));
+        assertEquals(uplDocument, uplElement.getParentElement());
+
+        assertNull(cache.get("test-doc", "key2"));
+        assertNull(cache.get("test-other", "key1"));
+        assertNull(cache.getSourceNames("test-other"));
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testGetNames() throws Exception {
+        CompiledUplCache cache = new CompiledUplCache(folder);
+        assertTrue(cache.getNames().isEmpty());
+        assertTrue(cache.put("test-doc", Arrays.asList("web/test-doc.upl"), "key1", createDocument()));
+        assertTrue(cache.put("test-other", Arrays.asList("web/test-other.upl"), "key2", createDocument()));
+
+        List<String> names = new CompiledUplCache(folder).getNames();
+        assertEquals(2, names.size());
+        assertTrue(names.contains("test-doc"));
+        assertTrue(names.contains("test-other"));
+    }
+
+    @Test
+    public void testGetCorruptEntry() throws Exception {
+        assertTrue(folder.mkdirs());
+        File file = new File(folder, CompiledUplCache.getKey("test-doc") + CompiledUplCache.ENTRY_EXTENSION);
+        FileOutputStream out = new FileOutputStream(file);
+        out.write(new byte[] { 0, 1, 2, 3, 4, 5 });
+        out.close();
+
+        CompiledUplCache cache = new CompiledUplCache(folder);
+        assertNull(cache.get("test-doc", "key1"));
+        assertFalse(file.exists());
+    }
+
+    @Before
+    public void setup() throws Exception {
+        folder = new File(System.getProperty("java.io.tmpdir"), "unify-uplcache-test-" + System.nanoTime());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+
+        folder.delete();
+    }
+
+    private UplDocument createDocument() throws Exception {
+        UplDocument uplDocument = new UplDocument();
+        uplDocument.setAttributeValue("caption", "Page Title");
+        uplDocument.addLocalizedAttribute("caption");
+
+        UplElement uplElement = new UplElement(UplTypeConstants.DOCUMENT_INLINE, "web/test-doc.upl", 3, "ui-textfield",
+                "ui-textfield", "nameId");
+        uplElement.setAttributeValue("caption", "Name");
+        uplDocument.addChildElement(uplElement, false);
+        uplDocument.generateLongNames("test-doc");
+        return uplDocument;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.upl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.Test;
+
+import com.tcdng.unify.core.AbstractUnifyComponentTest;
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.UnifyCorePropertyConstants;
+
+/**
+ * UPL compiler with persistent compiled document cache tests.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class UplCompilerCacheTest extends AbstractUnifyComponentTest {
+
+    private static final File FOLDER =
+            new File(System.getProperty("java.io.tmpdir"), "unify-uplcompiler-test-" + System.nanoTime());
+
+    private UplCompiler uplCompiler;
+
+    @Test
+    public void testCompileDocumentFromCache() throws Exception {
+        uplCompiler.compileComponentDocuments(Locale.getDefault(), "test-upldocumenta");
+        List<String> sourceNames = new CompiledUplCache(FOLDER).getSourceNames("test-upldocumenta");
+        assertNotNull(sourceNames);
+        assertTrue(sourceNames.contains("com/tcdng/unify/core/resources/test-upldocumenta.upl"));
+
+        uplCompiler.reset();
+        UplDocumentAttributes uplDocumentAttributes =
+                uplCompiler.compileComponentDocuments(Locale.getDefault(), "test-upldocumenta");
+        assertEquals("Man In Sky", uplDocumentAttributes.getAttributeValue(String.class, "fourthName"));
+        assertEquals("test-upldocumenta.fourthId",
+                uplDocumentAttributes.getAttributeValue(String.class, "longNameRef"));
+        UplElementReferences uer = uplDocumentAttributes.getAttributeValue(UplElementReferences.class, "rootList");
+        assertEquals(2, uer.getLongNames().size());
+        assertEquals("test-upldocumenta.firstId", uer.getLongNames().get(0));
+
+        UplElementAttributes uea = uplDocumentAttributes.getChildElementByLongName("test-upldocumenta.fourthId");
+        assertEquals("Twiddler", uea.getAttributeValue(String.class, "description"));
+        uer = uea.getAttributeValue(UplElementReferences.class, "components");
+        assertEquals(3, uer.getIds().size());
+        assertEquals("thirdId", uer.getIds().get(0));
+    }
+
+    @Override
+    protected void doAddSettingsAndDependencies() throws Exception {
+        addContainerSetting(UnifyCorePropertyConstants.APPLICATION_UPLCACHE_FOLDER, FOLDER.getAbsolutePath());
+    }
+
+    @Override
+    protected void onSetup() throws Exception {
+        uplCompiler = (UplCompiler) getComponent(ApplicationComponents.APPLICATION_UPLCOMPILER);
+    }
+
+    @Override
+    protected void onTearDown() throws Exception {
+        File[] files = FOLDER.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+
+        FOLDER.delete();
+    }
+}
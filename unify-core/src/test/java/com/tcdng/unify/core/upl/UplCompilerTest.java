@@ -151,6 +151,24 @@ public class UplCompilerTest extends AbstractUnifyComponentTest {
         assertEquals("Link", friendList[4]);
     }
 
+    @Test
+    public void testCompileDescriptorWithMessagesForDifferentLocales() throws Exception {
+        final String descriptor = "!test-uplelementa name:$m{uplcompiler.test.greeting} age:25";
+        UplElementAttributes a = uplCompiler.compileDescriptor(Locale.ENGLISH, descriptor);
+        UplElementAttributes b = uplCompiler.compileDescriptor(Locale.GERMAN, descriptor);
+        assertNotSame(a, b);
+        assertSame(a, uplCompiler.compileDescriptor(Locale.ENGLISH, descriptor));
+        assertSame(a, uplCompiler.getUplElementAttributes(Locale.ENGLISH, a.getKey()));
+        assertEquals(a.getKey(), b.getKey());
+
+        assertEquals("Hello", a.getAttributeValue(String.class, "name"));
+        assertEquals("Hallo", b.getAttributeValue(String.class, "name"));
+        assertEquals(Integer.valueOf(25), a.getAttributeValue(Integer.class, "age"));
+        assertEquals(Integer.valueOf(25), b.getAttributeValue(Integer.class, "age"));
+        assertEquals(Locale.ENGLISH, a.getAttributeValue(Locale.class, "locale"));
+        assertEquals(Locale.GERMAN, b.getAttributeValue(Locale.class, "locale"));
+    }
+
     @Test
     public void testCompileDescriptorWithUnifyProperties() throws Exception {
         UplElementAttributes uplElementAttributes = uplCompiler.compileDescriptor(Locale.getDefault(),
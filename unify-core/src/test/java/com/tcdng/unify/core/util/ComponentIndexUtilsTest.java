@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.StringWriter;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import com.tcdng.unify.core.UnifyComponent;
+import com.tcdng.unify.core.annotation.Component;
+
+/**
+ * Component index utilities test.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class ComponentIndexUtilsTest {
+
+    @Test
+    public void testWriteReadIndex() throws Exception {
+        Map<String, Set<String>> index = new HashMap<String, Set<String>>();
+        index.put("a.Component", new TreeSet<String>(Arrays.asList("x.B", "x.A$Inner")));
+        index.put("a.Table", new TreeSet<String>(Arrays.asList("y.Entity")));
+        index.put("a.Empty", new TreeSet<String>());
+
+        StringWriter writer = new StringWriter();
+        ComponentIndexUtils.writeIndex(writer, index);
+        Map<String, Set<String>> read = ComponentIndexUtils
+                .readIndex(new ByteArrayInputStream(writer.toString().getBytes(StandardCharsets.UTF_8)));
+        assertEquals(2, read.size());
+        assertEquals(index.get("a.Component"), read.get("a.Component"));
+        assertEquals(index.get("a.Table"), read.get("a.Table"));
+    }
+
+    @Test
+    public void testReadIndexNoIndex() throws Exception {
+        URL testClassesUrl = ComponentIndexUtilsTest.class.getProtectionDomain().getCodeSource().getLocation();
+        assertNull(ComponentIndexUtils.readIndex(testClassesUrl));
+        assertNull(ComponentIndexUtils.readIndex(new URL("http://localhost/classes/")));
+    }
+
+    @Test
+    public void testCoreComponentIndexConsistent() throws Exception {
+        URL coreClassesUrl = getCoreClassesUrl();
+        assertNotNull(ComponentIndexUtils.readIndex(coreClassesUrl));
+        List<String> inconsistencies = ComponentIndexUtils.checkIndex(coreClassesUrl);
+        assertTrue(inconsistencies.toString(), inconsistencies.isEmpty());
+    }
+
+    @Test
+    public void testTypeRepositoryFromIndex() throws Exception {
+        TypeRepository typeRepository = TypeUtils.createTypeRepository(getCoreClassesUrl());
+        List<Class<? extends UnifyComponent>> list = typeRepository.getAnnotatedClasses(UnifyComponent.class,
+                Component.class, "com.tcdng.unify.core.list");
+        assertTrue(list.contains(com.tcdng.unify.core.list.ListManagerImpl.class));
+    }
+
+    private URL getCoreClassesUrl() throws Exception {
+        URL url = ComponentIndexProcessor.class.getProtectionDomain().getCodeSource().getLocation();
+        // Only applicable when running against built classes or archive
+        assertTrue(new File(url.toURI()).exists());
+        return url;
+    }
+}
@@ -22,8 +22,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
-import org.scannotation.AnnotationDB;
-
 import com.tcdng.unify.core.UnifyCoreErrorConstants;
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.util.DataUtils;
@@ -49,19 +47,15 @@ public class HttpWebTypeUtils extends TypeUtils {
             synchronized (HttpWebTypeUtils.class) {
                 if (servletContextTypeRepository == null) {
                     try {
-                        AnnotationDB classpathDB = new AnnotationDB();
-                        classpathDB.setScanFieldAnnotations(false);
-                        classpathDB.setScanMethodAnnotations(false);
-                        classpathDB.setScanParameterAnnotations(false);
-
                         URL classPathUrl = HttpWebTypeUtils.findWebInfClassesPath(servletContext);
                         List<URL> urls = HttpWebTypeUtils.findWebInfLibClasspaths(servletContext);
                         if (classPathUrl != null) {
                             urls.add(classPathUrl);
                         }
 
-                        classpathDB.scanArchives(DataUtils.toArray(URL.class, urls));
-                        servletContextTypeRepository = new TypeRepositoryImpl(classpathDB);
+                        servletContextTypeRepository = createTypeRepository(DataUtils.toArray(URL.class, urls));
+                    } catch (UnifyException e) {
+                        throw e;
                     } catch (Exception e) {
                         throw new UnifyException(e, UnifyCoreErrorConstants.ANNOTATIONUTIL_ERROR);
                     }
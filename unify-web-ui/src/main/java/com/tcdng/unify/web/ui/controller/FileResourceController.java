@@ -18,13 +18,12 @@ package com.tcdng.unify.web.ui.controller;
 import java.io.InputStream;
 import java.io.OutputStream;
 
-import com.tcdng.unify.core.UnifyCorePropertyConstants;
+import com.tcdng.unify.core.ThemeManager;
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.annotation.Component;
 import com.tcdng.unify.core.annotation.Configurable;
 import com.tcdng.unify.core.constant.MimeType;
 import com.tcdng.unify.core.file.FileResourceProvider;
-import com.tcdng.unify.core.util.FileUtils;
 import com.tcdng.unify.core.util.IOUtils;
 import com.tcdng.unify.web.constant.Secured;
 import com.tcdng.unify.web.ui.AbstractPageResourceController;
@@ -42,6 +41,9 @@ public class FileResourceController extends AbstractPageResourceController {
 	@Configurable
 	private FileResourceProvider fileResourceProvider;
 
+	@Configurable
+	private ThemeManager themeManager;
+
 	public FileResourceController() {
 		super(Secured.FALSE);
 	}
@@ -91,9 +93,7 @@ public class FileResourceController extends AbstractPageResourceController {
 
 		if (in == null) {
 			try {
-				final String workingPath = getUnifyComponentContext().getWorkingPath();
-				final String _resourceName = getThemeExtendedFileName(resourceName, workingPath);
-				in = IOUtils.openFileResourceInputStream(_resourceName, workingPath);
+				in = themeManager.openResourceInputStream(themeManager.resolveThemeFileName(resourceName));
 			} catch (UnifyException e) {
 				logError(e);
 				contentType = MimeType.TEXT_HTML.template();
@@ -104,11 +104,6 @@ public class FileResourceController extends AbstractPageResourceController {
 		return new ResInputStream(in, contentType);
 	}
 
-	private String getThemeExtendedFileName(final String fileName, final String workingPath) throws UnifyException {
-		final String theme = getContainerSetting(String.class, UnifyCorePropertyConstants.APPLICATION_THEME);
-		return FileUtils.detectPresentAndGetThemeFileName(fileName, theme, workingPath);
-	}
-
 	protected class ResInputStream {
 
 		private final InputStream in;
@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.CRC32;
 
 import com.tcdng.unify.core.AbstractUnifyComponent;
@@ -94,8 +95,8 @@ public class PageManagerImpl extends AbstractUnifyComponent implements PageManag
 	private String pageNamePrefix;
 
 	public PageManagerImpl() {
-		this.expandedReferences = new HashMap<String, List<String>>();
-		this.valueReferences = new HashMap<String, List<String>>();
+		this.expandedReferences = new ConcurrentHashMap<String, List<String>>();
+		this.valueReferences = new ConcurrentHashMap<String, List<String>>();
 		this.documentStyleSheets = Collections.emptyList();
 		this.documentScripts = Collections.emptyList();
 		this.documentFonts = Collections.emptyList();
@@ -686,7 +687,7 @@ public class PageManagerImpl extends AbstractUnifyComponent implements PageManag
 		private CRC32 crc = new CRC32();
 
 		public PageNameMap() {
-			longNameByPageNameMap = new HashMap<String, String>();
+			longNameByPageNameMap = new ConcurrentHashMap<String, String>();
 		}
 
 		public String getLongName(String pageName) throws UnifyException {
@@ -705,8 +706,12 @@ public class PageManagerImpl extends AbstractUnifyComponent implements PageManag
 
 		@Override
 		protected String create(String longName, Object... params) throws Exception {
-			crc.update(longName.getBytes());
-			String pageName = pageNamePrefix + crc.getValue();
+			String pageName = null;
+			synchronized (crc) {
+				crc.update(longName.getBytes());
+				pageName = pageNamePrefix + crc.getValue();
+			}
+
 			longNameByPageNameMap.put(pageName, longName);
 			return pageName;
 		}
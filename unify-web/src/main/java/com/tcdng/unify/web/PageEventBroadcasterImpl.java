@@ -22,6 +22,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
+import com.tcdng.unify.core.UnifyCorePropertyConstants;
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.annotation.Broadcast;
 import com.tcdng.unify.core.annotation.Component;
@@ -31,6 +32,7 @@ import com.tcdng.unify.core.annotation.Transactional;
 import com.tcdng.unify.core.business.AbstractBusinessService;
 import com.tcdng.unify.core.business.AbstractQueuedExec;
 import com.tcdng.unify.core.business.QueuedExec;
+import com.tcdng.unify.core.business.QueuedExecRejectionPolicy;
 import com.tcdng.unify.core.constant.ClientSyncCommandConstants;
 import com.tcdng.unify.core.database.EntityEvent;
 import com.tcdng.unify.core.task.TaskMonitor;
@@ -50,6 +52,10 @@ public class PageEventBroadcasterImpl extends AbstractBusinessService implements
 
 	private static final int MAX_PROCESSING_THREADS = 64;
 
+	private static final int MAX_QUEUED_BROADCASTS = 8192;
+
+	private static final long DEFAULT_SHUTDOWN_WAIT_MILLISECONDS = 5000L;
+
 	private final QueuedExec<BroadcastReq> queuedExec;
 
 	private Map<String, ClientSyncSession> sessions;
@@ -59,7 +65,14 @@ public class PageEventBroadcasterImpl extends AbstractBusinessService implements
 	public PageEventBroadcasterImpl() {
 		this.sessions = new ConcurrentHashMap<String, ClientSyncSession>();
 		this.listenersByTopic = new ConcurrentHashMap<String, Set<String>>();
-		this.queuedExec = new AbstractQueuedExec<BroadcastReq>(MAX_PROCESSING_THREADS) {
+		this.queuedExec = new AbstractQueuedExec<BroadcastReq>(MAX_PROCESSING_THREADS, MAX_QUEUED_BROADCASTS,
+				QueuedExecRejectionPolicy.CALLER_RUNS) {
+
+			@Override
+			protected Object getCoalescingKey(BroadcastReq req) {
+				// Identical refresh requests waiting in queue are redundant
+				return req.getKey();
+			}
 
 			@Override
 			protected void doExecute(BroadcastReq req) {
@@ -139,6 +152,13 @@ public class PageEventBroadcasterImpl extends AbstractBusinessService implements
 		}
 	}
 
+	@Override
+	protected void onTerminate() throws UnifyException {
+		queuedExec.shutdown(getContainerSetting(long.class,
+				UnifyCorePropertyConstants.APPLICATION_QUEUEDEXEC_SHUTDOWN_MILLISECONDS,
+				DEFAULT_SHUTDOWN_WAIT_MILLISECONDS));
+	}
+
 	private class BroadcastReq {
 
 		private String srcClientId;
@@ -168,6 +188,10 @@ public class PageEventBroadcasterImpl extends AbstractBusinessService implements
 		public boolean isWithSrcClient() {
 			return !StringUtils.isBlank(srcClientId);
 		}
+
+		public String getKey() {
+			return srcClientId + "|" + cmd + "|" + topic;
+		}
 	}
 
 	private void broadcast(String srcClientId, String topic, String type) {
@@ -16,15 +16,50 @@
 
 package com.tcdng.unify.web;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import com.tcdng.unify.core.AbstractUnifyComponent;
+import com.tcdng.unify.core.ApplicationComponents;
 import com.tcdng.unify.core.ThemeManager;
+import com.tcdng.unify.core.UnifyCoreErrorConstants;
+import com.tcdng.unify.core.UnifyCorePropertyConstants;
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.annotation.Component;
+import com.tcdng.unify.core.annotation.Configurable;
+import com.tcdng.unify.core.annotation.Periodic;
+import com.tcdng.unify.core.annotation.PeriodicType;
+import com.tcdng.unify.core.cache.FileCache;
+import com.tcdng.unify.core.task.TaskMonitor;
+import com.tcdng.unify.core.util.DataUtils;
+import com.tcdng.unify.core.util.FileUtils;
+import com.tcdng.unify.core.util.IOUtils;
 import com.tcdng.unify.core.util.StringUtils;
 import com.tcdng.unify.core.util.TokenUtils;
 
 /**
  * Default theme manager implementation.
+ * <p>
+ * Resolutions of present resources are cached. Resources not found are
+ * remembered separately, within the same bound, so that repeated lookups of
+ * missing names do not probe the file system or displace present resources.
+ * The cache is cleared when application theme changes, on resource cache
+ * invalidation and, in development mode, when files in watched folders
+ * change. In development mode, misses are remembered only when the folder
+ * the resource would appear in can be watched. In production mode, contents
+ * of file system resources are served through the application file cache.
  * 
  * @author The Code Department
  * @since 4.1
@@ -34,10 +69,31 @@ public class ThemeManagerImpl extends AbstractUnifyComponent implements ThemeMan
 
     private static final String DEFAULT_THEME_PATH = "web/themes/farko";
 
+    @Configurable(ApplicationComponents.APPLICATION_FILECACHE)
+    private FileCache fileCache;
+
+    @Configurable("4096")
+    private int maxCachedResources;
+
+    @Configurable("32")
+    private int maxCachedThemes;
+
+    private final Map<String, Map<String, String>> expandedThemeTags;
+
+    private volatile ResourceCache resourceCache;
+
+    private WatchService watchService;
+
+    private Set<Path> watchedFolders;
+
+    public ThemeManagerImpl() {
+        this.expandedThemeTags = new ConcurrentHashMap<String, Map<String, String>>();
+        this.resourceCache = new ResourceCache(null);
+    }
+
     @Override
     public String expandThemeTag(String resouceName) throws UnifyException {
         if (TokenUtils.isThemeTag(resouceName)) {
-            resouceName = TokenUtils.extractTokenValue(resouceName);
             String themePath = null;
             // Check for user theme first
             if (getSessionContext().isUserLoggedIn()) {
@@ -50,32 +106,304 @@ public class ThemeManagerImpl extends AbstractUnifyComponent implements ThemeMan
                         DEFAULT_THEME_PATH);
             }
 
-            if (themePath.endsWith("/")) {
-                if (resouceName.startsWith("/")) {
-                    return themePath + resouceName.substring("/".length());
+            Map<String, String> expanded = expandedThemeTags.get(themePath);
+            if (expanded == null && expandedThemeTags.size() < maxCachedThemes) {
+                expanded = new ConcurrentHashMap<String, String>();
+                Map<String, String> _expanded = expandedThemeTags.putIfAbsent(themePath, expanded);
+                if (_expanded != null) {
+                    expanded = _expanded;
                 }
-
-                return themePath + resouceName;
             }
 
-            if (resouceName.startsWith("/")) {
-                return themePath + resouceName;
+            String expandedName = expanded != null ? expanded.get(resouceName) : null;
+            if (expandedName == null) {
+                expandedName = expandThemePath(themePath, TokenUtils.extractTokenValue(resouceName));
+                if (expanded != null && expanded.size() < maxCachedResources) {
+                    expanded.put(resouceName, expandedName);
+                }
             }
 
-            return themePath + "/" + resouceName;
+            return expandedName;
         }
 
         return resouceName;
     }
 
     @Override
-    protected void onInitialize() throws UnifyException {
+    public String resolveThemeFileName(String fileName) throws UnifyException {
+        if (fileName == null) {
+            return null;
+        }
+
+        final String theme = getContainerSetting(String.class, UnifyCorePropertyConstants.APPLICATION_THEME);
+        ResourceCache cache = resourceCache;
+        if (!DataUtils.equals(theme, cache.getTheme())) {
+            cache = new ResourceCache(theme);
+            resourceCache = cache;
+        }
+
+        String resolvedFileName = cache.getFileNames().get(fileName);
+        if (resolvedFileName == null) {
+            if (cache.getMissedFileNames().contains(fileName)) {
+                return fileName;
+            }
+
+            final String workingPath = getUnifyComponentContext().getWorkingPath();
+            resolvedFileName = FileUtils.detectPresentAndGetThemeFileName(fileName, theme, workingPath);
+            if (IOUtils.isResourceFileInstance(resolvedFileName, workingPath)) {
+                if (cache.getFileNames().size() < maxCachedResources
+                        && isCacheable(IOUtils.fileInstance(resolvedFileName, workingPath))) {
+                    cache.getFileNames().put(fileName, resolvedFileName);
+                }
+            } else if (cache.getMissedFileNames().size() < maxCachedResources
+                    && isMissCacheable(fileName, workingPath)) {
+                cache.getMissedFileNames().add(fileName);
+            }
+        }
 
+        return resolvedFileName;
+    }
+
+    @Override
+    public InputStream openResourceInputStream(String resourceName) throws UnifyException {
+        final String workingPath = getUnifyComponentContext().getWorkingPath();
+        if (IOUtils.isWithProtocolInfix(resourceName)) {
+            return IOUtils.openFileResourceInputStream(resourceName, workingPath);
+        }
+
+        final ResourceCache cache = resourceCache;
+        ResourceHandle handle = cache.getHandles().get(resourceName);
+        if (handle == null) {
+            if (cache.getMissedResources().contains(resourceName)) {
+                throw new UnifyException(UnifyCoreErrorConstants.IOUTIL_UNABLE_TO_OPEN_RESOURCE_STREAM, resourceName);
+            }
+
+            handle = resolveResourceHandle(resourceName, workingPath);
+            if (handle.isPresent()) {
+                if (cache.getHandles().size() < maxCachedResources && isCacheable(handle.getFile())) {
+                    cache.getHandles().put(resourceName, handle);
+                }
+            } else if (cache.getMissedResources().size() < maxCachedResources
+                    && isMissCacheable(resourceName, workingPath)) {
+                cache.getMissedResources().add(resourceName);
+            }
+        }
+
+        if (!handle.isPresent()) {
+            throw new UnifyException(UnifyCoreErrorConstants.IOUTIL_UNABLE_TO_OPEN_RESOURCE_STREAM, resourceName);
+        }
+
+        InputStream in = handle.isFile() && isProductionMode() ? fileCache.getFile(handle.getFile().getAbsolutePath())
+                : handle.open();
+        if (in == null) {
+            // Resource moved since it was resolved
+            cache.getHandles().remove(resourceName);
+            return IOUtils.openFileResourceInputStream(resourceName, workingPath);
+        }
+
+        return in;
+    }
+
+    @Override
+    public void invalidateResourceCache() throws UnifyException {
+        resourceCache = new ResourceCache(resourceCache.getTheme());
+        expandedThemeTags.clear();
+    }
+
+    @Periodic(PeriodicType.FAST)
+    public void detectResourceChanges(TaskMonitor taskMonitor) throws UnifyException {
+        if (watchService != null) {
+            boolean changed = false;
+            WatchKey key = null;
+            while ((key = watchService.poll()) != null) {
+                if (!key.pollEvents().isEmpty()) {
+                    changed = true;
+                }
+
+                if (!key.reset()) {
+                    watchedFolders.remove((Path) key.watchable());
+                }
+            }
+
+            if (changed) {
+                logDebug("Resource changes detected. Clearing theme resource cache...");
+                invalidateResourceCache();
+            }
+        }
+    }
+
+    @Override
+    protected void onInitialize() throws UnifyException {
+        if (!isProductionMode()) {
+            try {
+                watchService = FileSystems.getDefault().newWatchService();
+                watchedFolders = Collections.newSetFromMap(new ConcurrentHashMap<Path, Boolean>());
+            } catch (IOException e) {
+                logError(e);
+            }
+        }
     }
 
     @Override
     protected void onTerminate() throws UnifyException {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+            }
 
+            watchService = null;
+        }
     }
 
+    private String expandThemePath(String themePath, String resouceName) {
+        if (themePath.endsWith("/")) {
+            if (resouceName.startsWith("/")) {
+                return themePath + resouceName.substring("/".length());
+            }
+
+            return themePath + resouceName;
+        }
+
+        if (resouceName.startsWith("/")) {
+            return themePath + resouceName;
+        }
+
+        return themePath + "/" + resouceName;
+    }
+
+    private ResourceHandle resolveResourceHandle(String resourceName, String workingPath) {
+        if (!IOUtils.isRestrictedJARMode()) {
+            File file = IOUtils.fileInstance(resourceName, workingPath);
+            if (file.exists()) {
+                return new ResourceHandle(file, null);
+            }
+        }
+
+        return new ResourceHandle(null, IOUtils.getClassLoaderResource(resourceName));
+    }
+
+    private boolean isCacheable(File resolvedFile) {
+        if (watchService == null) {
+            return true;
+        }
+
+        // In development mode, cache only resolutions whose resolved file folder
+        // can be watched
+        return resolvedFile != null && resolvedFile.exists() && watch(resolvedFile.getAbsoluteFile().getParentFile());
+    }
+
+    private boolean isMissCacheable(String resourceName, String workingPath) {
+        if (watchService == null) {
+            return true;
+        }
+
+        // In development mode, cache only misses whose candidate folders can be
+        // watched for the resource to appear
+        File file = new File(resourceName);
+        if (file.isAbsolute()) {
+            return watch(file.getParentFile());
+        }
+
+        return (StringUtils.isBlank(workingPath)
+                || watch(new File(IOUtils.buildFilename(workingPath, resourceName)).getAbsoluteFile().getParentFile()))
+                && watch(file.getAbsoluteFile().getParentFile());
+    }
+
+    private boolean watch(File folder) {
+        if (folder != null && folder.isDirectory()) {
+            Path path = folder.toPath();
+            if (!watchedFolders.contains(path)) {
+                try {
+                    path.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+                    watchedFolders.add(path);
+                } catch (Exception e) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    private static class ResourceCache {
+
+        private final String theme;
+
+        private final Map<String, String> fileNames;
+
+        private final Map<String, ResourceHandle> handles;
+
+        private final Set<String> missedFileNames;
+
+        private final Set<String> missedResources;
+
+        public ResourceCache(String theme) {
+            this.theme = theme;
+            this.fileNames = new ConcurrentHashMap<String, String>();
+            this.handles = new ConcurrentHashMap<String, ResourceHandle>();
+            this.missedFileNames = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+            this.missedResources = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        }
+
+        public String getTheme() {
+            return theme;
+        }
+
+        public Map<String, String> getFileNames() {
+            return fileNames;
+        }
+
+        public Map<String, ResourceHandle> getHandles() {
+            return handles;
+        }
+
+        public Set<String> getMissedFileNames() {
+            return missedFileNames;
+        }
+
+        public Set<String> getMissedResources() {
+            return missedResources;
+        }
+    }
+
+    private static class ResourceHandle {
+
+        private final File file;
+
+        private final URL url;
+
+        public ResourceHandle(File file, URL url) {
+            this.file = file;
+            this.url = url;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        public boolean isFile() {
+            return file != null;
+        }
+
+        public boolean isPresent() {
+            return file != null || url != null;
+        }
+
+        public InputStream open() {
+            try {
+                if (file != null) {
+                    return new FileInputStream(file);
+                }
+
+                return url.openStream();
+            } catch (IOException e) {
+            }
+
+            return null;
+        }
+    }
 }
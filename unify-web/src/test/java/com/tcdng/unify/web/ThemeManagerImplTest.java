@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2018-2025 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.web;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+
+import org.junit.Test;
+
+import com.tcdng.unify.core.ThemeManager;
+import com.tcdng.unify.core.UnifyCorePropertyConstants;
+import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.util.IOUtils;
+
+/**
+ * Theme manager implementation tests.
+ * 
+ * @author The Code Department
+ * @since 4.1
+ */
+public class ThemeManagerImplTest extends AbstractUnifyWebTest {
+
+    private ThemeManager themeManager;
+
+    private File folder;
+
+    @Test
+    public void testExpandThemeTag() throws Exception {
+        assertEquals("web/themes/farko/images/logo.png", themeManager.expandThemeTag("$t{images/logo.png}"));
+        assertEquals("web/themes/farko/images/logo.png", themeManager.expandThemeTag("$t{/images/logo.png}"));
+        assertEquals("web/themes/farko/images/logo.png", themeManager.expandThemeTag("$t{images/logo.png}"));
+        assertEquals("images/logo.png", themeManager.expandThemeTag("images/logo.png"));
+    }
+
+    @Test
+    public void testResolveThemeFileName() throws Exception {
+        File file = createFile("logo.png", "plain");
+        File blueFile = createFile("logo-blue.png", "blue");
+        assertEquals(blueFile.getPath(), themeManager.resolveThemeFileName(file.getPath()));
+        assertEquals(blueFile.getPath(), themeManager.resolveThemeFileName(file.getPath()));
+
+        blueFile.delete();
+        themeManager.invalidateResourceCache();
+        assertEquals(file.getPath(), themeManager.resolveThemeFileName(file.getPath()));
+
+        File missing = new File(folder, "missing.css");
+        assertEquals(missing.getPath(), themeManager.resolveThemeFileName(missing.getPath()));
+        assertEquals(missing.getPath(), themeManager.resolveThemeFileName(missing.getPath()));
+    }
+
+    @Test
+    public void testOpenResourceInputStream() throws Exception {
+        File file = createFile("styles.css", "body {}");
+        assertEquals("body {}", readResource(file.getPath()));
+        assertEquals("body {}", readResource(file.getPath()));
+
+        createFile("styles.css", "body { margin: 0; }");
+        assertEquals("body { margin: 0; }", readResource(file.getPath()));
+    }
+
+    @Test
+    public void testOpenMissingResourceInputStream() throws Exception {
+        String missing = new File(folder, "missing.css").getPath();
+        for (int i = 0; i < 2; i++) {
+            try {
+                themeManager.openResourceInputStream(missing);
+                fail();
+            } catch (UnifyException e) {
+            }
+        }
+    }
+
+    @Test
+    public void testMissingResourceCachedUntilInvalidated() throws Exception {
+        File missing = new File(folder, "later.css");
+        assertEquals(missing.getPath(), themeManager.resolveThemeFileName(missing.getPath()));
+        try {
+            themeManager.openResourceInputStream(missing.getPath());
+            fail();
+        } catch (UnifyException e) {
+        }
+
+        File blueFile = createFile("later-blue.css", "body {}");
+        createFile("later.css", "p {}");
+        assertEquals(missing.getPath(), themeManager.resolveThemeFileName(missing.getPath()));
+        try {
+            themeManager.openResourceInputStream(missing.getPath());
+            fail();
+        } catch (UnifyException e) {
+        }
+
+        themeManager.invalidateResourceCache();
+        assertEquals(blueFile.getPath(), themeManager.resolveThemeFileName(missing.getPath()));
+        assertEquals("p {}", readResource(missing.getPath()));
+    }
+
+    @Override
+    protected void doAddSettingsAndDependencies() throws Exception {
+        super.doAddSettingsAndDependencies();
+        addContainerSetting(UnifyCorePropertyConstants.APPLICATION_THEME, "blue");
+    }
+
+    @Override
+    protected void onSetup() throws Exception {
+        themeManager = (ThemeManager) getComponent(WebApplicationComponents.APPLICATION_THEMEMANAGER);
+        themeManager.invalidateResourceCache();
+        folder = new File(System.getProperty("java.io.tmpdir"), "unify-theme-test-" + System.nanoTime());
+        folder.mkdirs();
+    }
+
+    @Override
+    protected void onTearDown() throws Exception {
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+
+        folder.delete();
+    }
+
+    private File createFile(String name, String content) throws Exception {
+        File file = new File(folder, name);
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content.getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+
+        return file;
+    }
+
+    private String readResource(String resourceName) throws Exception {
+        InputStream in = themeManager.openResourceInputStream(resourceName);
+        try {
+            return new String(IOUtils.readAll(in), "UTF-8");
+        } finally {
+            IOUtils.close(in);
+        }
+    }
+}